@@ -0,0 +1,310 @@
+package cz.hartrik.common;
+
+import static cz.hartrik.common.PackedColors.alpha;
+import static cz.hartrik.common.PackedColors.blue;
+import static cz.hartrik.common.PackedColors.green;
+import static cz.hartrik.common.PackedColors.multiply;
+import static cz.hartrik.common.PackedColors.red;
+
+/**
+ * Způsoby skládání dvou barev - operátory Porter-Duff a oddělitelné režimy
+ * míchání (<i>multiply</i>, <i>screen</i>, <i>overlay</i>) podle specifikace
+ * <a href="https://www.w3.org/TR/compositing-1/">Compositing and Blending</a>.
+ * <p>
+ *
+ * Na rozdíl od {@link Color#blend(Color)} počítají všechny režimy
+ * i výslednou průhlednost. Vnitřně se pracuje s přednásobenou průhledností
+ * (viz {@link PackedColors#premultiply(int)}), metody
+ * <code>compositePremultiplied</code> proto nemusí nic převádět ani dělit
+ * a hodí se pro opakované skládání více vrstev. Přednásobené složky mají jen
+ * 8 bitů, u téměř průhledných barev je proto barva výsledku méně přesná.
+ * <p>
+ *
+ * Zdroj (<code>src</code>) je vždy barva, která se nanáší, cíl
+ * (<code>dst</code>) je barva pod ní. Hromadné metody zapisují výsledek
+ * do cílového pole.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public enum BlendMode {
+
+    // --- Porter-Duff
+
+    /** Výsledek je zcela průhledný. */
+    CLEAR {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return 0;
+        }
+    },
+
+    /** Výsledkem je zdroj. */
+    SRC {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return src;
+        }
+    },
+
+    /** Výsledkem je cíl. */
+    DST {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return dst;
+        }
+    },
+
+    /** Zdroj přes cíl - běžné překrývání. */
+    SRC_OVER {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0xFF, 0xFF - alpha(src));
+        }
+    },
+
+    /** Cíl přes zdroj. */
+    DST_OVER {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0xFF - alpha(dst), 0xFF);
+        }
+    },
+
+    /** Část zdroje, která leží uvnitř cíle. */
+    SRC_IN {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, alpha(dst), 0);
+        }
+    },
+
+    /** Část cíle, která leží uvnitř zdroje. */
+    DST_IN {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0, alpha(src));
+        }
+    },
+
+    /** Část zdroje, která leží mimo cíl. */
+    SRC_OUT {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0xFF - alpha(dst), 0);
+        }
+    },
+
+    /** Část cíle, která leží mimo zdroj. */
+    DST_OUT {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0, 0xFF - alpha(src));
+        }
+    },
+
+    /** Část zdroje uvnitř cíle, přes cíl. */
+    SRC_ATOP {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, alpha(dst), 0xFF - alpha(src));
+        }
+    },
+
+    /** Část cíle uvnitř zdroje, přes zdroj. */
+    DST_ATOP {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0xFF - alpha(dst), alpha(src));
+        }
+    },
+
+    /** Části zdroje a cíle, které se nepřekrývají. */
+    XOR {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0xFF - alpha(dst), 0xFF - alpha(src));
+        }
+    },
+
+    /** Součet zdroje a cíle (s oříznutím). */
+    PLUS {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return porterDuff(src, dst, 0xFF, 0xFF);
+        }
+    },
+
+    // --- oddělitelné režimy míchání
+
+    /**
+     * Násobení - výsledek je vždy tmavší.
+     * <code>B(cs, cd) = cs * cd</code>
+     */
+    MULTIPLY {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return separable(src, dst, BlendMode::mixMultiply);
+        }
+    },
+
+    /**
+     * Závoj - výsledek je vždy světlejší.
+     * <code>B(cs, cd) = cs + cd - cs * cd</code>
+     */
+    SCREEN {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return separable(src, dst, BlendMode::mixScreen);
+        }
+    },
+
+    /**
+     * Překrytí - podle cíle buď násobí, nebo zesvětluje.
+     * <code>B(cs, cd) = HardLight(cd, cs)</code>
+     */
+    OVERLAY {
+        @Override
+        public int compositePremultiplied(int src, int dst) {
+            return separable(src, dst, BlendMode::mixOverlay);
+        }
+    };
+
+    /**
+     * Složí dvě barvy s přednásobenou průhledností.
+     *
+     * @param src zdrojová barva s přednásobenou průhledností
+     * @param dst cílová barva s přednásobenou průhledností
+     * @return výsledná barva s přednásobenou průhledností
+     */
+    public abstract int compositePremultiplied(int src, int dst);
+
+    /**
+     * Složí dvě barvy ve formátu ARGB.
+     *
+     * @param src zdrojová barva ve formátu ARGB
+     * @param dst cílová barva ve formátu ARGB
+     * @return výsledná barva ve formátu ARGB
+     */
+    public int composite(int src, int dst) {
+        return PackedColors.unpremultiply(compositePremultiplied(
+                PackedColors.premultiply(src), PackedColors.premultiply(dst)));
+    }
+
+    /**
+     * Složí dvě barvy.
+     *
+     * @param src zdrojová barva
+     * @param dst cílová barva
+     * @return výsledná barva
+     */
+    public Color composite(Color src, Color dst) {
+        return Color.createARGB(composite(src.getARGB(), dst.getARGB()));
+    }
+
+    // --- hromadné operace
+
+    /**
+     * Složí úseky dvou polí s barvami ve formátu ARGB, výsledek zapíše do
+     * cílového pole.
+     *
+     * @param src zdrojové barvy
+     * @param srcOffset index první zdrojové barvy
+     * @param dst cílové barvy
+     * @param dstOffset index první cílové barvy
+     * @param length počet barev
+     */
+    public void composite(int[] src, int srcOffset,
+            int[] dst, int dstOffset, int length) {
+
+        for (int i = 0; i < length; i++)
+            dst[dstOffset + i] = composite(src[srcOffset + i], dst[dstOffset + i]);
+    }
+
+    /**
+     * Složí úseky dvou polí s barvami s přednásobenou průhledností, výsledek
+     * zapíše do cílového pole. Při skládání více vrstev je výhodnější data
+     * jednou převést metodou {@link PackedColors#premultiply(int[], int, int)},
+     * použít tuto metodu a výsledek nakonec převést zpět.
+     *
+     * @param src zdrojové barvy s přednásobenou průhledností
+     * @param srcOffset index první zdrojové barvy
+     * @param dst cílové barvy s přednásobenou průhledností
+     * @param dstOffset index první cílové barvy
+     * @param length počet barev
+     */
+    public void compositePremultiplied(int[] src, int srcOffset,
+            int[] dst, int dstOffset, int length) {
+
+        for (int i = 0; i < length; i++)
+            dst[dstOffset + i] = compositePremultiplied(
+                    src[srcOffset + i], dst[dstOffset + i]);
+    }
+
+    // --- pomocné metody
+
+    /**
+     * Výpočet jedné přednásobené složky oddělitelného režimu míchání.
+     * Vrací složku vynásobenou 255, dělí se až nakonec - mezivýsledky se
+     * nezaokrouhlují.
+     */
+    private interface Mixer {
+
+        /**
+         * @param cs složka zdroje (přednásobená)
+         * @param cd složka cíle (přednásobená)
+         * @param as průhlednost zdroje
+         * @param ad průhlednost cíle
+         * @return složka výsledku (přednásobená) krát 255
+         */
+        int mix(int cs, int cd, int as, int ad);
+    }
+
+    private static int separable(int src, int dst, Mixer mixer) {
+        final int as = alpha(src);
+        final int ad = alpha(dst);
+
+        final int a = as + ad - multiply(as, ad);
+        final int r = divide(mixer.mix(red(src),   red(dst),   as, ad));
+        final int g = divide(mixer.mix(green(src), green(dst), as, ad));
+        final int b = divide(mixer.mix(blue(src),  blue(dst),  as, ad));
+
+        return (a << 24) | (clamp(r, a) << 16) | (clamp(g, a) << 8) | clamp(b, a);
+    }
+
+    private static int mixMultiply(int cs, int cd, int as, int ad) {
+        return cs * (0xFF - ad) + cd * (0xFF - as) + cs * cd;
+    }
+
+    private static int mixScreen(int cs, int cd, int as, int ad) {
+        return (cs + cd) * 0xFF - cs * cd;
+    }
+
+    private static int mixOverlay(int cs, int cd, int as, int ad) {
+        final int common = cs * (0xFF - ad) + cd * (0xFF - as);
+        return (2 * cd <= ad)
+                ? common + 2 * cs * cd
+                : common + as * ad - 2 * (ad - cd) * (as - cs);
+    }
+
+    /** Vydělí 255 se zaokrouhlením, záporné hodnoty převede na nulu. */
+    private static int divide(int value) {
+        return (value <= 0) ? 0 : (value + 127) / 255;
+    }
+
+    private static int porterDuff(int src, int dst, int fa, int fb) {
+        final int a = multiply(alpha(src), fa) + multiply(alpha(dst), fb);
+        final int r = multiply(red(src),   fa) + multiply(red(dst),   fb);
+        final int g = multiply(green(src), fa) + multiply(green(dst), fb);
+        final int b = multiply(blue(src),  fa) + multiply(blue(dst),  fb);
+
+        final int ca = Math.min(a, 0xFF);
+        return (ca << 24) | (clamp(r, ca) << 16) | (clamp(g, ca) << 8) | clamp(b, ca);
+    }
+
+    /** Přednásobená složka nesmí být větší než průhlednost. */
+    private static int clamp(int c, int a) {
+        return (c < 0) ? 0 : (c > a) ? a : c;
+    }
+
+}
@@ -8,7 +8,9 @@ import java.io.Serializable;
  * ukládány v datovém typu <code>byte</code>.
  * Předdefinované barvy odpovídají těm z {@link java.awt.Color}.
  * 
- * @version 2014-12-18
+ * @see PackedColors
+ * 
+ * @version 2026-10-17
  * @author Patrik Harag
  */
 public final class Color implements Serializable {
@@ -88,7 +90,17 @@ public final class Color implements Serializable {
     
     //<editor-fold defaultstate="collapsed" desc="Tovární metody">
     
+    /**
+     * Vytvoří barvu z formátu ARGB. Pokud je zapnutá {@link ColorCache},
+     * může vrátit již existující instanci.
+     * 
+     * @param argb barva ve formátu ARGB
+     * @return barva
+     */
     public static Color createARGB(int argb) {
+        if (ColorCache.isEnabled())
+            return ColorCache.valueOf(argb);
+        
         return new Color(
                 (argb >> 16) & 0xFF,
                 (argb >>  8) & 0xFF,
@@ -101,22 +113,28 @@ public final class Color implements Serializable {
     }
     
     public static Color createGray(int gray) {
+        if (ColorCache.isEnabled())
+            return ColorCache.gray(gray);
+        
         return new Color(gray, gray, gray);
     }
     
     public static Color createGray(int gray, int alpha) {
+        if (ColorCache.isEnabled())
+            return ColorCache.valueOf(PackedColors.argb(gray, gray, gray, alpha));
+        
         return new Color(gray, gray, gray, alpha);
     }
     
     public static Color createGray(double gray) {
         byte bGray = (byte) (gray * 0xFF + 0.5);
-        return new Color(bGray, bGray, bGray);
+        return createGray(bGray & 0xFF);
     }
     
     public static Color createGray(double gray, double alpha) {
         byte bGray  = (byte) (gray  * 0xFF + 0.5);
         byte bAlpha = (byte) (alpha * 0xFF + 0.5);
-        return new Color(bGray, bGray, bGray, bAlpha);
+        return createGray(bGray & 0xFF, bAlpha & 0xFF);
     }
     
     //</editor-fold>
@@ -175,28 +193,89 @@ public final class Color implements Serializable {
     }
     
     public Color blend(Color foreground) {
-        // outputRed = (foregroundRed * foregroundAlpha)
-        //           + (backgroundRed * (1.0 - foregroundAlpha));
-        
-        final float fAlpha = foreground.getFloatAlpha();
-        final float fAlphaReverse = 1.0f - fAlpha;
-        
-        int nR = (int) ((foreground.getRed() * fAlpha)
-                + (getRed() * fAlphaReverse));
-        int nG = (int) ((foreground.getGreen() * fAlpha)
-                + (getGreen() * fAlphaReverse));
-        int nB = (int) ((foreground.getBlue() * fAlpha)
-                + (getBlue() * fAlphaReverse));
-        
-        return new Color(nR, nG, nB);
+        return createARGB(PackedColors.blend(getARGB(), foreground.getARGB()));
+    }
+    
+    /**
+     * Na barvu "nanese" jinou barvu určitým způsobem. Na rozdíl od
+     * {@link #blend(Color)} počítá i výslednou průhlednost.
+     * 
+     * @param foreground barva v popředí
+     * @param mode způsob skládání
+     * @return výsledná barva
+     */
+    public Color blend(Color foreground, BlendMode mode) {
+        return createARGB(mode.composite(foreground.getARGB(), getARGB()));
     }
     
     public Color grayscale() {
-        double gray = 0.21 * getDoubleRed()
-                + 0.71 * getDoubleGreen()
-                + 0.07 * getDoubleBlue();
-        
-        return new Color(gray, gray, gray, getDoubleAlpha());
+        return createARGB(PackedColors.grayscale(getARGB()));
+    }
+    //</editor-fold>
+    
+    //<editor-fold defaultstate="collapsed" desc="Barevné prostory">
+    /**
+     * Vrátí barvu v prostoru HSV jako <code>{h, s, v}</code>.
+     * 
+     * @return pole se složkami
+     * @see ColorSpaces#toHSV(int, float[])
+     */
+    public float[] toHSV() {
+        float[] hsv = new float[3];
+        ColorSpaces.toHSV(getARGB(), hsv);
+        return hsv;
+    }
+    
+    /**
+     * Vrátí barvu v prostoru HSL jako <code>{h, s, l}</code>.
+     * 
+     * @return pole se složkami
+     * @see ColorSpaces#toHSL(int, float[])
+     */
+    public float[] toHSL() {
+        float[] hsl = new float[3];
+        ColorSpaces.toHSL(getARGB(), hsl);
+        return hsl;
+    }
+    
+    /**
+     * Vrátí barvu v lineárním RGB jako <code>{r, g, b}</code>.
+     * 
+     * @return pole se složkami
+     * @see ColorSpaces#toLinearRGB(int, float[])
+     */
+    public float[] toLinearRGB() {
+        float[] rgb = new float[3];
+        ColorSpaces.toLinearRGB(getARGB(), rgb);
+        return rgb;
+    }
+    
+    /**
+     * Vrátí barvu v prostoru CIE L*a*b* jako <code>{L, a, b}</code>.
+     * 
+     * @return pole se složkami
+     * @see ColorSpaces#toLab(int, float[])
+     */
+    public float[] toLab() {
+        float[] lab = new float[3];
+        ColorSpaces.toLab(getARGB(), lab);
+        return lab;
+    }
+    
+    public static Color fromHSV(float h, float s, float v) {
+        return createARGB(ColorSpaces.fromHSV(h, s, v, 0xFF));
+    }
+    
+    public static Color fromHSL(float h, float s, float l) {
+        return createARGB(ColorSpaces.fromHSL(h, s, l, 0xFF));
+    }
+    
+    public static Color fromLinearRGB(float r, float g, float b) {
+        return createARGB(ColorSpaces.fromLinearRGB(r, g, b, 0xFF));
+    }
+    
+    public static Color fromLab(float l, float a, float b) {
+        return createARGB(ColorSpaces.fromLab(l, a, b, 0xFF));
     }
     //</editor-fold>
     
@@ -0,0 +1,217 @@
+package cz.hartrik.common;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Pole barev uložené mimo haldu v přímém (<i>direct</i>) {@link ByteBuffer}.
+ * Každá barva je uložena jako jeden <code>int</code> ve formátu ARGB, stejně
+ * jako vrací {@link Color#getARGB()}. Hromadné operace {@link #blend(int)},
+ * {@link #grayscale()} a {@link #changeAlpha(int)} dávají stejné výsledky
+ * jako odpovídající metody třídy {@link Color}, ale nevytváří žádné instance.
+ *
+ * @see PackedColors
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ColorBuffer {
+
+    private final ByteBuffer bytes;
+    private final IntBuffer buffer;
+    private final int size;
+
+    /**
+     * Vytvoří nový buffer o určité velikosti. Všechny barvy jsou na začátku
+     * zcela průhledné (<code>0x00000000</code>).
+     *
+     * @param size počet barev
+     */
+    public ColorBuffer(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size < 0");
+
+        this.bytes = ByteBuffer.allocateDirect(size * Integer.BYTES)
+                .order(ByteOrder.nativeOrder());
+        this.buffer = bytes.asIntBuffer();
+        this.size = size;
+    }
+
+    /**
+     * Vytvoří nový buffer a naplní ho barvami.
+     *
+     * @param colors barvy
+     * @return nový buffer
+     */
+    public static ColorBuffer of(Color... colors) {
+        ColorBuffer colorBuffer = new ColorBuffer(colors.length);
+        for (int i = 0; i < colors.length; i++)
+            colorBuffer.set(i, colors[i]);
+
+        return colorBuffer;
+    }
+
+    /**
+     * Vytvoří nový buffer a naplní ho barvami ve formátu ARGB.
+     *
+     * @param argb barvy
+     * @return nový buffer
+     */
+    public static ColorBuffer ofARGB(int... argb) {
+        ColorBuffer colorBuffer = new ColorBuffer(argb.length);
+        colorBuffer.put(0, argb, 0, argb.length);
+        return colorBuffer;
+    }
+
+    // --- přístup k jednotlivým barvám
+
+    public int size() {
+        return size;
+    }
+
+    public int getARGB(int index) {
+        return buffer.get(index);
+    }
+
+    public void setARGB(int index, int argb) {
+        buffer.put(index, argb);
+    }
+
+    public Color get(int index) {
+        return Color.createARGB(buffer.get(index));
+    }
+
+    public void set(int index, Color color) {
+        buffer.put(index, color.getARGB());
+    }
+
+    /**
+     * Nastaví všechny barvy na jednu hodnotu.
+     *
+     * @param argb barva ve formátu ARGB
+     */
+    public void fill(int argb) {
+        for (int i = 0; i < size; i++)
+            buffer.put(i, argb);
+    }
+
+    // --- hromadný přístup
+
+    /**
+     * Zkopíruje barvy z bufferu do pole.
+     *
+     * @param index index první barvy v bufferu
+     * @param dst cílové pole
+     * @param offset index v cílovém poli
+     * @param length počet barev
+     * @throws IndexOutOfBoundsException rozsah leží mimo buffer nebo pole
+     */
+    public void get(int index, int[] dst, int offset, int length) {
+        checkRange(index, length);
+        IntBuffer view = buffer.duplicate();
+        view.position(index);
+        view.get(dst, offset, length);
+    }
+
+    /**
+     * Zkopíruje barvy z pole do bufferu.
+     *
+     * @param index index první barvy v bufferu
+     * @param src zdrojové pole
+     * @param offset index ve zdrojovém poli
+     * @param length počet barev
+     * @throws IndexOutOfBoundsException rozsah leží mimo buffer nebo pole
+     */
+    public void put(int index, int[] src, int offset, int length) {
+        checkRange(index, length);
+        IntBuffer view = buffer.duplicate();
+        view.position(index);
+        view.put(src, offset, length);
+    }
+
+    private void checkRange(int index, int length) {
+        if (index < 0 || length < 0 || index > size - length)
+            throw new IndexOutOfBoundsException(
+                    "index: " + index + ", length: " + length + ", size: " + size);
+    }
+
+    /**
+     * Vrátí pohled na data bufferu. Změny se projeví v obou směrech.
+     *
+     * @return nový pohled na data
+     */
+    public IntBuffer asIntBuffer() {
+        return buffer.duplicate();
+    }
+
+    /**
+     * Vrátí pohled na surová data bufferu v nativním pořadí bajtů.
+     * Změny se projeví v obou směrech.
+     *
+     * @return nový pohled na data
+     */
+    public ByteBuffer asByteBuffer() {
+        return bytes.duplicate().order(ByteOrder.nativeOrder());
+    }
+
+    // --- hromadné úpravy
+
+    /**
+     * Přes všechny barvy v bufferu "nanese" barvu.
+     *
+     * @param foreground barva v popředí
+     * @see Color#blend(Color)
+     */
+    public void blend(Color foreground) {
+        blend(foreground.getARGB());
+    }
+
+    /**
+     * Přes všechny barvy v bufferu "nanese" barvu.
+     *
+     * @param foreground barva v popředí ve formátu ARGB
+     * @see Color#blend(Color)
+     */
+    public void blend(int foreground) {
+        for (int i = 0; i < size; i++)
+            buffer.put(i, PackedColors.blend(buffer.get(i), foreground));
+    }
+
+    /**
+     * Přes barvy v bufferu "nanese" barvy z jiného bufferu stejné velikosti.
+     *
+     * @param foreground barvy v popředí
+     * @see Color#blend(Color)
+     */
+    public void blend(ColorBuffer foreground) {
+        if (foreground.size != size)
+            throw new IllegalArgumentException("size mismatch");
+
+        for (int i = 0; i < size; i++)
+            buffer.put(i, PackedColors.blend(
+                    buffer.get(i), foreground.buffer.get(i)));
+    }
+
+    /**
+     * Převede všechny barvy na odstíny šedi.
+     *
+     * @see Color#grayscale()
+     */
+    public void grayscale() {
+        for (int i = 0; i < size; i++)
+            buffer.put(i, PackedColors.grayscale(buffer.get(i)));
+    }
+
+    /**
+     * Nastaví všem barvám průhlednost.
+     *
+     * @param alpha průhlednost (0 - 255)
+     * @see Color#changeAlpha(int)
+     */
+    public void changeAlpha(int alpha) {
+        for (int i = 0; i < size; i++)
+            buffer.put(i, PackedColors.changeAlpha(buffer.get(i), alpha));
+    }
+
+}
@@ -0,0 +1,258 @@
+package cz.hartrik.common;
+
+import cz.hartrik.common.reflect.LibraryClass;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Volitelná vrstva, která zabraňuje opakovanému vytváření stejných instancí
+ * {@link Color} v továrních metodách {@link Color#createARGB(int)},
+ * {@link Color#createRGB(int)} a {@link Color#createGray(int)}. <p>
+ *
+ * Obsahuje:
+ * <ul>
+ *   <li>pevnou tabulku všech 256 neprůhledných odstínů šedi,</li>
+ *   <li>kanonické instance konstant z {@link Color} a {@link WebColors},</li>
+ *   <li>omezenou cache pro ostatní barvy - pole s přímým mapováním, do
+ *       kterého se zapisuje bez zámků; při kolizi je starší barva
+ *       nahrazena.</li>
+ * </ul>
+ *
+ * Ve výchozím stavu je vypnutá, zapnout ji lze metodou
+ * {@link #setEnabled(boolean)} nebo systémovou vlastností
+ * <code>cz.hartrik.common.colorCache=true</code>. Velikost cache lze nastavit
+ * vlastností <code>cz.hartrik.common.colorCache.size</code> nebo metodou
+ * {@link #setCapacity(int)}; neplatná hodnota vlastnosti se ignoruje. Tabulky
+ * se vytváří až při prvním použití cache, vypnutá cache tedy nic nestojí.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@LibraryClass
+public final class ColorCache {
+
+    private ColorCache() {}
+
+    public static final String PROPERTY_ENABLED = "cz.hartrik.common.colorCache";
+    public static final String PROPERTY_SIZE = "cz.hartrik.common.colorCache.size";
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY_ENABLED);
+
+    /** Cache pro obecné barvy, vytváří se až při prvním použití. */
+    private static volatile Table table;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * Kanonické instance konstant a tabulka odstínů šedi. Inicializují se až
+     * při prvním použití, ne při pouhém dotazu {@link #isEnabled()}.
+     */
+    private static final class Constants {
+
+        static final Map<Integer, Color> COLORS = initConstants();
+        static final Color[] GRAYS = initGrays();
+
+        private static Map<Integer, Color> initConstants() {
+            Map<Integer, Color> map = new HashMap<>();
+            addConstants(map, Color.class);
+            addConstants(map, WebColors.class);
+            return map;
+        }
+
+        private static void addConstants(Map<Integer, Color> map, Class<?> cls) {
+            for (Field field : cls.getFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) && field.getType() == Color.class) {
+                    try {
+                        Color color = (Color) field.get(null);
+                        map.putIfAbsent(color.getARGB(), color);
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+
+        private static Color[] initGrays() {
+            Color[] grays = new Color[256];
+            for (int i = 0; i < grays.length; i++) {
+                Color constant = COLORS.get(PackedColors.gray(i));
+                grays[i] = (constant != null) ? constant : new Color(i, i, i);
+            }
+            return grays;
+        }
+    }
+
+    private static Table table() {
+        Table current = table;
+        if (current == null) {
+            synchronized (ColorCache.class) {
+                current = table;
+                if (current == null)
+                    table = current = new Table(initialCapacity());
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Vrátí kapacitu ze systémové vlastnosti. Neplatná hodnota nesmí
+     * znemožnit vytváření barev, použije se proto výchozí kapacita.
+     */
+    static int initialCapacity() {
+        final Integer size = Integer.getInteger(PROPERTY_SIZE);
+        if (size == null || size < 1)
+            return DEFAULT_CAPACITY;
+
+        return Math.min(size, MAX_CAPACITY);
+    }
+
+    // --- nastavení
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Zapne nebo vypne používání cache v továrních metodách třídy
+     * {@link Color}.
+     *
+     * @param enabled zapnuto
+     */
+    public static void setEnabled(boolean enabled) {
+        ColorCache.enabled = enabled;
+    }
+
+    /**
+     * Vrátí počet míst v cache pro obecné barvy.
+     *
+     * @return kapacita
+     */
+    public static int getCapacity() {
+        return table().slots.length();
+    }
+
+    /**
+     * Nahradí cache pro obecné barvy novou, prázdnou cache. Kapacita je
+     * zaokrouhlena nahoru na mocninu dvou a omezena na {@link #MAX_CAPACITY}.
+     *
+     * @param capacity požadovaný počet míst
+     */
+    public static void setCapacity(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity < 1");
+
+        table = new Table(Math.min(capacity, MAX_CAPACITY));
+    }
+
+    /** Vyprázdní cache pro obecné barvy a vynuluje statistiky. */
+    public static void clear() {
+        table = new Table(getCapacity());
+        resetStatistics();
+    }
+
+    // --- statistiky
+
+    /**
+     * Vrátí počet požadavků, které byly obslouženy existující instancí.
+     *
+     * @return počet zásahů
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Vrátí počet požadavků, pro které musela být vytvořena nová instance.
+     *
+     * @return počet nezdarů
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    // --- získání barev
+
+    /**
+     * Vrátí neprůhledný odstín šedi z pevné tabulky.
+     *
+     * @param gray jas (použije se nejnižší bajt)
+     * @return odstín šedi
+     */
+    public static Color gray(int gray) {
+        hits.increment();
+        return Constants.GRAYS[gray & 0xFF];
+    }
+
+    /**
+     * Vrátí barvu z cache, popřípadě ji vytvoří a do cache uloží.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return barva
+     */
+    public static Color valueOf(int argb) {
+        if ((argb & 0xFF000000) == 0xFF000000) {
+            int r = PackedColors.red(argb);
+            if (r == PackedColors.green(argb) && r == PackedColors.blue(argb))
+                return gray(r);
+        }
+
+        final Table current = table();
+        final int index = current.index(argb);
+
+        Color color = current.slots.get(index);
+        if (color != null && color.getARGB() == argb) {
+            hits.increment();
+            return color;
+        }
+
+        color = Constants.COLORS.get(argb);
+        if (color == null) {
+            misses.increment();
+            color = new Color(
+                    PackedColors.red(argb),
+                    PackedColors.green(argb),
+                    PackedColors.blue(argb),
+                    PackedColors.alpha(argb));
+        } else {
+            hits.increment();
+        }
+
+        current.slots.lazySet(index, color);
+        return color;
+    }
+
+    // --- tabulka
+
+    private static final class Table {
+
+        final AtomicReferenceArray<Color> slots;
+        final int shift;
+
+        Table(int capacity) {
+            int bits = 32 - Integer.numberOfLeadingZeros(capacity - 1);
+            this.slots = new AtomicReferenceArray<>(1 << bits);
+            this.shift = 32 - bits;
+        }
+
+        int index(int argb) {
+            // Fibonacci hashing, barvy se často liší jen v nižších bitech
+            return (shift == 32) ? 0 : (argb * 0x9E3779B9) >>> shift;
+        }
+
+    }
+
+}
@@ -0,0 +1,311 @@
+package cz.hartrik.common;
+
+import java.util.stream.IntStream;
+
+/**
+ * Metriky vnímaného rozdílu dvou barev. Všechny metriky pracují v prostoru
+ * CIE L*a*b* (viz {@link ColorSpaces#toLab(int, float[])}), průhlednost
+ * se nebere v úvahu. <p>
+ *
+ * Hromadné metody převádí každou barvu do L*a*b* jen jednou a převedené
+ * hodnoty opakovaně používají, metody s příponou <code>Parallel</code>
+ * rozdělí práci mezi více vláken ve společném
+ * {@link java.util.concurrent.ForkJoinPool}. Pokud se stejné barvy porovnávají
+ * opakovaně, je výhodnější je jednou převést metodou
+ * {@link ColorSpaces#toLab(int[], int, float[], int, int)} a dále pracovat
+ * s metodami, které přijímají pole L*a*b*.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public enum ColorDifference {
+
+    /** Euklidovská vzdálenost v L*a*b* (CIE 1976). */
+    CIE76 {
+        @Override
+        public double difference(float l1, float a1, float b1,
+                float l2, float a2, float b2) {
+
+            final double dl = l1 - l2;
+            final double da = a1 - a2;
+            final double db = b1 - b2;
+            return Math.sqrt(dl * dl + da * da + db * db);
+        }
+    },
+
+    /**
+     * CIE 1994, váhy pro grafiku (k<sub>L</sub> = 1). Metrika není
+     * symetrická - první barva je brána jako referenční.
+     */
+    CIE94 {
+        @Override
+        public double difference(float l1, float a1, float b1,
+                float l2, float a2, float b2) {
+
+            final double c1 = Math.sqrt(a1 * a1 + b1 * b1);
+            final double c2 = Math.sqrt(a2 * a2 + b2 * b2);
+
+            final double dl = l1 - l2;
+            final double dc = c1 - c2;
+            final double da = a1 - a2;
+            final double db = b1 - b2;
+            final double dh2 = Math.max(0, da * da + db * db - dc * dc);
+
+            final double sc = 1 + 0.045 * c1;
+            final double sh = 1 + 0.015 * c1;
+
+            return Math.sqrt(dl * dl + (dc / sc) * (dc / sc) + dh2 / (sh * sh));
+        }
+    },
+
+    /** CIEDE2000 (k<sub>L</sub> = k<sub>C</sub> = k<sub>H</sub> = 1). */
+    CIEDE2000 {
+        @Override
+        public double difference(float l1, float a1, float b1,
+                float l2, float a2, float b2) {
+
+            final double c1 = Math.sqrt(a1 * a1 + b1 * b1);
+            final double c2 = Math.sqrt(a2 * a2 + b2 * b2);
+            final double meanC7 = pow7((c1 + c2) / 2);
+            final double g = 0.5 * (1 - Math.sqrt(meanC7 / (meanC7 + POW_25_7)));
+
+            final double ap1 = (1 + g) * a1;
+            final double ap2 = (1 + g) * a2;
+            final double cp1 = Math.sqrt(ap1 * ap1 + b1 * b1);
+            final double cp2 = Math.sqrt(ap2 * ap2 + b2 * b2);
+            final double hp1 = hue(ap1, b1);
+            final double hp2 = hue(ap2, b2);
+
+            final double dlp = l2 - l1;
+            final double dcp = cp2 - cp1;
+
+            double dhp = 0;
+            if (cp1 * cp2 != 0) {
+                dhp = hp2 - hp1;
+                if (dhp > 180) dhp -= 360;
+                else if (dhp < -180) dhp += 360;
+            }
+            final double dHp = 2 * Math.sqrt(cp1 * cp2)
+                    * Math.sin(Math.toRadians(dhp / 2));
+
+            final double meanLp = (l1 + l2) / 2.0;
+            final double meanCp = (cp1 + cp2) / 2;
+
+            double meanHp = hp1 + hp2;
+            if (cp1 * cp2 != 0) {
+                if (Math.abs(hp1 - hp2) <= 180)
+                    meanHp /= 2;
+                else
+                    meanHp = (meanHp < 360) ? (meanHp + 360) / 2 : (meanHp - 360) / 2;
+            }
+
+            final double t = 1
+                    - 0.17 * Math.cos(Math.toRadians(meanHp - 30))
+                    + 0.24 * Math.cos(Math.toRadians(2 * meanHp))
+                    + 0.32 * Math.cos(Math.toRadians(3 * meanHp + 6))
+                    - 0.20 * Math.cos(Math.toRadians(4 * meanHp - 63));
+
+            final double dTheta = 30 * Math.exp(
+                    -((meanHp - 275) / 25) * ((meanHp - 275) / 25));
+            final double meanCp7 = pow7(meanCp);
+            final double rc = 2 * Math.sqrt(meanCp7 / (meanCp7 + POW_25_7));
+            final double l50 = (meanLp - 50) * (meanLp - 50);
+            final double sl = 1 + 0.015 * l50 / Math.sqrt(20 + l50);
+            final double sc = 1 + 0.045 * meanCp;
+            final double sh = 1 + 0.015 * meanCp * t;
+            final double rt = -Math.sin(Math.toRadians(2 * dTheta)) * rc;
+
+            final double ql = dlp / sl;
+            final double qc = dcp / sc;
+            final double qh = dHp / sh;
+            return Math.sqrt(ql * ql + qc * qc + qh * qh + rt * qc * qh);
+        }
+    };
+
+    private static final double POW_25_7 = 6103515625.0;  // 25^7
+
+    /** Počet barev převáděných do L*a*b* najednou v hromadných metodách. */
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Minimální počet porovnání, od kterého se metody s příponou
+     * <code>Parallel</code> rozdělí mezi více vláken.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Vypočte rozdíl dvou barev v prostoru CIE L*a*b*.
+     *
+     * @param l1 světlost první barvy
+     * @param a1 složka a* první barvy
+     * @param b1 složka b* první barvy
+     * @param l2 světlost druhé barvy
+     * @param a2 složka a* druhé barvy
+     * @param b2 složka b* druhé barvy
+     * @return rozdíl
+     */
+    public abstract double difference(float l1, float a1, float b1,
+            float l2, float a2, float b2);
+
+    /**
+     * Vypočte rozdíl dvou barev.
+     *
+     * @param argb1 první barva ve formátu ARGB
+     * @param argb2 druhá barva ve formátu ARGB
+     * @return rozdíl
+     */
+    public double difference(int argb1, int argb2) {
+        final float[] lab1 = new float[3];
+        final float[] lab2 = new float[3];
+        ColorSpaces.toLab(argb1, lab1);
+        ColorSpaces.toLab(argb2, lab2);
+        return difference(lab1[0], lab1[1], lab1[2], lab2[0], lab2[1], lab2[2]);
+    }
+
+    /**
+     * Vypočte rozdíl dvou barev.
+     *
+     * @param color1 první barva
+     * @param color2 druhá barva
+     * @return rozdíl
+     */
+    public double difference(Color color1, Color color2) {
+        return difference(color1.getARGB(), color2.getARGB());
+    }
+
+    // --- hromadné operace
+
+    /**
+     * Vypočte rozdíly odpovídajících si barev ze dvou polí L*a*b*
+     * (pro každou barvu tři prvky).
+     *
+     * @param lab1 první pole L*a*b*
+     * @param offset1 index v prvním poli
+     * @param lab2 druhé pole L*a*b*
+     * @param offset2 index ve druhém poli
+     * @param out výstupní pole
+     * @param outOffset index ve výstupním poli
+     * @param length počet dvojic
+     */
+    public void difference(float[] lab1, int offset1, float[] lab2, int offset2,
+            double[] out, int outOffset, int length) {
+
+        for (int i = 0; i < length; i++) {
+            final int i1 = offset1 + 3 * i;
+            final int i2 = offset2 + 3 * i;
+            out[outOffset + i] = difference(
+                    lab1[i1], lab1[i1 + 1], lab1[i1 + 2],
+                    lab2[i2], lab2[i2 + 1], lab2[i2 + 2]);
+        }
+    }
+
+    /**
+     * Vypočte rozdíly odpovídajících si barev ze dvou polí barev ve formátu
+     * ARGB. Barvy jsou převáděny do L*a*b* po blocích, nevytváří se tedy
+     * žádná velká pomocná pole.
+     *
+     * @param argb1 první pole barev
+     * @param offset1 index v prvním poli
+     * @param argb2 druhé pole barev
+     * @param offset2 index ve druhém poli
+     * @param out výstupní pole
+     * @param outOffset index ve výstupním poli
+     * @param length počet dvojic
+     */
+    public void difference(int[] argb1, int offset1, int[] argb2, int offset2,
+            double[] out, int outOffset, int length) {
+
+        final float[] lab1 = new float[3 * Math.min(length, CHUNK_SIZE)];
+        final float[] lab2 = new float[lab1.length];
+
+        for (int from = 0; from < length; from += CHUNK_SIZE) {
+            final int n = Math.min(CHUNK_SIZE, length - from);
+            ColorSpaces.toLab(argb1, offset1 + from, lab1, 0, n);
+            ColorSpaces.toLab(argb2, offset2 + from, lab2, 0, n);
+            difference(lab1, 0, lab2, 0, out, outOffset + from, n);
+        }
+    }
+
+    /**
+     * Stejné jako {@link #difference(int[], int, int[], int, double[], int, int)},
+     * velká pole jsou ale rozdělena na bloky, které se zpracují paralelně.
+     *
+     * @param argb1 první pole barev
+     * @param offset1 index v prvním poli
+     * @param argb2 druhé pole barev
+     * @param offset2 index ve druhém poli
+     * @param out výstupní pole
+     * @param outOffset index ve výstupním poli
+     * @param length počet dvojic
+     */
+    public void differenceParallel(int[] argb1, int offset1,
+            int[] argb2, int offset2, double[] out, int outOffset, int length) {
+
+        if (length < PARALLEL_THRESHOLD) {
+            difference(argb1, offset1, argb2, offset2, out, outOffset, length);
+            return;
+        }
+
+        final int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int n = Math.min(CHUNK_SIZE, length - from);
+            difference(argb1, offset1 + from, argb2, offset2 + from,
+                    out, outOffset + from, n);
+        });
+    }
+
+    /**
+     * Vypočte matici rozdílů každé barvy z prvního pole s každou barvou
+     * z druhého pole. Každá barva je do L*a*b* převedena jen jednou, řádky
+     * matice se počítají paralelně.
+     *
+     * @param argb1 první pole barev (řádky matice)
+     * @param argb2 druhé pole barev (sloupce matice)
+     * @return matice uložená po řádcích; rozdíl barev <code>argb1[i]</code>
+     *         a <code>argb2[j]</code> je na indexu
+     *         <code>i * argb2.length + j</code>
+     */
+    public double[] matrix(int[] argb1, int[] argb2) {
+        final int rows = argb1.length;
+        final int cols = argb2.length;
+        if ((long) rows * cols > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Matrix too large");
+
+        final float[] lab1 = new float[3 * rows];
+        final float[] lab2 = new float[3 * cols];
+        ColorSpaces.toLab(argb1, 0, lab1, 0, rows);
+        ColorSpaces.toLab(argb2, 0, lab2, 0, cols);
+
+        final double[] out = new double[rows * cols];
+        IntStream rowIndices = IntStream.range(0, rows);
+        if ((long) rows * cols >= PARALLEL_THRESHOLD)
+            rowIndices = rowIndices.parallel();
+
+        rowIndices.forEach(i -> {
+            final float l = lab1[3 * i];
+            final float a = lab1[3 * i + 1];
+            final float b = lab1[3 * i + 2];
+            final int base = i * cols;
+            for (int j = 0; j < cols; j++) {
+                out[base + j] = difference(l, a, b,
+                        lab2[3 * j], lab2[3 * j + 1], lab2[3 * j + 2]);
+            }
+        });
+        return out;
+    }
+
+    // --- pomocné metody
+
+    private static double pow7(double x) {
+        final double x2 = x * x;
+        return x2 * x2 * x2 * x;
+    }
+
+    private static double hue(double a, double b) {
+        if (a == 0 && b == 0) return 0;
+        final double h = Math.toDegrees(Math.atan2(b, a));
+        return (h < 0) ? h + 360 : h;
+    }
+
+}
@@ -0,0 +1,178 @@
+package cz.hartrik.common;
+
+import java.awt.image.BufferedImage;
+import java.util.stream.IntStream;
+
+/**
+ * Histogram barev s rozlišením 5 bitů na složku (32 768 přihrádek). Kromě
+ * počtu barev si každá přihrádka pamatuje i součty jednotlivých složek,
+ * takže lze zjistit přesnou průměrnou barvu přihrádky. Průhlednost se
+ * nebere v úvahu. <p>
+ *
+ * Slouží jako vstup pro {@link ColorQuantizer}.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ColorHistogram {
+
+    /** Počet bitů na jednu složku. */
+    public static final int BITS = 5;
+
+    /** Počet přihrádek. */
+    public static final int BINS = 1 << (3 * BITS);
+
+    /** Přibližný počet pixelů zpracovaných jedním úkolem. */
+    private static final int BAND_SIZE = 1 << 18;
+
+    final long[] count = new long[BINS];
+    final long[] sumR = new long[BINS];
+    final long[] sumG = new long[BINS];
+    final long[] sumB = new long[BINS];
+
+    /**
+     * Vrátí index přihrádky, do které patří barva.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return index přihrádky
+     */
+    public static int bin(int argb) {
+        return ((argb >> 9) & 0x7C00)   // červená, bity 10 - 14
+             | ((argb >> 6) & 0x03E0)   // zelená, bity 5 - 9
+             | ((argb >> 3) & 0x001F);  // modrá, bity 0 - 4
+    }
+
+    /**
+     * Přidá barvu do histogramu.
+     *
+     * @param argb barva ve formátu ARGB
+     */
+    public void accept(int argb) {
+        final int bin = bin(argb);
+        count[bin]++;
+        sumR[bin] += PackedColors.red(argb);
+        sumG[bin] += PackedColors.green(argb);
+        sumB[bin] += PackedColors.blue(argb);
+    }
+
+    /**
+     * Přidá úsek pole barev do histogramu.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param length počet barev
+     */
+    public void accept(int[] argb, int offset, int length) {
+        for (int i = offset; i < offset + length; i++)
+            accept(argb[i]);
+    }
+
+    /**
+     * Přičte k tomuto histogramu jiný histogram.
+     *
+     * @param other jiný histogram
+     * @return tento histogram
+     */
+    public ColorHistogram combine(ColorHistogram other) {
+        for (int i = 0; i < BINS; i++) {
+            count[i] += other.count[i];
+            sumR[i] += other.sumR[i];
+            sumG[i] += other.sumG[i];
+            sumB[i] += other.sumB[i];
+        }
+        return this;
+    }
+
+    // --- gettery
+
+    public long getCount(int bin) {
+        return count[bin];
+    }
+
+    /**
+     * Vrátí průměrnou barvu přihrádky. Pokud je přihrádka prázdná, vrátí
+     * barvu odpovídající jejímu středu.
+     *
+     * @param bin index přihrádky
+     * @return průměrná barva ve formátu ARGB
+     */
+    public int getMean(int bin) {
+        final long n = count[bin];
+        if (n == 0) {
+            final int half = 1 << (7 - BITS);
+            return PackedColors.rgb(
+                    ((bin >> (2 * BITS)) << (8 - BITS)) + half,
+                    (((bin >> BITS) & 0x1F) << (8 - BITS)) + half,
+                    ((bin & 0x1F) << (8 - BITS)) + half);
+        }
+        return PackedColors.rgb(
+                (int) ((sumR[bin] + n / 2) / n),
+                (int) ((sumG[bin] + n / 2) / n),
+                (int) ((sumB[bin] + n / 2) / n));
+    }
+
+    /**
+     * Vrátí celkový počet barev v histogramu.
+     *
+     * @return počet barev
+     */
+    public long getTotal() {
+        long total = 0;
+        for (long n : count) total += n;
+        return total;
+    }
+
+    /**
+     * Vrátí počet neprázdných přihrádek.
+     *
+     * @return počet neprázdných přihrádek
+     */
+    public int getUsedBins() {
+        int used = 0;
+        for (long n : count)
+            if (n != 0) used++;
+        return used;
+    }
+
+    // --- tovární metody
+
+    /**
+     * Vytvoří histogram z úseku pole barev.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param length počet barev
+     * @return histogram
+     */
+    public static ColorHistogram of(int[] argb, int offset, int length) {
+        ColorHistogram histogram = new ColorHistogram();
+        histogram.accept(argb, offset, length);
+        return histogram;
+    }
+
+    /**
+     * Vytvoří histogram všech pixelů obrázku. Obrázek je rozdělen na pásy
+     * řádků, pro každý pás se paralelně vytvoří samostatný histogram a ty
+     * se nakonec sečtou.
+     *
+     * @param image obrázek
+     * @return histogram
+     */
+    public static ColorHistogram of(BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+        final int bands = (height + rowsPerBand - 1) / rowsPerBand;
+
+        return IntStream.range(0, bands).parallel()
+                .mapToObj(band -> {
+                    int from = band * rowsPerBand;
+                    int rows = Math.min(height, from + rowsPerBand) - from;
+                    int[] data = image.getRGB(0, from, width, rows, null, 0, width);
+                    return of(data, 0, data.length);
+                })
+                .reduce(ColorHistogram::combine)
+                .orElseGet(ColorHistogram::new);
+    }
+
+}
@@ -0,0 +1,187 @@
+package cz.hartrik.common;
+
+/**
+ * Převádí textový zápis barvy ve stylu CSS na barvu ve formátu ARGB.
+ * Nevytváří žádné objekty (kromě výjimky při chybě). <p>
+ *
+ * Podporované zápisy:
+ * <ul>
+ *   <li><code>#rgb</code>, <code>#rgba</code>, <code>#rrggbb</code>,
+ *       <code>#rrggbbaa</code></li>
+ *   <li><code>rgb(r, g, b)</code>, <code>rgba(r, g, b, a)</code> - složky
+ *       jako celá čísla 0 - 255 nebo v procentech; průhlednost jako celé číslo
+ *       0 - 255 (stejně jako {@link Color#toString()}), desetinné číslo
+ *       0 - 1 (např. <code>0.5</code>, <code>1.0</code>) nebo v procentech</li>
+ *   <li>názvy barev z {@link WebColors} a <code>transparent</code></li>
+ * </ul>
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class ColorParser {
+
+    private ColorParser() {}
+
+    static int parse(CharSequence text) {
+        int from = 0;
+        int to = text.length();
+
+        while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) to--;
+
+        if (from == to)
+            throw error(text);
+
+        if (text.charAt(from) == '#')
+            return parseHex(text, from + 1, to);
+
+        if (startsWith(text, from, to, "rgba("))
+            return parseFunction(text, from + 5, to);
+
+        if (startsWith(text, from, to, "rgb("))
+            return parseFunction(text, from + 4, to);
+
+        int index = NamedColors.indexOf(text, from, to);
+        if (index >= 0)
+            return NamedColors.COLORS[index].getARGB();
+
+        if (to - from == 11 && startsWith(text, from, to, "transparent"))
+            return 0;
+
+        throw error(text);
+    }
+
+    // --- #rrggbb
+
+    private static int parseHex(CharSequence text, int from, int to) {
+        final int length = to - from;
+
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = hexDigit(text.charAt(i));
+            if (digit < 0) throw error(text);
+            value = (value << 4) | digit;
+        }
+
+        switch (length) {
+            case 3:  // rgb
+                return 0xFF000000 | expand(value >> 8) << 16
+                        | expand(value >> 4) << 8 | expand(value);
+            case 4:  // rgba
+                return expand(value) << 24 | expand(value >> 12) << 16
+                        | expand(value >> 8) << 8 | expand(value >> 4);
+            case 6:  // rrggbb
+                return 0xFF000000 | value;
+            case 8:  // rrggbbaa
+                return (value >>> 8) | (value << 24);
+            default:
+                throw error(text);
+        }
+    }
+
+    /** Jen znaky ASCII, {@link Character#digit(char, int)} přijímá i jiné. */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private static int expand(int digit) {
+        return (digit & 0xF) * 0x11;
+    }
+
+    // --- rgba(r, g, b, a)
+
+    private static int parseFunction(CharSequence text, int from, int to) {
+        if (text.charAt(to - 1) != ')')
+            throw error(text);
+
+        int r = 0, g = 0, b = 0, a = 0xFF;
+        int component = 0;
+        int i = from;
+        final int end = to - 1;
+
+        while (true) {
+            while (i < end && Character.isWhitespace(text.charAt(i))) i++;
+
+            // číslo
+            int start = i;
+            double value = 0;
+            double scale = 0;
+            while (i < end) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (scale == 0) {
+                        value = value * 10 + (c - '0');
+                    } else {
+                        value += (c - '0') * scale;
+                        scale /= 10;
+                    }
+                } else if (c == '.' && scale == 0) {
+                    scale = 0.1;
+                } else {
+                    break;
+                }
+                i++;
+            }
+            if (i == start)
+                throw error(text);
+
+            boolean percent = (i < end && text.charAt(i) == '%');
+            if (percent) i++;
+
+            int channel;
+            if (component < 3) {
+                channel = (int) (percent ? value * 255 / 100 + 0.5 : value);
+            } else {
+                channel = (int) (percent ? value * 255 / 100 + 0.5
+                        : (scale != 0) ? value * 255 + 0.5
+                        : value);
+            }
+            if (channel > 0xFF)
+                throw error(text);
+
+            switch (component) {
+                case 0: r = channel; break;
+                case 1: g = channel; break;
+                case 2: b = channel; break;
+                default: a = channel; break;
+            }
+            component++;
+
+            while (i < end && Character.isWhitespace(text.charAt(i))) i++;
+
+            if (i == end) break;
+            if (text.charAt(i) != ',' || component == 4)
+                throw error(text);
+            i++;
+        }
+
+        if (component < 3)
+            throw error(text);
+
+        return PackedColors.argb(r, g, b, a);
+    }
+
+    // --- pomocné metody
+
+    private static boolean startsWith(CharSequence text, int from, int to,
+            String prefix) {
+
+        if (to - from < prefix.length()) return false;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = text.charAt(from + i);
+            if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+            if (c != prefix.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException error(CharSequence text) {
+        return new IllegalArgumentException("Invalid color: " + text);
+    }
+
+}
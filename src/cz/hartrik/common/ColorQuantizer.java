@@ -0,0 +1,46 @@
+package cz.hartrik.common;
+
+/**
+ * Algoritmus, který z histogramu barev sestaví paletu s omezeným počtem
+ * barev, která co nejlépe reprezentuje původní barvy.
+ *
+ * @see ColorTools#quantize(java.awt.image.BufferedImage, int, ColorQuantizer, boolean)
+ * @see QuantizedImage
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@FunctionalInterface
+public interface ColorQuantizer {
+
+    /**
+     * Sestaví paletu.
+     *
+     * @param histogram histogram barev
+     * @param colors maximální počet barev palety
+     * @return paleta (může obsahovat méně barev, pokud jich histogram
+     *     obsahuje méně)
+     */
+    public Color[] palette(ColorHistogram histogram, int colors);
+
+    /**
+     * Vrátí kvantizér pracující s oktalovým stromem.
+     *
+     * @return kvantizér
+     * @see OctreeQuantizer
+     */
+    public static ColorQuantizer octree() {
+        return new OctreeQuantizer();
+    }
+
+    /**
+     * Vrátí kvantizér pracující metodou <i>median cut</i>.
+     *
+     * @return kvantizér
+     * @see MedianCutQuantizer
+     */
+    public static ColorQuantizer medianCut() {
+        return new MedianCutQuantizer();
+    }
+
+}
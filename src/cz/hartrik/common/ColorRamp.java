@@ -0,0 +1,297 @@
+package cz.hartrik.common;
+
+import java.util.Arrays;
+
+/**
+ * Barevná škála (gradient) předpočítaná do tabulky barev ve formátu ARGB.
+ * Je určena např. pro vykreslování teplotních map - převod hodnoty na barvu
+ * je jen výpočet indexu a čtení z pole, nic se nealokuje. <p>
+ *
+ * Škála je zadána zarážkami - dvojicemi pozice (0 - 1) a barvy. Mezi
+ * zarážkami se interpoluje buď přímo ve složkách sRGB, nebo v lineárním RGB
+ * (viz {@link Interpolation#GAMMA_CORRECT}). Hodnoty se na pozice převádí
+ * podle rozsahu nastaveného metodou {@link #domain(double, double)}
+ * (výchozí je 0 - 1), hodnoty mimo rozsah jsou oříznuty. <p>
+ *
+ * Instance jsou neměnné.
+ *
+ * <pre>{@code
+ *  ColorRamp ramp = ColorRamp.of(Color.BLUE, Color.GREEN, Color.RED)
+ *          .domain(minTemperature, maxTemperature);
+ *
+ *  int[] pixels = new int[temperatures.length];
+ *  ramp.map(temperatures, pixels);}</pre>
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ColorRamp {
+
+    /** Výchozí počet barev v tabulce. */
+    public static final int DEFAULT_SIZE = 256;
+
+    /** Způsob interpolace mezi zarážkami. */
+    public enum Interpolation {
+        /** Lineární interpolace složek sRGB. */
+        LINEAR,
+        /**
+         * Lineární interpolace v lineárním RGB - přechody nejsou uprostřed
+         * tmavší. Průhlednost se interpoluje lineárně.
+         */
+        GAMMA_CORRECT
+    }
+
+    private final int[] table;
+    private final double min;
+    private final double max;
+    private final double factor;
+
+    private ColorRamp(int[] table, double min, double max) {
+        if (!(min < max))
+            throw new IllegalArgumentException("min >= max");
+
+        this.table = table;
+        this.min = min;
+        this.max = max;
+        this.factor = (table.length - 1) / (max - min);
+    }
+
+    // --- tovární metody
+
+    /**
+     * Vytvoří škálu z rovnoměrně rozmístěných barev s {@link #DEFAULT_SIZE}
+     * barvami a lineární interpolací.
+     *
+     * @param colors barvy (alespoň dvě)
+     * @return nová škála
+     */
+    public static ColorRamp of(Color... colors) {
+        return of(colors, DEFAULT_SIZE, Interpolation.LINEAR);
+    }
+
+    /**
+     * Vytvoří škálu z rovnoměrně rozmístěných barev.
+     *
+     * @param colors barvy (alespoň dvě)
+     * @param size počet barev v tabulce (alespoň 2)
+     * @param interpolation způsob interpolace
+     * @return nová škála
+     */
+    public static ColorRamp of(Color[] colors, int size,
+            Interpolation interpolation) {
+
+        final double[] positions = new double[colors.length];
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = i / (colors.length - 1.0);
+
+        return of(positions, colors, size, interpolation);
+    }
+
+    /**
+     * Vytvoří škálu ze zarážek. Před první a za poslední zarážkou má škála
+     * barvu krajní zarážky. Více zarážek na stejné pozici vytvoří skokový
+     * přechod.
+     *
+     * @param positions vzestupně seřazené pozice zarážek (0 - 1)
+     * @param colors barvy zarážek (alespoň dvě)
+     * @param size počet barev v tabulce (alespoň 2)
+     * @param interpolation způsob interpolace
+     * @return nová škála
+     */
+    public static ColorRamp of(double[] positions, Color[] colors, int size,
+            Interpolation interpolation) {
+
+        if (positions.length != colors.length)
+            throw new IllegalArgumentException("length mismatch");
+        if (colors.length < 2)
+            throw new IllegalArgumentException("At least 2 stops required");
+        if (size < 2)
+            throw new IllegalArgumentException("size < 2");
+        for (int i = 1; i < positions.length; i++)
+            if (positions[i] < positions[i - 1])
+                throw new IllegalArgumentException("Positions not sorted");
+
+        final boolean gamma = (interpolation == Interpolation.GAMMA_CORRECT);
+        final int[] table = new int[size];
+
+        int stop = 0;
+        for (int i = 0; i < size; i++) {
+            final double position = i / (size - 1.0);
+            while (stop < positions.length && positions[stop] < position)
+                stop++;
+
+            if (stop == 0) {
+                table[i] = colors[0].getARGB();
+            } else if (stop == positions.length) {
+                table[i] = colors[colors.length - 1].getARGB();
+            } else {
+                final double from = positions[stop - 1];
+                final double t = (position - from) / (positions[stop] - from);
+                table[i] = interpolate(colors[stop - 1].getARGB(),
+                        colors[stop].getARGB(), (float) t, gamma);
+            }
+        }
+        return new ColorRamp(table, 0, 1);
+    }
+
+    private static int interpolate(int argb1, int argb2, float t, boolean gamma) {
+        final int alpha = Math.round(lerp(
+                PackedColors.alpha(argb1), PackedColors.alpha(argb2), t));
+
+        if (gamma) {
+            return ColorSpaces.fromLinearRGB(
+                    lerp(ColorSpaces.toLinear(PackedColors.red(argb1)),
+                         ColorSpaces.toLinear(PackedColors.red(argb2)), t),
+                    lerp(ColorSpaces.toLinear(PackedColors.green(argb1)),
+                         ColorSpaces.toLinear(PackedColors.green(argb2)), t),
+                    lerp(ColorSpaces.toLinear(PackedColors.blue(argb1)),
+                         ColorSpaces.toLinear(PackedColors.blue(argb2)), t),
+                    alpha);
+        } else {
+            return PackedColors.argb(
+                    Math.round(lerp(PackedColors.red(argb1),   PackedColors.red(argb2),   t)),
+                    Math.round(lerp(PackedColors.green(argb1), PackedColors.green(argb2), t)),
+                    Math.round(lerp(PackedColors.blue(argb1),  PackedColors.blue(argb2),  t)),
+                    alpha);
+        }
+    }
+
+    private static float lerp(float a, float b, float t) {
+        return a + (b - a) * t;
+    }
+
+    /**
+     * Vrátí škálu se stejnou tabulkou barev, která převádí hodnoty z jiného
+     * rozsahu.
+     *
+     * @param min hodnota, které odpovídá první barva tabulky
+     * @param max hodnota, které odpovídá poslední barva tabulky
+     * @return nová škála
+     */
+    public ColorRamp domain(double min, double max) {
+        return new ColorRamp(table, min, max);
+    }
+
+    // --- gettery
+
+    public int size() {
+        return table.length;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Vrátí barvu z tabulky.
+     *
+     * @param index index v tabulce
+     * @return barva ve formátu ARGB
+     */
+    public int getARGB(int index) {
+        return table[index];
+    }
+
+    /**
+     * Vrátí kopii tabulky barev.
+     *
+     * @return barvy ve formátu ARGB
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(table, table.length);
+    }
+
+    // --- převod hodnot
+
+    /**
+     * Převede hodnotu na barvu. Hodnoty mimo rozsah jsou oříznuty,
+     * <code>NaN</code> je převedeno na první barvu.
+     *
+     * @param value hodnota
+     * @return barva ve formátu ARGB
+     */
+    public int map(double value) {
+        final double position = (value - min) * factor + 0.5;
+        if (position >= table.length)
+            return table[table.length - 1];
+        return (position > 0) ? table[(int) position] : table[0];
+    }
+
+    /**
+     * Převede hodnotu na barvu. Hodnoty mimo rozsah jsou oříznuty.
+     *
+     * @param value hodnota
+     * @return barva ve formátu ARGB
+     */
+    public int map(int value) {
+        return map((double) value);
+    }
+
+    /**
+     * Převede hodnotu na barvu.
+     *
+     * @param value hodnota
+     * @return barva
+     */
+    public Color mapColor(double value) {
+        return Color.createARGB(map(value));
+    }
+
+    /**
+     * Převede pole hodnot na barvy.
+     *
+     * @param in hodnoty
+     * @param out výstupní pole barev ve formátu ARGB (alespoň stejně dlouhé)
+     */
+    public void map(double[] in, int[] out) {
+        map(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * Převede úsek pole hodnot na barvy.
+     *
+     * @param in hodnoty
+     * @param offset index první hodnoty
+     * @param out výstupní pole barev ve formátu ARGB
+     * @param outOffset index ve výstupním poli
+     * @param length počet hodnot
+     */
+    public void map(double[] in, int offset, int[] out, int outOffset,
+            int length) {
+
+        for (int i = 0; i < length; i++)
+            out[outOffset + i] = map(in[offset + i]);
+    }
+
+    /**
+     * Převede pole hodnot na barvy.
+     *
+     * @param in hodnoty
+     * @param out výstupní pole barev ve formátu ARGB (alespoň stejně dlouhé)
+     */
+    public void map(int[] in, int[] out) {
+        map(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * Převede úsek pole hodnot na barvy. Výstupní pole může být totožné
+     * se vstupním.
+     *
+     * @param in hodnoty
+     * @param offset index první hodnoty
+     * @param out výstupní pole barev ve formátu ARGB
+     * @param outOffset index ve výstupním poli
+     * @param length počet hodnot
+     */
+    public void map(int[] in, int offset, int[] out, int outOffset,
+            int length) {
+
+        for (int i = 0; i < length; i++)
+            out[outOffset + i] = map(in[offset + i]);
+    }
+
+}
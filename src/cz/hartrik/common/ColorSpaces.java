@@ -0,0 +1,405 @@
+package cz.hartrik.common;
+
+import cz.hartrik.common.reflect.LibraryClass;
+
+/**
+ * Obsahuje statické metody pro převod barev ve formátu ARGB do jiných
+ * barevných prostorů a zpět: HSV, HSL, lineární RGB a CIE L*a*b*
+ * (bílý bod D65). <p>
+ *
+ * Převody nepočítají gamma korekci pomocí {@link Math#pow(double, double)},
+ * ale používají předpočítané tabulky:
+ * <ul>
+ *   <li>256 hodnot pro převod sRGB na lineární RGB (přesné),</li>
+ *   <li>4096 hodnot pro převod lineárního RGB na sRGB (výsledek se může
+ *       v tmavých odstínech lišit nejvýše o 1),</li>
+ *   <li>4097 hodnot funkce třetí odmocniny pro L*a*b* (s lineární
+ *       interpolací).</li>
+ * </ul>
+ *
+ * Metody zapisují výsledky do předaných polí, takže nic nealokují.
+ * Složky jsou vždy v pořadí podle názvu prostoru - <code>{h, s, v}</code>,
+ * <code>{h, s, l}</code>, <code>{r, g, b}</code>, <code>{L, a, b}</code>;
+ * odstín je ve stupních (0 - 360), ostatní složky HSV, HSL a RGB v rozsahu
+ * 0 - 1. Průhlednost se nepřevádí.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@LibraryClass
+public final class ColorSpaces {
+
+    private ColorSpaces() {}
+
+    // --- tabulky
+
+    private static final int LINEAR_TABLE_SIZE = 4096;
+    private static final int CBRT_TABLE_SIZE = 4096;
+
+    private static final float[] SRGB_TO_LINEAR = new float[256];
+    private static final byte[] LINEAR_TO_SRGB = new byte[LINEAR_TABLE_SIZE];
+    private static final float[] LAB_F = new float[CBRT_TABLE_SIZE + 1];
+
+    // D65
+    private static final double XN = 0.95047;
+    private static final double YN = 1.00000;
+    private static final double ZN = 1.08883;
+
+    private static final double EPSILON = 216.0 / 24389;
+    private static final double KAPPA = 24389.0 / 27;
+
+    static {
+        for (int i = 0; i < SRGB_TO_LINEAR.length; i++)
+            SRGB_TO_LINEAR[i] = (float) sRGBToLinearExact(i / 255.0);
+
+        for (int i = 0; i < LINEAR_TO_SRGB.length; i++) {
+            double srgb = linearToSRGBExact(i / (LINEAR_TABLE_SIZE - 1.0));
+            LINEAR_TO_SRGB[i] = (byte) (srgb * 255 + 0.5);
+        }
+
+        for (int i = 0; i < LAB_F.length; i++)
+            LAB_F[i] = (float) labFExact((double) i / CBRT_TABLE_SIZE);
+    }
+
+    // --- přesné vzorce (pouze pro naplnění tabulek)
+
+    private static double sRGBToLinearExact(double c) {
+        return (c <= 0.04045) ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4);
+    }
+
+    private static double linearToSRGBExact(double l) {
+        return (l <= 0.0031308)
+                ? l * 12.92
+                : 1.055 * Math.pow(l, 1 / 2.4) - 0.055;
+    }
+
+    private static double labFExact(double t) {
+        return (t > EPSILON) ? Math.cbrt(t) : (KAPPA * t + 16) / 116;
+    }
+
+    // --- lineární RGB
+
+    /**
+     * Převede složku z sRGB do lineárního RGB.
+     *
+     * @param component složka (0 - 255)
+     * @return lineární složka (0 - 1)
+     */
+    public static float toLinear(int component) {
+        return SRGB_TO_LINEAR[component & 0xFF];
+    }
+
+    /**
+     * Převede lineární složku do sRGB.
+     *
+     * @param linear lineární složka (0 - 1), hodnoty mimo rozsah jsou oříznuty
+     * @return složka (0 - 255)
+     */
+    public static int toSRGB(float linear) {
+        if (!(linear > 0)) return 0;    // včetně NaN
+        if (linear >= 1) return 0xFF;
+        return LINEAR_TO_SRGB[(int) (linear * (LINEAR_TABLE_SIZE - 1) + 0.5f)] & 0xFF;
+    }
+
+    /**
+     * Převede barvu do lineárního RGB.
+     *
+     * @param argb barva ve formátu ARGB
+     * @param out pole alespoň o třech prvcích, kam bude zapsán výsledek
+     */
+    public static void toLinearRGB(int argb, float[] out) {
+        out[0] = SRGB_TO_LINEAR[PackedColors.red(argb)];
+        out[1] = SRGB_TO_LINEAR[PackedColors.green(argb)];
+        out[2] = SRGB_TO_LINEAR[PackedColors.blue(argb)];
+    }
+
+    /**
+     * Převede barvu z lineárního RGB.
+     *
+     * @param r červená (0 - 1)
+     * @param g zelená (0 - 1)
+     * @param b modrá (0 - 1)
+     * @param alpha průhlednost výsledné barvy (0 - 255)
+     * @return barva ve formátu ARGB
+     */
+    public static int fromLinearRGB(float r, float g, float b, int alpha) {
+        return PackedColors.argb(toSRGB(r), toSRGB(g), toSRGB(b), alpha);
+    }
+
+    // --- HSV
+
+    /**
+     * Převede barvu do prostoru HSV.
+     *
+     * @param argb barva ve formátu ARGB
+     * @param out pole alespoň o třech prvcích, kam bude zapsán výsledek
+     */
+    public static void toHSV(int argb, float[] out) {
+        final int r = PackedColors.red(argb);
+        final int g = PackedColors.green(argb);
+        final int b = PackedColors.blue(argb);
+
+        final int max = Math.max(r, Math.max(g, b));
+        final int min = Math.min(r, Math.min(g, b));
+        final int delta = max - min;
+
+        out[0] = hue(r, g, b, max, delta);
+        out[1] = (max == 0) ? 0 : (float) delta / max;
+        out[2] = max / 255f;
+    }
+
+    /**
+     * Převede barvu z prostoru HSV.
+     *
+     * @param h odstín (0 - 360)
+     * @param s sytost (0 - 1)
+     * @param v jas (0 - 1)
+     * @param alpha průhlednost výsledné barvy (0 - 255)
+     * @return barva ve formátu ARGB
+     */
+    public static int fromHSV(float h, float s, float v, int alpha) {
+        final float c = v * s;
+        return fromHueChroma(h, c, v - c, alpha);
+    }
+
+    // --- HSL
+
+    /**
+     * Převede barvu do prostoru HSL.
+     *
+     * @param argb barva ve formátu ARGB
+     * @param out pole alespoň o třech prvcích, kam bude zapsán výsledek
+     */
+    public static void toHSL(int argb, float[] out) {
+        final int r = PackedColors.red(argb);
+        final int g = PackedColors.green(argb);
+        final int b = PackedColors.blue(argb);
+
+        final int max = Math.max(r, Math.max(g, b));
+        final int min = Math.min(r, Math.min(g, b));
+        final int delta = max - min;
+        final int sum = max + min;
+
+        out[0] = hue(r, g, b, max, delta);
+        out[1] = (delta == 0) ? 0 : (float) delta / (255 - Math.abs(sum - 255));
+        out[2] = sum / 510f;
+    }
+
+    /**
+     * Převede barvu z prostoru HSL.
+     *
+     * @param h odstín (0 - 360)
+     * @param s sytost (0 - 1)
+     * @param l světlost (0 - 1)
+     * @param alpha průhlednost výsledné barvy (0 - 255)
+     * @return barva ve formátu ARGB
+     */
+    public static int fromHSL(float h, float s, float l, int alpha) {
+        final float c = (1 - Math.abs(2 * l - 1)) * s;
+        return fromHueChroma(h, c, l - c / 2, alpha);
+    }
+
+    private static float hue(int r, int g, int b, int max, int delta) {
+        if (delta == 0) return 0;
+
+        float h;
+        if (max == r)
+            h = (float) (g - b) / delta;
+        else if (max == g)
+            h = (float) (b - r) / delta + 2;
+        else
+            h = (float) (r - g) / delta + 4;
+
+        h *= 60;
+        return (h < 0) ? h + 360 : h;
+    }
+
+    private static int fromHueChroma(float h, float c, float m, int alpha) {
+        float hh = (h % 360 + 360) % 360 / 60;
+        float x = c * (1 - Math.abs(hh % 2 - 1));
+
+        float r, g, b;
+        switch ((int) hh) {
+            case 0:  r = c; g = x; b = 0; break;
+            case 1:  r = x; g = c; b = 0; break;
+            case 2:  r = 0; g = c; b = x; break;
+            case 3:  r = 0; g = x; b = c; break;
+            case 4:  r = x; g = 0; b = c; break;
+            default: r = c; g = 0; b = x; break;
+        }
+
+        return PackedColors.argb(
+                toByte(r + m), toByte(g + m), toByte(b + m), alpha);
+    }
+
+    private static int toByte(float value) {
+        int i = (int) (value * 255 + 0.5f);
+        return (i < 0) ? 0 : (i > 0xFF) ? 0xFF : i;
+    }
+
+    // --- CIE L*a*b*
+
+    /**
+     * Převede barvu do prostoru CIE L*a*b* (bílý bod D65). L* je v rozsahu
+     * 0 - 100.
+     *
+     * @param argb barva ve formátu ARGB
+     * @param out pole alespoň o třech prvcích, kam bude zapsán výsledek
+     */
+    public static void toLab(int argb, float[] out) {
+        toLab(argb, out, 0);
+    }
+
+    private static void toLab(int argb, float[] out, int offset) {
+        final float r = SRGB_TO_LINEAR[PackedColors.red(argb)];
+        final float g = SRGB_TO_LINEAR[PackedColors.green(argb)];
+        final float b = SRGB_TO_LINEAR[PackedColors.blue(argb)];
+
+        final float fx = labF((0.4124564f * r + 0.3575761f * g + 0.1804375f * b) / XN);
+        final float fy = labF((0.2126729f * r + 0.7151522f * g + 0.0721750f * b) / YN);
+        final float fz = labF((0.0193339f * r + 0.1191920f * g + 0.9503041f * b) / ZN);
+
+        out[offset]     = 116 * fy - 16;
+        out[offset + 1] = 500 * (fx - fy);
+        out[offset + 2] = 200 * (fy - fz);
+    }
+
+    /**
+     * Převede barvu z prostoru CIE L*a*b* (bílý bod D65). Barvy mimo rozsah
+     * sRGB jsou oříznuty.
+     *
+     * @param l světlost (0 - 100)
+     * @param a složka a*
+     * @param b složka b*
+     * @param alpha průhlednost výsledné barvy (0 - 255)
+     * @return barva ve formátu ARGB
+     */
+    public static int fromLab(float l, float a, float b, int alpha) {
+        final double fy = (l + 16) / 116.0;
+        final double fx = fy + a / 500.0;
+        final double fz = fy - b / 200.0;
+
+        final double x = XN * labFInverse(fx);
+        final double y = YN * labFInverse(fy);
+        final double z = ZN * labFInverse(fz);
+
+        return fromLinearRGB(
+                (float) ( 3.2404542 * x - 1.5371385 * y - 0.4985314 * z),
+                (float) (-0.9692660 * x + 1.8760108 * y + 0.0415560 * z),
+                (float) ( 0.0556434 * x - 0.2040259 * y + 1.0572252 * z),
+                alpha);
+    }
+
+    private static float labF(double t) {
+        if (t < 0) return (float) labFExact(t);
+        if (t >= 1) return (float) Math.cbrt(t);
+
+        final double position = t * CBRT_TABLE_SIZE;
+        final int i = (int) position;
+        final float fraction = (float) (position - i);
+        return LAB_F[i] + (LAB_F[i + 1] - LAB_F[i]) * fraction;
+    }
+
+    private static double labFInverse(double f) {
+        final double f3 = f * f * f;
+        return (f3 > EPSILON) ? f3 : (116 * f - 16) / KAPPA;
+    }
+
+    // --- hromadné převody
+
+    /**
+     * Převede úsek pole barev do lineárního RGB.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param out výstupní pole, pro každou barvu tři prvky
+     * @param outOffset index ve výstupním poli
+     * @param length počet barev
+     */
+    public static void toLinearRGB(int[] argb, int offset,
+            float[] out, int outOffset, int length) {
+
+        for (int i = 0; i < length; i++) {
+            final int color = argb[offset + i];
+            final int o = outOffset + 3 * i;
+            out[o]     = SRGB_TO_LINEAR[PackedColors.red(color)];
+            out[o + 1] = SRGB_TO_LINEAR[PackedColors.green(color)];
+            out[o + 2] = SRGB_TO_LINEAR[PackedColors.blue(color)];
+        }
+    }
+
+    /**
+     * Převede úsek pole barev z lineárního RGB. Výsledné barvy budou
+     * neprůhledné.
+     *
+     * @param linear lineární RGB, pro každou barvu tři prvky
+     * @param offset index ve vstupním poli
+     * @param out výstupní pole barev ve formátu ARGB
+     * @param outOffset index první barvy ve výstupním poli
+     * @param length počet barev
+     */
+    public static void fromLinearRGB(float[] linear, int offset,
+            int[] out, int outOffset, int length) {
+
+        for (int i = 0; i < length; i++) {
+            final int o = offset + 3 * i;
+            out[outOffset + i] = fromLinearRGB(
+                    linear[o], linear[o + 1], linear[o + 2], 0xFF);
+        }
+    }
+
+    /**
+     * Převede úsek pole barev do prostoru CIE L*a*b*.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param out výstupní pole, pro každou barvu tři prvky
+     * @param outOffset index ve výstupním poli
+     * @param length počet barev
+     */
+    public static void toLab(int[] argb, int offset,
+            float[] out, int outOffset, int length) {
+
+        for (int i = 0; i < length; i++)
+            toLab(argb[offset + i], out, outOffset + 3 * i);
+    }
+
+    /**
+     * Převede úsek pole barev do prostoru HSV.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param out výstupní pole, pro každou barvu tři prvky
+     * @param outOffset index ve výstupním poli
+     * @param length počet barev
+     */
+    public static void toHSV(int[] argb, int offset,
+            float[] out, int outOffset, int length) {
+
+        final float[] hsv = new float[3];
+        for (int i = 0; i < length; i++) {
+            toHSV(argb[offset + i], hsv);
+            System.arraycopy(hsv, 0, out, outOffset + 3 * i, 3);
+        }
+    }
+
+    /**
+     * Převede úsek pole barev do prostoru HSL.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param out výstupní pole, pro každou barvu tři prvky
+     * @param outOffset index ve výstupním poli
+     * @param length počet barev
+     */
+    public static void toHSL(int[] argb, int offset,
+            float[] out, int outOffset, int length) {
+
+        final float[] hsl = new float[3];
+        for (int i = 0; i < length; i++) {
+            toHSL(argb[offset + i], hsl);
+            System.arraycopy(hsl, 0, out, outOffset + 3 * i, 3);
+        }
+    }
+
+}
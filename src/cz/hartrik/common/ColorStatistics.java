@@ -0,0 +1,295 @@
+package cz.hartrik.common;
+
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Průběžně počítá statistiky barev - průměr, rozptyl, minimum, maximum
+ * a histogram každé složky (včetně průhlednosti). Paměťová náročnost
+ * nezávisí na počtu barev, barvy tedy nemusí být nikde uloženy. <p>
+ *
+ * Instance lze spojovat metodou {@link #combine(ColorStatistics)}, takže
+ * je možné je použít i s paralelními proudy:
+ * <pre>{@code
+ *  ColorStatistics stats = colors.parallelStream()
+ *          .collect(ColorStatistics.collector());
+ *
+ *  ColorStatistics stats = IntStream.of(argb).parallel().collect(
+ *          ColorStatistics::new,
+ *          ColorStatistics::accept,
+ *          ColorStatistics::combine);}</pre>
+ *
+ * Instance nejsou vláknově bezpečné.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ColorStatistics implements IntConsumer, Consumer<Color> {
+
+    /** Složky barvy. */
+    public enum Channel {
+        ALPHA(24), RED(16), GREEN(8), BLUE(0);
+
+        private final int shift;
+
+        private Channel(int shift) {
+            this.shift = shift;
+        }
+
+        int of(int argb) {
+            return (argb >>> shift) & 0xFF;
+        }
+    }
+
+    private static final Channel[] CHANNELS = Channel.values();
+
+    /** Přibližný počet pixelů zpracovaných jedním úkolem. */
+    private static final int BAND_SIZE = 1 << 18;
+
+    private long count;
+    private final long[] sum = new long[4];
+    private final long[] sumOfSquares = new long[4];
+    private final int[] min = { 0xFF, 0xFF, 0xFF, 0xFF };
+    private final int[] max = new int[4];
+    private final long[][] histogram = new long[4][256];
+
+    // --- přidávání barev
+
+    /**
+     * Přidá barvu.
+     *
+     * @param argb barva ve formátu ARGB
+     */
+    @Override
+    public void accept(int argb) {
+        count++;
+        for (int c = 0; c < 4; c++) {
+            final int value = CHANNELS[c].of(argb);
+            sum[c] += value;
+            sumOfSquares[c] += value * value;
+            if (value < min[c]) min[c] = value;
+            if (value > max[c]) max[c] = value;
+            histogram[c][value]++;
+        }
+    }
+
+    /**
+     * Přidá barvu.
+     *
+     * @param color barva
+     */
+    @Override
+    public void accept(Color color) {
+        accept(color.getARGB());
+    }
+
+    /**
+     * Přidá úsek pole barev.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param length počet barev
+     */
+    public void accept(int[] argb, int offset, int length) {
+        for (int i = offset; i < offset + length; i++)
+            accept(argb[i]);
+    }
+
+    /**
+     * Přidá k této instanci statistiky jiné instance.
+     *
+     * @param other jiná instance
+     * @return tato instance
+     */
+    public ColorStatistics combine(ColorStatistics other) {
+        count += other.count;
+        for (int c = 0; c < 4; c++) {
+            sum[c] += other.sum[c];
+            sumOfSquares[c] += other.sumOfSquares[c];
+            min[c] = Math.min(min[c], other.min[c]);
+            max[c] = Math.max(max[c], other.max[c]);
+            for (int i = 0; i < 256; i++)
+                histogram[c][i] += other.histogram[c][i];
+        }
+        return this;
+    }
+
+    // --- výsledky
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Vrátí průměrnou barvu (včetně průhlednosti). Složky jsou zaokrouhleny.
+     *
+     * @return průměrná barva
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public Color getMean() {
+        return Color.createARGB(getMeanARGB());
+    }
+
+    /**
+     * Vrátí průměrnou barvu (včetně průhlednosti) ve formátu ARGB. Složky
+     * jsou zaokrouhleny.
+     *
+     * @return průměrná barva ve formátu ARGB
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public int getMeanARGB() {
+        checkNonEmpty();
+
+        int argb = 0;
+        for (int c = 0; c < 4; c++) {
+            int mean = (int) ((sum[c] + count / 2) / count);
+            argb |= mean << CHANNELS[c].shift;
+        }
+        return argb;
+    }
+
+    /**
+     * Vrátí průměrnou hodnotu složky.
+     *
+     * @param channel složka
+     * @return průměr (0 - 255)
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public double getMean(Channel channel) {
+        checkNonEmpty();
+        return (double) sum[channel.ordinal()] / count;
+    }
+
+    /**
+     * Vrátí rozptyl hodnot složky.
+     *
+     * @param channel složka
+     * @return rozptyl
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public double getVariance(Channel channel) {
+        final double mean = getMean(channel);
+        final double variance =
+                (double) sumOfSquares[channel.ordinal()] / count - mean * mean;
+        return Math.max(0, variance);
+    }
+
+    /**
+     * Vrátí směrodatnou odchylku hodnot složky.
+     *
+     * @param channel složka
+     * @return směrodatná odchylka
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public double getStandardDeviation(Channel channel) {
+        return Math.sqrt(getVariance(channel));
+    }
+
+    /**
+     * @param channel složka
+     * @return nejmenší hodnota složky
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public int getMin(Channel channel) {
+        checkNonEmpty();
+        return min[channel.ordinal()];
+    }
+
+    /**
+     * @param channel složka
+     * @return největší hodnota složky
+     * @throws IllegalStateException pokud nebyla přidána žádná barva
+     */
+    public int getMax(Channel channel) {
+        checkNonEmpty();
+        return max[channel.ordinal()];
+    }
+
+    /**
+     * Vrátí kopii histogramu složky - pole o 256 prvcích, kde každý prvek
+     * udává počet barev s danou hodnotou složky.
+     *
+     * @param channel složka
+     * @return histogram
+     */
+    public long[] getHistogram(Channel channel) {
+        return histogram[channel.ordinal()].clone();
+    }
+
+    private void checkNonEmpty() {
+        if (count == 0)
+            throw new IllegalStateException("No colors");
+    }
+
+    // --- tovární metody
+
+    /**
+     * Vrátí kolektor pro proudy barev.
+     *
+     * @return kolektor
+     */
+    public static Collector<Color, ?, ColorStatistics> collector() {
+        return Collector.of(
+                ColorStatistics::new,
+                ColorStatistics::accept,
+                ColorStatistics::combine,
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Vytvoří statistiky barev.
+     *
+     * @param colors barvy
+     * @return statistiky
+     */
+    public static ColorStatistics of(Color... colors) {
+        ColorStatistics statistics = new ColorStatistics();
+        for (Color color : colors)
+            statistics.accept(color);
+
+        return statistics;
+    }
+
+    /**
+     * Vytvoří statistiky úseku pole barev.
+     *
+     * @param argb barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param length počet barev
+     * @return statistiky
+     */
+    public static ColorStatistics of(int[] argb, int offset, int length) {
+        ColorStatistics statistics = new ColorStatistics();
+        statistics.accept(argb, offset, length);
+        return statistics;
+    }
+
+    /**
+     * Vytvoří statistiky všech pixelů obrázku. Obrázek je zpracován
+     * paralelně po pásech řádků.
+     *
+     * @param image obrázek
+     * @return statistiky
+     */
+    public static ColorStatistics of(BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+        final int bands = (height + rowsPerBand - 1) / rowsPerBand;
+
+        return IntStream.range(0, bands).parallel()
+                .mapToObj(band -> {
+                    int from = band * rowsPerBand;
+                    int rows = Math.min(height, from + rowsPerBand) - from;
+                    int[] data = image.getRGB(0, from, width, rows, null, 0, width);
+                    return of(data, 0, data.length);
+                })
+                .reduce(ColorStatistics::combine)
+                .orElseGet(ColorStatistics::new);
+    }
+
+}
@@ -2,11 +2,12 @@
 package cz.hartrik.common;
 
 import cz.hartrik.common.reflect.LibraryClass;
+import java.awt.image.BufferedImage;
 
 /**
  * Obsahuje statické metody pro práci s barvami.
  * 
- * @version 2014-03-27
+ * @version 2026-10-17
  * @author Patrik Harag
  */
 @LibraryClass
@@ -15,22 +16,54 @@ public final class ColorTools {
     private ColorTools() {}
     
     /**
-     * Vypočte "průměrnou" barvu z několika barev.
+     * Vypočte "průměrnou" barvu z několika barev (včetně průhlednosti).
      * 
      * @param colors barvy
      * @return průměrná barva
+     * @throws IllegalArgumentException pokud nebyla zadána žádná barva
+     * @see ColorStatistics
      */
     public static Color average(Color... colors) {
-        int red = 0, blue = 0, green = 0;
+        if (colors.length == 0)
+            throw new IllegalArgumentException("No colors");
         
-        for (Color color : colors) {
-            red += color.getByteRed();
-            blue += color.getByteBlue();
-            green += color.getByteGreen();
-        }
+        return ColorStatistics.of(colors).getMean();
+    }
+    
+    /**
+     * Převede obrázek na paletu nejvýše o určitém počtu barev. Paleta je
+     * sestavena pomocí oktalového stromu, bez rozptylu chyby.
+     * 
+     * @param image obrázek
+     * @param colors maximální počet barev (1 - 256)
+     * @return obrázek převedený na paletu
+     */
+    public static QuantizedImage quantize(BufferedImage image, int colors) {
+        return quantize(image, colors, ColorQuantizer.octree(), false);
+    }
+    
+    /**
+     * Převede obrázek na paletu nejvýše o určitém počtu barev. Histogram
+     * barev se sestavuje paralelně, viz {@link ColorHistogram#of(BufferedImage)}.
+     * 
+     * @param image obrázek
+     * @param colors maximální počet barev (1 - 256)
+     * @param quantizer algoritmus pro sestavení palety
+     * @param dither použít rozptyl chyby (Floyd-Steinberg)
+     * @return obrázek převedený na paletu
+     */
+    public static QuantizedImage quantize(BufferedImage image, int colors,
+            ColorQuantizer quantizer, boolean dither) {
+        
+        if (colors < 1 || colors > QuantizedImage.MAX_COLORS)
+            throw new IllegalArgumentException("colors: " + colors);
+        
+        ColorHistogram histogram = ColorHistogram.of(image);
+        Color[] palette = quantizer.palette(histogram, colors);
+        if (palette.length == 0)
+            palette = new Color[] { Color.BLACK };  // prázdný obrázek
         
-        int count = colors.length;
-        return new Color(red / count, green / count, blue / count);
+        return QuantizedImage.of(image, palette, dither);
     }
     
-}
\ No newline at end of file
+}
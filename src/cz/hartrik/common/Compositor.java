@@ -0,0 +1,254 @@
+package cz.hartrik.common;
+
+import cz.hartrik.common.reflect.LibraryClass;
+import java.util.stream.IntStream;
+
+/**
+ * Obsahuje statické metody pro hromadné "nanášení" barev uložených v polích
+ * ve formátu ARGB (např. data z {@link java.awt.image.DataBufferInt}). Používá
+ * stejný vzorec jako {@link Color#blend(Color)}, počítá ale v celých číslech
+ * v pevné řádové čárce. Výsledek se proto od {@link Color#blend(Color)}
+ * může v jednotlivých složkách lišit nejvýše o 1. <p>
+ *
+ * Červená a modrá složka se počítají najednou v jednom <code>int</code>
+ * (každá složka má k dispozici 16 bitů), dělení 255 je nahrazeno přesným
+ * výpočtem pomocí posunů.
+ *
+ * @see PackedColors#blend(int, int)
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@LibraryClass
+public final class Compositor {
+
+    private Compositor() {}
+
+    /**
+     * Minimální počet pixelů, od kterého se metody <code>blendParallel</code>
+     * rozdělí mezi více vláken.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Přibližný počet pixelů zpracovaných jedním úkolem. */
+    private static final int BAND_SIZE = 1 << 14;
+
+    // --- jedna barva
+
+    /**
+     * Na barvu pozadí "nanese" barvu popředí. Výsledná barva je vždy
+     * neprůhledná.
+     *
+     * @param background barva pozadí ve formátu ARGB
+     * @param foreground barva popředí ve formátu ARGB
+     * @return výsledná barva ve formátu ARGB
+     */
+    public static int blend(int background, int foreground) {
+        final int a = foreground >>> 24;
+        final int ia = 0xFF - a;
+
+        int rb = (foreground & 0x00FF00FF) * a + (background & 0x00FF00FF) * ia;
+        int g  = ((foreground >>> 8) & 0xFF) * a + ((background >>> 8) & 0xFF) * ia;
+
+        // x / 255 == (x + 1 + (x >> 8)) >> 8 pro 0 <= x <= 255 * 255
+        rb = ((rb + 0x00010001 + ((rb >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+        g  = ((g + 1 + (g >>> 8)) >>> 8);
+
+        return 0xFF000000 | rb | (g << 8);
+    }
+
+    // --- řádky
+
+    /**
+     * Přes úsek pole nanese úsek jiného pole. Výsledek je zapsán do pole
+     * <code>background</code>.
+     *
+     * @param background barvy pozadí
+     * @param bgOffset index první barvy pozadí
+     * @param foreground barvy popředí
+     * @param fgOffset index první barvy popředí
+     * @param length počet barev
+     */
+    public static void blend(int[] background, int bgOffset,
+            int[] foreground, int fgOffset, int length) {
+
+        for (int i = 0; i < length; i++) {
+            final int fg = foreground[fgOffset + i];
+            final int a = fg >>> 24;
+
+            if (a == 0xFF)
+                background[bgOffset + i] = fg;
+            else if (a == 0)
+                background[bgOffset + i] |= 0xFF000000;
+            else
+                background[bgOffset + i] = blend(background[bgOffset + i], fg);
+        }
+    }
+
+    /**
+     * Přes úsek pole nanese jednu barvu.
+     *
+     * @param background barvy pozadí
+     * @param offset index první barvy pozadí
+     * @param length počet barev
+     * @param foreground barva popředí ve formátu ARGB
+     */
+    public static void blend(int[] background, int offset, int length,
+            int foreground) {
+
+        for (int i = offset; i < offset + length; i++)
+            background[i] = blend(background[i], foreground);
+    }
+
+    /**
+     * Nanese úsek pole na jednu barvu pozadí. Výsledek je zapsán do pole
+     * <code>result</code>, které může být i polem popředí.
+     *
+     * @param background barva pozadí ve formátu ARGB
+     * @param foreground barvy popředí
+     * @param fgOffset index první barvy popředí
+     * @param result pole pro výsledek
+     * @param resultOffset index první barvy výsledku
+     * @param length počet barev
+     */
+    public static void blend(int background, int[] foreground, int fgOffset,
+            int[] result, int resultOffset, int length) {
+
+        final int opaque = background | 0xFF000000;
+        for (int i = 0; i < length; i++) {
+            final int fg = foreground[fgOffset + i];
+            final int a = fg >>> 24;
+
+            if (a == 0xFF)
+                result[resultOffset + i] = fg;
+            else if (a == 0)
+                result[resultOffset + i] = opaque;
+            else
+                result[resultOffset + i] = blend(background, fg);
+        }
+    }
+
+    /**
+     * Přes celé pole nanese jiné pole stejné délky.
+     *
+     * @param background barvy pozadí, sem bude zapsán výsledek
+     * @param foreground barvy popředí
+     */
+    public static void blend(int[] background, int[] foreground) {
+        if (background.length != foreground.length)
+            throw new IllegalArgumentException("length mismatch");
+
+        blend(background, 0, foreground, 0, background.length);
+    }
+
+    // --- obdélníky
+
+    /**
+     * Přes obdélníkovou oblast rastru nanese obdélníkovou oblast jiného
+     * rastru. Rastry jsou uloženy po řádcích, <code>scan</code> udává
+     * vzdálenost mezi začátky dvou sousedních řádků.
+     *
+     * @param background rastr pozadí, sem bude zapsán výsledek
+     * @param bgOffset index levého horního pixelu oblasti pozadí
+     * @param bgScan délka řádku rastru pozadí
+     * @param foreground rastr popředí
+     * @param fgOffset index levého horního pixelu oblasti popředí
+     * @param fgScan délka řádku rastru popředí
+     * @param width šířka oblasti
+     * @param height výška oblasti
+     */
+    public static void blend(
+            int[] background, int bgOffset, int bgScan,
+            int[] foreground, int fgOffset, int fgScan,
+            int width, int height) {
+
+        blendRows(background, bgOffset, bgScan, foreground, fgOffset, fgScan,
+                width, 0, height);
+    }
+
+    /**
+     * Stejné jako {@link #blend(int[], int, int, int[], int, int, int, int)},
+     * velké oblasti jsou ale rozděleny na pásy řádků, které se zpracují
+     * paralelně ve společném {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param background rastr pozadí, sem bude zapsán výsledek
+     * @param bgOffset index levého horního pixelu oblasti pozadí
+     * @param bgScan délka řádku rastru pozadí
+     * @param foreground rastr popředí
+     * @param fgOffset index levého horního pixelu oblasti popředí
+     * @param fgScan délka řádku rastru popředí
+     * @param width šířka oblasti
+     * @param height výška oblasti
+     */
+    public static void blendParallel(
+            int[] background, int bgOffset, int bgScan,
+            int[] foreground, int fgOffset, int fgScan,
+            int width, int height) {
+
+        if ((long) width * height < PARALLEL_THRESHOLD) {
+            blend(background, bgOffset, bgScan, foreground, fgOffset, fgScan,
+                    width, height);
+            return;
+        }
+
+        final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+        final int bands = (height + rowsPerBand - 1) / rowsPerBand;
+
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            int from = band * rowsPerBand;
+            int to = Math.min(height, from + rowsPerBand);
+            blendRows(background, bgOffset, bgScan, foreground, fgOffset,
+                    fgScan, width, from, to);
+        });
+    }
+
+    /**
+     * Nanese obdélníkovou oblast rastru na jednu barvu pozadí, výsledek
+     * zapíše do obdélníkové oblasti jiného (nebo téhož) rastru. Velké oblasti
+     * jsou zpracovány paralelně jako v
+     * {@link #blendParallel(int[], int, int, int[], int, int, int, int)}.
+     *
+     * @param background barva pozadí ve formátu ARGB
+     * @param foreground rastr popředí
+     * @param fgOffset index levého horního pixelu oblasti popředí
+     * @param fgScan délka řádku rastru popředí
+     * @param result rastr pro výsledek
+     * @param resultOffset index levého horního pixelu oblasti výsledku
+     * @param resultScan délka řádku rastru výsledku
+     * @param width šířka oblasti
+     * @param height výška oblasti
+     */
+    public static void blendParallel(int background,
+            int[] foreground, int fgOffset, int fgScan,
+            int[] result, int resultOffset, int resultScan,
+            int width, int height) {
+
+        final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+        final int bands = (height + rowsPerBand - 1) / rowsPerBand;
+
+        IntStream stream = IntStream.range(0, bands);
+        if ((long) width * height >= PARALLEL_THRESHOLD)
+            stream = stream.parallel();
+
+        stream.forEach(band -> {
+            final int from = band * rowsPerBand;
+            final int to = Math.min(height, from + rowsPerBand);
+            for (int y = from; y < to; y++) {
+                blend(background, foreground, fgOffset + y * fgScan,
+                        result, resultOffset + y * resultScan, width);
+            }
+        });
+    }
+
+    private static void blendRows(
+            int[] background, int bgOffset, int bgScan,
+            int[] foreground, int fgOffset, int fgScan,
+            int width, int fromRow, int toRow) {
+
+        for (int y = fromRow; y < toRow; y++) {
+            blend(background, bgOffset + y * bgScan,
+                    foreground, fgOffset + y * fgScan, width);
+        }
+    }
+
+}
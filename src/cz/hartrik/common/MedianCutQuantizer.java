@@ -0,0 +1,139 @@
+package cz.hartrik.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kvantizér pracující metodou <i>median cut</i>. Barvy (přihrádky
+ * histogramu) jsou postupně rozdělovány do kvádrů - vždy se rozdělí kvádr
+ * s největším součinem počtu pixelů a délky nejdelší strany, a to podle
+ * váženého mediánu v ose nejdelší strany. Barvou palety je průměrná barva
+ * kvádru.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class MedianCutQuantizer implements ColorQuantizer {
+
+    private static final int MASK = ColorHistogram.BINS - 1;
+
+    @Override
+    public Color[] palette(ColorHistogram histogram, int colors) {
+        if (colors < 1)
+            throw new IllegalArgumentException("colors < 1");
+
+        final int[] bins = new int[histogram.getUsedBins()];
+        int n = 0;
+        for (int bin = 0; bin < ColorHistogram.BINS; bin++)
+            if (histogram.count[bin] != 0)
+                bins[n++] = bin;
+
+        List<Box> boxes = new ArrayList<>();
+        if (bins.length > 0)
+            boxes.add(new Box(histogram, bins, 0, bins.length));
+
+        while (boxes.size() < colors) {
+            Box largest = null;
+            long largestScore = 0;
+            for (Box box : boxes) {
+                long score = box.count * box.longestSide();
+                if (box.to - box.from > 1 && score > largestScore) {
+                    largest = box;
+                    largestScore = score;
+                }
+            }
+            if (largest == null) break;  // nelze dál dělit
+
+            boxes.remove(largest);
+            largest.split(histogram, bins, boxes);
+        }
+
+        Color[] palette = new Color[boxes.size()];
+        for (int i = 0; i < palette.length; i++)
+            palette[i] = Color.createARGB(boxes.get(i).mean(histogram, bins));
+
+        return palette;
+    }
+
+    private static int component(int bin, int channel) {
+        return (bin >> (ColorHistogram.BITS * (2 - channel))) & 0x1F;
+    }
+
+    private static final class Box {
+
+        final int from, to;
+        final int[] min = new int[3];
+        final int[] max = new int[3];
+        long count;
+
+        Box(ColorHistogram histogram, int[] bins, int from, int to) {
+            this.from = from;
+            this.to = to;
+
+            Arrays.fill(min, Integer.MAX_VALUE);
+            for (int i = from; i < to; i++) {
+                int bin = bins[i];
+                count += histogram.count[bin];
+                for (int c = 0; c < 3; c++) {
+                    min[c] = Math.min(min[c], component(bin, c));
+                    max[c] = Math.max(max[c], component(bin, c));
+                }
+            }
+        }
+
+        int longestChannel() {
+            int channel = 0;
+            for (int c = 1; c < 3; c++)
+                if (max[c] - min[c] > max[channel] - min[channel])
+                    channel = c;
+
+            return channel;
+        }
+
+        long longestSide() {
+            int c = longestChannel();
+            return max[c] - min[c] + 1;
+        }
+
+        void split(ColorHistogram histogram, int[] bins, List<Box> boxes) {
+            final int channel = longestChannel();
+
+            // seřazení podle složky - klíč obsahuje složku i přihrádku
+            for (int i = from; i < to; i++)
+                bins[i] |= component(bins[i], channel) << 15;
+            Arrays.sort(bins, from, to);
+            for (int i = from; i < to; i++)
+                bins[i] &= MASK;
+
+            // vážený medián
+            long half = count / 2;
+            long sum = 0;
+            int middle = from + 1;
+            for (int i = from; i < to - 1; i++) {
+                sum += histogram.count[bins[i]];
+                middle = i + 1;
+                if (sum >= half) break;
+            }
+
+            boxes.add(new Box(histogram, bins, from, middle));
+            boxes.add(new Box(histogram, bins, middle, to));
+        }
+
+        int mean(ColorHistogram histogram, int[] bins) {
+            long r = 0, g = 0, b = 0;
+            for (int i = from; i < to; i++) {
+                int bin = bins[i];
+                r += histogram.sumR[bin];
+                g += histogram.sumG[bin];
+                b += histogram.sumB[bin];
+            }
+            return PackedColors.rgb(
+                    (int) ((r + count / 2) / count),
+                    (int) ((g + count / 2) / count),
+                    (int) ((b + count / 2) / count));
+        }
+
+    }
+
+}
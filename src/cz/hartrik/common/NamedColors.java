@@ -0,0 +1,208 @@
+package cz.hartrik.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Jednorázově sestavený seznam pojmenovaných barev z {@link WebColors}
+ * a indexy nad ním. Pořadí názvů je dáno explicitní tabulkou, protože
+ * {@link Class#getFields()} pořadí deklarace nezaručuje; hodnoty konstant
+ * jsou načteny reflexí jen jednou, při inicializaci třídy. <p>
+ *
+ * Index názvů i index barev jsou hašovací tabulky s otevřenou adresací
+ * (lineární zkoušení) uložené v poli <code>int</code>, vyhledávání proto nic
+ * nealokuje. Názvy se porovnávají bez ohledu na velikost písmen a na
+ * oddělovače <code>'_'</code>, <code>'-'</code> a mezery - název
+ * <code>CORNFLOWER_BLUE</code> tedy odpovídá i <code>"CornflowerBlue"</code>
+ * nebo <code>"cornflower-blue"</code>.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class NamedColors {
+
+    private NamedColors() {}
+
+    /** Názvy konstant v pořadí deklarace. */
+    static final String[] NAMES = {
+        "PINK", "LIGHT_PINK", "HOT_PINK", "DEEP_PINK", "PALE_VIOLET_RED",
+        "MEDIUM_VIOLET_RED", "LIGHT_SALMON", "SALMON", "DARK_SALMON",
+        "LIGHT_CORAL", "INDIAN_RED", "CRIMSON", "FIRE_BRICK", "DARK_RED",
+        "RED", "ORANGE_RED", "TOMATO", "CORAL", "DARK_ORANGE", "ORANGE",
+        "YELLOW", "LIGHT_YELLOW", "LEMON_CHIFFON", "LIGHT_GOLDENROD_YELLOW",
+        "PAPAYA_WHIP", "MOCCASIN", "PEACH_PUFF", "PALE_GOLDENROD", "KHAKI",
+        "DARK_KHAKI", "GOLD", "CORNSILK", "BLANCHED_ALMOND", "BISQUE",
+        "NAVAJO_WHITE", "WHEAT", "BURLY_WOOD", "TAN", "ROSY_BROWN",
+        "SANDY_BROWN", "GOLDENROD", "DARK_GOLDENROD", "PERU", "CHOCOLATE",
+        "SADDLE_BROWN", "SIENNA", "BROWN", "MAROON", "DARK_OLIVE_GREEN",
+        "OLIVE", "OLIVE_DRAB", "YELLOW_GREEN", "LIME_GREEN", "LIME",
+        "LAWN_GREEN", "CHARTREUSE", "GREEN_YELLOW", "SPRING_GREEN",
+        "MEDIUM_SPRING_GREEN", "LIGHT_GREEN", "PALE_GREEN",
+        "DARK_SEA_GREEN", "MEDIUM_SEA_GREEN", "SEA_GREEN", "FOREST_GREEN",
+        "GREEN", "DARK_GREEN", "MEDIUM_AQUAMARINE", "AQUA", "CYAN",
+        "LIGHT_CYAN", "PALE_TURQUOISE", "AQUAMARINE", "TURQUOISE",
+        "MEDIUM_TURQUOISE", "DARK_TURQUOISE", "LIGHT_SEA_GREEN",
+        "CADET_BLUE", "DARK_CYAN", "TEAL", "LIGHT_STEEL_BLUE",
+        "POWDER_BLUE", "LIGHT_BLUE", "SKY_BLUE", "LIGHT_SKY_BLUE",
+        "DEEP_SKY_BLUE", "DODGER_BLUE", "CORNFLOWER_BLUE", "STEEL_BLUE",
+        "ROYAL_BLUE", "BLUE", "MEDIUM_BLUE", "DARK_BLUE", "NAVY",
+        "MIDNIGHT_BLUE", "LAVENDER", "THISTLE", "PLUM", "VIOLET", "ORCHID",
+        "FUCHSIA", "MAGENTA", "MEDIUM_ORCHID", "MEDIUM_PURPLE",
+        "BLUE_VIOLET", "DARK_VIOLET", "DARK_ORCHID", "DARK_MAGENTA",
+        "PURPLE", "INDIGO", "DARK_SLATE_BLUE", "SLATE_BLUE",
+        "MEDIUM_SLATE_BLUE", "WHITE", "SNOW", "HONEYDEW", "MINT_CREAM",
+        "AZURE", "ALICE_BLUE", "GHOST_WHITE", "WHITE_SMOKE", "SEASHELL",
+        "BEIGE", "OLD_LACE", "FLORAL_WHITE", "IVORY", "ANTIQUE_WHITE",
+        "LINEN", "LAVENDER_BLUSH", "MISTY_ROSE", "GAINSBORO", "LIGHT_GRAY",
+        "SILVER", "DARK_GRAY", "GRAY", "DIM_GRAY", "LIGHT_SLATE_GRAY",
+        "SLATE_GRAY", "DARK_SLATE_GRAY", "BLACK"
+    };
+
+    /** Barvy odpovídající {@link #NAMES}. */
+    static final Color[] COLORS;
+
+    /** Barvy bez duplicit (např. <code>AQUA</code> a <code>CYAN</code>). */
+    static final Color[] UNIQUE;
+
+    /** Indexy do {@link #NAMES} zvýšené o 1, 0 značí prázdné místo. */
+    private static final int[] NAME_TABLE;
+    private static final int[] ARGB_TABLE;
+
+    static {
+        COLORS = new Color[NAMES.length];
+        Map<Integer, Color> unique = new LinkedHashMap<>();
+
+        for (int i = 0; i < NAMES.length; i++) {
+            try {
+                COLORS[i] = (Color) WebColors.class.getField(NAMES[i]).get(null);
+                unique.putIfAbsent(COLORS[i].getARGB(), COLORS[i]);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        UNIQUE = unique.values().toArray(new Color[unique.size()]);
+
+        NAME_TABLE = new int[tableSize(NAMES.length)];
+        ARGB_TABLE = new int[tableSize(NAMES.length)];
+
+        for (int i = 0; i < NAMES.length; i++) {
+            String name = NAMES[i];
+            int slot = hash(name, 0, name.length()) & (NAME_TABLE.length - 1);
+            while (NAME_TABLE[slot] != 0)
+                slot = (slot + 1) & (NAME_TABLE.length - 1);
+            NAME_TABLE[slot] = i + 1;
+
+            int argb = COLORS[i].getARGB();
+            if (indexOf(argb) < 0) {
+                slot = mix(argb) & (ARGB_TABLE.length - 1);
+                while (ARGB_TABLE[slot] != 0)
+                    slot = (slot + 1) & (ARGB_TABLE.length - 1);
+                ARGB_TABLE[slot] = i + 1;
+            }
+        }
+    }
+
+    // --- indexy názvů a barev
+
+    private static int tableSize(int count) {
+        return Integer.highestOneBit(count * 2 - 1) << 1;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '_' || c == '-' || c == ' ';
+    }
+
+    private static char lowerCase(char c) {
+        return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static int hash(CharSequence name, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            char c = name.charAt(i);
+            if (!isSeparator(c))
+                hash = 31 * hash + lowerCase(c);
+        }
+        return mix(hash);
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean nameEquals(String name, CharSequence text,
+            int from, int to) {
+
+        int i = 0;
+        for (int j = from; j < to; j++) {
+            char c = text.charAt(j);
+            if (isSeparator(c)) continue;
+
+            while (i < name.length() && name.charAt(i) == '_') i++;
+            if (i == name.length() || lowerCase(name.charAt(i)) != lowerCase(c))
+                return false;
+            i++;
+        }
+        while (i < name.length() && name.charAt(i) == '_') i++;
+        return i == name.length();
+    }
+
+    /**
+     * Vyhledá barvu podle názvu.
+     *
+     * @param text text obsahující název
+     * @param from index prvního znaku názvu
+     * @param to index za posledním znakem názvu
+     * @return index do {@link #NAMES} nebo -1
+     */
+    static int indexOf(CharSequence text, int from, int to) {
+        int slot = hash(text, from, to) & (NAME_TABLE.length - 1);
+        int entry;
+        while ((entry = NAME_TABLE[slot]) != 0) {
+            if (nameEquals(NAMES[entry - 1], text, from, to))
+                return entry - 1;
+
+            slot = (slot + 1) & (NAME_TABLE.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Vyhledá první pojmenovanou barvu s danou hodnotou.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return index do {@link #NAMES} nebo -1
+     */
+    static int indexOf(int argb) {
+        int slot = mix(argb) & (ARGB_TABLE.length - 1);
+        int entry;
+        while ((entry = ARGB_TABLE[slot]) != 0) {
+            if (COLORS[entry - 1].getARGB() == argb)
+                return entry - 1;
+
+            slot = (slot + 1) & (ARGB_TABLE.length - 1);
+        }
+        return -1;
+    }
+
+    // --- hledání nejbližší barvy
+
+    private static final class RGBHolder {
+        static final NearestColorIndex INDEX = new NearestColorIndex(UNIQUE, false);
+    }
+
+    private static final class LabHolder {
+        static final NearestColorIndex INDEX = new NearestColorIndex(UNIQUE, true);
+    }
+
+    static Color nearest(int argb, WebColors.Metric metric) {
+        NearestColorIndex index = (metric == WebColors.Metric.LAB)
+                ? LabHolder.INDEX
+                : RGBHolder.INDEX;
+
+        return UNIQUE[index.nearest(argb)];
+    }
+
+}
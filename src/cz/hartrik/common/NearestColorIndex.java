@@ -0,0 +1,177 @@
+package cz.hartrik.common;
+
+import java.util.Arrays;
+
+/**
+ * Index pro rychlé hledání nejbližší barvy z pevné palety. Prostor RGB je
+ * rozdělen na krychli 32 x 32 x 32 buněk a ke každé buňce je předem určen
+ * seznam kandidátů - barev palety, které mohou být nejbližší některé barvě
+ * z buňky. Hledání tak obvykle projde jen jednoho až tři kandidáty.
+ * <p>
+ *
+ * V prostoru RGB je výsledek vždy přesný (kandidáti jsou vybráni pomocí
+ * trojúhelníkové nerovnosti). V prostoru L*a*b* je poloměr buňky určen
+ * z jejích rohů, výsledek je tedy přesný jen téměř vždy.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class NearestColorIndex {
+
+    private static final int BITS = 5;
+    private static final int SIDE = 1 << BITS;
+    private static final int CELL = 256 / SIDE;
+
+    private final int[] palette;
+    private final float[] paletteLab;  // null pro RGB
+
+    private final int[] cellStart;
+    private final short[] candidates;
+
+    NearestColorIndex(Color[] colors, boolean lab) {
+        this.palette = new int[colors.length];
+        for (int i = 0; i < colors.length; i++)
+            palette[i] = colors[i].getARGB();
+
+        if (lab) {
+            paletteLab = new float[palette.length * 3];
+            ColorSpaces.toLab(palette, 0, paletteLab, 0, palette.length);
+        } else {
+            paletteLab = null;
+        }
+
+        this.cellStart = new int[SIDE * SIDE * SIDE + 1];
+        short[] buffer = new short[SIDE * SIDE * SIDE * 4];
+        int count = 0;
+
+        final float[] centre = new float[3];
+        final float[] corner = new float[3];
+        final double[] distances = new double[palette.length];
+
+        for (int cell = 0; cell < SIDE * SIDE * SIDE; cell++) {
+            final int r0 = ((cell >> (2 * BITS)) & (SIDE - 1)) * CELL;
+            final int g0 = ((cell >> BITS) & (SIDE - 1)) * CELL;
+            final int b0 = (cell & (SIDE - 1)) * CELL;
+
+            // vzdálenosti středu buňky od barev palety
+            double radius;
+            if (lab) {
+                ColorSpaces.toLab(PackedColors.rgb(
+                        r0 + CELL / 2, g0 + CELL / 2, b0 + CELL / 2), centre);
+
+                radius = 0;
+                for (int c = 0; c < 8; c++) {
+                    ColorSpaces.toLab(PackedColors.rgb(
+                            r0 + ((c & 4) != 0 ? CELL - 1 : 0),
+                            g0 + ((c & 2) != 0 ? CELL - 1 : 0),
+                            b0 + ((c & 1) != 0 ? CELL - 1 : 0)), corner);
+                    radius = Math.max(radius,
+                            Math.sqrt(labDistance(centre, corner, 0)));
+                }
+                radius *= 1.1;  // rezerva - L*a*b* není vůči RGB lineární
+
+                for (int i = 0; i < palette.length; i++)
+                    distances[i] = Math.sqrt(labDistance(centre, paletteLab, i * 3));
+
+            } else {
+                final double cr = r0 + (CELL - 1) / 2.0;
+                final double cg = g0 + (CELL - 1) / 2.0;
+                final double cb = b0 + (CELL - 1) / 2.0;
+                radius = Math.sqrt(3) * (CELL - 1) / 2.0;
+
+                for (int i = 0; i < palette.length; i++) {
+                    double dr = cr - PackedColors.red(palette[i]);
+                    double dg = cg - PackedColors.green(palette[i]);
+                    double db = cb - PackedColors.blue(palette[i]);
+                    distances[i] = Math.sqrt(dr * dr + dg * dg + db * db);
+                }
+            }
+
+            double min = Double.MAX_VALUE;
+            for (double distance : distances)
+                min = Math.min(min, distance);
+
+            // kandidáti podle trojúhelníkové nerovnosti
+            cellStart[cell] = count;
+            final double limit = min + 2 * radius;
+            for (int i = 0; i < palette.length; i++) {
+                if (distances[i] <= limit) {
+                    if (count == buffer.length)
+                        buffer = Arrays.copyOf(buffer, count * 2);
+
+                    buffer[count++] = (short) i;
+                }
+            }
+        }
+        cellStart[SIDE * SIDE * SIDE] = count;
+        this.candidates = Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Vrátí index nejbližší barvy palety. Průhlednost se nebere v úvahu.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return index barvy v paletě
+     */
+    int nearest(int argb) {
+        final int cell = ((PackedColors.red(argb)   >> (8 - BITS)) << (2 * BITS))
+                       | ((PackedColors.green(argb) >> (8 - BITS)) << BITS)
+                       |  (PackedColors.blue(argb)  >> (8 - BITS));
+
+        final int from = cellStart[cell];
+        final int to = cellStart[cell + 1];
+
+        if (to - from == 1)
+            return candidates[from];
+
+        return (paletteLab == null)
+                ? nearestRGB(argb, from, to)
+                : nearestLab(argb, from, to);
+    }
+
+    private int nearestRGB(int argb, int from, int to) {
+        final int r = PackedColors.red(argb);
+        final int g = PackedColors.green(argb);
+        final int b = PackedColors.blue(argb);
+
+        int best = candidates[from];
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            final int color = palette[candidates[i]];
+            final int dr = r - PackedColors.red(color);
+            final int dg = g - PackedColors.green(color);
+            final int db = b - PackedColors.blue(color);
+            final int distance = dr * dr + dg * dg + db * db;
+
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidates[i];
+            }
+        }
+        return best;
+    }
+
+    private int nearestLab(int argb, int from, int to) {
+        final float[] lab = new float[3];
+        ColorSpaces.toLab(argb, lab);
+
+        int best = candidates[from];
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            final double distance = labDistance(lab, paletteLab, candidates[i] * 3);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidates[i];
+            }
+        }
+        return best;
+    }
+
+    private static double labDistance(float[] lab, float[] other, int offset) {
+        final double dl = lab[0] - other[offset];
+        final double da = lab[1] - other[offset + 1];
+        final double db = lab[2] - other[offset + 2];
+        return dl * dl + da * da + db * db;
+    }
+
+}
@@ -0,0 +1,127 @@
+package cz.hartrik.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Kvantizér pracující s oktalovým stromem. Každá úroveň stromu rozděluje
+ * prostor RGB podle jednoho bitu každé složky; listy nejhlubší úrovně
+ * odpovídají přihrádkám histogramu. Dokud je listů více, než je požadovaný
+ * počet barev, slučují se potomci uzlů od nejhlubší úrovně, vždy nejdříve
+ * uzly s nejmenším počtem pixelů.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class OctreeQuantizer implements ColorQuantizer {
+
+    private static final int DEPTH = ColorHistogram.BITS;
+
+    @Override
+    public Color[] palette(ColorHistogram histogram, int colors) {
+        if (colors < 1)
+            throw new IllegalArgumentException("colors < 1");
+
+        final Node root = new Node();
+        final List<List<Node>> levels = new ArrayList<>();
+        for (int i = 0; i < DEPTH; i++)
+            levels.add(new ArrayList<>());
+
+        int leaves = 0;
+        for (int bin = 0; bin < ColorHistogram.BINS; bin++) {
+            if (histogram.count[bin] != 0) {
+                insert(root, bin, histogram, levels);
+                leaves++;
+            }
+        }
+
+        // slučování od nejhlubší úrovně
+        for (int level = DEPTH - 1; level >= 0 && leaves > colors; level--) {
+            List<Node> nodes = levels.get(level);
+            nodes.sort(Comparator.comparingLong(node -> node.count));
+
+            for (int i = 0; i < nodes.size() && leaves > colors; i++)
+                leaves -= nodes.get(i).reduce() - 1;
+        }
+
+        List<Color> palette = new ArrayList<>();
+        collect(root, palette);
+        return palette.toArray(new Color[palette.size()]);
+    }
+
+    private static void insert(Node root, int bin, ColorHistogram histogram,
+            List<List<Node>> levels) {
+
+        final int r = (bin >> 10) & 0x1F;
+        final int g = (bin >>  5) & 0x1F;
+        final int b =  bin        & 0x1F;
+
+        Node node = root;
+        for (int level = 0; ; level++) {
+            node.add(histogram, bin);
+            if (level == DEPTH) break;
+
+            if (node.children == null) {
+                node.children = new Node[8];
+                levels.get(level).add(node);
+            }
+
+            final int shift = DEPTH - 1 - level;
+            final int index = (((r >> shift) & 1) << 2)
+                            | (((g >> shift) & 1) << 1)
+                            |  ((b >> shift) & 1);
+
+            if (node.children[index] == null)
+                node.children[index] = new Node();
+
+            node = node.children[index];
+        }
+    }
+
+    private static void collect(Node node, List<Color> palette) {
+        if (node.children == null) {
+            if (node.count > 0)
+                palette.add(Color.createARGB(node.mean()));
+        } else {
+            for (Node child : node.children)
+                if (child != null) collect(child, palette);
+        }
+    }
+
+    private static final class Node {
+
+        long count, r, g, b;
+        Node[] children;
+
+        void add(ColorHistogram histogram, int bin) {
+            count += histogram.count[bin];
+            r += histogram.sumR[bin];
+            g += histogram.sumG[bin];
+            b += histogram.sumB[bin];
+        }
+
+        /**
+         * Z uzlu udělá list. Uzel již obsahuje součty všech potomků.
+         *
+         * @return počet listů, které byly sloučeny
+         */
+        int reduce() {
+            int merged = 0;
+            for (Node child : children)
+                if (child != null) merged++;
+
+            children = null;
+            return merged;
+        }
+
+        int mean() {
+            return PackedColors.rgb(
+                    (int) ((r + count / 2) / count),
+                    (int) ((g + count / 2) / count),
+                    (int) ((b + count / 2) / count));
+        }
+
+    }
+
+}
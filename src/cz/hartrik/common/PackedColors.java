@@ -0,0 +1,238 @@
+package cz.hartrik.common;
+
+import cz.hartrik.common.reflect.LibraryClass;
+
+/**
+ * Obsahuje statické metody pro práci s barvami uloženými v jednom
+ * <code>int</code> ve formátu ARGB (viz {@link Color#getARGB()}). Metody
+ * nevytváří žádné objekty a dávají stejné výsledky jako odpovídající metody
+ * třídy {@link Color}.
+ *
+ * Metody pro přednásobenou průhlednost (<i>premultiplied alpha</i>) pracují
+ * s barvami, u kterých jsou složky RGB již vynásobené průhledností - v tomto
+ * tvaru s nimi pracuje {@link BlendMode}.
+ *
+ * @see Color
+ * @see ColorBuffer
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@LibraryClass
+public final class PackedColors {
+
+    private PackedColors() {}
+
+    // --- složky
+
+    public static int alpha(int argb) { return (argb >>> 24); }
+    public static int red(int argb)   { return (argb >> 16) & 0xFF; }
+    public static int green(int argb) { return (argb >>  8) & 0xFF; }
+    public static int blue(int argb)  { return  argb        & 0xFF; }
+
+    /**
+     * Složí barvu z jednotlivých složek. Ze složek se použije vždy jen
+     * nejnižší bajt, stejně jako v konstruktoru {@link Color#Color(int, int,
+     * int, int)}.
+     *
+     * @param red červená (0 - 255)
+     * @param green zelená (0 - 255)
+     * @param blue modrá (0 - 255)
+     * @param alpha průhlednost (0 - 255)
+     * @return barva ve formátu ARGB
+     */
+    public static int argb(int red, int green, int blue, int alpha) {
+        return  ((alpha & 0xFF) << 24) |
+                ((red   & 0xFF) << 16) |
+                ((green & 0xFF) << 8)  |
+                ((blue  & 0xFF));
+    }
+
+    /**
+     * Složí neprůhlednou barvu z jednotlivých složek.
+     *
+     * @param red červená (0 - 255)
+     * @param green zelená (0 - 255)
+     * @param blue modrá (0 - 255)
+     * @return barva ve formátu ARGB
+     */
+    public static int rgb(int red, int green, int blue) {
+        return argb(red, green, blue, 0xFF);
+    }
+
+    /**
+     * Vrátí odstín šedi.
+     *
+     * @param gray jas (0 - 255)
+     * @return barva ve formátu ARGB
+     * @see Color#createGray(int)
+     */
+    public static int gray(int gray) {
+        return argb(gray, gray, gray, 0xFF);
+    }
+
+    /**
+     * Převede barvu z formátu ARGB do formátu RGBA.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return barva ve formátu RGBA
+     * @see Color#getRGBA()
+     */
+    public static int toRGBA(int argb) {
+        return (argb << 8) | (argb >>> 24);
+    }
+
+    // --- úpravy
+
+    /**
+     * @param argb barva ve formátu ARGB
+     * @param alpha nová průhlednost (0 - 255)
+     * @return barva s novou průhledností
+     * @see Color#changeAlpha(int)
+     */
+    public static int changeAlpha(int argb, int alpha) {
+        return (argb & 0x00FFFFFF) | ((alpha & 0xFF) << 24);
+    }
+
+    /**
+     * @param argb barva ve formátu ARGB
+     * @param alpha nová průhlednost (0 - 1)
+     * @return barva s novou průhledností
+     * @see Color#changeAlpha(double)
+     */
+    public static int changeAlpha(int argb, double alpha) {
+        return changeAlpha(argb, (int) (alpha * 0xFF + 0.5));
+    }
+
+    /**
+     * Na barvu pozadí "nanese" barvu popředí. Výsledná barva je vždy
+     * neprůhledná.
+     *
+     * @param background barva pozadí ve formátu ARGB
+     * @param foreground barva popředí ve formátu ARGB
+     * @return výsledná barva ve formátu ARGB
+     * @see Color#blend(Color)
+     */
+    public static int blend(int background, int foreground) {
+        // outputRed = (foregroundRed * foregroundAlpha)
+        //           + (backgroundRed * (1.0 - foregroundAlpha));
+
+        final float fAlpha = alpha(foreground) / 255.f;
+        final float fAlphaReverse = 1.0f - fAlpha;
+
+        int nR = (int) ((red(foreground) * fAlpha)
+                + (red(background) * fAlphaReverse));
+        int nG = (int) ((green(foreground) * fAlpha)
+                + (green(background) * fAlphaReverse));
+        int nB = (int) ((blue(foreground) * fAlpha)
+                + (blue(background) * fAlphaReverse));
+
+        return rgb(nR, nG, nB);
+    }
+
+    /**
+     * Převede barvu na odstín šedi, průhlednost zůstane zachována.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return odstín šedi ve formátu ARGB
+     * @see Color#grayscale()
+     */
+    public static int grayscale(int argb) {
+        // stejné mezivýsledky jako u Color#getDoubleXxx (dělení ve float)
+        double gray = 0.21 * (double) (red(argb)   / 255.f)
+                    + 0.71 * (double) (green(argb) / 255.f)
+                    + 0.07 * (double) (blue(argb)  / 255.f);
+
+        int g = (int) (gray * 0xFF + 0.5);
+        return argb(g, g, g, alpha(argb));
+    }
+
+    // --- přednásobená průhlednost
+
+    /** Převrácené hodnoty 2 * alpha v pevné řádové čárce, viz unpremultiply. */
+    private static final long[] UNPREMULTIPLY_TABLE = new long[256];
+
+    static {
+        for (int a = 1; a < 256; a++)
+            UNPREMULTIPLY_TABLE[a] = ((1L << 27) + 2 * a - 1) / (2 * a);
+    }
+
+    /**
+     * Vynásobí dvě hodnoty z rozsahu 0 - 255 a výsledek vydělí 255
+     * (se zaokrouhlením).
+     *
+     * @param a první hodnota
+     * @param b druhá hodnota
+     * @return <code>round(a * b / 255)</code>
+     */
+    static int multiply(int a, int b) {
+        final int p = a * b + 128;
+        return (p + (p >> 8)) >> 8;
+    }
+
+    /**
+     * Převede barvu do tvaru s přednásobenou průhledností.
+     *
+     * @param argb barva ve formátu ARGB
+     * @return barva s přednásobenou průhledností
+     */
+    public static int premultiply(int argb) {
+        final int a = alpha(argb);
+        if (a == 0xFF) return argb;
+        if (a == 0) return 0;
+
+        return (a << 24)
+                | (multiply(red(argb), a) << 16)
+                | (multiply(green(argb), a) << 8)
+                | multiply(blue(argb), a);
+    }
+
+    /**
+     * Převede barvu s přednásobenou průhledností zpět do formátu ARGB.
+     * Místo dělení používá tabulku převrácených hodnot, výsledek je ale
+     * přesný - odpovídá <code>round(c * 255 / a)</code>.
+     *
+     * @param premultiplied barva s přednásobenou průhledností
+     * @return barva ve formátu ARGB
+     */
+    public static int unpremultiply(int premultiplied) {
+        final int a = alpha(premultiplied);
+        if (a == 0xFF) return premultiplied;
+        if (a == 0) return 0;
+
+        final long m = UNPREMULTIPLY_TABLE[a];
+        final int r = (int) (((red(premultiplied)   * 510 + a) * m) >>> 27);
+        final int g = (int) (((green(premultiplied) * 510 + a) * m) >>> 27);
+        final int b = (int) (((blue(premultiplied)  * 510 + a) * m) >>> 27);
+
+        return (a << 24)
+                | (Math.min(r, 0xFF) << 16)
+                | (Math.min(g, 0xFF) << 8)
+                | Math.min(b, 0xFF);
+    }
+
+    /**
+     * Převede úsek pole do tvaru s přednásobenou průhledností.
+     *
+     * @param data barvy ve formátu ARGB
+     * @param offset index první barvy
+     * @param length počet barev
+     */
+    public static void premultiply(int[] data, int offset, int length) {
+        for (int i = offset; i < offset + length; i++)
+            data[i] = premultiply(data[i]);
+    }
+
+    /**
+     * Převede úsek pole s přednásobenou průhledností zpět do formátu ARGB.
+     *
+     * @param data barvy s přednásobenou průhledností
+     * @param offset index první barvy
+     * @param length počet barev
+     */
+    public static void unpremultiply(int[] data, int offset, int length) {
+        for (int i = offset; i < offset + length; i++)
+            data[i] = unpremultiply(data[i]);
+    }
+
+}
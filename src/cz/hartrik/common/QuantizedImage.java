@@ -0,0 +1,189 @@
+package cz.hartrik.common;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Obrázek převedený na paletu - paleta barev a pro každý pixel index barvy
+ * v paletě. Paleta může mít nejvýše 256 barev.
+ *
+ * @see ColorTools#quantize(BufferedImage, int, ColorQuantizer, boolean)
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class QuantizedImage {
+
+    /** Maximální počet barev palety. */
+    public static final int MAX_COLORS = 256;
+
+    /** Přibližný počet pixelů zpracovaných jedním úkolem. */
+    private static final int BAND_SIZE = 1 << 16;
+
+    private final int width;
+    private final int height;
+    private final Color[] palette;
+    private final byte[] indices;
+
+    private QuantizedImage(int width, int height, Color[] palette, byte[] indices) {
+        this.width = width;
+        this.height = height;
+        this.palette = palette;
+        this.indices = indices;
+    }
+
+    /**
+     * Převede obrázek na paletu. Každému pixelu je přiřazena nejbližší barva
+     * palety (v prostoru RGB), popřípadě s rozptylem chyby metodou
+     * Floyd-Steinberg. Bez rozptylu chyby se obrázek zpracovává paralelně.
+     *
+     * @param image obrázek
+     * @param palette paleta (1 - 256 barev)
+     * @param dither použít rozptyl chyby
+     * @return obrázek převedený na paletu
+     */
+    public static QuantizedImage of(BufferedImage image, Color[] palette,
+            boolean dither) {
+
+        if (palette.length < 1 || palette.length > MAX_COLORS)
+            throw new IllegalArgumentException("palette size: " + palette.length);
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final byte[] indices = new byte[width * height];
+        final NearestColorIndex index = new NearestColorIndex(palette, false);
+
+        if (dither) {
+            ditherFloydSteinberg(image, palette, index, indices);
+        } else {
+            final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+            final int bands = (height + rowsPerBand - 1) / rowsPerBand;
+
+            IntStream.range(0, bands).parallel().forEach(band -> {
+                int from = band * rowsPerBand;
+                int rows = Math.min(height, from + rowsPerBand) - from;
+                int[] data = image.getRGB(0, from, width, rows, null, 0, width);
+
+                int offset = from * width;
+                for (int i = 0; i < data.length; i++)
+                    indices[offset + i] = (byte) index.nearest(data[i]);
+            });
+        }
+
+        return new QuantizedImage(width, height, palette.clone(), indices);
+    }
+
+    private static void ditherFloydSteinberg(BufferedImage image,
+            Color[] palette, NearestColorIndex index, byte[] indices) {
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+
+        // chyby aktuálního a následujícího řádku, 3 složky na pixel
+        // (s okrajem jednoho pixelu na každé straně)
+        int[] current = new int[(width + 2) * 3];
+        int[] next = new int[(width + 2) * 3];
+        int[] row = new int[width];
+
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+
+            for (int x = 0; x < width; x++) {
+                final int e = (x + 1) * 3;
+                final int r = clamp(PackedColors.red(row[x])   + current[e]     / 16);
+                final int g = clamp(PackedColors.green(row[x]) + current[e + 1] / 16);
+                final int b = clamp(PackedColors.blue(row[x])  + current[e + 2] / 16);
+
+                final int nearest = index.nearest(PackedColors.rgb(r, g, b));
+                indices[y * width + x] = (byte) nearest;
+
+                final Color chosen = palette[nearest];
+                diffuse(current, next, e, r - chosen.getRed());
+                diffuse(current, next, e + 1, g - chosen.getGreen());
+                diffuse(current, next, e + 2, b - chosen.getBlue());
+            }
+
+            int[] temp = current;
+            current = next;
+            next = temp;
+            Arrays.fill(next, 0);
+        }
+    }
+
+    private static void diffuse(int[] current, int[] next, int e, int error) {
+        current[e + 3] += error * 7;
+        next[e - 3] += error * 3;
+        next[e]     += error * 5;
+        next[e + 3] += error;
+    }
+
+    private static int clamp(int value) {
+        return (value < 0) ? 0 : (value > 0xFF) ? 0xFF : value;
+    }
+
+    // --- gettery
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Vrátí kopii palety.
+     *
+     * @return paleta
+     */
+    public Color[] getPalette() {
+        return palette.clone();
+    }
+
+    /**
+     * Vrátí indexy barev v paletě po řádcích. Pole není kopírováno.
+     *
+     * @return indexy barev
+     */
+    public byte[] getIndices() {
+        return indices;
+    }
+
+    public int getIndex(int x, int y) {
+        return indices[y * width + x] & 0xFF;
+    }
+
+    public Color getColor(int x, int y) {
+        return palette[getIndex(x, y)];
+    }
+
+    /**
+     * Vytvoří obrázek typu {@link BufferedImage#TYPE_BYTE_INDEXED}. Obrázek
+     * sdílí data s touto instancí.
+     *
+     * @return obrázek s paletou
+     */
+    public BufferedImage toBufferedImage() {
+        byte[] r = new byte[palette.length];
+        byte[] g = new byte[palette.length];
+        byte[] b = new byte[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            r[i] = palette[i].getByteRed();
+            g[i] = palette[i].getByteGreen();
+            b[i] = palette[i].getByteBlue();
+        }
+
+        IndexColorModel model = new IndexColorModel(8, palette.length, r, g, b);
+        WritableRaster raster = Raster.createInterleavedRaster(
+                new DataBufferByte(indices, indices.length),
+                width, height, width, 1, new int[] { 0 }, null);
+
+        return new BufferedImage(model, raster, false, null);
+    }
+
+}
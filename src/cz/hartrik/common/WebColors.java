@@ -2,13 +2,14 @@
 package cz.hartrik.common;
 
 import cz.hartrik.common.reflect.LibraryClass;
+import java.util.Optional;
 
 /**
  * Seznam pojmenovaných barev.
  * Podle <a href="http://en.wikipedia.org/wiki/Web_colors#X11_color_names">
  * wikipedie</a>.
  * 
- * @version 2014-06-15
+ * @version 2026-10-17
  * @author Patrik Harag
  */
 @LibraryClass
@@ -167,4 +168,136 @@ public final class WebColors {
     public static final Color DARK_SLATE_GRAY        = new Color( 47,  79,  79);
     public static final Color BLACK                  = Color.BLACK;
 
-}
\ No newline at end of file
+    // --- hledání nejbližší barvy
+
+    /** Způsob měření vzdálenosti barev při hledání nejbližší barvy. */
+    public enum Metric {
+        /** Euklidovská vzdálenost v prostoru RGB. */
+        RGB,
+        /** Euklidovská vzdálenost v prostoru CIE L*a*b* (CIE76). */
+        LAB
+    }
+
+    /**
+     * Vrátí pojmenovanou barvu, která je nejblíže zadané barvě v prostoru
+     * RGB. Průhlednost se nebere v úvahu.
+     * 
+     * @param color barva
+     * @return nejbližší pojmenovaná barva
+     */
+    public static Color nearest(Color color) {
+        return nearest(color.getARGB(), Metric.RGB);
+    }
+
+    /**
+     * Vrátí pojmenovanou barvu, která je nejblíže zadané barvě v prostoru
+     * RGB. Průhlednost se nebere v úvahu.
+     * 
+     * @param argb barva ve formátu ARGB
+     * @return nejbližší pojmenovaná barva
+     */
+    public static Color nearest(int argb) {
+        return nearest(argb, Metric.RGB);
+    }
+
+    /**
+     * Vrátí pojmenovanou barvu, která je nejblíže zadané barvě.
+     * 
+     * @param color barva
+     * @param metric způsob měření vzdálenosti
+     * @return nejbližší pojmenovaná barva
+     */
+    public static Color nearest(Color color, Metric metric) {
+        return nearest(color.getARGB(), metric);
+    }
+
+    /**
+     * Vrátí pojmenovanou barvu, která je nejblíže zadané barvě. Hledání
+     * používá předem sestavenou krychli 32 x 32 x 32 buněk, takže je vhodné
+     * i pro volání na každý pixel velkého obrázku. Průhlednost se nebere
+     * v úvahu.
+     * 
+     * @param argb barva ve formátu ARGB
+     * @param metric způsob měření vzdálenosti
+     * @return nejbližší pojmenovaná barva
+     */
+    public static Color nearest(int argb, Metric metric) {
+        return NamedColors.nearest(argb, metric);
+    }
+
+    // --- názvy
+
+    /**
+     * Vyhledá barvu podle názvu. Velikost písmen a oddělovače
+     * (<code>'_'</code>, <code>'-'</code>, mezera) nehrají roli, takže
+     * <code>"CornflowerBlue"</code>, <code>"cornflower-blue"</code>
+     * i <code>"CORNFLOWER_BLUE"</code> najdou {@link #CORNFLOWER_BLUE}.
+     * 
+     * @param name název barvy
+     * @return barva
+     */
+    public static Optional<Color> byName(CharSequence name) {
+        int index = NamedColors.indexOf(name, 0, name.length());
+        return (index < 0)
+                ? Optional.empty()
+                : Optional.of(NamedColors.COLORS[index]);
+    }
+
+    /**
+     * Vrátí název konstanty (např. <code>CORNFLOWER_BLUE</code>), která má
+     * stejnou hodnotu jako barva. Pokud jich je více, vrátí první z nich.
+     * 
+     * @param color barva
+     * @return název barvy
+     */
+    public static Optional<String> nameOf(Color color) {
+        return nameOf(color.getARGB());
+    }
+
+    /**
+     * Vrátí název konstanty (např. <code>CORNFLOWER_BLUE</code>), která má
+     * stejnou hodnotu jako barva. Pokud jich je více, vrátí první z nich.
+     * 
+     * @param argb barva ve formátu ARGB
+     * @return název barvy
+     */
+    public static Optional<String> nameOf(int argb) {
+        int index = NamedColors.indexOf(argb);
+        return (index < 0)
+                ? Optional.empty()
+                : Optional.of(NamedColors.NAMES[index]);
+    }
+
+    // --- převod z textu
+
+    /**
+     * Převede textový zápis barvy na barvu ve formátu ARGB. Podporuje zápisy
+     * <code>#rgb</code>, <code>#rgba</code>, <code>#rrggbb</code>,
+     * <code>#rrggbbaa</code>, <code>rgb(r, g, b)</code>,
+     * <code>rgba(r, g, b, a)</code> (včetně formátu {@link Color#toString()})
+     * a názvy barev. Průhlednost v <code>rgba</code> zapsaná jako celé číslo
+     * je v rozsahu 0 - 255, desetinné číslo v rozsahu 0 - 1. <p>
+     * 
+     * Metoda nic nealokuje.
+     * 
+     * @param text textový zápis barvy
+     * @return barva ve formátu ARGB
+     * @throws IllegalArgumentException pokud text není platným zápisem barvy
+     */
+    public static int parseARGB(CharSequence text) {
+        return ColorParser.parse(text);
+    }
+
+    /**
+     * Převede textový zápis barvy na barvu.
+     * 
+     * @param text textový zápis barvy
+     * @return barva
+     * @throws IllegalArgumentException pokud text není platným zápisem barvy
+     * @see #parseARGB(CharSequence)
+     */
+    public static Color parse(CharSequence text) {
+        return Color.createARGB(parseARGB(text));
+    }
+
+}
@@ -0,0 +1,70 @@
+package cz.hartrik.common.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Zapisuje a čte hodnoty v kompaktním binárním formátu. Na rozdíl od
+ * standardní serializace neukládá žádné informace o třídách, formát je tedy
+ * dán jen použitým kodekem. Hotové kodeky obsahuje třída {@link Codecs}.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ * @param <T> typ hodnot
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * Zapíše hodnotu.
+     *
+     * @param out výstup
+     * @param value hodnota
+     * @throws IOException chyba při zápisu
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * Přečte hodnotu.
+     *
+     * @param in vstup
+     * @return hodnota
+     * @throws IOException chyba při čtení, {@link java.io.EOFException}
+     *         pokud vstup skončil dříve
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Zapíše hodnotu do bufferu od jeho aktuální pozice.
+     *
+     * @param buffer buffer
+     * @param value hodnota
+     * @throws java.nio.BufferOverflowException pokud se hodnota do bufferu
+     *         nevejde
+     */
+    default void write(ByteBuffer buffer, T value) {
+        try {
+            write(Codecs.output(buffer), value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Přečte hodnotu z bufferu od jeho aktuální pozice.
+     *
+     * @param buffer buffer
+     * @return hodnota
+     * @throws UncheckedIOException pokud buffer neobsahuje celou hodnotu
+     */
+    default T read(ByteBuffer buffer) {
+        try {
+            return read(Codecs.input(buffer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
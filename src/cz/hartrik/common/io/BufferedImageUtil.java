@@ -1,18 +1,20 @@
 package cz.hartrik.common.io;
 
+import cz.hartrik.common.Compositor;
 import cz.hartrik.common.reflect.LibraryClass;
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.image.BufferedImage;
 
 /**
  * Obsahuje statické metody pro práci s obrázky typu {@link BufferedImage}.
  * 
  * @see ImageUtil
+ * @see ImagePool
  * @see BufferedImage
  * 
- * @version 1.2 /2013-06-21
+ * @version 1.4 /2026-10-17
  * @author Patrik Harag
  */
 @LibraryClass
@@ -31,6 +33,21 @@ public final class BufferedImageUtil {
         return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
     }
     
+    /**
+     * Vypůjčí ze zásobníku prázdný obrázek typu
+     * {@link BufferedImage#TYPE_INT_ARGB} s průhlednými pixely.
+     * 
+     * @param width šířka obrázku
+     * @param height výška obrázku
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return prázdný obrázek
+     */
+    public static BufferedImage createEmpty(int width, int height, ImagePool pool) {
+        return (pool == null)
+                ? createEmpty(width, height)
+                : pool.acquireEmpty(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+    
     /**
      * Vytvoří obrázek typu {@link BufferedImage} s určitou barvou pozadí.
      * 
@@ -57,56 +74,203 @@ public final class BufferedImageUtil {
      * @return kopie obrázku
      */
     public static BufferedImage copy(BufferedImage image) {
-        BufferedImage clon = createEmpty(image.getWidth(), image.getHeight());
-        Graphics2D g = clon.createGraphics();
+        return copy(image, createEmpty(image.getWidth(), image.getHeight()));
+    }
+    
+    /**
+     * Vrátí kopii obrázku typu {@link BufferedImage#TYPE_INT_ARGB},
+     * vypůjčenou ze zásobníku.
+     * 
+     * @param image obrázek ke zkopírování
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return kopie obrázku
+     */
+    public static BufferedImage copy(BufferedImage image, ImagePool pool) {
+        if (pool == null) return copy(image);
+        
+        return copy(image, pool.acquire(image.getWidth(), image.getHeight(),
+                BufferedImage.TYPE_INT_ARGB));
+    }
+    
+    /**
+     * Zkopíruje obrázek do cílového obrázku stejné velikosti. Původní obsah
+     * cíle je přepsán, včetně průhlednosti.
+     * 
+     * @param image obrázek ke zkopírování
+     * @param destination cílový obrázek
+     * @return cílový obrázek
+     */
+    public static BufferedImage copy(BufferedImage image, BufferedImage destination) {
+        if (destination.getWidth() != image.getWidth()
+                || destination.getHeight() != image.getHeight())
+            throw new IllegalArgumentException("Size mismatch");
+        
+        Graphics2D g = destination.createGraphics();
+        g.setComposite(AlphaComposite.Src);
         g.drawImage(image, 0, 0, null);
         g.dispose();
-        return clon;
+        return destination;
     }
     
     /**
      * Horizontálně převrátí obrázek (zrcadlově).
-     * Co je vpravo, bude vlevo a naopak.
+     * Co je vpravo, bude vlevo a naopak. <p>
+     * 
+     * Obrázky s daty v {@link java.awt.image.DataBufferInt} nebo
+     * {@link java.awt.image.DataBufferByte} jsou zpracovány přímo nad daty
+     * a výsledek má stejný typ, ostatní jsou nejprve převedeny na
+     * {@link BufferedImage#TYPE_INT_ARGB}.
      * 
      * @param image obrázek k převrácení
      * @return převrácený obrázek
      */
     public static BufferedImage flipHorizontally(BufferedImage image) {
-        int width = image.getWidth(), height = image.getHeight();
-        
-        BufferedImage newImage = createEmpty(width, height);
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.drawImage(image, 0, 0, width, height, width, 0, 0, height, null);
-        g2d.dispose();
-        return newImage;
+        return transform(image, false, true, false, null);
+    }
+    
+    /**
+     * Horizontálně převrátí obrázek, výsledek vypůjčí ze zásobníku.
+     * 
+     * @param image obrázek k převrácení
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return převrácený obrázek
+     * @see #flipHorizontally(BufferedImage)
+     */
+    public static BufferedImage flipHorizontally(BufferedImage image, ImagePool pool) {
+        return transform(image, false, true, false, pool);
     }
 
     /**
      * Vertikálně převrátí obrázek (zrcadlově).
-     * Co je nahoře, bude dole a naopak.
+     * Co je nahoře, bude dole a naopak. <p>
+     * 
+     * Řádky jsou jen kopírovány, typ obrázku zůstává zachován stejně jako
+     * u {@link #flipHorizontally(BufferedImage)}.
      * 
      * @param image obrázek k převrácení
      * @return převrácený obrázek
      */
     public static BufferedImage flipVertically(BufferedImage image) {
-        int width = image.getWidth(), height = image.getHeight();
-        
-        BufferedImage newImage = createEmpty(width, height);
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.drawImage(image, 0, 0, width, height, 0, height, width, 0, null);
-        g2d.dispose();
-        return newImage;
+        return transform(image, false, false, true, null);
+    }
+    
+    /**
+     * Vertikálně převrátí obrázek, výsledek vypůjčí ze zásobníku.
+     * 
+     * @param image obrázek k převrácení
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return převrácený obrázek
+     * @see #flipVertically(BufferedImage)
+     */
+    public static BufferedImage flipVertically(BufferedImage image, ImagePool pool) {
+        return transform(image, false, false, true, pool);
+    }
+
+    /**
+     * Vrátí obrázek otočený o 90° ve směru hodinových ručiček. Otočení je
+     * přesné, pixely jsou jen přesunuty. Typ obrázku zůstává zachován stejně
+     * jako u {@link #flipHorizontally(BufferedImage)}.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @return otočený obrázek
+     */
+    public static BufferedImage rotate90(BufferedImage image) {
+        return transform(image, true, false, true, null);
+    }
+    
+    /**
+     * Otočí obrázek o 90°, výsledek vypůjčí ze zásobníku.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return otočený obrázek
+     * @see #rotate90(BufferedImage)
+     */
+    public static BufferedImage rotate90(BufferedImage image, ImagePool pool) {
+        return transform(image, true, false, true, pool);
+    }
+
+    /**
+     * Vrátí obrázek otočený o 180°. Otočení je přesné, pixely jsou jen
+     * přesunuty. Typ obrázku zůstává zachován stejně jako
+     * u {@link #flipHorizontally(BufferedImage)}.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @return otočený obrázek
+     */
+    public static BufferedImage rotate180(BufferedImage image) {
+        return transform(image, false, true, true, null);
+    }
+    
+    /**
+     * Otočí obrázek o 180°, výsledek vypůjčí ze zásobníku.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return otočený obrázek
+     * @see #rotate180(BufferedImage)
+     */
+    public static BufferedImage rotate180(BufferedImage image, ImagePool pool) {
+        return transform(image, false, true, true, pool);
+    }
+
+    /**
+     * Vrátí obrázek otočený o 270° ve směru hodinových ručiček (tedy o 90°
+     * proti směru). Otočení je přesné, pixely jsou jen přesunuty. Typ obrázku
+     * zůstává zachován stejně jako u {@link #flipHorizontally(BufferedImage)}.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @return otočený obrázek
+     */
+    public static BufferedImage rotate270(BufferedImage image) {
+        return transform(image, true, true, false, null);
+    }
+    
+    /**
+     * Otočí obrázek o 270°, výsledek vypůjčí ze zásobníku.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return otočený obrázek
+     * @see #rotate270(BufferedImage)
+     */
+    public static BufferedImage rotate270(BufferedImage image, ImagePool pool) {
+        return transform(image, true, true, false, pool);
     }
 
     /**
-     * Vrátí obrázek otočený o požadovaný počet stupňů.
-     * Při otáčení může docházet ke ztrátě ostrosti.
+     * Vrátí obrázek otočený o požadovaný počet stupňů (kladný úhel otáčí
+     * ve směru hodinových ručiček). Při otáčení může docházet ke ztrátě
+     * ostrosti, násobky 90° jsou ale otočeny přesně, viz
+     * {@link #rotate90(BufferedImage)}.
      * 
      * @param image obrázek, který se bude otáčet
      * @param angle úhel otočení (ve stupních)
      * @return otočený obrázek
      */
     public static BufferedImage rotate(BufferedImage image, double angle) {
+        return rotate(image, angle, null);
+    }
+    
+    /**
+     * Vrátí obrázek otočený o požadovaný počet stupňů, výsledek vypůjčí ze
+     * zásobníku.
+     * 
+     * @param image obrázek, který se bude otáčet
+     * @param angle úhel otočení (ve stupních)
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return otočený obrázek
+     * @see #rotate(BufferedImage, double)
+     */
+    public static BufferedImage rotate(BufferedImage image, double angle,
+            ImagePool pool) {
+        
+        final double normalized = ((angle % 360) + 360) % 360;
+        if (normalized == 0)   return transform(image, false, false, false, pool);
+        if (normalized == 90)  return rotate90(image, pool);
+        if (normalized == 180) return rotate180(image, pool);
+        if (normalized == 270) return rotate270(image, pool);
+        
         double sin = Math.abs(Math.sin(Math.toRadians(angle)));
         double cos = Math.abs(Math.cos(Math.toRadians(angle)));
         int oldWidth  = image.getWidth();
@@ -114,7 +278,7 @@ public final class BufferedImageUtil {
         int newWidth  = (int) Math.floor(oldWidth * cos + oldHeight * sin);
         int newHeight = (int) Math.floor(oldHeight * cos + oldWidth * sin);
         
-        BufferedImage temp = createEmpty(newWidth, newHeight);
+        BufferedImage temp = createEmpty(newWidth, newHeight, pool);
         Graphics2D g = temp.createGraphics();
         g.translate((newWidth - oldWidth) / 2, (newHeight - oldHeight) / 2);
         g.rotate(Math.toRadians(angle), oldWidth / 2, oldHeight / 2);
@@ -124,7 +288,47 @@ public final class BufferedImageUtil {
     }
     
     /**
-     * Vrátí obrázek změněný na požadovanou velikost.
+     * Přesune pixely obrázku do nového obrázku. Cílový pixel [x, y] je vzat
+     * ze souřadnic [x, y], popř. [y, x] při transpozici; <code>flipX</code>
+     * a <code>flipY</code> obrací zdrojové souřadnice x a y. Pokud je
+     * zadán zásobník, vypůjčí se z něj výsledek i dočasná kopie.
+     */
+    private static BufferedImage transform(BufferedImage image,
+            boolean transpose, boolean flipX, boolean flipY, ImagePool pool) {
+        
+        PixelRaster src = PixelRaster.of(image);
+        BufferedImage temp = null;
+        if (src == null) {
+            image = temp = copy(image, pool);
+            src = PixelRaster.of(image);
+        }
+        
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final int rw = transpose ? h : w;
+        final int rh = transpose ? w : h;
+        final BufferedImage result = (pool != null && ImagePool.isPoolable(image.getType()))
+                ? pool.acquire(rw, rh, image.getType())
+                : PixelRaster.createCompatible(image, rw, rh);
+        
+        final int origin = src.index(flipX ? w - 1 : 0, flipY ? h - 1 : 0);
+        final int stepX = flipX ? -src.pixelStride : src.pixelStride;
+        final int stepY = flipY ? -src.scan : src.scan;
+        
+        if (transpose)
+            src.transform(PixelRaster.of(result), origin, stepY, stepX);
+        else
+            src.transform(PixelRaster.of(result), origin, stepX, stepY);
+        
+        if (pool != null)
+            pool.release(temp);
+        
+        return result;
+    }
+    
+    /**
+     * Vrátí obrázek změněný na požadovanou velikost. Používá filtr
+     * {@link Resampler.Filter#BICUBIC}, viz {@link Resampler}.
      * 
      * @param image obrázek, který se bude měnit
      * @param width požadovaná šířka
@@ -132,9 +336,40 @@ public final class BufferedImageUtil {
      * @return změněný obrázek
      */
     public static BufferedImage resize(BufferedImage image, int width, int height) {
+        return resize(image, width, height, Resampler.Filter.BICUBIC);
+    }
+    
+    /**
+     * Vrátí obrázek změněný na požadovanou velikost.
+     * 
+     * @param image obrázek, který se bude měnit
+     * @param width požadovaná šířka
+     * @param height požadovaná výška
+     * @param filter filtr
+     * @return změněný obrázek
+     */
+    public static BufferedImage resize(BufferedImage image, int width, int height,
+            Resampler.Filter filter) {
+        
+        return resize(image, width, height, filter, null);
+    }
+    
+    /**
+     * Vrátí obrázek změněný na požadovanou velikost, výsledek vypůjčí ze
+     * zásobníku.
+     * 
+     * @param image obrázek, který se bude měnit
+     * @param width požadovaná šířka
+     * @param height požadovaná výška
+     * @param filter filtr
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return změněný obrázek
+     */
+    public static BufferedImage resize(BufferedImage image, int width, int height,
+            Resampler.Filter filter, ImagePool pool) {
+        
         if (height > 0 && width > 0) {
-            Image scaled = image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-            return ImageUtil.toBufferedImage(scaled);
+            return Resampler.resize(image, width, height, filter, pool);
         } else {
             return image;
         }
@@ -146,22 +381,138 @@ public final class BufferedImageUtil {
      * @param image obrázek
      * @param color barva pozadí
      * @return ne-průhledný obrázek
+     * @see #fillTransparentPixels(BufferedImage, Color, BufferedImage)
      */
     public static BufferedImage fillTransparentPixels
             (BufferedImage image, Color color) {
         
-        int w = image.getWidth();
-        int h = image.getHeight();
+        return fillTransparentPixels(image, color, new BufferedImage(
+                image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB));
+    }
+    
+    /**
+     * Vrátí obrázek s vyplněnými průhlednými pixely, vypůjčený ze zásobníku.
+     * 
+     * @param image obrázek
+     * @param color barva pozadí
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return ne-průhledný obrázek
+     * @see #fillTransparentPixels(BufferedImage, Color, BufferedImage)
+     */
+    public static BufferedImage fillTransparentPixels
+            (BufferedImage image, Color color, ImagePool pool) {
         
-        BufferedImage newImage = 
-                new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        if (pool == null) return fillTransparentPixels(image, color);
         
-        Graphics2D g = newImage.createGraphics();
-        g.setColor(color);
-        g.fillRect(0, 0, w, h);
-        g.drawRenderedImage(image, null);
-        g.dispose();
-        return newImage;
+        return fillTransparentPixels(image, color, pool.acquire(
+                image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB));
+    }
+    
+    /**
+     * Zapíše do cílového obrázku obrázek s vyplněnými průhlednými pixely.
+     * Poloprůhledná barva pozadí se nejprve nanese na černou. <p>
+     * 
+     * Pokud je cíl typu {@link BufferedImage#TYPE_INT_RGB} nebo
+     * {@link BufferedImage#TYPE_INT_ARGB}, skládá se přímo nad jeho daty
+     * pomocí {@link Compositor} (výsledek se od {@link Graphics2D} může lišit
+     * nejvýše o 1 v každé složce). Cílem může být i samotný obrázek
+     * (nebo obrázek sdílející jeho data) - pokud se nelze složit přímo nad
+     * daty, zdroj se nejprve zkopíruje.
+     * 
+     * @param image obrázek
+     * @param color barva pozadí
+     * @param destination cílový obrázek stejné velikosti
+     * @return cílový obrázek
+     */
+    public static BufferedImage fillTransparentPixels
+            (BufferedImage image, Color color, BufferedImage destination) {
+        
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        if (destination.getWidth() != w || destination.getHeight() != h)
+            throw new IllegalArgumentException("Size mismatch");
+        
+        final int background = Compositor.blend(0xFF000000, color.getRGB());
+        IntRaster src = IntRaster.of(image);
+        final IntRaster dst = IntRaster.of(destination);
+        
+        // vyplnění pozadí by přepsalo zdroj sdílející data s cílem
+        if (image.getRaster().getDataBuffer() == destination.getRaster().getDataBuffer()
+                && (src == null || dst == null || src.index(0, 0) != dst.index(0, 0))) {
+            image = copy(image);
+            src = IntRaster.of(image);
+        }
+        
+        if (dst == null) {
+            Graphics2D g = destination.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.setColor(new Color(background));
+            g.fillRect(0, 0, w, h);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.drawRenderedImage(image, null);
+            g.dispose();
+        } else if (src != null && src.alpha) {
+            Compositor.blendParallel(background,
+                    src.data, src.index(0, 0), src.scan,
+                    dst.data, dst.index(0, 0), dst.scan,
+                    w, h);
+        } else {
+            final int[] row = new int[w];
+            for (int y = 0; y < h; y++) {
+                image.getRGB(0, y, w, 1, row, 0, w);
+                Compositor.blend(background, row, 0, dst.data, dst.index(0, y), w);
+            }
+        }
+        return destination;
+    }
+    
+    /**
+     * Přes obrázek nanese jiný obrázek stejným vzorcem jako
+     * {@link cz.hartrik.common.Color#blend(cz.hartrik.common.Color)}.
+     * Výsledek je zapsán přímo do obrázku <code>background</code>, zasažené
+     * pixely budou neprůhledné. <p>
+     * 
+     * Obrázky typu {@link BufferedImage#TYPE_INT_ARGB} (a pozadí typu
+     * {@link BufferedImage#TYPE_INT_RGB}) jsou zpracovány přímo nad jejich
+     * daty, viz {@link Compositor}.
+     * 
+     * @param background obrázek pozadí
+     * @param foreground obrázek popředí
+     * @param x souřadnice x levého horního rohu popředí
+     * @param y souřadnice y levého horního rohu popředí
+     * @return obrázek pozadí
+     */
+    public static BufferedImage blend(BufferedImage background,
+            BufferedImage foreground, int x, int y) {
+        
+        final int x0 = Math.max(0, x);
+        final int y0 = Math.max(0, y);
+        final int x1 = Math.min(background.getWidth(), x + foreground.getWidth());
+        final int y1 = Math.min(background.getHeight(), y + foreground.getHeight());
+        if (x1 <= x0 || y1 <= y0) return background;
+        
+        final int w = x1 - x0;
+        final int h = y1 - y0;
+        
+        IntRaster bg = IntRaster.of(background);
+        IntRaster fg = IntRaster.of(foreground);
+        
+        if (bg != null && fg != null && fg.alpha) {
+            Compositor.blendParallel(
+                    bg.data, bg.index(x0, y0), bg.scan,
+                    fg.data, fg.index(x0 - x, y0 - y), fg.scan,
+                    w, h);
+        } else {
+            int[] bgRow = new int[w];
+            int[] fgRow = new int[w];
+            for (int row = 0; row < h; row++) {
+                background.getRGB(x0, y0 + row, w, 1, bgRow, 0, w);
+                foreground.getRGB(x0 - x, y0 - y + row, w, 1, fgRow, 0, w);
+                Compositor.blend(bgRow, 0, fgRow, 0, w);
+                background.setRGB(x0, y0 + row, w, 1, bgRow, 0, w);
+            }
+        }
+        return background;
     }
     
     /**
@@ -172,27 +523,99 @@ public final class BufferedImageUtil {
      * @param width šířka výsledného obrázku
      * @param height výška výsledného obrázku
      * @return poskládaný obrázek
+     * @see #createTiledImage(BufferedImage, BufferedImage)
      */
-    public static  BufferedImage createTiledImage
-            (BufferedImage image, int width, int height){
+    public static BufferedImage createTiledImage
+            (BufferedImage image, int width, int height) {
         
-        BufferedImage bufferedImage = 
-                new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        return createTiledImage(image, createEmpty(width, height));
+    }
+    
+    /**
+     * Vrátí obrázek o určitých rozměrech, poskládaný z požadovaných obrázků
+     * a vypůjčený ze zásobníku.
+     * 
+     * @param image obrázek, ze kterého se bude skládat
+     * @param width šířka výsledného obrázku
+     * @param height výška výsledného obrázku
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return poskládaný obrázek
+     */
+    public static BufferedImage createTiledImage
+            (BufferedImage image, int width, int height, ImagePool pool) {
+        
+        return createTiledImage(image, (pool == null)
+                ? createEmpty(width, height)
+                : pool.acquire(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+    
+    /**
+     * Vyplní celý cílový obrázek opakujícím se obrázkem, počínaje levým
+     * horním rohem. <p>
+     * 
+     * Pokud je cíl typu {@link BufferedImage#TYPE_INT_RGB} nebo
+     * {@link BufferedImage#TYPE_INT_ARGB}, každý pixel se zapíše právě
+     * jednou: první řádek dlaždic se poskládá kopírováním řádků zdroje
+     * (se zdvojováním již zapsaného úseku), další řádky jsou kopiemi řádků
+     * o výšku obrázku výše.
+     * 
+     * @param image obrázek, ze kterého se bude skládat
+     * @param destination cílový obrázek
+     * @return cílový obrázek
+     */
+    public static BufferedImage createTiledImage
+            (BufferedImage image, BufferedImage destination) {
         
-        int imageWidth = image.getWidth();
-        int imageHeight = image.getHeight();
+        final int width = destination.getWidth();
+        final int height = destination.getHeight();
+        final int tw = image.getWidth();
+        final int th = image.getHeight();
         
-        int numX = (width / imageWidth) + 2;
-        int numY = (height / imageHeight) + 2;
-
-        BufferedImage temp = copy(image);
-        Graphics2D g2d = bufferedImage.createGraphics();
-        for (int y = 0; y < numY; y++) {
-            for (int x = 0; x < numX; x++) {
-                g2d.drawImage(temp, x * imageWidth, y * imageHeight, null);
+        final IntRaster dst = IntRaster.of(destination);
+        if (dst == null) {
+            Graphics2D g = destination.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            for (int y = 0; y < height; y += th)
+                for (int x = 0; x < width; x += tw)
+                    g.drawImage(image, x, y, null);
+            
+            g.dispose();
+            return destination;
+        }
+        
+        // zdroj ve formátu ARGB, pokud ho nelze použít přímo
+        IntRaster src = IntRaster.of(image);
+        int[] srcData;
+        int srcIndex, srcScan;
+        if (src != null && (src.alpha || !dst.alpha)) {
+            srcData = src.data;
+            srcIndex = src.index(0, 0);
+            srcScan = src.scan;
+        } else {
+            srcData = image.getRGB(0, 0, tw, th, null, 0, tw);
+            srcIndex = 0;
+            srcScan = tw;
+        }
+        
+        for (int y = 0; y < height; y++) {
+            final int row = dst.index(0, y);
+            if (y >= th) {
+                System.arraycopy(dst.data, dst.index(0, y - th),
+                        dst.data, row, width);
+                continue;
+            }
+            
+            int filled = Math.min(tw, width);
+            System.arraycopy(srcData, srcIndex + y * srcScan,
+                    dst.data, row, filled);
+            
+            while (filled < width) {
+                final int length = Math.min(filled, width - filled);
+                System.arraycopy(dst.data, row, dst.data, row + filled, length);
+                filled += length;
             }
         }
-        return bufferedImage;
+        return destination;
     }
     
 }
\ No newline at end of file
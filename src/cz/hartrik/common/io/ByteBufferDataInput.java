@@ -0,0 +1,135 @@
+package cz.hartrik.common.io;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Čte z {@link ByteBuffer} přes rozhraní {@link DataInput}. Pořadí bajtů
+ * je vždy <i>big-endian</i>, stejně jako u {@link DataInputStream},
+ * nezávisle na nastavení bufferu.
+ * Pokud v bufferu nezbývá dostatek bajtů, je vyhozena {@link EOFException}.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class ByteBufferDataInput implements DataInput {
+
+    private final ByteBuffer buffer;
+    private final boolean swap;
+
+    ByteBufferDataInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.swap = (buffer.order() != ByteOrder.BIG_ENDIAN);
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    private ByteBuffer require(int bytes) throws EOFException {
+        if (buffer.remaining() < bytes)
+            throw new EOFException();
+        return buffer;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        require(b.length).get(b);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        require(len).get(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        final int skipped = Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return require(1).get() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return require(1).get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return require(1).get() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        final short v = require(2).getShort();
+        return swap ? Short.reverseBytes(v) : v;
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        final char v = require(2).getChar();
+        return swap ? Character.reverseBytes(v) : v;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        final int v = require(4).getInt();
+        return swap ? Integer.reverseBytes(v) : v;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        final long v = require(8).getLong();
+        return swap ? Long.reverseBytes(v) : v;
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        if (!buffer.hasRemaining())
+            return null;
+
+        StringBuilder builder = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            final char c = (char) (buffer.get() & 0xFF);
+            if (c == '\n')
+                break;
+            if (c == '\r') {
+                if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n')
+                    buffer.get();
+                break;
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+}
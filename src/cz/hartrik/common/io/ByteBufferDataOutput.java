@@ -0,0 +1,107 @@
+package cz.hartrik.common.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Zapisuje do {@link ByteBuffer} přes rozhraní {@link DataOutput}. Pořadí
+ * bajtů je vždy <i>big-endian</i>, stejně jako u {@link DataOutputStream},
+ * nezávisle na nastavení bufferu.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class ByteBufferDataOutput implements DataOutput {
+
+    private final ByteBuffer buffer;
+    private final boolean swap;
+
+    ByteBufferDataOutput(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.swap = (buffer.order() != ByteOrder.BIG_ENDIAN);
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    public void write(int b) {
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) {
+        buffer.put(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        buffer.put(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(boolean v) {
+        buffer.put((byte) (v ? 1 : 0));
+    }
+
+    @Override
+    public void writeByte(int v) {
+        buffer.put((byte) v);
+    }
+
+    @Override
+    public void writeShort(int v) {
+        buffer.putShort(swap ? Short.reverseBytes((short) v) : (short) v);
+    }
+
+    @Override
+    public void writeChar(int v) {
+        buffer.putChar(swap ? Character.reverseBytes((char) v) : (char) v);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        buffer.putInt(swap ? Integer.reverseBytes(v) : v);
+    }
+
+    @Override
+    public void writeLong(long v) {
+        buffer.putLong(swap ? Long.reverseBytes(v) : v);
+    }
+
+    @Override
+    public void writeFloat(float v) {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(String s) {
+        for (int i = 0; i < s.length(); i++)
+            buffer.put((byte) s.charAt(i));
+    }
+
+    @Override
+    public void writeChars(String s) {
+        for (int i = 0; i < s.length(); i++)
+            writeChar(s.charAt(i));
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        // modifikované UTF-8 se jinak než přes DataOutputStream získat nedá
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(s.length() + 2);
+        new DataOutputStream(bytes).writeUTF(s);
+        buffer.put(bytes.toByteArray());
+    }
+
+}
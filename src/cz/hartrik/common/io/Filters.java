@@ -0,0 +1,696 @@
+package cz.hartrik.common.io;
+
+import cz.hartrik.common.PackedColors;
+import cz.hartrik.common.reflect.LibraryClass;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static cz.hartrik.common.PackedColors.alpha;
+import static cz.hartrik.common.PackedColors.blue;
+import static cz.hartrik.common.PackedColors.green;
+import static cz.hartrik.common.PackedColors.red;
+
+/**
+ * Obsahuje statické metody pro filtrování obrázků - rozmazání, zostření
+ * a detekci hran. Všechny filtry jsou oddělitelné (<i>separable</i>), tedy
+ * složené z vodorovného a svislého průchodu, které se počítají paralelně po
+ * pásech řádků, popř. sloupců. <p>
+ *
+ * Rozmazání {@link #boxBlur(BufferedImage, int, Edge) boxBlur} počítá
+ * klouzavé součty, jeho cena tedy nezávisí na poloměru.
+ * {@link #gaussianBlur(BufferedImage, double, Edge) gaussianBlur} je
+ * aproximováno třemi průchody box filtru. Obecná jádra lze použít metodou
+ * {@link #convolve(BufferedImage, float[], float[], Edge)}. <p>
+ *
+ * Barvy se filtrují s přednásobenou průhledností, takže průhledné pixely
+ * nezabarvují okolí. Mezi průchody box filtru se ukládají v 8 bitech na
+ * složku. Výsledné obrázky jsou vždy typu {@link BufferedImage#TYPE_INT_ARGB}.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@LibraryClass
+public final class Filters {
+
+    private Filters() {}
+
+    /** Způsob, jakým se doplňují pixely za okrajem obrázku. */
+    public enum Edge {
+
+        /** Opakuje se krajní pixel. */
+        CLAMP {
+            @Override
+            int index(int i, int length) {
+                return (i < 0) ? 0 : (i >= length) ? length - 1 : i;
+            }
+        },
+
+        /** Obrázek se opakuje - za pravým okrajem pokračuje levý. */
+        WRAP {
+            @Override
+            int index(int i, int length) {
+                return Math.floorMod(i, length);
+            }
+        };
+
+        abstract int index(int i, int length);
+
+        /**
+         * Vrátí tabulku indexů <code>index(j - radius)</code> pro
+         * <code>j = 0 .. length + 2 * radius</code>.
+         */
+        int[] table(int length, int radius) {
+            final int[] table = new int[length + 2 * radius + 1];
+            for (int j = 0; j < table.length; j++)
+                table[j] = index(j - radius, length);
+
+            return table;
+        }
+    }
+
+    /**
+     * Minimální počet pixelů, od kterého se průchody rozdělí mezi více
+     * vláken.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Přibližný počet pixelů zpracovaných jedním úkolem. */
+    private static final int BAND_SIZE = 1 << 14;
+
+    /** Počet řádků, které obecná konvoluce zpracovává najednou. */
+    private static final int CONVOLVE_ROWS = 64;
+
+    // --- obrázky
+
+    /**
+     * Rozmaže obrázek průměrem čtverce o straně <code>2 * radius + 1</code>.
+     *
+     * @param image obrázek
+     * @param radius poloměr (0 = beze změny)
+     * @param edge okraje
+     * @return nový obrázek
+     */
+    public static BufferedImage boxBlur(BufferedImage image, int radius,
+            Edge edge) {
+
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final BufferedImage result = BufferedImageUtil.createEmpty(w, h);
+        boxBlur(Resampler.pixels(image), IntRaster.of(result).data,
+                w, h, radius, edge);
+        return result;
+    }
+
+    /**
+     * Rozmaže obrázek Gaussovým filtrem.
+     *
+     * @param image obrázek
+     * @param sigma směrodatná odchylka v pixelech
+     * @param edge okraje
+     * @return nový obrázek
+     * @see #gaussianBlur(int[], int[], int, int, double, Edge)
+     */
+    public static BufferedImage gaussianBlur(BufferedImage image, double sigma,
+            Edge edge) {
+
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final BufferedImage result = BufferedImageUtil.createEmpty(w, h);
+        gaussianBlur(Resampler.pixels(image), IntRaster.of(result).data,
+                w, h, sigma, edge);
+        return result;
+    }
+
+    /**
+     * Zostří obrázek metodou <i>unsharp mask</i> - k obrázku se přičte
+     * rozdíl mezi ním a jeho rozmazanou kopií.
+     *
+     * @param image obrázek
+     * @param sigma směrodatná odchylka rozmazání (velikost zvýrazněných
+     *     detailů)
+     * @param amount síla zostření, např. 0.5 - 2
+     * @param edge okraje
+     * @return nový obrázek
+     */
+    public static BufferedImage sharpen(BufferedImage image, double sigma,
+            double amount, Edge edge) {
+
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final BufferedImage result = BufferedImageUtil.createEmpty(w, h);
+        sharpen(Resampler.pixels(image), IntRaster.of(result).data,
+                w, h, sigma, amount, edge);
+        return result;
+    }
+
+    /**
+     * Najde v obrázku hrany Sobelovým operátorem. Výsledkem je obrázek
+     * v odstínech šedi, jas pixelu odpovídá velikosti gradientu jasu
+     * (oříznuté na 255). Průhlednost zůstává zachována.
+     *
+     * @param image obrázek
+     * @param edge okraje
+     * @return nový obrázek
+     */
+    public static BufferedImage edges(BufferedImage image, Edge edge) {
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final BufferedImage result = BufferedImageUtil.createEmpty(w, h);
+        edges(Resampler.pixels(image), IntRaster.of(result).data, w, h, edge);
+        return result;
+    }
+
+    /**
+     * Provede konvoluci obrázku s oddělitelným jádrem - nejprve se řádky
+     * konvolvují s vodorovným jádrem, poté sloupce se svislým. Jádra musí mít
+     * lichou délku, jejich střed odpovídá zpracovávanému pixelu.
+     *
+     * @param image obrázek
+     * @param horizontal vodorovné jádro
+     * @param vertical svislé jádro
+     * @param edge okraje
+     * @return nový obrázek
+     * @see #gaussianKernel(double)
+     */
+    public static BufferedImage convolve(BufferedImage image,
+            float[] horizontal, float[] vertical, Edge edge) {
+
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final BufferedImage result = BufferedImageUtil.createEmpty(w, h);
+        convolve(Resampler.pixels(image), IntRaster.of(result).data,
+                w, h, horizontal, vertical, edge);
+        return result;
+    }
+
+    // --- jádra
+
+    /**
+     * Vytvoří normalizované jednorozměrné Gaussovo jádro o délce
+     * <code>2 * ceil(3 * sigma) + 1</code>.
+     *
+     * @param sigma směrodatná odchylka v pixelech
+     * @return jádro
+     */
+    public static float[] gaussianKernel(double sigma) {
+        if (sigma <= 0)
+            return new float[] { 1 };
+
+        final int radius = (int) Math.ceil(3 * sigma);
+        final float[] kernel = new float[2 * radius + 1];
+
+        double sum = 0;
+        for (int i = -radius; i <= radius; i++) {
+            final double value = Math.exp(-(i * i) / (2 * sigma * sigma));
+            kernel[i + radius] = (float) value;
+            sum += value;
+        }
+        for (int i = 0; i < kernel.length; i++)
+            kernel[i] /= sum;
+
+        return kernel;
+    }
+
+    /**
+     * Vypočte poloměry tří box filtrů, jejichž postupné použití aproximuje
+     * Gaussův filtr (rozptyl box filtru o šířce <i>d</i> je
+     * <code>(d * d - 1) / 12</code>).
+     *
+     * @param sigma směrodatná odchylka v pixelech
+     * @return tři poloměry
+     */
+    static int[] boxRadii(double sigma) {
+        final int n = 3;
+        final double ideal = Math.sqrt(12 * sigma * sigma / n + 1);
+
+        int lower = (int) Math.floor(ideal);
+        if (lower % 2 == 0) lower--;
+        final int upper = lower + 2;
+
+        final double m = (12 * sigma * sigma - n * lower * lower
+                - 4 * n * lower - 3 * n) / (-4 * lower - 4);
+        final int count = (int) Math.round(m);
+
+        final int[] radii = new int[n];
+        for (int i = 0; i < n; i++)
+            radii[i] = ((i < count ? lower : upper) - 1) / 2;
+
+        return radii;
+    }
+
+    // --- pole
+
+    /**
+     * Rozmaže obrázek uložený v poli barev ve formátu ARGB průměrem čtverce
+     * o straně <code>2 * radius + 1</code>.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param dst pole pro výsledek (může být i zdrojové pole)
+     * @param width šířka
+     * @param height výška
+     * @param radius poloměr (0 = beze změny)
+     * @param edge okraje
+     */
+    public static void boxBlur(int[] src, int[] dst, int width, int height,
+            int radius, Edge edge) {
+
+        boxBlur(src, dst, width, height, new int[] { radius }, edge);
+    }
+
+    /**
+     * Rozmaže obrázek uložený v poli barev ve formátu ARGB Gaussovým filtrem,
+     * aproximovaným třemi průchody box filtru. Výsledek se od přesného
+     * Gaussova filtru liší jen nepatrně, cena ale nezávisí na
+     * <code>sigma</code>.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param dst pole pro výsledek (může být i zdrojové pole)
+     * @param width šířka
+     * @param height výška
+     * @param sigma směrodatná odchylka v pixelech
+     * @param edge okraje
+     */
+    public static void gaussianBlur(int[] src, int[] dst, int width, int height,
+            double sigma, Edge edge) {
+
+        if (sigma <= 0) {
+            System.arraycopy(src, 0, dst, 0, width * height);
+            return;
+        }
+        boxBlur(src, dst, width, height, boxRadii(sigma), edge);
+    }
+
+    /**
+     * Zostří obrázek uložený v poli barev ve formátu ARGB.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param dst pole pro výsledek (může být i zdrojové pole)
+     * @param width šířka
+     * @param height výška
+     * @param sigma směrodatná odchylka rozmazání
+     * @param amount síla zostření
+     * @param edge okraje
+     * @see #sharpen(BufferedImage, double, double, Edge)
+     */
+    public static void sharpen(int[] src, int[] dst, int width, int height,
+            double sigma, double amount, Edge edge) {
+
+        final int length = width * height;
+        final int[] radii = (sigma > 0) ? boxRadii(sigma) : new int[0];
+        if (!blurs(radii) || amount == 0) {
+            System.arraycopy(src, 0, dst, 0, length);
+            return;
+        }
+
+        final int[] original = premultiplied(src, length);
+        final int[] blurred = original.clone();
+        boxBlurPremultiplied(blurred, width, height, radii, edge);
+
+        final float k = (float) amount;
+        forEachBand(height, width, y -> {
+            for (int i = y * width; i < (y + 1) * width; i++) {
+                final int c = original[i];
+                final int b = blurred[i];
+
+                final int a = clamp(alpha(c) + k * (alpha(c) - alpha(b)), 255);
+                final int r = clamp(red(c)   + k * (red(c)   - red(b)),   a);
+                final int g = clamp(green(c) + k * (green(c) - green(b)), a);
+                final int bl = clamp(blue(c) + k * (blue(c)  - blue(b)),  a);
+
+                dst[i] = PackedColors.unpremultiply(
+                        (a << 24) | (r << 16) | (g << 8) | bl);
+            }
+        });
+    }
+
+    /**
+     * Najde hrany v obrázku uloženém v poli barev ve formátu ARGB.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param dst pole pro výsledek (nesmí být zdrojovým polem)
+     * @param width šířka
+     * @param height výška
+     * @param edge okraje
+     * @see #edges(BufferedImage, Edge)
+     */
+    public static void edges(int[] src, int[] dst, int width, int height,
+            Edge edge) {
+
+        if (src == dst)
+            throw new IllegalArgumentException("src == dst");
+
+        // jas s přednásobenou průhledností - průhledné pixely jsou černé
+        final int[] luma = new int[width * height];
+        forEachBand(height, width, y -> {
+            for (int i = y * width; i < (y + 1) * width; i++)
+                luma[i] = red(PackedColors.grayscale(src[i])) * alpha(src[i]) / 255;
+        });
+
+        final int[] columns = edge.table(width, 1);
+        final int[] rows = edge.table(height, 1);
+
+        // Sobel: Gx = [1 2 1]^T * [-1 0 1], Gy = [-1 0 1]^T * [1 2 1]
+        forEachBand(height, width, y -> {
+            final int above = rows[y] * width;
+            final int row = rows[y + 1] * width;
+            final int below = rows[y + 2] * width;
+
+            final int[] smooth = new int[width];
+            final int[] diff = new int[width];
+            for (int x = 0; x < width; x++) {
+                smooth[x] = luma[above + x] + 2 * luma[row + x] + luma[below + x];
+                diff[x] = luma[below + x] - luma[above + x];
+            }
+
+            for (int x = 0; x < width; x++) {
+                final int left = columns[x];
+                final int right = columns[x + 2];
+
+                final int gx = smooth[right] - smooth[left];
+                final int gy = diff[left] + 2 * diff[x] + diff[right];
+                final int m = (int) Math.min(255, Math.sqrt(gx * gx + gy * gy));
+
+                final int i = y * width + x;
+                dst[i] = (src[i] & 0xFF000000) | (m << 16) | (m << 8) | m;
+            }
+        });
+    }
+
+    /**
+     * Provede konvoluci obrázku uloženého v poli barev ve formátu ARGB
+     * s oddělitelným jádrem. Mezivýsledky se počítají v plovoucí řádové
+     * čárce po pásech řádků, jádra tedy mohou obsahovat i záporné váhy.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param dst pole pro výsledek (nesmí být zdrojovým polem)
+     * @param width šířka
+     * @param height výška
+     * @param horizontal vodorovné jádro liché délky
+     * @param vertical svislé jádro liché délky
+     * @param edge okraje
+     */
+    public static void convolve(int[] src, int[] dst, int width, int height,
+            float[] horizontal, float[] vertical, Edge edge) {
+
+        if (horizontal.length % 2 == 0 || vertical.length % 2 == 0)
+            throw new IllegalArgumentException("Kernel length must be odd");
+        if (src == dst)
+            throw new IllegalArgumentException("src == dst");
+
+        final int length = width * height;
+        final int[] pixels = premultiplied(src, length);
+
+        final int rh = horizontal.length / 2;
+        final int rv = vertical.length / 2;
+        final int[] columns = edge.table(width, rh);
+        final int[] rows = edge.table(height, rv);
+
+        final int bands = (height + CONVOLVE_ROWS - 1) / CONVOLVE_ROWS;
+        IntStream stream = IntStream.range(0, bands);
+        if ((long) length * (horizontal.length + vertical.length) >= PARALLEL_THRESHOLD * 8L)
+            stream = stream.parallel();
+
+        stream.forEach(band -> {
+            final int from = band * CONVOLVE_ROWS;
+            final int to = Math.min(height, from + CONVOLVE_ROWS);
+
+            // vodorovný průchod pro řádky from - rv .. to - 1 + rv
+            final int count = to - from + 2 * rv;
+            final int stride = width * 4;
+            final float[] tmp = new float[count * stride];
+            final float[] line = new float[(width + 2 * rh) * 4];
+            for (int k = 0; k < count; k++) {
+                // řádek se rozbalí jen jednou, včetně okrajů
+                final int row = rows[from + k] * width;
+                for (int x = 0, t = 0; x < columns.length - 1; x++) {
+                    final int c = pixels[row + columns[x]];
+                    line[t++] = c >>> 24;
+                    line[t++] = (c >> 16) & 0xFF;
+                    line[t++] = (c >> 8) & 0xFF;
+                    line[t++] = c & 0xFF;
+                }
+
+                final int offset = k * stride;
+                for (int j = 0; j < horizontal.length; j++) {
+                    final float weight = horizontal[j];
+                    final int shift = 4 * j;
+                    for (int i = 0; i < stride; i++)
+                        tmp[offset + i] += weight * line[shift + i];
+                }
+            }
+
+            // svislý průchod
+            final float[] acc = new float[width * 4];
+            for (int y = from; y < to; y++) {
+                Arrays.fill(acc, 0);
+                for (int j = 0; j < vertical.length; j++) {
+                    final float weight = vertical[j];
+                    final int offset = (y - from + j) * width * 4;
+                    for (int i = 0; i < acc.length; i++)
+                        acc[i] += weight * tmp[offset + i];
+                }
+
+                for (int x = 0; x < width; x++) {
+                    final int a = clamp(acc[4 * x], 255);
+                    final int r = clamp(acc[4 * x + 1], a);
+                    final int g = clamp(acc[4 * x + 2], a);
+                    final int b = clamp(acc[4 * x + 3], a);
+                    dst[y * width + x] = PackedColors.unpremultiply(
+                            (a << 24) | (r << 16) | (g << 8) | b);
+                }
+            }
+        });
+    }
+
+    // --- box filtr
+
+    private static void boxBlur(int[] src, int[] dst, int width, int height,
+            int[] radii, Edge edge) {
+
+        // převod na přednásobené barvy a zpět by změnil poloprůhledné pixely
+        if (!blurs(radii)) {
+            System.arraycopy(src, 0, dst, 0, width * height);
+            return;
+        }
+
+        final int[] pixels = premultiplied(src, width * height);
+        boxBlurPremultiplied(pixels, width, height, radii, edge);
+
+        forEachBand(height, width, y -> {
+            for (int i = y * width; i < (y + 1) * width; i++)
+                dst[i] = PackedColors.unpremultiply(pixels[i]);
+        });
+    }
+
+    /** Zjistí, zda alespoň jeden z poloměrů obrázek rozmaže. */
+    private static boolean blurs(int[] radii) {
+        for (int radius : radii)
+            if (radius > 0) return true;
+
+        return false;
+    }
+
+    /**
+     * Postupně použije box filtry s danými poloměry, výsledek zapíše zpět do
+     * pole <code>pixels</code>. <p>
+     *
+     * Při více průchodech s {@link Edge#CLAMP} se obrázek nejprve rozšíří
+     * o součet poloměrů - za okrajem už rozmazaného obrázku totiž neleží
+     * krajní pixel, ale rozmazané okolí okraje. Výsledek pak odpovídá
+     * jedinému filtru s výsledným jádrem.
+     */
+    private static void boxBlurPremultiplied(int[] pixels, int width,
+            int height, int[] radii, Edge edge) {
+
+        int passes = 0, pad = 0;
+        for (int radius : radii) {
+            if (radius > 0) {
+                passes++;
+                pad += radius;
+            }
+        }
+        if (passes == 0)
+            return;
+
+        if (edge != Edge.CLAMP || passes == 1) {
+            boxPasses(pixels, new int[pixels.length], width, height, radii, edge);
+            return;
+        }
+
+        final int pw = width + 2 * pad;
+        final int ph = height + 2 * pad;
+        final int[] padded = new int[pw * ph];
+        final int[] columns = edge.table(width, pad);
+        final int[] rows = edge.table(height, pad);
+
+        forEachBand(ph, pw, y -> {
+            final int row = rows[y] * width;
+            for (int x = 0; x < pw; x++)
+                padded[y * pw + x] = pixels[row + columns[x]];
+        });
+
+        boxPasses(padded, new int[padded.length], pw, ph, radii, edge);
+
+        final int p = pad;
+        forEachBand(height, width, y -> System.arraycopy(
+                padded, (y + p) * pw + p, pixels, y * width, width));
+    }
+
+    private static void boxPasses(int[] pixels, int[] tmp, int width,
+            int height, int[] radii, Edge edge) {
+
+        for (int radius : radii) {
+            if (radius <= 0)
+                continue;
+
+            final int[] columns = edge.table(width, radius);
+            forEachBand(height, width, y ->
+                    boxRow(pixels, tmp, y * width, width, columns, radius));
+
+            final int[] rows = edge.table(height, radius);
+            forEachColumnBand(width, height, (from, to) ->
+                    boxColumns(tmp, pixels, width, height, from, to, rows, radius));
+        }
+    }
+
+    /** Vodorovný průchod jednoho řádku pomocí klouzavého součtu. */
+    private static void boxRow(int[] src, int[] dst, int offset, int width,
+            int[] columns, int radius) {
+
+        final int size = 2 * radius + 1;
+        final int half = size / 2;
+        final long recip = reciprocal(size);
+
+        int sa = 0, sr = 0, sg = 0, sb = 0;
+        for (int j = 0; j < size; j++) {
+            final int c = src[offset + columns[j]];
+            sa += c >>> 24;
+            sr += (c >> 16) & 0xFF;
+            sg += (c >> 8) & 0xFF;
+            sb += c & 0xFF;
+        }
+
+        for (int x = 0; x < width; x++) {
+            dst[offset + x] = (divide(sa + half, size, recip) << 24)
+                    | (divide(sr + half, size, recip) << 16)
+                    | (divide(sg + half, size, recip) << 8)
+                    | divide(sb + half, size, recip);
+
+            final int in = src[offset + columns[x + size]];
+            final int out = src[offset + columns[x]];
+            sa += (in >>> 24) - (out >>> 24);
+            sr += ((in >> 16) & 0xFF) - ((out >> 16) & 0xFF);
+            sg += ((in >> 8) & 0xFF) - ((out >> 8) & 0xFF);
+            sb += (in & 0xFF) - (out & 0xFF);
+        }
+    }
+
+    /**
+     * Svislý průchod sloupců <code>from</code> až <code>to - 1</code>.
+     * Součty všech sloupců se posouvají současně po řádcích, takže se data
+     * čtou sekvenčně.
+     */
+    private static void boxColumns(int[] src, int[] dst, int width, int height,
+            int from, int to, int[] rows, int radius) {
+
+        final int size = 2 * radius + 1;
+        final int half = size / 2;
+        final long recip = reciprocal(size);
+        final int n = to - from;
+        final int[] sums = new int[4 * n];
+
+        for (int j = 0; j < size; j++)
+            add(sums, src, rows[j] * width + from, n, 1);
+
+        for (int y = 0; y < height; y++) {
+            final int offset = y * width + from;
+            for (int i = 0; i < n; i++) {
+                dst[offset + i] = (divide(sums[4 * i] + half, size, recip) << 24)
+                        | (divide(sums[4 * i + 1] + half, size, recip) << 16)
+                        | (divide(sums[4 * i + 2] + half, size, recip) << 8)
+                        | divide(sums[4 * i + 3] + half, size, recip);
+            }
+
+            if (y + 1 < height) {
+                add(sums, src, rows[y + size] * width + from, n, 1);
+                add(sums, src, rows[y] * width + from, n, -1);
+            }
+        }
+    }
+
+    /**
+     * Vrátí převrácenou hodnotu dělitele pro {@link #divide(int, int, long)},
+     * nebo nulu, pokud by dělení násobením nebylo přesné. Je přesné, dokud
+     * dělenec krát dělitel nepřekročí 2<sup>32</sup> - součty nejvýše
+     * 256 * dělitel to splňují pro dělitele do 4000.
+     */
+    private static long reciprocal(int divisor) {
+        return (divisor > 4000) ? 0 : ((1L << 32) + divisor - 1) / divisor;
+    }
+
+    private static int divide(int dividend, int divisor, long reciprocal) {
+        return (reciprocal != 0)
+                ? (int) ((dividend * reciprocal) >>> 32)
+                : dividend / divisor;
+    }
+
+    private static void add(int[] sums, int[] src, int offset, int n, int sign) {
+        for (int i = 0; i < n; i++) {
+            final int c = src[offset + i];
+            sums[4 * i]     += sign * (c >>> 24);
+            sums[4 * i + 1] += sign * ((c >> 16) & 0xFF);
+            sums[4 * i + 2] += sign * ((c >> 8) & 0xFF);
+            sums[4 * i + 3] += sign * (c & 0xFF);
+        }
+    }
+
+    // --- pomocné metody
+
+    private static int[] premultiplied(int[] src, int length) {
+        final int[] pixels = new int[length];
+        System.arraycopy(src, 0, pixels, 0, length);
+        PackedColors.premultiply(pixels, 0, length);
+        return pixels;
+    }
+
+    private static int clamp(float value, int max) {
+        return (value <= 0) ? 0 : (value >= max) ? max : (int) (value + 0.5f);
+    }
+
+    private static void forEachBand(int rows, int width, IntConsumer action) {
+        final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+        final int bands = (rows + rowsPerBand - 1) / rowsPerBand;
+
+        IntStream stream = IntStream.range(0, bands);
+        if ((long) rows * width >= PARALLEL_THRESHOLD)
+            stream = stream.parallel();
+
+        stream.forEach(band -> {
+            final int to = Math.min(rows, (band + 1) * rowsPerBand);
+            for (int y = band * rowsPerBand; y < to; y++)
+                action.accept(y);
+        });
+    }
+
+    @FunctionalInterface
+    private interface RangeConsumer {
+        void accept(int from, int to);
+    }
+
+    private static void forEachColumnBand(int columns, int height,
+            RangeConsumer action) {
+
+        final int columnsPerBand = Math.max(256, BAND_SIZE / Math.max(1, height));
+        final int bands = (columns + columnsPerBand - 1) / columnsPerBand;
+
+        IntStream stream = IntStream.range(0, bands);
+        if ((long) columns * height >= PARALLEL_THRESHOLD)
+            stream = stream.parallel();
+
+        stream.forEach(band -> action.accept(band * columnsPerBand,
+                Math.min(columns, (band + 1) * columnsPerBand)));
+    }
+
+}
@@ -0,0 +1,460 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.imageio.ImageIO;
+
+/**
+ * Cache načtených obrázků. Klíčem je cesta k souboru nebo URL, spolu
+ * s obrázkem se ukládá čas poslední změny souboru - pokud se soubor změní,
+ * je obrázek načten znovu. U URL, které neodkazují na soubor (např. obrázky
+ * uvnitř JAR), se předpokládá, že se nemění. <p>
+ *
+ * Obrázky jsou drženy v hlavní části s omezenou velikostí (součet velikostí
+ * dat rastrů v bajtech). Při překročení jsou nejdéle nepoužité obrázky
+ * přesunuty do vedlejší části, kde jsou drženy jen přes
+ * {@link SoftReference} - uvolní je tedy až garbage collector při
+ * nedostatku paměti. <p>
+ *
+ * Pokud více vláken současně požádá o stejný obrázek, je načten jen jednou.
+ * Vrácené obrázky jsou sdílené a nesmí se měnit.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ImageCache {
+
+    public static final String PROPERTY_SIZE = "cz.hartrik.common.imageCache.size";
+
+    private static final class DefaultHolder {
+        static final ImageCache INSTANCE = new ImageCache(Long.getLong(PROPERTY_SIZE,
+                Math.min(64L << 20, Runtime.getRuntime().maxMemory() / 8)));
+    }
+
+    /**
+     * Vrátí sdílenou cache, kterou používají metody
+     * <code>ImageUtil.getCached...</code>. Maximální velikost je 64 MB
+     * (nejvýše osmina haldy), lze ji změnit systémovou vlastností
+     * <code>cz.hartrik.common.imageCache.size</code> (v bajtech).
+     *
+     * @return sdílená cache
+     */
+    public static ImageCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static final class Entry {
+        final String key;
+        final long lastModified;
+        final BufferedImage image;
+        final long bytes;
+
+        Entry(String key, long lastModified, BufferedImage image) {
+            this.key = key;
+            this.lastModified = lastModified;
+            this.image = image;
+            this.bytes = sizeOf(image);
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<Entry> {
+        final String key;
+
+        SoftEntry(Entry entry, ReferenceQueue<Entry> queue) {
+            super(entry, queue);
+            this.key = entry.key;
+        }
+    }
+
+    private final long maxBytes;
+    private long bytes;
+
+    private final LinkedHashMap<String, Entry> entries
+            = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SoftEntry> softEntries = new HashMap<>();
+    private final ReferenceQueue<Entry> queue = new ReferenceQueue<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> loading
+            = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder softHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    /**
+     * Vytvoří novou cache.
+     *
+     * @param maxBytes maximální součet velikostí rastrů obrázků v hlavní
+     *        části (v bajtech)
+     */
+    public ImageCache(long maxBytes) {
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("maxBytes < 0");
+
+        this.maxBytes = maxBytes;
+    }
+
+    // --- získání obrázků
+
+    /**
+     * Vrátí obrázek z cache, popřípadě ho načte.
+     *
+     * @param file soubor s obrázkem
+     * @return obrázek (nesmí se měnit)
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public BufferedImage get(File file) throws IOException {
+        final File absolute = file.getAbsoluteFile();
+        return get("file:" + absolute.getPath(), absolute.lastModified(),
+                () -> ImageIO.read(absolute));
+    }
+
+    /**
+     * Vrátí obrázek z cache, popřípadě ho načte.
+     *
+     * @param path soubor s obrázkem
+     * @return obrázek (nesmí se měnit)
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public BufferedImage get(Path path) throws IOException {
+        return get(path.toFile());
+    }
+
+    /**
+     * Vrátí obrázek z cache, popřípadě ho načte.
+     *
+     * @param url umístění obrázku
+     * @return obrázek (nesmí se měnit)
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public BufferedImage get(URL url) throws IOException {
+        final File file = toFile(url);
+        if (file != null)
+            return get(file);
+
+        return get(url.toExternalForm(), 0, () -> ImageIO.read(url));
+    }
+
+    private static File toFile(URL url) {
+        if (!"file".equalsIgnoreCase(url.getProtocol()))
+            return null;
+        try {
+            return Paths.get(url.toURI()).toFile();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    interface Loader {
+        BufferedImage load() throws IOException;
+    }
+
+    /**
+     * Vrátí obrázek z cache pod daným klíčem, popřípadě ho načte. Na
+     * načítání jiného vlákna se čeká jen tehdy, pokud načítá stejnou verzi
+     * (se stejným časem poslední změny).
+     */
+    BufferedImage get(String key, long lastModified, Loader loader)
+            throws IOException {
+
+        final Entry cached = lookup(key, lastModified);
+        if (cached != null)
+            return cached.image;
+
+        final String loadingKey = lastModified + ":" + key;
+        final CompletableFuture<Entry> future = new CompletableFuture<>();
+        final CompletableFuture<Entry> running
+                = loading.putIfAbsent(loadingKey, future);
+
+        if (running != null) {
+            // stejnou verzi obrázku už načítá jiné vlákno
+            final Entry entry = await(running);
+            hits.increment();
+            return entry.image;
+        }
+
+        try {
+            // mezitím mohlo načítání jiného vlákna skončit
+            final Entry loaded = lookup(key, lastModified);
+            if (loaded != null) {
+                future.complete(loaded);
+                return loaded.image;
+            }
+
+            misses.increment();
+            final long start = System.nanoTime();
+            final BufferedImage image = loader.load();
+            if (image == null)
+                throw new IOException("Unsupported image format: " + key);
+
+            loadTime.add(System.nanoTime() - start);
+            loads.increment();
+
+            final Entry entry = new Entry(key, lastModified, image);
+            store(entry);
+            future.complete(entry);
+            return image;
+
+        } catch (IOException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(loadingKey, future);
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> future)
+            throws IOException {
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof IOException)
+                        throw new IOException(cause.getMessage(), cause);
+                    if (cause instanceof RuntimeException)
+                        throw (RuntimeException) cause;
+                    if (cause instanceof Error)
+                        throw (Error) cause;
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- správa položek
+
+    private synchronized Entry lookup(String key, long lastModified) {
+        expungeSoftEntries();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.lastModified == lastModified) {
+                hits.increment();
+                return entry;
+            }
+            remove(key);
+            return null;
+        }
+
+        final SoftEntry soft = softEntries.remove(key);
+        entry = (soft == null) ? null : soft.get();
+        if (entry != null && entry.lastModified == lastModified) {
+            softHits.increment();
+            put(entry);
+            return entry;
+        }
+        return null;
+    }
+
+    private synchronized void store(Entry entry) {
+        remove(entry.key);
+        put(entry);
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.key, entry);
+        bytes += entry.bytes;
+
+        // přesun nejdéle nepoužitých do vedlejší části
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            final Entry eldest = iterator.next();
+            iterator.remove();
+            bytes -= eldest.bytes;
+            softEntries.put(eldest.key, new SoftEntry(eldest, queue));
+            evictions.increment();
+        }
+    }
+
+    private void remove(String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null)
+            bytes -= removed.bytes;
+        softEntries.remove(key);
+    }
+
+    private void expungeSoftEntries() {
+        SoftEntry reference;
+        while ((reference = (SoftEntry) queue.poll()) != null)
+            softEntries.remove(reference.key, reference);
+    }
+
+    /**
+     * Odstraní obrázek z cache.
+     *
+     * @param file soubor s obrázkem
+     */
+    public synchronized void invalidate(File file) {
+        remove("file:" + file.getAbsolutePath());
+    }
+
+    /**
+     * Odstraní obrázek z cache.
+     *
+     * @param url umístění obrázku
+     */
+    public synchronized void invalidate(URL url) {
+        final File file = toFile(url);
+        if (file != null)
+            invalidate(file);
+        else
+            remove(url.toExternalForm());
+    }
+
+    /** Odstraní z cache všechny obrázky. Statistiky zůstávají. */
+    public synchronized void clear() {
+        entries.clear();
+        softEntries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Vrátí velikost dat rastru obrázku v bajtech.
+     *
+     * @param image obrázek
+     * @return velikost
+     */
+    static long sizeOf(BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // --- statistiky
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Vrátí součet velikostí rastrů obrázků v hlavní části cache.
+     *
+     * @return velikost v bajtech
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Vrátí počet obrázků v hlavní části cache.
+     *
+     * @return počet obrázků
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Vrátí počet požadavků obsloužených bez načítání (včetně požadavků,
+     * které počkaly na načtení jiným vláknem).
+     *
+     * @return počet zásahů
+     */
+    public long getHitCount() {
+        return hits.sum() + softHits.sum();
+    }
+
+    /**
+     * Vrátí počet požadavků obsloužených z vedlejší části cache.
+     *
+     * @return počet zásahů vedlejší části
+     */
+    public long getSoftHitCount() {
+        return softHits.sum();
+    }
+
+    /**
+     * Vrátí počet požadavků, pro které musel být obrázek načten.
+     *
+     * @return počet nezdarů
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Vrátí podíl požadavků obsloužených bez načítání.
+     *
+     * @return podíl (0 - 1), nebo <code>NaN</code> pokud zatím nebyl
+     *         žádný požadavek
+     */
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long total = hitCount + getMissCount();
+        return (total == 0) ? Double.NaN : (double) hitCount / total;
+    }
+
+    /**
+     * Vrátí počet obrázků přesunutých z hlavní do vedlejší části.
+     *
+     * @return počet vyřazení
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Vrátí počet úspěšných načtení.
+     *
+     * @return počet načtení
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Vrátí celkovou dobu načítání (v nanosekundách).
+     *
+     * @return doba načítání
+     */
+    public long getTotalLoadTime() {
+        return loadTime.sum();
+    }
+
+    /**
+     * Vrátí průměrnou dobu jednoho načtení (v nanosekundách).
+     *
+     * @return průměrná doba načtení nebo <code>NaN</code>
+     */
+    public double getAverageLoadTime() {
+        final long count = loads.sum();
+        return (count == 0) ? Double.NaN : (double) loadTime.sum() / count;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        softHits.reset();
+        misses.reset();
+        evictions.reset();
+        loadTime.reset();
+        loads.reset();
+    }
+
+}
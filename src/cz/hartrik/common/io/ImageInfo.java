@@ -0,0 +1,85 @@
+package cz.hartrik.common.io;
+
+/**
+ * Základní informace o obrázku získané jen z jeho hlavičky, bez dekódování
+ * pixelů.
+ *
+ * @see ImageUtil#probe(java.nio.file.Path)
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ImageInfo {
+
+    private final String format;
+    private final int width;
+    private final int height;
+    private final int components;
+    private final int bitDepth;
+    private final boolean alpha;
+
+    ImageInfo(String format, int width, int height, int components,
+            int bitDepth, boolean alpha) {
+
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.components = components;
+        this.bitDepth = bitDepth;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Vrátí název formátu malými písmeny, např. <code>"png"</code> nebo
+     * <code>"jpeg"</code>.
+     *
+     * @return název formátu
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Vrátí počet složek barvy (včetně průhlednosti). Obrázky s paletou mají
+     * jednu složku - index do palety.
+     *
+     * @return počet složek
+     */
+    public int getComponents() {
+        return components;
+    }
+
+    /**
+     * Vrátí počet bitů jedné složky.
+     *
+     * @return počet bitů
+     */
+    public int getBitDepth() {
+        return bitDepth;
+    }
+
+    /**
+     * Vrátí, zda obrázek obsahuje průhlednost (včetně průhledné barvy
+     * palety).
+     *
+     * @return obsahuje průhlednost
+     */
+    public boolean hasAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public String toString() {
+        return format + " " + width + "x" + height + ", " + components
+                + " x " + bitDepth + " bit" + (alpha ? ", alpha" : "");
+    }
+
+}
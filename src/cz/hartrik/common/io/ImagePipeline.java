@@ -0,0 +1,464 @@
+package cz.hartrik.common.io;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import javax.imageio.ImageIO;
+
+/**
+ * Hromadně zpracovává obrázky ve třech oddělených fázích - načtení, úprava
+ * a uložení. Každá fáze má vlastní skupinu vláken, takže se čtení z disku,
+ * výpočty a zápis překrývají. <p>
+ *
+ * Počet rozpracovaných obrázků je omezen (viz {@link #setCapacity(int)}).
+ * Pokud některá fáze nestíhá, další soubory se nezačnou načítat, dokud se
+ * neuvolní místo - v paměti tak nikdy není víc obrázků, než je kapacita.
+ * Chyba při zpracování jednoho souboru neovlivní ostatní soubory, je jen
+ * zaznamenána ve výsledku ({@link Report#getFailures()}).
+ *
+ * <pre>{@code
+ * ImagePipeline pipeline = new ImagePipeline(
+ *         image -> BufferedImageUtil.resize(image, 320, 240),
+ *         ImagePipeline.Encoder.toDirectory(target, "png"));
+ * ImagePipeline.Report report = pipeline.run(source);
+ * }</pre>
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImagePipeline {
+
+    /** Fáze zpracování. */
+    public enum Stage { DECODE, TRANSFORM, ENCODE }
+
+    /** Načtení obrázku. */
+    @FunctionalInterface
+    public interface Decoder {
+
+        BufferedImage decode(Path path) throws IOException;
+
+    }
+
+    /** Uložení obrázku. */
+    @FunctionalInterface
+    public interface Encoder {
+
+        /**
+         * Uloží upravený obrázek.
+         *
+         * @param source zdrojový soubor
+         * @param image upravený obrázek
+         * @return cílový soubor
+         * @throws IOException chyba při zápisu
+         */
+        Path encode(Path source, BufferedImage image) throws IOException;
+
+        /**
+         * Vytvoří kodér, který ukládá obrázky do adresáře pod původním
+         * názvem s novou příponou. Formáty bez průhlednosti (JPEG, BMP)
+         * dostanou průhledné pixely vyplněné bílou barvou.
+         *
+         * @param directory cílový adresář
+         * @param format název formátu, např. <code>"png"</code>
+         * @return kodér
+         */
+        static Encoder toDirectory(Path directory, String format) {
+            final boolean opaque = OPAQUE_FORMATS.contains(
+                    format.toLowerCase(Locale.ROOT));
+
+            return (source, image) -> {
+                final Path target = directory.resolve(NioUtil.removeExtension(
+                        source.getFileName().toString()) + "." + format);
+
+                final BufferedImage output = (opaque && image.getColorModel().hasAlpha())
+                        ? BufferedImageUtil.fillTransparentPixels(image, Color.WHITE)
+                        : image;
+
+                if (!ImageIO.write(output, format, target.toFile()))
+                    throw new IOException("Unsupported image format: " + format);
+
+                return target;
+            };
+        }
+
+    }
+
+    private static final Set<String> OPAQUE_FORMATS =
+            new HashSet<>(Arrays.asList("jpg", "jpeg", "bmp", "wbmp"));
+
+    private Decoder decoder = path -> ImageUtil.getBufferedImage(path.toFile());
+    private final UnaryOperator<BufferedImage> transform;
+    private final Encoder encoder;
+
+    private final Map<Stage, Integer> threads = new EnumMap<>(Stage.class);
+    private int capacity;
+
+    /**
+     * Vytvoří novou linku. Pro úpravy je výchozí počet vláken roven počtu
+     * procesorů, pro načítání a ukládání jeho polovině.
+     *
+     * @param transform úprava obrázku
+     * @param encoder uložení obrázku
+     */
+    public ImagePipeline(UnaryOperator<BufferedImage> transform, Encoder encoder) {
+        this.transform = transform;
+        this.encoder = encoder;
+
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        threads.put(Stage.DECODE, Math.max(1, cpus / 2));
+        threads.put(Stage.TRANSFORM, cpus);
+        threads.put(Stage.ENCODE, Math.max(1, cpus / 2));
+        capacity = 2 * (cpus + 2);
+    }
+
+    // --- nastavení
+
+    /**
+     * Nahradí výchozí načítání obrázků ({@link ImageUtil#getBufferedImage(java.io.File)}),
+     * např. načítáním zmenšených obrázků.
+     *
+     * @param decoder načtení obrázku
+     * @return tato linka
+     */
+    public ImagePipeline setDecoder(Decoder decoder) {
+        this.decoder = decoder;
+        return this;
+    }
+
+    /**
+     * Nastaví počet vláken jedné fáze.
+     *
+     * @param stage fáze
+     * @param count počet vláken
+     * @return tato linka
+     */
+    public ImagePipeline setThreads(Stage stage, int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("count < 1");
+
+        threads.put(stage, count);
+        return this;
+    }
+
+    public int getThreads(Stage stage) {
+        return threads.get(stage);
+    }
+
+    /**
+     * Nastaví maximální počet rozpracovaných obrázků (načtených, ale dosud
+     * neuložených).
+     *
+     * @param capacity kapacita
+     * @return tato linka
+     */
+    public ImagePipeline setCapacity(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity < 1");
+
+        this.capacity = capacity;
+        return this;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // --- zpracování
+
+    /**
+     * Zpracuje všechny obrázky v adresáři (bez podadresářů). Soubory, které
+     * podle přípony nejsou obrázky, jsou přeskočeny.
+     *
+     * @param directory adresář
+     * @return výsledek
+     * @throws InterruptedException vlákno bylo přerušeno
+     * @see NioUtil#listFiles(Path)
+     */
+    public Report run(Path directory) throws InterruptedException {
+        final Set<String> suffixes = Arrays.stream(ImageIO.getReaderFileSuffixes())
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        return run(NioUtil.listFiles(directory).stream()
+                .filter(p -> suffixes.contains(
+                        NioUtil.getExtension(p).toLowerCase(Locale.ROOT)))
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Zpracuje soubory. Metoda skončí, až jsou zpracovány všechny soubory.
+     * Při přerušení se nové soubory přestanou načítat, rozpracované se
+     * dokončí.
+     *
+     * @param files soubory
+     * @return výsledek
+     * @throws InterruptedException vlákno bylo přerušeno
+     */
+    public Report run(Collection<Path> files) throws InterruptedException {
+        final Report report = new Report();
+        final Semaphore permits = new Semaphore(capacity);
+
+        final Map<Stage, ExecutorService> executors = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values())
+            executors.put(stage, Executors.newFixedThreadPool(
+                    threads.get(stage), new StageThreadFactory(stage)));
+
+        final long start = System.nanoTime();
+        try {
+            for (Path file : files) {
+                permits.acquire();
+
+                CompletableFuture
+                        .supplyAsync(() -> stage(report, Stage.DECODE,
+                                () -> decode(file)),
+                                executors.get(Stage.DECODE))
+                        .thenApplyAsync(image -> stage(report, Stage.TRANSFORM,
+                                () -> transform.apply(image)),
+                                executors.get(Stage.TRANSFORM))
+                        .thenApplyAsync(image -> stage(report, Stage.ENCODE,
+                                () -> encoder.encode(file, image)),
+                                executors.get(Stage.ENCODE))
+                        .whenComplete((target, e) -> {
+                            if (e == null)
+                                report.succeeded(file, target);
+                            else
+                                report.failed(file, e);
+                            permits.release();
+                        });
+            }
+        } finally {
+            // všechna povolení jsou zpět = vše je zpracováno
+            permits.acquireUninterruptibly(capacity);
+            executors.values().forEach(ExecutorService::shutdown);
+            report.elapsed = System.nanoTime() - start;
+        }
+        return report;
+    }
+
+    private BufferedImage decode(Path file) throws IOException {
+        final BufferedImage image = decoder.decode(file);
+        if (image == null)
+            throw new IOException("Unsupported image format: " + file);
+
+        return image;
+    }
+
+    @FunctionalInterface
+    private interface Task<T> {
+
+        T call() throws Exception;
+
+    }
+
+    private static <T> T stage(Report report, Stage stage, Task<T> task) {
+        final long start = System.nanoTime();
+        try {
+            final T result = task.call();
+            report.statistics.get(stage).record(System.nanoTime() - start, true);
+            return result;
+        } catch (Exception | Error e) {
+            report.statistics.get(stage).record(System.nanoTime() - start, false);
+            throw new StageException(stage, e);
+        }
+    }
+
+    private static final class StageException extends RuntimeException {
+
+        private static final long serialVersionUID = 10411599111108_10_006L;
+
+        final Stage stage;
+
+        StageException(Stage stage, Throwable cause) {
+            super(cause);
+            this.stage = stage;
+        }
+
+    }
+
+    private static final class StageThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        StageThreadFactory(Stage stage) {
+            this.prefix = "image-pipeline-" + stage.name().toLowerCase(Locale.ROOT) + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    // --- výsledky
+
+    /** Soubor, jehož zpracování selhalo. */
+    public static final class Failure {
+
+        private final Path path;
+        private final Stage stage;
+        private final Throwable cause;
+
+        Failure(Path path, Stage stage, Throwable cause) {
+            this.path = path;
+            this.stage = stage;
+            this.cause = cause;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /** @return fáze, ve které došlo k chybě */
+        public Stage getStage() {
+            return stage;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + stage + "): " + cause;
+        }
+
+    }
+
+    /** Statistika jedné fáze. */
+    public static final class StageStatistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder time = new LongAdder();
+
+        void record(long nanos, boolean success) {
+            time.add(nanos);
+            if (success)
+                count.increment();
+            else
+                failures.increment();
+        }
+
+        /** @return počet úspěšně zpracovaných obrázků */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /** @return počet chyb */
+        public long getFailureCount() {
+            return failures.sum();
+        }
+
+        /** @return celkový čas strávený ve fázi (součet přes všechna vlákna), v ns */
+        public long getTotalTime() {
+            return time.sum();
+        }
+
+        /** @return průměrný čas zpracování jednoho obrázku v ns */
+        public double getAverageTime() {
+            final long n = count.sum() + failures.sum();
+            return (n == 0) ? 0 : time.sum() / (double) n;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d ok, %d failed, %.1f ms/image",
+                    getCount(), getFailureCount(), getAverageTime() / 1e6);
+        }
+
+    }
+
+    /** Výsledek zpracování. */
+    public static final class Report {
+
+        private final Map<Stage, StageStatistics> statistics = new EnumMap<>(Stage.class);
+        private final List<Path> outputs = Collections.synchronizedList(new ArrayList<>());
+        private final List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        private volatile long elapsed;
+
+        Report() {
+            for (Stage stage : Stage.values())
+                statistics.put(stage, new StageStatistics());
+        }
+
+        void succeeded(Path source, Path target) {
+            outputs.add(target);
+        }
+
+        void failed(Path source, Throwable e) {
+            final Throwable cause = (e instanceof CompletionException && e.getCause() != null)
+                    ? e.getCause() : e;
+
+            if (cause instanceof StageException) {
+                final StageException se = (StageException) cause;
+                failures.add(new Failure(source, se.stage, se.getCause()));
+            } else {
+                failures.add(new Failure(source, null, cause));
+            }
+        }
+
+        /** @return uložené soubory, v pořadí dokončení */
+        public List<Path> getOutputs() {
+            return Collections.unmodifiableList(new ArrayList<>(outputs));
+        }
+
+        public List<Failure> getFailures() {
+            return Collections.unmodifiableList(new ArrayList<>(failures));
+        }
+
+        public StageStatistics getStatistics(Stage stage) {
+            return statistics.get(stage);
+        }
+
+        /** @return celková doba zpracování v ns */
+        public long getElapsedTime() {
+            return elapsed;
+        }
+
+        /** @return počet uložených obrázků za sekundu */
+        public double getThroughput() {
+            return (elapsed == 0) ? 0 : outputs.size() * 1e9 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder(String.format(Locale.ROOT,
+                    "%d ok, %d failed, %.1f images/s",
+                    outputs.size(), failures.size(), getThroughput()));
+
+            for (Stage stage : Stage.values())
+                builder.append(System.lineSeparator())
+                        .append(stage).append(": ").append(statistics.get(stage));
+
+            return builder.toString();
+        }
+
+    }
+
+}
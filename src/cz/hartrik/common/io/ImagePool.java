@@ -0,0 +1,348 @@
+package cz.hartrik.common.io;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.WritableRaster;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Zásobník obrázků pro opakované použití. Místo vytváření nového obrázku
+ * lze obrázek vypůjčit metodou {@link #acquire(int, int, int)} a po použití
+ * ho vrátit metodou {@link #release(BufferedImage)}. Obrázky jsou rozlišeny
+ * podle šířky, výšky a typu. <p>
+ *
+ * Celková velikost dat uložených obrázků (v bajtech) je omezena, obrázky,
+ * které by ji překročily, se do zásobníku nepřijmou. Každé vlákno má navíc
+ * vlastní mezipaměť dvou naposledy vrácených obrázků, ze které si je může
+ * znovu vypůjčit bez synchronizace. I tyto obrázky se do omezení
+ * započítávají. <p>
+ *
+ * Do zásobníku lze vracet jen obrázky standardních typů (ne
+ * {@link BufferedImage#TYPE_CUSTOM} a obrázky s paletou), které nejsou
+ * výřezem jiného obrázku. Vrácený obrázek se nesmí dál používat a nesmí být
+ * vrácen dvakrát.
+ *
+ * @see BufferedImageUtil
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ImagePool {
+
+    /** Počet obrázků v mezipaměti jednoho vlákna. */
+    private static final int LOCAL_SLOTS = 2;
+
+    private static final class Key {
+        final int width;
+        final int height;
+        final int type;
+
+        Key(int width, int height, int type) {
+            this.width = width;
+            this.height = height;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) return false;
+
+            final Key other = (Key) obj;
+            return width == other.width && height == other.height
+                    && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return (width * 31 + height) * 31 + type;
+        }
+    }
+
+    /**
+     * Obsah zásobníku - při vyprázdnění se nahradí novým, včetně mezipamětí
+     * vláken. Fronty se mění jen uvnitř <code>compute</code>, prázdné fronty
+     * se tak mohou odstranit, aniž by se ztratil současně vracený obrázek.
+     */
+    private static final class State {
+        final ConcurrentHashMap<Key, Deque<BufferedImage>> images
+                = new ConcurrentHashMap<>();
+        final ThreadLocal<BufferedImage[]> local
+                = ThreadLocal.withInitial(() -> new BufferedImage[LOCAL_SLOTS]);
+        final AtomicLong bytes = new AtomicLong();
+    }
+
+    private final long maxBytes;
+    private volatile State state = new State();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Vytvoří nový zásobník.
+     *
+     * @param maxBytes maximální celková velikost dat uložených obrázků
+     */
+    public ImagePool(long maxBytes) {
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("maxBytes < 0");
+
+        this.maxBytes = maxBytes;
+    }
+
+    // --- půjčování
+
+    /**
+     * Vypůjčí obrázek, popřípadě vytvoří nový. Obsah vypůjčeného obrázku
+     * není definován.
+     *
+     * @param width šířka
+     * @param height výška
+     * @param type typ, např. {@link BufferedImage#TYPE_INT_ARGB}
+     * @return obrázek
+     */
+    public BufferedImage acquire(int width, int height, int type) {
+        final BufferedImage image = poll(new Key(width, height, type));
+        return (image != null) ? image : create(width, height, type);
+    }
+
+    /**
+     * Vypůjčí obrázek se všemi pixely nulovými (tedy průhlednými, popř.
+     * černými), popřípadě vytvoří nový.
+     *
+     * @param width šířka
+     * @param height výška
+     * @param type typ, např. {@link BufferedImage#TYPE_INT_ARGB}
+     * @return obrázek
+     */
+    public BufferedImage acquireEmpty(int width, int height, int type) {
+        final BufferedImage image = poll(new Key(width, height, type));
+        if (image == null)
+            return create(width, height, type);
+
+        clear(image);
+        return image;
+    }
+
+    private BufferedImage create(int width, int height, int type) {
+        misses.increment();
+        return new BufferedImage(width, height, type);
+    }
+
+    private BufferedImage poll(Key key) {
+        final State current = state;
+        BufferedImage image = null;
+
+        final BufferedImage[] slots = current.local.get();
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null && matches(slots[i], key)) {
+                image = slots[i];
+                slots[i] = null;
+                break;
+            }
+        }
+
+        if (image == null) {
+            final BufferedImage[] polled = new BufferedImage[1];
+            current.images.computeIfPresent(key, (k, deque) -> {
+                polled[0] = deque.pollFirst();
+                return deque.isEmpty() ? null : deque;
+            });
+            image = polled[0];
+        }
+
+        if (image == null)
+            return null;
+
+        current.bytes.addAndGet(-ImageCache.sizeOf(image));
+        hits.increment();
+        return image;
+    }
+
+    private static boolean matches(BufferedImage image, Key key) {
+        return image.getWidth() == key.width
+                && image.getHeight() == key.height
+                && image.getType() == key.type;
+    }
+
+    private static void clear(BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        if (buffer instanceof DataBufferInt) {
+            Arrays.fill(((DataBufferInt) buffer).getData(), 0);
+        } else if (buffer instanceof DataBufferByte) {
+            Arrays.fill(((DataBufferByte) buffer).getData(), (byte) 0);
+        } else if (buffer instanceof DataBufferUShort) {
+            Arrays.fill(((DataBufferUShort) buffer).getData(), (short) 0);
+        } else {
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.dispose();
+        }
+    }
+
+    // --- vracení
+
+    /**
+     * Vrátí obrázek do zásobníku. Obrázek se uloží do mezipaměti vlákna;
+     * pokud je plná, přesune se nejstarší obrázek z ní do společné části.
+     * Nepřijme se obrázek, který nelze znovu použít (viz popis třídy) nebo
+     * kterým by byla překročena maximální velikost - ten je ponechán
+     * garbage collectoru.
+     *
+     * @param image obrázek, může být <code>null</code>
+     * @return zda byl obrázek přijat
+     */
+    public boolean release(BufferedImage image) {
+        if (image == null || !isPoolable(image))
+            return false;
+
+        final long size = ImageCache.sizeOf(image);
+        if (size > maxBytes) {
+            rejected.increment();
+            return false;
+        }
+
+        final State current = state;
+        final BufferedImage[] slots = current.local.get();
+        int free = -1;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == null) {
+                free = i;
+                break;
+            }
+        }
+
+        if (free < 0) {
+            // mezipaměť vlákna je plná - nejstarší obrázek (už započítaný)
+            // přejde do společné části, aby v ní nezůstávaly obrázky, které
+            // už vlákno nepotřebuje
+            final BufferedImage oldest = slots[0];
+            System.arraycopy(slots, 1, slots, 0, slots.length - 1);
+            free = slots.length - 1;
+            slots[free] = null;
+            offer(current, oldest);
+        }
+
+        long bytes;
+        do {
+            bytes = current.bytes.get();
+            if (bytes + size > maxBytes) {
+                rejected.increment();
+                return false;
+            }
+        } while (!current.bytes.compareAndSet(bytes, bytes + size));
+
+        slots[free] = image;
+        return true;
+    }
+
+    private static void offer(State current, BufferedImage image) {
+        final Key key = new Key(image.getWidth(), image.getHeight(), image.getType());
+        current.images.compute(key, (k, deque) -> {
+            if (deque == null)
+                deque = new ArrayDeque<>();
+            deque.offerFirst(image);
+            return deque;
+        });
+    }
+
+    /**
+     * Zjistí, zda lze obrázky daného typu vytvářet a vracet do zásobníku.
+     * Typy s paletou nelze, paleta obrázku se nemusí shodovat s výchozí.
+     *
+     * @param type typ obrázku
+     * @return zda lze typ použít
+     */
+    static boolean isPoolable(int type) {
+        return type != BufferedImage.TYPE_CUSTOM
+                && type != BufferedImage.TYPE_BYTE_BINARY
+                && type != BufferedImage.TYPE_BYTE_INDEXED;
+    }
+
+    private static boolean isPoolable(BufferedImage image) {
+        if (!isPoolable(image.getType()))
+            return false;
+
+        final WritableRaster raster = image.getRaster();
+        return raster.getParent() == null
+                && raster.getSampleModelTranslateX() == 0
+                && raster.getSampleModelTranslateY() == 0;
+    }
+
+    /**
+     * Zahodí všechny uložené obrázky, včetně mezipamětí všech vláken. Ostatní
+     * vlákna je už nepoužijí, na jejich uvolnění ale garbage collector
+     * počká, až vlákna odstraní zahozené {@link ThreadLocal} proměnné.
+     */
+    public void clear() {
+        final State old = state;
+        state = new State();
+        old.local.remove();
+    }
+
+    // --- statistiky
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Vrátí celkovou velikost dat uložených obrázků (včetně mezipamětí
+     * jednotlivých vláken).
+     *
+     * @return velikost v bajtech
+     */
+    public long getBytes() {
+        return state.bytes.get();
+    }
+
+    /** Vrátí počet neprázdných front ve společné části. */
+    int getKeyCount() {
+        return state.images.size();
+    }
+
+    /**
+     * Vrátí počet vypůjčení, při kterých byl použit uložený obrázek.
+     *
+     * @return počet zásahů
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Vrátí počet vypůjčení, při kterých musel být vytvořen nový obrázek.
+     *
+     * @return počet nezdarů
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Vrátí počet obrázků, které byly zahozeny kvůli omezení velikosti.
+     *
+     * @return počet odmítnutých obrázků
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        rejected.reset();
+    }
+
+}
@@ -0,0 +1,278 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Čte informace z hlaviček obrázků. Formáty PNG (chunk <code>IHDR</code>)
+ * a JPEG (segment <code>SOF</code>) čte přímo, ostatní přes
+ * {@link ImageReader}, který však také nedekóduje pixely.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class ImageProbe {
+
+    private ImageProbe() {}
+
+    private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+
+    /**
+     * Kolik bajtů si proud pamatuje pro návrat na začátek. Rychlé parsery
+     * mohou číst dál (např. přeskočit velká metadata), pak se ale pro
+     * {@link ImageReader} musí zdroj otevřít znovu.
+     */
+    static final int MARK_LIMIT = 64 * 1024;
+
+    /** Znovu otevře zdroj obrázku. */
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Přečte hlavičku obrázku. Proud musí podporovat
+     * {@link InputStream#mark(int)}.
+     *
+     * @param input vstup
+     * @return informace o obrázku
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #probe(InputStream, Source)
+     */
+    static ImageInfo probe(InputStream input) throws IOException {
+        return probe(input, null);
+    }
+
+    /**
+     * Přečte hlavičku obrázku. Proud musí podporovat
+     * {@link InputStream#mark(int)}. Rychlé parsery vrací <code>null</code>,
+     * pokud data nemají očekávaný formát - pak se čte znovu od začátku přes
+     * {@link ImageReader}. Pokud parser přečetl víc než {@link #MARK_LIMIT}
+     * bajtů, čte se ze znovu otevřeného zdroje; bez něj se zkusí vrátit na
+     * začátek proudu, což ale nemusí být možné.
+     *
+     * @param input vstup
+     * @param source zdroj, který lze otevřít znovu, nebo <code>null</code>
+     * @return informace o obrázku
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    static ImageInfo probe(InputStream input, Source source)
+            throws IOException {
+
+        input.mark(MARK_LIMIT);
+
+        final CountingInputStream counting = new CountingInputStream(input);
+        final DataInputStream data = new DataInputStream(counting);
+        ImageInfo info;
+        try {
+            final int first = data.readUnsignedShort();
+            if (first == 0x8950)
+                info = probePNG(data);
+            else if (first == 0xFFD8)
+                info = probeJPEG(data);
+            else
+                info = null;
+        } catch (EOFException e) {
+            info = null;
+        }
+
+        if (info != null)
+            return info;
+
+        if (counting.count > MARK_LIMIT && source != null) {
+            try (InputStream reopened = source.open()) {
+                return probeWithReader(reopened);
+            }
+        }
+        input.reset();
+        return probeWithReader(input);
+    }
+
+    /** Počítá přečtené a přeskočené bajty. */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = in.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = in.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = in.skip(n);
+            if (skipped > 0) count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    // --- PNG
+
+    private static ImageInfo probePNG(DataInputStream data) throws IOException {
+        final long signature = 0x8950L << 48
+                | (long) data.readUnsignedShort() << 32
+                | (data.readInt() & 0xFFFFFFFFL);
+        if (signature != PNG_SIGNATURE)
+            return null;
+
+        if (data.readInt() != 13 || data.readInt() != 0x49484452)  // IHDR
+            return null;
+
+        final int width = data.readInt();
+        final int height = data.readInt();
+        final int bitDepth = data.readUnsignedByte();
+        final int colorType = data.readUnsignedByte();
+        data.skipBytes(3 + 4);  // komprese, filtr, prokládání, CRC
+
+        int components;
+        boolean alpha;
+        switch (colorType) {
+            case 0: components = 1; alpha = false; break;
+            case 2: components = 3; alpha = false; break;
+            case 3: components = 1; alpha = false; break;
+            case 4: components = 2; alpha = true; break;
+            case 6: components = 4; alpha = true; break;
+            default: return null;
+        }
+
+        // průhlednost může přidat chunk tRNS, který musí být před IDAT
+        if (!alpha) {
+            while (true) {
+                final int length = data.readInt();
+                final int type = data.readInt();
+                if (type == 0x74524E53) {         // tRNS
+                    alpha = true;
+                    break;
+                }
+                if (type == 0x49444154 || type == 0x49454E44 || length < 0)
+                    break;                        // IDAT, IEND
+                skipFully(data, length + 4L);
+            }
+        }
+        return new ImageInfo("png", width, height, components, bitDepth, alpha);
+    }
+
+    // --- JPEG
+
+    private static ImageInfo probeJPEG(DataInputStream data) throws IOException {
+        while (true) {
+            int marker = data.readUnsignedByte();
+            if (marker != 0xFF)
+                return null;
+
+            // výplňové bajty 0xFF
+            do {
+                marker = data.readUnsignedByte();
+            } while (marker == 0xFF);
+
+            // samostatné značky bez délky
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7))
+                continue;
+            if (marker == 0xD9 || marker == 0xDA)  // EOI, SOS
+                return null;
+
+            final int length = data.readUnsignedShort();
+            if (length < 2)
+                return null;
+
+            if (isSOF(marker)) {
+                final int precision = data.readUnsignedByte();
+                final int height = data.readUnsignedShort();
+                final int width = data.readUnsignedShort();
+                final int components = data.readUnsignedByte();
+                return new ImageInfo("jpeg", width, height, components,
+                        precision, false);
+            }
+            skipFully(data, length - 2);
+        }
+    }
+
+    private static boolean isSOF(int marker) {
+        // SOF0 - SOF15 kromě DHT (C4), JPG (C8) a DAC (CC)
+        return marker >= 0xC0 && marker <= 0xCF
+                && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private static void skipFully(InputStream input, long bytes)
+            throws IOException {
+
+        while (bytes > 0) {
+            final long skipped = input.skip(bytes);
+            if (skipped <= 0) {
+                if (input.read() < 0)
+                    throw new EOFException();
+                bytes--;
+            } else {
+                bytes -= skipped;
+            }
+        }
+    }
+
+    // --- ostatní formáty
+
+    private static ImageInfo probeWithReader(InputStream input)
+            throws IOException {
+
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext())
+                throw new IOException("Unsupported image format");
+
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+
+                ImageTypeSpecifier type = reader.getRawImageType(0);
+                if (type == null) {
+                    final Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+                    type = types.hasNext() ? types.next() : null;
+                }
+
+                int components = -1, bitDepth = -1;
+                boolean alpha = false;
+                if (type != null) {
+                    final ColorModel model = type.getColorModel();
+                    final boolean indexed = (model instanceof IndexColorModel);
+                    components = indexed ? 1 : model.getNumComponents();
+                    bitDepth = indexed ? model.getPixelSize() : model.getComponentSize(0);
+                    alpha = model.hasAlpha();
+                }
+
+                return new ImageInfo(
+                        reader.getFormatName().toLowerCase(Locale.ROOT),
+                        reader.getWidth(0), reader.getHeight(0),
+                        components, bitDepth, alpha);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,302 @@
+package cz.hartrik.common.io;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Pyramida obrázku (mipmapa) - obrázek v postupně polovičních rozlišeních,
+ * např. pro prohlížeč s možností přibližování. Úroveň 0 je původní obrázek,
+ * každá další vzniká z předchozí zmenšením na polovinu
+ * ({@link Resampler#halve(int[], int, int, int[])}, průměr čtverců 2 x 2
+ * pixelů). Poslední úroveň se vejde do jediné dlaždice. <p>
+ *
+ * Všechny úrovně jsou uloženy po dlaždicích v dočasných souborech
+ * namapovaných do paměti (viz {@link TiledImage}), úrovně se počítají
+ * paralelně po dlaždicích. Dlaždici libovolné úrovně lze získat
+ * v konstantním čase bez ohledu na velikost obrázku.
+ *
+ * <pre>{@code
+ *  try (ImagePyramid pyramid = ImagePyramid.build(image)) {
+ *      int level = pyramid.getLevel(0.3);
+ *      BufferedImage tile = pyramid.getTile(level, 2, 1);
+ *  }}</pre>
+ *
+ * Instance je nutné zavřít, jinak dočasné soubory zůstanou na disku až do
+ * ukončení programu.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class ImagePyramid implements Closeable {
+
+    /** Výchozí velikost strany dlaždice. */
+    public static final int DEFAULT_TILE_SIZE = 256;
+
+    private final TileStore[] levels;
+
+    private ImagePyramid(TileStore[] levels) {
+        this.levels = levels;
+    }
+
+    // --- vytvoření
+
+    /**
+     * Vytvoří pyramidu obrázku.
+     *
+     * @param image obrázek
+     * @return nová pyramida
+     * @throws IOException chyba při vytváření dočasného souboru
+     */
+    public static ImagePyramid build(BufferedImage image) throws IOException {
+        return build(image, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Vytvoří pyramidu obrázku.
+     *
+     * @param image obrázek
+     * @param tileSize velikost strany dlaždice
+     * @return nová pyramida
+     * @throws IOException chyba při vytváření dočasného souboru
+     */
+    public static ImagePyramid build(BufferedImage image, int tileSize)
+            throws IOException {
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final IntRaster raster = IntRaster.of(image);
+
+        return build(width, height, tileSize, store -> {
+            if (raster != null && raster.alpha) {
+                store.write(new Rectangle(width, height), raster.data,
+                        raster.index(0, 0), raster.scan);
+            } else {
+                forEachTile(store, bounds -> {
+                    final int[] pixels = image.getRGB(bounds.x, bounds.y,
+                            bounds.width, bounds.height, null, 0, bounds.width);
+                    store.write(bounds, pixels, 0, bounds.width);
+                });
+            }
+        });
+    }
+
+    /**
+     * Vytvoří pyramidu obrázku, který se nemusí vejít do haldy. Obrázek se
+     * kopíruje po dlaždicích.
+     *
+     * @param image obrázek
+     * @return nová pyramida se stejnou velikostí dlaždic
+     * @throws IOException chyba při vytváření dočasného souboru
+     */
+    public static ImagePyramid build(TiledImage image) throws IOException {
+        final TileStore source = image.store;
+
+        return build(source.width, source.height, source.tileSize, store -> {
+            // dlaždice mají stejnou velikost, kopírují se celé bloky
+            forEachTile(store, bounds -> {
+                final int tileX = bounds.x / store.tileSize;
+                final int tileY = bounds.y / store.tileSize;
+                store.tile(tileX, tileY).put(source.tile(tileX, tileY));
+            });
+        });
+    }
+
+    private static ImagePyramid build(int width, int height, int tileSize,
+            Consumer<TileStore> initializer) throws IOException {
+
+        final List<TileStore> levels = new ArrayList<>();
+        try {
+            TileStore current = TileStore.createTemp(width, height, tileSize);
+            levels.add(current);
+            initializer.accept(current);
+
+            while (current.tilesX > 1 || current.tilesY > 1) {
+                final TileStore next = TileStore.createTemp(
+                        Math.max(1, current.width / 2),
+                        Math.max(1, current.height / 2), tileSize);
+                levels.add(next);
+                halve(current, next);
+                current = next;
+            }
+        } catch (IOException | RuntimeException e) {
+            for (TileStore store : levels)
+                store.close();
+            throw e;
+        }
+        return new ImagePyramid(levels.toArray(new TileStore[levels.size()]));
+    }
+
+    /** Vypočte dlaždice další úrovně z oblastí 2 x 2 dlaždic předchozí. */
+    private static void halve(TileStore source, TileStore target) {
+        forEachTile(target, bounds -> {
+            final Rectangle region = new Rectangle(2 * bounds.x, 2 * bounds.y,
+                    Math.min(2 * bounds.width, source.width - 2 * bounds.x),
+                    Math.min(2 * bounds.height, source.height - 2 * bounds.y));
+
+            final int[] src = new int[region.width * region.height];
+            source.read(region, src, 0, region.width);
+
+            final int[] dst = new int[bounds.width * bounds.height];
+            Resampler.halve(src, region.width, region.height, dst);
+            target.write(bounds, dst, 0, bounds.width);
+        });
+    }
+
+    private static void forEachTile(TileStore store, Consumer<Rectangle> action) {
+        IntStream.range(0, store.tilesX * store.tilesY).parallel()
+                .forEach(i -> action.accept(
+                        store.tileBounds(i % store.tilesX, i / store.tilesX)));
+    }
+
+    // --- vlastnosti
+
+    /**
+     * Vrátí počet úrovní, včetně původního obrázku.
+     *
+     * @return počet úrovní
+     */
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    public int getTileSize() {
+        return levels[0].tileSize;
+    }
+
+    public int getWidth(int level) {
+        return level(level).width;
+    }
+
+    public int getHeight(int level) {
+        return level(level).height;
+    }
+
+    /**
+     * Vrátí počet sloupců dlaždic úrovně.
+     *
+     * @param level úroveň
+     * @return počet sloupců
+     */
+    public int getTilesX(int level) {
+        return level(level).tilesX;
+    }
+
+    /**
+     * Vrátí počet řádků dlaždic úrovně.
+     *
+     * @param level úroveň
+     * @return počet řádků
+     */
+    public int getTilesY(int level) {
+        return level(level).tilesY;
+    }
+
+    /**
+     * Vrátí úroveň s nejmenším rozlišením, které při daném zvětšení
+     * původního obrázku ještě stačí pro zobrazení. Např. pro zvětšení
+     * <code>0.3</code> vrátí úroveň 1 (poloviční rozlišení).
+     *
+     * @param scale zvětšení původního obrázku
+     * @return úroveň
+     */
+    public int getLevel(double scale) {
+        if (!(scale > 0))
+            throw new IllegalArgumentException("Invalid scale: " + scale);
+
+        int level = 0;
+        while (level + 1 < levels.length && scale <= 0.5 / (1 << level))
+            level++;
+
+        return level;
+    }
+
+    // --- dlaždice
+
+    /**
+     * Vrátí oblast úrovně, kterou pokrývá dlaždice.
+     *
+     * @param level úroveň
+     * @param tileX sloupec dlaždice
+     * @param tileY řádek dlaždice
+     * @return oblast v souřadnicích úrovně
+     */
+    public Rectangle getTileBounds(int level, int tileX, int tileY) {
+        return level(level).tileBounds(tileX, tileY);
+    }
+
+    /**
+     * Vrátí kopii dlaždice.
+     *
+     * @param level úroveň
+     * @param tileX sloupec dlaždice
+     * @param tileY řádek dlaždice
+     * @return nový obrázek typu {@link BufferedImage#TYPE_INT_ARGB}
+     *         o rozměrech dlaždice (krajní dlaždice mohou být menší)
+     */
+    public BufferedImage getTile(int level, int tileX, int tileY) {
+        final TileStore store = level(level);
+        final IntBuffer tile = store.tile(tileX, tileY);
+        final Rectangle bounds = store.tileBounds(tileX, tileY);
+
+        final BufferedImage image = BufferedImageUtil.createEmpty(
+                bounds.width, bounds.height);
+        final int[] data = IntRaster.of(image).data;
+        for (int y = 0; y < bounds.height; y++) {
+            tile.position(y * store.tileSize);
+            tile.get(data, y * bounds.width, bounds.width);
+        }
+        return image;
+    }
+
+    /**
+     * Vrátí pohled na data dlaždice bez kopírování -
+     * <code>tileSize * tileSize</code> pixelů ve formátu ARGB po řádcích,
+     * krajní dlaždice využívají jen část (viz
+     * {@link #getTileBounds(int, int, int)}).
+     *
+     * @param level úroveň
+     * @param tileX sloupec dlaždice
+     * @param tileY řádek dlaždice
+     * @return data dlaždice pouze pro čtení
+     */
+    public IntBuffer getTileBuffer(int level, int tileX, int tileY) {
+        return level(level).tile(tileX, tileY).asReadOnlyBuffer();
+    }
+
+    private TileStore level(int level) {
+        if (level < 0 || level >= levels.length)
+            throw new IndexOutOfBoundsException("Level: " + level);
+
+        return levels[level];
+    }
+
+    /**
+     * Smaže dočasné soubory.
+     *
+     * @throws IOException chyba při zavírání
+     */
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (TileStore store : levels) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                if (exception == null)
+                    exception = e;
+                else
+                    exception.addSuppressed(e);
+            }
+        }
+        if (exception != null)
+            throw exception;
+    }
+
+}
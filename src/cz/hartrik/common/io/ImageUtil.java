@@ -3,19 +3,27 @@ package cz.hartrik.common.io;
 import cz.hartrik.common.reflect.LibraryClass;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.ImageIcon;
 
 /**
  * Obsahuje statické metody pro načtení a převod obrázků. Pracuje s obrázky typů
  * {@link Image}, {@link ImageIcon} a {@link BufferedImage}.
  * 
- * @version 1.0 /2013-05-23
+ * @see ImageCache
+ * 
+ * @version 1.2 /2026-10-17
  * @author Patrik Harag
  */
 @LibraryClass
@@ -96,6 +104,232 @@ public final class ImageUtil {
         return bufferedImage;
     }
     
+    // ------------ načítání zmenšených obrázků a výřezů ------------
+    
+    /**
+     * Načte obrázek zmenšený na danou velikost. Dekóduje se jen každý n-tý
+     * pixel (viz {@link javax.imageio.ImageReadParam#setSourceSubsampling}),
+     * zbytek zmenšení obstará {@link Resampler}. Oproti načtení celého obrázku
+     * a následnému zmenšení tak šetří paměť i čas.
+     * 
+     * @param file soubor s obrázkem
+     * @param width šířka výsledku
+     * @param height výška výsledku
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public static BufferedImage getBufferedImage(File file, int width, int height)
+            throws IOException {
+        
+        return getBufferedImage(file, null, width, height);
+    }
+    
+    /**
+     * Načte výřez obrázku. Dekódují se jen pixely uvnitř výřezu, popřípadě
+     * ještě řádky nad ním, pokud formát neumožňuje přeskočit je.
+     * 
+     * @param file soubor s obrázkem
+     * @param region výřez; část ležící mimo obrázek je oříznuta
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public static BufferedImage getBufferedImage(File file, Rectangle region)
+            throws IOException {
+        
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            return ImageDecoder.read(input, file, region,
+                    region.width, region.height, true);
+        }
+    }
+    
+    /**
+     * Načte výřez obrázku zmenšený na danou velikost.
+     * 
+     * @param file soubor s obrázkem
+     * @param region výřez, nebo <code>null</code> pro celý obrázek;
+     *     část ležící mimo obrázek je oříznuta
+     * @param width šířka výsledku
+     * @param height výška výsledku
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #getBufferedImage(File, int, int)
+     */
+    public static BufferedImage getBufferedImage(File file, Rectangle region,
+            int width, int height) throws IOException {
+        
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            return ImageDecoder.read(input, file, region, width, height, false);
+        }
+    }
+    
+    /**
+     * Načte výřez obrázku zmenšený na danou velikost.
+     * 
+     * @param resource cesta k obrázku
+     * @param region výřez, nebo <code>null</code> pro celý obrázek;
+     *     část ležící mimo obrázek je oříznuta
+     * @param width šířka výsledku
+     * @param height výška výsledku
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #getBufferedImage(File, int, int)
+     */
+    public static BufferedImage getBufferedImage(URL resource, Rectangle region,
+            int width, int height) throws IOException {
+        
+        try (InputStream stream = resource.openStream();
+                ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            
+            return ImageDecoder.read(input, resource, region, width, height, false);
+        }
+    }
+    
+    /**
+     * Načte náhled obrázku - obrázek zmenšený tak, aby se vešel do daného
+     * obdélníku. Poměr stran je zachován, menší obrázky se nezvětšují.
+     * 
+     * @param file soubor s obrázkem
+     * @param maxWidth maximální šířka
+     * @param maxHeight maximální výška
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #getBufferedImage(File, int, int)
+     */
+    public static BufferedImage getThumbnail(File file, int maxWidth, int maxHeight)
+            throws IOException {
+        
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            return ImageDecoder.read(input, file, null, maxWidth, maxHeight, true);
+        }
+    }
+    
+    /**
+     * Načte náhled obrázku - obrázek zmenšený tak, aby se vešel do daného
+     * obdélníku. Poměr stran je zachován, menší obrázky se nezvětšují.
+     * 
+     * @param resource cesta k obrázku
+     * @param maxWidth maximální šířka
+     * @param maxHeight maximální výška
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #getBufferedImage(File, int, int)
+     */
+    public static BufferedImage getThumbnail(URL resource, int maxWidth,
+            int maxHeight) throws IOException {
+        
+        try (InputStream stream = resource.openStream();
+                ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            
+            return ImageDecoder.read(input, resource, null, maxWidth, maxHeight, true);
+        }
+    }
+    
+    // ------------ načítání obrázků přes cache ------------
+    
+    /**
+     * Vrátí obrázek ze sdílené cache, popřípadě ho načte. Obrázek je sdílený
+     * a nesmí se měnit.
+     * 
+     * @param file soubor s obrázkem
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see ImageCache#getDefault()
+     */
+    public static BufferedImage getCachedBufferedImage(File file)
+            throws IOException {
+        
+        return ImageCache.getDefault().get(file);
+    }
+    
+    /**
+     * Vrátí obrázek ze sdílené cache, popřípadě ho načte. Obrázek je sdílený
+     * a nesmí se měnit.
+     * 
+     * @param resource cesta k obrázku
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see ImageCache#getDefault()
+     */
+    public static BufferedImage getCachedBufferedImage(URL resource)
+            throws IOException {
+        
+        return ImageCache.getDefault().get(resource);
+    }
+    
+    /**
+     * Vrátí obrázek ze sdílené cache, popřípadě ho načte.
+     * 
+     * @param file soubor s obrázkem
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see ImageCache#getDefault()
+     */
+    public static ImageIcon getCachedImageIcon(File file) throws IOException {
+        return toImageIcon(getCachedBufferedImage(file));
+    }
+    
+    /**
+     * Vrátí obrázek ze sdílené cache, popřípadě ho načte.
+     * 
+     * @param resource cesta k obrázku
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see ImageCache#getDefault()
+     */
+    public static ImageIcon getCachedImageIcon(URL resource) throws IOException {
+        return toImageIcon(getCachedBufferedImage(resource));
+    }
+    
+    // ------------ informace o obrázcích ------------
+    
+    /**
+     * Zjistí rozměry, formát a model barev obrázku bez dekódování pixelů.
+     * Formáty PNG a JPEG jsou čteny vlastním parserem hlavičky, ostatní přes
+     * {@link javax.imageio.ImageReader}.
+     * 
+     * @param path soubor s obrázkem
+     * @return informace o obrázku
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public static ImageInfo probe(Path path) throws IOException {
+        try (InputStream input = new BufferedInputStream(
+                Files.newInputStream(path))) {
+            
+            return ImageProbe.probe(input, () -> Files.newInputStream(path));
+        }
+    }
+    
+    /**
+     * Zjistí rozměry, formát a model barev obrázku bez dekódování pixelů.
+     * 
+     * @param resource cesta k obrázku
+     * @return informace o obrázku
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #probe(Path)
+     */
+    public static ImageInfo probe(URL resource) throws IOException {
+        try (InputStream input = new BufferedInputStream(resource.openStream())) {
+            return ImageProbe.probe(input, resource::openStream);
+        }
+    }
+    
+    /**
+     * Zjistí rozměry, formát a model barev obrázku bez dekódování pixelů.
+     * Přečte jen začátek proudu, proud nezavře. Pro čtení přes
+     * {@link javax.imageio.ImageReader} se proud vrací na začátek - to
+     * nemusí být možné, pokud vlastní parser před neúspěchem přečetl víc
+     * než 64 kB.
+     * 
+     * @param input proud s obrázkem
+     * @return informace o obrázku
+     * @throws IOException chyba při čtení nebo neznámý formát
+     * @see #probe(Path)
+     */
+    public static ImageInfo probe(InputStream input) throws IOException {
+        return ImageProbe.probe(input.markSupported()
+                ? input : new BufferedInputStream(input));
+    }
+    
     // ------------ převody ------------
     
     /**
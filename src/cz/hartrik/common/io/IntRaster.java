@@ -0,0 +1,79 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Přímý přístup k datům obrázku, jehož pixely jsou uloženy v poli
+ * <code>int</code> (typy {@link BufferedImage#TYPE_INT_ARGB} a
+ * {@link BufferedImage#TYPE_INT_RGB}).
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class IntRaster {
+
+    final int[] data;
+    final int offset;
+    final int scan;
+    final int width;
+    final int height;
+    final boolean alpha;
+
+    private IntRaster(int[] data, int offset, int scan, int width, int height,
+            boolean alpha) {
+
+        this.data = data;
+        this.offset = offset;
+        this.scan = scan;
+        this.width = width;
+        this.height = height;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Vrátí index pixelu v poli {@link #data}.
+     *
+     * @param x souřadnice x
+     * @param y souřadnice y
+     * @return index
+     */
+    int index(int x, int y) {
+        return offset + y * scan + x;
+    }
+
+    /**
+     * Zpřístupní data obrázku. Pokud obrázek není vhodného typu, vrátí
+     * <code>null</code>.
+     *
+     * @param image obrázek
+     * @return data obrázku nebo <code>null</code>
+     */
+    static IntRaster of(BufferedImage image) {
+        final int type = image.getType();
+        if (type != BufferedImage.TYPE_INT_ARGB
+                && type != BufferedImage.TYPE_INT_RGB)
+            return null;
+
+        WritableRaster raster = image.getRaster();
+        if (!(raster.getDataBuffer() instanceof DataBufferInt)
+                || !(raster.getSampleModel() instanceof SinglePixelPackedSampleModel))
+            return null;
+
+        DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+        SinglePixelPackedSampleModel model =
+                (SinglePixelPackedSampleModel) raster.getSampleModel();
+
+        int scan = model.getScanlineStride();
+        int offset = buffer.getOffset()
+                - raster.getSampleModelTranslateY() * scan
+                - raster.getSampleModelTranslateX();
+
+        return new IntRaster(buffer.getData(), offset, scan,
+                image.getWidth(), image.getHeight(),
+                type == BufferedImage.TYPE_INT_ARGB);
+    }
+
+}
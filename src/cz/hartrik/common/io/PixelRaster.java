@@ -0,0 +1,202 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.stream.IntStream;
+
+/**
+ * Přímý přístup k datům obrázku, jehož pixely jsou uloženy v jednom poli
+ * - buď jako jeden <code>int</code> na pixel ({@link DataBufferInt}), nebo
+ * jako několik po sobě jdoucích bajtů ({@link DataBufferByte}, např.
+ * {@link BufferedImage#TYPE_3BYTE_BGR}, {@link BufferedImage#TYPE_4BYTE_ABGR},
+ * {@link BufferedImage#TYPE_BYTE_GRAY}). <p>
+ *
+ * Slouží pro operace, které pixely jen přesouvají (převrácení, otočení
+ * o násobek 90°), a proto nemusí znát jejich formát.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class PixelRaster {
+
+    /** Minimální počet pixelů, od kterého se operace rozdělí mezi vlákna. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Velikost strany čtverce, po kterých se prochází při otáčení. */
+    private static final int TILE = 64;
+
+    final Object data;
+    final int offset;
+    final int scan;
+    final int pixelStride;
+    final int width;
+    final int height;
+
+    private PixelRaster(Object data, int offset, int scan, int pixelStride,
+            int width, int height) {
+
+        this.data = data;
+        this.offset = offset;
+        this.scan = scan;
+        this.pixelStride = pixelStride;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Vrátí index prvního prvku pixelu v poli {@link #data}.
+     *
+     * @param x souřadnice x
+     * @param y souřadnice y
+     * @return index
+     */
+    int index(int x, int y) {
+        return offset + y * scan + x * pixelStride;
+    }
+
+    /**
+     * Zpřístupní data obrázku. Pokud data nejsou uložena vhodným způsobem,
+     * vrátí <code>null</code>.
+     *
+     * @param image obrázek
+     * @return data obrázku nebo <code>null</code>
+     */
+    static PixelRaster of(BufferedImage image) {
+        final WritableRaster raster = image.getRaster();
+        final DataBuffer buffer = raster.getDataBuffer();
+        final SampleModel model = raster.getSampleModel();
+        final int tx = raster.getSampleModelTranslateX();
+        final int ty = raster.getSampleModelTranslateY();
+
+        if (buffer.getNumBanks() != 1)
+            return null;
+
+        if (buffer instanceof DataBufferInt
+                && model instanceof SinglePixelPackedSampleModel) {
+
+            final int scan = ((SinglePixelPackedSampleModel) model)
+                    .getScanlineStride();
+            return new PixelRaster(((DataBufferInt) buffer).getData(),
+                    buffer.getOffset() - ty * scan - tx, scan, 1,
+                    image.getWidth(), image.getHeight());
+        }
+
+        if (buffer instanceof DataBufferByte
+                && model instanceof ComponentSampleModel) {
+
+            final ComponentSampleModel csm = (ComponentSampleModel) model;
+            final int stride = csm.getPixelStride();
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            for (int bandOffset : csm.getBandOffsets()) {
+                min = Math.min(min, bandOffset);
+                max = Math.max(max, bandOffset);
+            }
+            for (int bank : csm.getBankIndices())
+                if (bank != 0) return null;
+
+            // pixel musí tvořit souvislý blok začínající první složkou
+            if (min != 0 || max >= stride)
+                return null;
+
+            final int scan = csm.getScanlineStride();
+            return new PixelRaster(((DataBufferByte) buffer).getData(),
+                    buffer.getOffset() - ty * scan - tx * stride, scan, stride,
+                    image.getWidth(), image.getHeight());
+        }
+        return null;
+    }
+
+    /**
+     * Vytvoří prázdný obrázek stejného typu (se stejným modelem barev
+     * i uspořádáním dat), ale jiných rozměrů.
+     *
+     * @param image vzor
+     * @param width šířka
+     * @param height výška
+     * @return nový obrázek
+     */
+    static BufferedImage createCompatible(BufferedImage image,
+            int width, int height) {
+
+        WritableRaster raster = image.getRaster()
+                .createCompatibleWritableRaster(width, height);
+        return new BufferedImage(image.getColorModel(), raster,
+                image.isAlphaPremultiplied(), null);
+    }
+
+    // --- přesouvání pixelů
+
+    /**
+     * Naplní cílová data pixely z tohoto rastru. Pixel <code>[x, y]</code>
+     * cíle je vzat z indexu <code>origin + x * colStep + y * rowStep</code>
+     * zdroje. Rastry musí mít stejný počet prvků na pixel.
+     *
+     * @param dst cílový rastr
+     * @param origin index zdrojového pixelu pro cílový pixel [0, 0]
+     * @param colStep posun ve zdroji při posunu o pixel v cílovém řádku
+     * @param rowStep posun ve zdroji při posunu o řádek v cíli
+     */
+    void transform(PixelRaster dst, int origin, int colStep, int rowStep) {
+        final int bands = (dst.height + TILE - 1) / TILE;
+
+        IntStream stream = IntStream.range(0, bands);
+        if ((long) dst.width * dst.height >= PARALLEL_THRESHOLD)
+            stream = stream.parallel();
+
+        stream.forEach(band -> {
+            int from = band * TILE;
+            int to = Math.min(dst.height, from + TILE);
+            transformRows(dst, origin, colStep, rowStep, from, to);
+        });
+    }
+
+    private void transformRows(PixelRaster dst, int origin,
+            int colStep, int rowStep, int fromRow, int toRow) {
+
+        final int ps = pixelStride;
+
+        // řádky zůstávají souvislé - stačí kopírovat
+        if (colStep == ps) {
+            for (int y = fromRow; y < toRow; y++) {
+                System.arraycopy(data, origin + y * rowStep,
+                        dst.data, dst.index(0, y), dst.width * ps);
+            }
+            return;
+        }
+
+        // po čtvercích, aby se při otáčení čtená data vešla do cache
+        for (int tileX = 0; tileX < dst.width; tileX += TILE) {
+            final int tileEnd = Math.min(dst.width, tileX + TILE);
+
+            for (int y = fromRow; y < toRow; y++) {
+                int s = origin + y * rowStep + tileX * colStep;
+                int d = dst.index(tileX, y);
+
+                if (ps == 1 && data instanceof int[]) {
+                    final int[] src = (int[]) data;
+                    final int[] out = (int[]) dst.data;
+                    for (int x = tileX; x < tileEnd; x++, s += colStep)
+                        out[d++] = src[s];
+                } else if (ps == 1) {
+                    final byte[] src = (byte[]) data;
+                    final byte[] out = (byte[]) dst.data;
+                    for (int x = tileX; x < tileEnd; x++, s += colStep)
+                        out[d++] = src[s];
+                } else {
+                    final byte[] src = (byte[]) data;
+                    final byte[] out = (byte[]) dst.data;
+                    for (int x = tileX; x < tileEnd; x++, s += colStep)
+                        for (int i = 0; i < ps; i++)
+                            out[d++] = src[s + i];
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,490 @@
+package cz.hartrik.common.io;
+
+import cz.hartrik.common.reflect.LibraryClass;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Změna velikosti obrázků pomocí oddělitelných filtrů. Obrázek je nejprve
+ * přepočítán po řádcích a potom po sloupcích; váhy filtru jsou pro každý
+ * výsledný řádek a sloupec spočteny jen jednou. Počítá se s přednásobenou
+ * průhledností, takže průhledné pixely "neprosvítají" do okolí. Velké
+ * obrázky jsou zpracovány paralelně po pásech řádků. <p>
+ *
+ * Při velkém zmenšení je obrázek nejprve opakovaně zmenšen na polovinu
+ * (průměrem čtverců 2 x 2 pixelů, viz {@link #halve(BufferedImage)}),
+ * dokud je alespoň dvakrát větší než požadovaná velikost. Teprve zbytek
+ * zmenšení obstará zvolený filtr.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+@LibraryClass
+public final class Resampler {
+
+    private Resampler() {}
+
+    /** Filtry pro převzorkování. */
+    public enum Filter {
+
+        /** Nejbližší pixel - nejrychlejší, bez vyhlazování. */
+        NEAREST(0.5) {
+            @Override
+            double weight(double x) {
+                return (x >= -0.5 && x < 0.5) ? 1 : 0;
+            }
+        },
+
+        /** Lineární interpolace (trojúhelníkový filtr). */
+        BILINEAR(1) {
+            @Override
+            double weight(double x) {
+                x = Math.abs(x);
+                return (x < 1) ? 1 - x : 0;
+            }
+        },
+
+        /** Kubická interpolace (Catmull-Rom). */
+        BICUBIC(2) {
+            @Override
+            double weight(double x) {
+                x = Math.abs(x);
+                if (x < 1) return (1.5 * x - 2.5) * x * x + 1;
+                if (x < 2) return ((-0.5 * x + 2.5) * x - 4) * x + 2;
+                return 0;
+            }
+        },
+
+        /** Lanczos s poloměrem 3 - nejostřejší, nejpomalejší. */
+        LANCZOS(3) {
+            @Override
+            double weight(double x) {
+                if (x == 0) return 1;
+                if (x <= -3 || x >= 3) return 0;
+                final double px = Math.PI * x;
+                return 3 * Math.sin(px) * Math.sin(px / 3) / (px * px);
+            }
+        };
+
+        private final double radius;
+
+        private Filter(double radius) {
+            this.radius = radius;
+        }
+
+        abstract double weight(double x);
+    }
+
+    /** Minimální počet pixelů, od kterého se výpočet rozdělí mezi vlákna. */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Přibližný počet pixelů zpracovaných jedním úkolem. */
+    private static final int BAND_SIZE = 1 << 14;
+
+    // --- obrázky
+
+    /**
+     * Změní velikost obrázku. Výsledek je vždy typu
+     * {@link BufferedImage#TYPE_INT_ARGB}.
+     *
+     * @param image obrázek
+     * @param width požadovaná šířka
+     * @param height požadovaná výška
+     * @param filter filtr
+     * @return nový obrázek
+     */
+    public static BufferedImage resize(BufferedImage image, int width,
+            int height, Filter filter) {
+
+        return resize(image, width, height, filter, null);
+    }
+
+    /**
+     * Změní velikost obrázku, výsledek vypůjčí ze zásobníku.
+     *
+     * @param image obrázek
+     * @param width požadovaná šířka
+     * @param height požadovaná výška
+     * @param filter filtr
+     * @param pool zásobník obrázků, nebo <code>null</code>
+     * @return nový obrázek
+     */
+    static BufferedImage resize(BufferedImage image, int width,
+            int height, Filter filter, ImagePool pool) {
+
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Invalid size");
+
+        final int srcWidth = image.getWidth();
+        final int srcHeight = image.getHeight();
+        final int[] src = pixels(image);
+
+        final BufferedImage result = (pool == null)
+                ? BufferedImageUtil.createEmpty(width, height)
+                : pool.acquire(width, height, BufferedImage.TYPE_INT_ARGB);
+        final IntRaster dst = IntRaster.of(result);
+        resize(src, srcWidth, srcHeight, dst.data, width, height, filter);
+        return result;
+    }
+
+    /**
+     * Zmenší obrázek na polovinu - každý výsledný pixel je průměrem čtverce
+     * 2 x 2 pixelů (s ohledem na průhlednost). Lichý poslední řádek či
+     * sloupec je vynechán. Výsledek je vždy typu
+     * {@link BufferedImage#TYPE_INT_ARGB}.
+     *
+     * @param image obrázek
+     * @return nový obrázek
+     */
+    public static BufferedImage halve(BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+
+        final BufferedImage result = BufferedImageUtil.createEmpty(
+                Math.max(1, width / 2), Math.max(1, height / 2));
+        halve(pixels(image), width, height, IntRaster.of(result).data);
+        return result;
+    }
+
+    /**
+     * Vrátí pixely obrázku ve formátu ARGB, uložené po řádcích bez mezer.
+     * U obrázků typu {@link BufferedImage#TYPE_INT_ARGB} bez posunu vrací
+     * přímo jejich data, pole se proto nesmí měnit.
+     */
+    static int[] pixels(BufferedImage image) {
+        final IntRaster raster = IntRaster.of(image);
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+
+        if (raster == null)
+            return image.getRGB(0, 0, w, h, null, 0, w);
+
+        if (raster.alpha && raster.offset == 0
+                && raster.scan == w && raster.data.length == w * h)
+            return raster.data;
+
+        final int[] pixels = new int[w * h];
+        for (int y = 0; y < h; y++)
+            System.arraycopy(raster.data, raster.index(0, y), pixels, y * w, w);
+
+        if (!raster.alpha) {
+            for (int i = 0; i < pixels.length; i++)
+                pixels[i] |= 0xFF000000;
+        }
+        return pixels;
+    }
+
+    // --- pole
+
+    /**
+     * Změní velikost obrázku uloženého v poli barev ve formátu ARGB.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param srcWidth šířka zdroje
+     * @param srcHeight výška zdroje
+     * @param dst pole pro výsledné pixely (alespoň <code>width * height</code>)
+     * @param width šířka výsledku
+     * @param height výška výsledku
+     * @param filter filtr
+     */
+    public static void resize(int[] src, int srcWidth, int srcHeight,
+            int[] dst, int width, int height, Filter filter) {
+
+        // postupné zmenšování na polovinu
+        if (filter != Filter.NEAREST) {
+            while (srcWidth >= 2 * width && srcHeight >= 2 * height) {
+                final int[] half = new int[(srcWidth / 2) * (srcHeight / 2)];
+                halve(src, srcWidth, srcHeight, half);
+                src = half;
+                srcWidth /= 2;
+                srcHeight /= 2;
+            }
+        }
+
+        if (srcWidth == width && srcHeight == height) {
+            System.arraycopy(src, 0, dst, 0, width * height);
+            return;
+        }
+
+        resample(src, 0, 0, srcWidth,
+                new Weights(srcWidth, width, filter, 0, width),
+                new Weights(srcHeight, height, filter, 0, height),
+                dst);
+    }
+
+    /**
+     * Vrátí oblast zdroje, ze které se počítá daná oblast výsledku při
+     * změně velikosti celého obrázku (bez postupného zmenšování na polovinu).
+     *
+     * @param srcWidth šířka celého zdroje
+     * @param srcHeight výška celého zdroje
+     * @param width šířka celého výsledku
+     * @param height výška celého výsledku
+     * @param target oblast výsledku
+     * @param filter filtr
+     * @return oblast zdroje
+     */
+    static Rectangle sourceRegion(int srcWidth, int srcHeight,
+            int width, int height, Rectangle target, Filter filter) {
+
+        final Weights horizontal = new Weights(srcWidth, width, filter,
+                target.x, target.x + target.width);
+        final Weights vertical = new Weights(srcHeight, height, filter,
+                target.y, target.y + target.height);
+
+        return new Rectangle(horizontal.first, vertical.first,
+                horizontal.end - horizontal.first, vertical.end - vertical.first);
+    }
+
+    /**
+     * Vypočte jen určitou oblast výsledku změny velikosti celého obrázku.
+     * Sousední oblasti na sebe přesně navazují.
+     *
+     * @param region pixely oblasti zdroje vrácené metodou
+     *        {@link #sourceRegion(int, int, int, int, Rectangle, Filter)}
+     * @param source oblast zdroje
+     * @param srcWidth šířka celého zdroje
+     * @param srcHeight výška celého zdroje
+     * @param dst pole pro pixely oblasti výsledku
+     * @param target oblast výsledku
+     * @param width šířka celého výsledku
+     * @param height výška celého výsledku
+     * @param filter filtr
+     */
+    static void resizeRegion(int[] region, Rectangle source,
+            int srcWidth, int srcHeight, int[] dst, Rectangle target,
+            int width, int height, Filter filter) {
+
+        resample(region, source.x, source.y, source.width,
+                new Weights(srcWidth, width, filter,
+                        target.x, target.x + target.width),
+                new Weights(srcHeight, height, filter,
+                        target.y, target.y + target.height),
+                dst);
+    }
+
+    /**
+     * Dvouprůchodové převzorkování. Pole <code>src</code> obsahuje oblast
+     * zdroje začínající na souřadnicích [srcX, srcY], výsledek má rozměry
+     * daný počtem vah.
+     */
+    private static void resample(int[] src, int srcX, int srcY, int srcScan,
+            Weights horizontal, Weights vertical, int[] dst) {
+
+        final int width = horizontal.start.length;
+        final int height = vertical.start.length;
+        final int rowFrom = vertical.first;
+        final int rows = vertical.end - rowFrom;
+
+        // řádky: src -> tmp (width x rows)
+        final float[] tmp = new float[4 * width * rows];
+        forEachRow(rows, width, r -> resizeRow(src,
+                (rowFrom + r - srcY) * srcScan - srcX, horizontal,
+                tmp, 4 * r * width));
+
+        // sloupce: tmp -> dst (width x height)
+        forEachRow(height, width, y -> resizeColumns(tmp, width, vertical,
+                y, rowFrom, dst, y * width));
+    }
+
+    /**
+     * Zmenší obrázek uložený v poli barev ve formátu ARGB na polovinu,
+     * viz {@link #halve(BufferedImage)}.
+     *
+     * @param src zdrojové pixely, uložené po řádcích bez mezer
+     * @param width šířka zdroje
+     * @param height výška zdroje
+     * @param dst pole pro výsledné pixely (alespoň
+     *        <code>max(1, width / 2) * max(1, height / 2)</code>)
+     */
+    public static void halve(int[] src, int width, int height, int[] dst) {
+        final int dw = Math.max(1, width / 2);
+        final int dh = Math.max(1, height / 2);
+
+        forEachRow(dh, dw, y -> {
+            final int row0 = Math.min(2 * y, height - 1) * width;
+            final int row1 = Math.min(2 * y + 1, height - 1) * width;
+            for (int x = 0; x < dw; x++) {
+                final int x0 = Math.min(2 * x, width - 1);
+                final int x1 = Math.min(2 * x + 1, width - 1);
+                dst[y * dw + x] = average(src[row0 + x0], src[row0 + x1],
+                        src[row1 + x0], src[row1 + x1]);
+            }
+        });
+    }
+
+    /** Průměr čtyř barev s přednásobenou průhledností. */
+    private static int average(int c0, int c1, int c2, int c3) {
+        // častý případ - neprůhledné pixely
+        if ((c0 & c1 & c2 & c3) >>> 24 == 0xFF) {
+            final int rb = ((c0 & 0xFF00FF) + (c1 & 0xFF00FF)
+                    + (c2 & 0xFF00FF) + (c3 & 0xFF00FF) + 0x020002) >>> 2;
+            final int g = ((c0 & 0xFF00) + (c1 & 0xFF00)
+                    + (c2 & 0xFF00) + (c3 & 0xFF00) + 0x0200) >>> 2;
+            return 0xFF000000 | (rb & 0xFF00FF) | (g & 0xFF00);
+        }
+
+        final int a0 = c0 >>> 24, a1 = c1 >>> 24, a2 = c2 >>> 24, a3 = c3 >>> 24;
+        final int sa = a0 + a1 + a2 + a3;
+        if (sa == 0) return 0;
+
+        final int half = sa >> 1;
+        final int r = (a0 * ((c0 >> 16) & 0xFF) + a1 * ((c1 >> 16) & 0xFF)
+                + a2 * ((c2 >> 16) & 0xFF) + a3 * ((c3 >> 16) & 0xFF) + half) / sa;
+        final int g = (a0 * ((c0 >> 8) & 0xFF) + a1 * ((c1 >> 8) & 0xFF)
+                + a2 * ((c2 >> 8) & 0xFF) + a3 * ((c3 >> 8) & 0xFF) + half) / sa;
+        final int b = (a0 * (c0 & 0xFF) + a1 * (c1 & 0xFF)
+                + a2 * (c2 & 0xFF) + a3 * (c3 & 0xFF) + half) / sa;
+
+        return (((sa + 2) >> 2) << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    // --- průchody
+
+    private static void resizeRow(int[] src, int srcOffset, Weights weights,
+            float[] out, int outOffset) {
+
+        final int max = weights.max;
+        for (int x = 0; x < weights.start.length; x++) {
+            float a = 0, r = 0, g = 0, b = 0;
+            final int start = srcOffset + weights.start[x];
+            final int wo = x * max;
+            for (int i = 0; i < weights.count[x]; i++) {
+                final int color = src[start + i];
+                final float alpha = color >>> 24;
+                final float w = weights.weights[wo + i];
+                final float wa = w * alpha;
+                a += wa;
+                r += wa * ((color >> 16) & 0xFF);
+                g += wa * ((color >> 8) & 0xFF);
+                b += wa * (color & 0xFF);
+            }
+            final int o = outOffset + 4 * x;
+            out[o]     = a;
+            out[o + 1] = r;
+            out[o + 2] = g;
+            out[o + 3] = b;
+        }
+    }
+
+    private static void resizeColumns(float[] tmp, int width, Weights weights,
+            int y, int rowFrom, int[] dst, int dstOffset) {
+
+        final int start = weights.start[y];
+        final int count = weights.count[y];
+        final int wo = y * weights.max;
+        final int rowLength = 4 * width;
+
+        for (int x = 0; x < width; x++) {
+            float a = 0, r = 0, g = 0, b = 0;
+            int t = (start - rowFrom) * rowLength + 4 * x;
+            for (int i = 0; i < count; i++, t += rowLength) {
+                final float w = weights.weights[wo + i];
+                a += w * tmp[t];
+                r += w * tmp[t + 1];
+                g += w * tmp[t + 2];
+                b += w * tmp[t + 3];
+            }
+            dst[dstOffset + x] = toARGB(a, r, g, b);
+        }
+    }
+
+    /** Převede přednásobené složky (alfa 0 - 255, barva 0 - 255 * 255). */
+    private static int toARGB(float a, float r, float g, float b) {
+        if (a < 0.5f) return 0;
+
+        final int alpha = (a >= 255) ? 255 : (int) (a + 0.5f);
+        final float inv = 1 / a;
+        return (alpha << 24)
+                | (clamp(r * inv) << 16)
+                | (clamp(g * inv) << 8)
+                | clamp(b * inv);
+    }
+
+    private static int clamp(float value) {
+        return (value <= 0) ? 0 : (value >= 255) ? 255 : (int) (value + 0.5f);
+    }
+
+    private static void forEachRow(int rows, int width, IntConsumer action) {
+        final int rowsPerBand = Math.max(1, BAND_SIZE / Math.max(1, width));
+        final int bands = (rows + rowsPerBand - 1) / rowsPerBand;
+
+        IntStream stream = IntStream.range(0, bands);
+        if ((long) rows * width >= PARALLEL_THRESHOLD)
+            stream = stream.parallel();
+
+        stream.forEach(band -> {
+            final int to = Math.min(rows, (band + 1) * rowsPerBand);
+            for (int y = band * rowsPerBand; y < to; y++)
+                action.accept(y);
+        });
+    }
+
+    // --- váhy
+
+    /**
+     * Předpočítané váhy filtru pro jeden rozměr a úsek výsledných pixelů
+     * <code>from</code> až <code>to - 1</code>. Pro výsledný pixel
+     * <code>from + i</code> se sčítají zdrojové pixely <code>start[i]</code>
+     * až <code>start[i] + count[i] - 1</code> s váhami uloženými od indexu
+     * <code>i * max</code>. Všechny použité zdrojové pixely leží v rozsahu
+     * <code>first</code> až <code>end - 1</code>.
+     */
+    private static final class Weights {
+
+        final int[] start;
+        final int[] count;
+        final float[] weights;
+        final int max;
+        final int first;
+        final int end;
+
+        Weights(int srcSize, int dstSize, Filter filter, int from, int to) {
+            final double scale = (double) srcSize / dstSize;
+            // při zmenšování se filtr roztáhne, při zvětšování zůstává
+            final double support = (filter == Filter.NEAREST)
+                    ? 0.5 : filter.radius * Math.max(1, scale);
+            final double stretch = (filter == Filter.NEAREST)
+                    ? 1 : Math.max(1, scale);
+
+            final int length = to - from;
+            this.max = (int) Math.ceil(2 * support) + 2;
+            this.start = new int[length];
+            this.count = new int[length];
+            this.weights = new float[length * max];
+
+            int first = srcSize, end = 0;
+            for (int i = 0; i < length; i++) {
+                final double center = (from + i + 0.5) * scale;
+
+                if (filter == Filter.NEAREST) {
+                    start[i] = Math.min(srcSize - 1, (int) center);
+                    count[i] = 1;
+                    weights[i * max] = 1;
+                } else {
+                    final int a = Math.max(0, (int) Math.floor(center - support));
+                    final int b = Math.min(srcSize, (int) Math.ceil(center + support));
+
+                    double sum = 0;
+                    for (int j = a; j < b; j++)
+                        sum += filter.weight((j + 0.5 - center) / stretch);
+
+                    start[i] = a;
+                    count[i] = b - a;
+                    for (int j = 0; j < count[i]; j++) {
+                        final double w = filter.weight((a + j + 0.5 - center) / stretch);
+                        weights[i * max + j] = (float) ((sum == 0) ? 0 : w / sum);
+                    }
+                }
+                first = Math.min(first, start[i]);
+                end = Math.max(end, start[i] + count[i]);
+            }
+            this.first = first;
+            this.end = end;
+        }
+
+    }
+
+}
@@ -0,0 +1,217 @@
+package cz.hartrik.common.io;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/**
+ * Operace nad obrázkem, kterou lze počítat po dlaždicích - každá oblast
+ * výsledku závisí jen na omezené oblasti zdroje. Používá ji
+ * {@link TiledImage#apply(TileOperation)}.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public interface TileOperation {
+
+    /**
+     * Vrátí rozměry výsledku.
+     *
+     * @param width šířka zdroje
+     * @param height výška zdroje
+     * @return rozměry výsledku
+     */
+    default Dimension getSize(int width, int height) {
+        return new Dimension(width, height);
+    }
+
+    /**
+     * Vrátí oblast zdroje potřebnou pro výpočet oblasti výsledku.
+     *
+     * @param target oblast výsledku
+     * @param width šířka zdroje
+     * @param height výška zdroje
+     * @return oblast zdroje (uvnitř zdroje, neprázdná)
+     */
+    Rectangle getSourceRegion(Rectangle target, int width, int height);
+
+    /**
+     * Vypočte oblast výsledku.
+     *
+     * @param source pixely oblasti zdroje (typ
+     *        {@link BufferedImage#TYPE_INT_ARGB}, lze je měnit)
+     * @param region oblast zdroje
+     * @param target oblast výsledku
+     * @param width šířka zdroje
+     * @param height výška zdroje
+     * @return obrázek o rozměrech oblasti výsledku
+     */
+    BufferedImage apply(BufferedImage source, Rectangle region,
+            Rectangle target, int width, int height);
+
+    // --- tovární metody
+
+    /**
+     * Horizontálně převrátí obrázek.
+     *
+     * @return operace
+     * @see BufferedImageUtil#flipHorizontally(BufferedImage)
+     */
+    static TileOperation flipHorizontally() {
+        return new TileOperation() {
+            @Override
+            public Rectangle getSourceRegion(Rectangle target, int width, int height) {
+                return new Rectangle(width - target.x - target.width, target.y,
+                        target.width, target.height);
+            }
+
+            @Override
+            public BufferedImage apply(BufferedImage source, Rectangle region,
+                    Rectangle target, int width, int height) {
+                return BufferedImageUtil.flipHorizontally(source);
+            }
+        };
+    }
+
+    /**
+     * Vertikálně převrátí obrázek.
+     *
+     * @return operace
+     * @see BufferedImageUtil#flipVertically(BufferedImage)
+     */
+    static TileOperation flipVertically() {
+        return new TileOperation() {
+            @Override
+            public Rectangle getSourceRegion(Rectangle target, int width, int height) {
+                return new Rectangle(target.x, height - target.y - target.height,
+                        target.width, target.height);
+            }
+
+            @Override
+            public BufferedImage apply(BufferedImage source, Rectangle region,
+                    Rectangle target, int width, int height) {
+                return BufferedImageUtil.flipVertically(source);
+            }
+        };
+    }
+
+    /**
+     * Zmenší obrázek na polovinu.
+     *
+     * @return operace
+     * @see Resampler#halve(BufferedImage)
+     */
+    static TileOperation halve() {
+        return new TileOperation() {
+            @Override
+            public Dimension getSize(int width, int height) {
+                return new Dimension(Math.max(1, width / 2), Math.max(1, height / 2));
+            }
+
+            @Override
+            public Rectangle getSourceRegion(Rectangle target, int width, int height) {
+                return new Rectangle(2 * target.x, 2 * target.y,
+                        Math.min(2 * target.width, width - 2 * target.x),
+                        Math.min(2 * target.height, height - 2 * target.y));
+            }
+
+            @Override
+            public BufferedImage apply(BufferedImage source, Rectangle region,
+                    Rectangle target, int width, int height) {
+                return Resampler.halve(source);
+            }
+        };
+    }
+
+    /**
+     * Změní velikost obrázku. Na rozdíl od
+     * {@link Resampler#resize(BufferedImage, int, int, Resampler.Filter)}
+     * se obrázek nezmenšuje postupně na polovinu - to obstará
+     * {@link TiledImage#resize(int, int, Resampler.Filter)}.
+     *
+     * @param newWidth šířka výsledku
+     * @param newHeight výška výsledku
+     * @param filter filtr
+     * @return operace
+     */
+    static TileOperation resize(int newWidth, int newHeight,
+            Resampler.Filter filter) {
+
+        if (newWidth <= 0 || newHeight <= 0)
+            throw new IllegalArgumentException("Invalid size");
+
+        return new TileOperation() {
+            @Override
+            public Dimension getSize(int width, int height) {
+                return new Dimension(newWidth, newHeight);
+            }
+
+            @Override
+            public Rectangle getSourceRegion(Rectangle target, int width, int height) {
+                return Resampler.sourceRegion(width, height,
+                        newWidth, newHeight, target, filter);
+            }
+
+            @Override
+            public BufferedImage apply(BufferedImage source, Rectangle region,
+                    Rectangle target, int width, int height) {
+
+                final BufferedImage result = BufferedImageUtil.createEmpty(
+                        target.width, target.height);
+                Resampler.resizeRegion(IntRaster.of(source).data, region,
+                        width, height, IntRaster.of(result).data, target,
+                        newWidth, newHeight, filter);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Vyplní průhledné pixely barvou.
+     *
+     * @param color barva pozadí
+     * @return operace
+     * @see BufferedImageUtil#fillTransparentPixels(BufferedImage, Color)
+     */
+    static TileOperation fill(Color color) {
+        return new TileOperation() {
+            @Override
+            public Rectangle getSourceRegion(Rectangle target, int width, int height) {
+                return target;
+            }
+
+            @Override
+            public BufferedImage apply(BufferedImage source, Rectangle region,
+                    Rectangle target, int width, int height) {
+                return BufferedImageUtil.fillTransparentPixels(source, color);
+            }
+        };
+    }
+
+    /**
+     * Přes obrázek nanese jiný obrázek, který se vejde do paměti.
+     *
+     * @param foreground obrázek popředí
+     * @param x souřadnice x levého horního rohu popředí
+     * @param y souřadnice y levého horního rohu popředí
+     * @return operace
+     * @see BufferedImageUtil#blend(BufferedImage, BufferedImage, int, int)
+     */
+    static TileOperation blend(BufferedImage foreground, int x, int y) {
+        return new TileOperation() {
+            @Override
+            public Rectangle getSourceRegion(Rectangle target, int width, int height) {
+                return target;
+            }
+
+            @Override
+            public BufferedImage apply(BufferedImage source, Rectangle region,
+                    Rectangle target, int width, int height) {
+                return BufferedImageUtil.blend(source, foreground,
+                        x - target.x, y - target.y);
+            }
+        };
+    }
+
+}
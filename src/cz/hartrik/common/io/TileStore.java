@@ -0,0 +1,248 @@
+package cz.hartrik.common.io;
+
+import java.awt.Rectangle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Obrázek (pixely ve formátu ARGB) uložený po čtvercových dlaždicích
+ * v souboru namapovaném do paměti. Data tak nezabírají haldu a operační
+ * systém je podle potřeby odkládá na disk. <p>
+ *
+ * Každá dlaždice zabírá v souboru souvislý blok
+ * <code>tileSize * tileSize</code> pixelů uložených po řádcích, krajní
+ * dlaždice využívají jen část bloku. Soubor je namapován po částech
+ * o velikosti nejvýše {@link #CHUNK_SIZE} bajtů, takže může být větší
+ * než 2 GB. <p>
+ *
+ * Současný přístup z více vláken je bezpečný, pokud vlákna nezapisují do
+ * stejné oblasti.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+final class TileStore implements Closeable {
+
+    /** Maximální velikost jednoho namapovaného úseku souboru. */
+    static final int CHUNK_SIZE = 1 << 30;
+
+    /** Maximální velikost strany dlaždice. */
+    static final int MAX_TILE_SIZE = 8192;
+
+    final int width;
+    final int height;
+    final int tileSize;
+    final int tilesX;
+    final int tilesY;
+
+    private final Path file;
+    private final boolean temporary;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int tilesPerChunk;
+    private final int tileBytes;
+
+    /**
+     * Vytvoří nové úložiště. Existující soubor je přepsán.
+     *
+     * @param file soubor
+     * @param temporary soubor bude při zavření smazán
+     * @param width šířka obrázku
+     * @param height výška obrázku
+     * @param tileSize velikost strany dlaždice
+     * @throws IOException chyba při vytváření souboru
+     */
+    TileStore(Path file, boolean temporary, int width, int height,
+            int tileSize) throws IOException {
+
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Invalid size");
+        if (tileSize <= 0 || tileSize > MAX_TILE_SIZE)
+            throw new IllegalArgumentException("Invalid tile size: " + tileSize);
+
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+        this.file = file;
+        this.temporary = temporary;
+
+        this.tileBytes = tileSize * tileSize * Integer.BYTES;
+        this.tilesPerChunk = Math.max(1, CHUNK_SIZE / tileBytes);
+
+        final long tiles = (long) tilesX * tilesY;
+        final int chunkCount = (int) ((tiles + tilesPerChunk - 1) / tilesPerChunk);
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunks = new MappedByteBuffer[chunkCount];
+
+        try {
+            for (int i = 0; i < chunkCount; i++) {
+                final long first = (long) i * tilesPerChunk;
+                final long size = Math.min(tilesPerChunk, tiles - first) * tileBytes;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                        first * tileBytes, size);
+                chunks[i].order(ByteOrder.nativeOrder());
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Vytvoří nové úložiště v dočasném souboru, který bude při zavření
+     * smazán.
+     *
+     * @param width šířka obrázku
+     * @param height výška obrázku
+     * @param tileSize velikost strany dlaždice
+     * @return nové úložiště
+     * @throws IOException chyba při vytváření souboru
+     */
+    static TileStore createTemp(int width, int height, int tileSize)
+            throws IOException {
+
+        Path file = Files.createTempFile("tiles", ".tmp");
+        try {
+            return new TileStore(file, true, width, height, tileSize);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    // --- dlaždice
+
+    /**
+     * Vrátí oblast obrázku, kterou pokrývá dlaždice.
+     *
+     * @param tileX sloupec dlaždice
+     * @param tileY řádek dlaždice
+     * @return oblast
+     */
+    Rectangle tileBounds(int tileX, int tileY) {
+        final int x = tileX * tileSize;
+        final int y = tileY * tileSize;
+        return new Rectangle(x, y,
+                Math.min(tileSize, width - x), Math.min(tileSize, height - y));
+    }
+
+    /**
+     * Vrátí pohled na data dlaždice - <code>tileSize * tileSize</code>
+     * pixelů po řádcích. Změny se projeví v úložišti.
+     *
+     * @param tileX sloupec dlaždice
+     * @param tileY řádek dlaždice
+     * @return data dlaždice
+     */
+    IntBuffer tile(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= tilesX || tileY < 0 || tileY >= tilesY)
+            throw new IndexOutOfBoundsException(tileX + ", " + tileY);
+
+        final long index = (long) tileY * tilesX + tileX;
+        final ByteBuffer chunk = chunks[(int) (index / tilesPerChunk)].duplicate();
+        final int offset = (int) (index % tilesPerChunk) * tileBytes;
+
+        chunk.position(offset).limit(offset + tileBytes);
+        return chunk.slice().order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    // --- oblasti
+
+    /**
+     * Přečte pixely oblasti.
+     *
+     * @param region oblast (musí ležet uvnitř obrázku)
+     * @param out výstupní pole
+     * @param offset index v poli pro levý horní pixel oblasti
+     * @param scan délka řádku v poli
+     */
+    void read(Rectangle region, int[] out, int offset, int scan) {
+        copy(region, out, offset, scan, false);
+    }
+
+    /**
+     * Zapíše pixely oblasti.
+     *
+     * @param region oblast (musí ležet uvnitř obrázku)
+     * @param in pole s pixely
+     * @param offset index v poli pro levý horní pixel oblasti
+     * @param scan délka řádku v poli
+     */
+    void write(Rectangle region, int[] in, int offset, int scan) {
+        copy(region, in, offset, scan, true);
+    }
+
+    private void copy(Rectangle region, int[] array, int offset, int scan,
+            boolean write) {
+
+        if (region.x < 0 || region.y < 0
+                || region.x + region.width > width
+                || region.y + region.height > height)
+            throw new IndexOutOfBoundsException(region.toString());
+
+        if (region.isEmpty()) return;
+
+        final int tx0 = region.x / tileSize;
+        final int ty0 = region.y / tileSize;
+        final int tx1 = (region.x + region.width - 1) / tileSize;
+        final int ty1 = (region.y + region.height - 1) / tileSize;
+
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                final Rectangle part = tileBounds(tx, ty).intersection(region);
+                final IntBuffer tile = tile(tx, ty);
+
+                for (int y = part.y; y < part.y + part.height; y++) {
+                    tile.position((y - ty * tileSize) * tileSize
+                            + part.x - tx * tileSize);
+
+                    final int index = offset + (y - region.y) * scan
+                            + part.x - region.x;
+                    if (write)
+                        tile.put(array, index, part.width);
+                    else
+                        tile.get(array, index, part.width);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zavře soubor, dočasný soubor také smaže. Namapovaná paměť je uvolněna
+     * až garbage collectorem.
+     *
+     * @throws IOException chyba při zavírání
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            for (int i = 0; i < chunks.length; i++)
+                chunks[i] = null;
+
+            if (temporary) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // např. Windows nedovolí smazat namapovaný soubor
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,430 @@
+package cz.hartrik.common.io;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Vector;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Obrázek, který se nemusí vejít do haldy. Pixely jsou uloženy po
+ * dlaždicích v dočasném souboru namapovaném do paměti, na haldě jsou vždy
+ * jen právě zpracovávané oblasti. <p>
+ *
+ * Obrázek se načítá po pásech řádků přes
+ * {@link ImageReadParam#setSourceRegion(Rectangle)}, zpracovává se po
+ * dlaždicích operacemi {@link TileOperation} (každá vytvoří nový
+ * {@link TiledImage}) a zapisuje se přes {@link #asRenderedImage()}. Zapisovače,
+ * které si obrázek vyžádají po částech (např. PNG), tak také nepotřebují
+ * celý obrázek v paměti.
+ *
+ * <pre>{@code
+ *  try (TiledImage image = TiledImage.read(input);
+ *       TiledImage small = image.resize(4000, 4000, Resampler.Filter.LANCZOS)) {
+ *      small.write("png", output);
+ *  }}</pre>
+ *
+ * Instance je nutné zavřít, jinak dočasný soubor zůstane na disku až do
+ * ukončení programu.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public final class TiledImage implements Closeable {
+
+    /** Výchozí velikost strany dlaždice. */
+    public static final int DEFAULT_TILE_SIZE = 512;
+
+    final TileStore store;
+
+    private TiledImage(TileStore store) {
+        this.store = store;
+    }
+
+    // --- vytvoření
+
+    /**
+     * Vytvoří nový, zcela průhledný obrázek.
+     *
+     * @param width šířka
+     * @param height výška
+     * @return nový obrázek
+     * @throws IOException chyba při vytváření dočasného souboru
+     */
+    public static TiledImage create(int width, int height) throws IOException {
+        return create(width, height, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Vytvoří nový, zcela průhledný obrázek.
+     *
+     * @param width šířka
+     * @param height výška
+     * @param tileSize velikost strany dlaždice
+     * @return nový obrázek
+     * @throws IOException chyba při vytváření dočasného souboru
+     */
+    public static TiledImage create(int width, int height, int tileSize)
+            throws IOException {
+
+        return new TiledImage(TileStore.createTemp(width, height, tileSize));
+    }
+
+    /**
+     * Načte obrázek ze souboru.
+     *
+     * @param path soubor
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public static TiledImage read(Path path) throws IOException {
+        return read(path, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Načte obrázek ze souboru. Čte se po pásech o výšce jedné dlaždice,
+     * v paměti je tedy vždy jen <code>šířka * tileSize</code> pixelů.
+     * Formáty, které neumí číst oblasti přímo (např. PNG), musí při čtení
+     * každého pásu dekódovat i všechny předchozí řádky.
+     *
+     * @param path soubor
+     * @param tileSize velikost strany dlaždice
+     * @return načtený obrázek
+     * @throws IOException chyba při čtení nebo neznámý formát
+     */
+    public static TiledImage read(Path path, int tileSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null)
+                throw new IOException("Cannot open " + path);
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext())
+                throw new IOException("Unsupported image format: " + path);
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return read(reader, tileSize);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static TiledImage read(ImageReader reader, int tileSize)
+            throws IOException {
+
+        final int width = reader.getWidth(0);
+        final int height = reader.getHeight(0);
+        final TiledImage image = create(width, height, tileSize);
+
+        try {
+            final ImageReadParam param = reader.getDefaultReadParam();
+            for (int y = 0; y < height; y += tileSize) {
+                final int rows = Math.min(tileSize, height - y);
+                param.setSourceRegion(new Rectangle(0, y, width, rows));
+                image.setRegion(0, y, reader.read(0, param));
+            }
+        } catch (IOException | RuntimeException e) {
+            image.close();
+            throw e;
+        }
+        return image;
+    }
+
+    // --- vlastnosti
+
+    public int getWidth() {
+        return store.width;
+    }
+
+    public int getHeight() {
+        return store.height;
+    }
+
+    public int getTileSize() {
+        return store.tileSize;
+    }
+
+    // --- přístup k pixelům
+
+    /**
+     * Vrátí kopii oblasti obrázku.
+     *
+     * @param region oblast (musí ležet uvnitř obrázku)
+     * @return nový obrázek typu {@link BufferedImage#TYPE_INT_ARGB}
+     */
+    public BufferedImage getRegion(Rectangle region) {
+        final BufferedImage image = BufferedImageUtil.createEmpty(
+                region.width, region.height);
+        store.read(region, IntRaster.of(image).data, 0, region.width);
+        return image;
+    }
+
+    /**
+     * Přepíše oblast obrázku pixely jiného obrázku (včetně průhlednosti).
+     *
+     * @param x souřadnice x levého horního rohu oblasti
+     * @param y souřadnice y levého horního rohu oblasti
+     * @param image pixely (obrázek musí ležet uvnitř tohoto obrázku)
+     */
+    public void setRegion(int x, int y, BufferedImage image) {
+        final int w = image.getWidth();
+        final int h = image.getHeight();
+        final Rectangle region = new Rectangle(x, y, w, h);
+        final IntRaster raster = IntRaster.of(image);
+
+        if (raster != null && raster.alpha) {
+            store.write(region, raster.data, raster.index(0, 0), raster.scan);
+        } else {
+            final int[] rows = image.getRGB(0, 0, w, h, null, 0, w);
+            store.write(region, rows, 0, w);
+        }
+    }
+
+    // --- operace
+
+    /**
+     * Vytvoří nový obrázek aplikováním operace. Dlaždice výsledku jsou
+     * počítány paralelně. Pokud by oblast zdroje potřebná pro jednu dlaždici
+     * byla příliš velká (např. při velkém zmenšení), je dlaždice počítána
+     * po menších částech.
+     *
+     * @param operation operace
+     * @return nový obrázek se stejnou velikostí dlaždic
+     * @throws IOException chyba při vytváření dočasného souboru
+     */
+    public TiledImage apply(TileOperation operation) throws IOException {
+        final Dimension size = operation.getSize(getWidth(), getHeight());
+        final TiledImage result = create(size.width, size.height, getTileSize());
+        final TileStore target = result.store;
+        final long maxRegion = 4L * getTileSize() * getTileSize();
+
+        try {
+            IntStream.range(0, target.tilesX * target.tilesY).parallel()
+                    .forEach(i -> applyTo(result, operation,
+                            target.tileBounds(i % target.tilesX, i / target.tilesX),
+                            maxRegion));
+        } catch (RuntimeException e) {
+            result.close();
+            throw e;
+        }
+        return result;
+    }
+
+    private void applyTo(TiledImage result, TileOperation operation,
+            Rectangle target, long maxRegion) {
+
+        final Rectangle region = operation.getSourceRegion(
+                target, getWidth(), getHeight());
+
+        if ((long) region.width * region.height > maxRegion
+                && (target.width > 1 || target.height > 1)) {
+
+            // rozdělení na poloviny podle delší strany
+            if (target.width >= target.height) {
+                final int half = target.width / 2;
+                applyTo(result, operation, new Rectangle(
+                        target.x, target.y, half, target.height), maxRegion);
+                applyTo(result, operation, new Rectangle(
+                        target.x + half, target.y, target.width - half,
+                        target.height), maxRegion);
+            } else {
+                final int half = target.height / 2;
+                applyTo(result, operation, new Rectangle(
+                        target.x, target.y, target.width, half), maxRegion);
+                applyTo(result, operation, new Rectangle(
+                        target.x, target.y + half, target.width,
+                        target.height - half), maxRegion);
+            }
+            return;
+        }
+
+        final BufferedImage output = operation.apply(getRegion(region), region,
+                target, getWidth(), getHeight());
+        result.setRegion(target.x, target.y, output);
+    }
+
+    /**
+     * Změní velikost obrázku. Při velkém zmenšení je obrázek nejprve
+     * opakovaně zmenšen na polovinu, mezivýsledky jsou uloženy v dočasných
+     * souborech.
+     *
+     * @param width šířka výsledku
+     * @param height výška výsledku
+     * @param filter filtr
+     * @return nový obrázek
+     * @throws IOException chyba při vytváření dočasného souboru
+     * @see Resampler
+     */
+    public TiledImage resize(int width, int height, Resampler.Filter filter)
+            throws IOException {
+
+        TiledImage current = this;
+        try {
+            if (filter != Resampler.Filter.NEAREST) {
+                while (current.getWidth() >= 2 * width
+                        && current.getHeight() >= 2 * height) {
+
+                    TiledImage half = current.apply(TileOperation.halve());
+                    if (current != this) current.close();
+                    current = half;
+                }
+            }
+
+            TiledImage result = current.apply(
+                    TileOperation.resize(width, height, filter));
+            if (current != this) current.close();
+            return result;
+
+        } catch (IOException | RuntimeException e) {
+            if (current != this) current.close();
+            throw e;
+        }
+    }
+
+    // --- zápis
+
+    /**
+     * Zapíše obrázek do souboru.
+     *
+     * @param formatName název formátu (např. <code>"png"</code>)
+     * @param path soubor
+     * @throws IOException chyba při zápisu nebo nepodporovaný formát
+     * @see #asRenderedImage()
+     */
+    public void write(String formatName, Path path) throws IOException {
+        if (!ImageIO.write(asRenderedImage(), formatName, path.toFile()))
+            throw new IOException("Unsupported image format: " + formatName);
+    }
+
+    /**
+     * Vrátí pohled na obrázek jako {@link RenderedImage}. Data jsou
+     * z úložiště kopírována až při vyžádání oblasti nebo dlaždice, celý
+     * obrázek je v paměti jen při volání {@link RenderedImage#getData()}.
+     *
+     * @return pohled na obrázek
+     */
+    public RenderedImage asRenderedImage() {
+        return new View();
+    }
+
+    /**
+     * Smaže dočasný soubor.
+     *
+     * @throws IOException chyba při zavírání
+     */
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+
+    /**
+     * Pohled na obrázek jako {@link RenderedImage}, dlaždice odpovídají
+     * dlaždicím úložiště.
+     */
+    private final class View implements RenderedImage {
+
+        private final ColorModel colorModel = ColorModel.getRGBdefault();
+
+        @Override
+        public Vector<RenderedImage> getSources() {
+            return null;
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return java.awt.Image.UndefinedProperty;
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            return null;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return colorModel;
+        }
+
+        @Override
+        public SampleModel getSampleModel() {
+            return colorModel.createCompatibleSampleModel(
+                    store.tileSize, store.tileSize);
+        }
+
+        @Override public int getWidth()  { return store.width; }
+        @Override public int getHeight() { return store.height; }
+        @Override public int getMinX() { return 0; }
+        @Override public int getMinY() { return 0; }
+        @Override public int getNumXTiles() { return store.tilesX; }
+        @Override public int getNumYTiles() { return store.tilesY; }
+        @Override public int getMinTileX() { return 0; }
+        @Override public int getMinTileY() { return 0; }
+        @Override public int getTileWidth()  { return store.tileSize; }
+        @Override public int getTileHeight() { return store.tileSize; }
+        @Override public int getTileGridXOffset() { return 0; }
+        @Override public int getTileGridYOffset() { return 0; }
+
+        @Override
+        public Raster getTile(int tileX, int tileY) {
+            return getData(store.tileBounds(tileX, tileY));
+        }
+
+        @Override
+        public Raster getData() {
+            return getData(new Rectangle(0, 0, store.width, store.height));
+        }
+
+        @Override
+        public Raster getData(Rectangle rect) {
+            final Rectangle region = rect.intersection(
+                    new Rectangle(0, 0, store.width, store.height));
+            if (region.isEmpty())
+                throw new IllegalArgumentException("Region outside image");
+
+            final int[] data = new int[region.width * region.height];
+            store.read(region, data, 0, region.width);
+
+            return Raster.createWritableRaster(
+                    colorModel.createCompatibleSampleModel(region.width, region.height),
+                    new DataBufferInt(data, data.length),
+                    new Point(region.x, region.y));
+        }
+
+        @Override
+        public WritableRaster copyData(WritableRaster raster) {
+            if (raster == null) {
+                raster = colorModel.createCompatibleWritableRaster(
+                        store.width, store.height);
+            }
+
+            final Rectangle region = raster.getBounds().intersection(
+                    new Rectangle(0, 0, store.width, store.height));
+
+            for (int y = region.y; y < region.y + region.height; y += store.tileSize) {
+                final int rows = Math.min(store.tileSize, region.y + region.height - y);
+                raster.setRect(getData(new Rectangle(region.x, y, region.width, rows)));
+            }
+            return raster;
+        }
+
+    }
+
+}
@@ -3,21 +3,46 @@ package cz.hartrik.common.ui.swing;
 import cz.hartrik.common.io.BufferedImageUtil;
 import cz.hartrik.common.io.ImageUtil;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.TexturePaint;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URL;
 import javax.swing.JPanel;
 
 /**
- * Panel, který na sobě zobrazuje určitou texturu.
+ * Panel, který na sobě zobrazuje určitou texturu. Způsob vykreslování lze
+ * zvolit metodou {@link #setPaintMode(PaintMode)}; žádný z nich nevytváří
+ * při překreslení nové obrázky.
  *
- * @version 1.1 /2013-06-23
+ * @version 1.2 /2026-10-17
  * @author Patrik Harag
  */
 public class TexturePanel extends JPanel {
 
+    /** Způsob vykreslení textury. */
+    public enum PaintMode {
+        /**
+         * Vyskládaná textura se uchovává v obrázku, který se znovu vytvoří
+         * jen při zvětšení panelu. Vykreslení je jediné kopírování obrázku,
+         * za cenu paměti odpovídající velikosti panelu.
+         */
+        CACHED_IMAGE,
+
+        /** Vyplnění překreslované oblasti pomocí {@link TexturePaint}. */
+        TEXTURE_PAINT,
+
+        /** Vykreslení jen těch dlaždic, které zasahují do překreslované oblasti. */
+        TILES
+    }
+    
     private BufferedImage image;
+    private PaintMode paintMode = PaintMode.CACHED_IMAGE;
+    
+    private BufferedImage background;
+    private TexturePaint texturePaint;
     
     /**
      * Vytvoří panel vyplněný texturou.
@@ -45,7 +70,7 @@ public class TexturePanel extends JPanel {
      * @param texture textura, která bude vyplňovat panel
      */
     public TexturePanel(Image texture) {
-        this.image = ImageUtil.toBufferedImage(texture);
+        initTexture(texture);
     }
     
     private static BufferedImage loadImage(URL resource) throws RuntimeException {
@@ -56,11 +81,115 @@ public class TexturePanel extends JPanel {
         }
     }
     
+    // --- nastavení
+    
+    public BufferedImage getTexture() {
+        return image;
+    }
+    
+    /**
+     * Nastaví novou texturu a panel překreslí.
+     * 
+     * @param texture textura, která bude vyplňovat panel
+     */
+    public void setTexture(Image texture) {
+        initTexture(texture);
+        repaint();
+    }
+    
+    // volá se i z konstruktoru, proto nesmí být přepsatelná
+    private void initTexture(Image texture) {
+        this.image = ImageUtil.toBufferedImage(texture);
+        this.background = null;
+        this.texturePaint = null;
+    }
+    
+    public PaintMode getPaintMode() {
+        return paintMode;
+    }
+    
+    /**
+     * Nastaví způsob vykreslování textury. Paměť obsazená předchozím
+     * způsobem se uvolní.
+     * 
+     * @param paintMode způsob vykreslování
+     */
+    public void setPaintMode(PaintMode paintMode) {
+        this.paintMode = paintMode;
+        this.background = null;
+        this.texturePaint = null;
+        repaint();
+    }
+    
+    // --- vykreslování
+    
     @Override
     public void paintComponent(Graphics g) {
-        BufferedImage background = BufferedImageUtil
-                .createTiledImage(image, getWidth(), getHeight());
-        g.drawImage(background, 0, 0, null);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        
+        switch (paintMode) {
+            case TEXTURE_PAINT:
+                paintTexture(g, clip);
+                break;
+            case TILES:
+                paintTiles(g, clip);
+                break;
+            default:
+                paintCached(g, clip);
+        }
     }
-
+    
+    private void paintCached(Graphics g, Rectangle clip) {
+        final int w = getWidth();
+        final int h = getHeight();
+        if (w <= 0 || h <= 0) return;
+        
+        if (background == null
+                || background.getWidth() < w || background.getHeight() < h) {
+            
+            // při zvětšení se obrázek zvětší s rezervou, aby se při plynulé
+            // změně velikosti okna nevytvářel při každém překreslení
+            final int bw = Math.max(w, (background == null) ? 0 : background.getWidth());
+            final int bh = Math.max(h, (background == null) ? 0 : background.getHeight());
+            background = BufferedImageUtil.createTiledImage(
+                    image, bw + bw / 4, bh + bh / 4);
+        }
+        
+        final int x1 = Math.min(clip.x + clip.width, w);
+        final int y1 = Math.min(clip.y + clip.height, h);
+        g.drawImage(background, clip.x, clip.y, x1, y1,
+                clip.x, clip.y, x1, y1, null);
+    }
+    
+    private void paintTexture(Graphics g, Rectangle clip) {
+        if (texturePaint == null) {
+            texturePaint = new TexturePaint(image,
+                    new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+        }
+        
+        // kopie, aby nastavená výplň nezůstala v grafickém kontextu
+        final Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setPaint(texturePaint);
+            g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+        } finally {
+            g2.dispose();
+        }
+    }
+    
+    private void paintTiles(Graphics g, Rectangle clip) {
+        final int tw = image.getWidth();
+        final int th = image.getHeight();
+        
+        final int x0 = Math.floorDiv(clip.x, tw) * tw;
+        final int y0 = Math.floorDiv(clip.y, th) * th;
+        for (int y = y0; y < clip.y + clip.height; y += th) {
+            for (int x = x0; x < clip.x + clip.width; x += tw) {
+                g.drawImage(image, x, y, null);
+            }
+        }
+    }
+    
 }
\ No newline at end of file
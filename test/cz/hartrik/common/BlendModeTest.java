@@ -0,0 +1,160 @@
+package cz.hartrik.common;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class BlendModeTest {
+
+    /** Odchylka přednásobených složek od referenčního výpočtu. */
+    private static final double TOLERANCE = 1;
+
+    @Test
+    public void literals() {
+        assertEquals(0, BlendMode.CLEAR.composite(0xFF123456, 0xFF654321));
+        assertEquals(0x80123456, BlendMode.SRC.composite(0x80123456, 0xFF654321));
+        assertEquals(0xFF654321, BlendMode.DST.composite(0x80123456, 0xFF654321));
+        assertEquals(0xFF80007F, BlendMode.SRC_OVER.composite(0x80FF0000, 0xFF0000FF));
+        assertEquals(0xFF0000FF, BlendMode.DST_OVER.composite(0x80FF0000, 0xFF0000FF));
+        assertEquals(0x40FF0000, BlendMode.SRC_IN.composite(0x80FF0000, 0x800000FF));
+        assertEquals(0x00000000, BlendMode.SRC_OUT.composite(0x80FF0000, 0xFF0000FF));
+        assertEquals(0x7F0000FF, BlendMode.DST_OUT.composite(0x80FF0000, 0xFF0000FF));
+        assertEquals(0xFFFFFF00, BlendMode.PLUS.composite(0xFFFF0000, 0xFF00FF00));
+
+        assertEquals(0xFF800000, BlendMode.MULTIPLY.composite(0xFF808080, 0xFFFF0000));
+        assertEquals(0xFFFF8080, BlendMode.SCREEN.composite(0xFF808080, 0xFFFF0000));
+        assertEquals(0xFFFFFFFF, BlendMode.SCREEN.composite(0xFFFFFFFF, 0xFF000000));
+        assertEquals(0xFF404040, BlendMode.OVERLAY.composite(0xFF808080, 0xFF404040));
+    }
+
+    @Test
+    public void allModes_matchReference() {
+        Random random = new Random(42);
+        for (BlendMode mode : BlendMode.values()) {
+            for (int i = 0; i < 20_000; i++) {
+                int src = PackedColors.premultiply(random.nextInt());
+                int dst = PackedColors.premultiply(random.nextInt());
+
+                double[] expected = reference(mode, src, dst);
+                int actual = mode.compositePremultiplied(src, dst);
+
+                for (int k = 0; k < 4; k++) {
+                    int component = (actual >>> (24 - 8 * k)) & 0xFF;
+                    assertEquals(mode + " " + Integer.toHexString(src)
+                            + " " + Integer.toHexString(dst),
+                            expected[k], component, TOLERANCE);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void srcOver_matchesCompositor() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int dst = random.nextInt() | 0xFF000000;
+            int src = random.nextInt();
+
+            int expected = Compositor.blend(dst, src);
+            int actual = BlendMode.SRC_OVER.composite(src, dst);
+
+            assertEquals(0xFF, PackedColors.alpha(actual));
+            for (int shift = 0; shift <= 16; shift += 8) {
+                assertEquals(Integer.toHexString(src) + " " + Integer.toHexString(dst),
+                        (expected >> shift) & 0xFF, (actual >> shift) & 0xFF, 1);
+            }
+        }
+    }
+
+    @Test
+    public void bulk_matchesSingle() {
+        Random random = new Random(42);
+        int[] src = random.ints(1000).toArray();
+        int[] dst = random.ints(1000).toArray();
+        int[] result = dst.clone();
+
+        BlendMode.OVERLAY.composite(src, 0, result, 0, src.length);
+        for (int i = 0; i < src.length; i++)
+            assertEquals(BlendMode.OVERLAY.composite(src[i], dst[i]), result[i]);
+    }
+
+    // --- referenční výpočet podle specifikace, v plovoucí řádové čárce
+
+    private static double[] reference(BlendMode mode, int src, int dst) {
+        double as = (src >>> 24) / 255.0;
+        double ad = (dst >>> 24) / 255.0;
+
+        double[] result = new double[4];
+        for (int k = 1; k < 4; k++) {
+            double cs = ((src >>> (24 - 8 * k)) & 0xFF) / 255.0;
+            double cd = ((dst >>> (24 - 8 * k)) & 0xFF) / 255.0;
+            result[k] = component(mode, cs, cd, as, ad);
+        }
+
+        result[0] = component(mode, as, ad, as, ad);
+        if (isSeparable(mode))
+            result[0] = as + ad - as * ad;
+
+        for (int k = 0; k < 4; k++)
+            result[k] = Math.max(0, Math.min(255, result[k] * 255));
+
+        double a = result[0];
+        for (int k = 1; k < 4; k++)
+            result[k] = Math.min(result[k], a);
+
+        return result;
+    }
+
+    private static boolean isSeparable(BlendMode mode) {
+        return mode == BlendMode.MULTIPLY || mode == BlendMode.SCREEN
+                || mode == BlendMode.OVERLAY;
+    }
+
+    /** Přednásobená složka výsledku. */
+    private static double component(BlendMode mode,
+            double cs, double cd, double as, double ad) {
+
+        switch (mode) {
+            case CLEAR:    return 0;
+            case SRC:      return cs;
+            case DST:      return cd;
+            case SRC_OVER: return cs + cd * (1 - as);
+            case DST_OVER: return cs * (1 - ad) + cd;
+            case SRC_IN:   return cs * ad;
+            case DST_IN:   return cd * as;
+            case SRC_OUT:  return cs * (1 - ad);
+            case DST_OUT:  return cd * (1 - as);
+            case SRC_ATOP: return cs * ad + cd * (1 - as);
+            case DST_ATOP: return cs * (1 - ad) + cd * as;
+            case XOR:      return cs * (1 - ad) + cd * (1 - as);
+            case PLUS:     return cs + cd;
+        }
+
+        // oddělitelné režimy: cs (1 - ad) + cd (1 - as) + as ad B(Cs, Cd)
+        double us = (as == 0) ? 0 : cs / as;
+        double ud = (ad == 0) ? 0 : cd / ad;
+        double blended;
+        switch (mode) {
+            case MULTIPLY:
+                blended = us * ud;
+                break;
+            case SCREEN:
+                blended = us + ud - us * ud;
+                break;
+            case OVERLAY:
+                blended = (ud <= 0.5)
+                        ? 2 * us * ud
+                        : us + (2 * ud - 1) - us * (2 * ud - 1);
+                break;
+            default:
+                throw new AssertionError(mode);
+        }
+        return cs * (1 - ad) + cd * (1 - as) + as * ad * blended;
+    }
+
+}
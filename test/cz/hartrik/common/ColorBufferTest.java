@@ -0,0 +1,156 @@
+package cz.hartrik.common;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorBufferTest {
+
+    @Test
+    public void newBufferIsTransparent() {
+        ColorBuffer buffer = new ColorBuffer(5);
+        assertEquals(5, buffer.size());
+        for (int i = 0; i < 5; i++)
+            assertEquals(0, buffer.getARGB(i));
+
+        assertEquals(0, new ColorBuffer(0).size());
+    }
+
+    @Test
+    public void getAndSet() {
+        ColorBuffer buffer = new ColorBuffer(3);
+        buffer.setARGB(0, 0x80FF7F01);
+        buffer.set(1, Color.createARGB(0x12345678));
+        buffer.setARGB(2, 0xFFFFFFFF);
+
+        assertEquals(0x80FF7F01, buffer.getARGB(0));
+        assertEquals(0x12345678, buffer.getARGB(1));
+        assertEquals(0x12345678, buffer.get(1).getARGB());
+        assertEquals(0xFFFFFFFF, buffer.getARGB(2));
+
+        buffer.fill(0x7F000000);
+        for (int i = 0; i < 3; i++)
+            assertEquals(0x7F000000, buffer.getARGB(i));
+    }
+
+    @Test
+    public void factories() {
+        ColorBuffer buffer = ColorBuffer.of(
+                Color.createARGB(0xFF102030), Color.createARGB(0x00123456));
+        assertEquals(2, buffer.size());
+        assertEquals(0xFF102030, buffer.getARGB(0));
+        assertEquals(0x00123456, buffer.getARGB(1));
+
+        int[] argb = { 1, 2, 3 };
+        ColorBuffer copy = ColorBuffer.ofARGB(argb);
+        argb[0] = 42;  // buffer drží vlastní kopii
+        assertEquals(1, copy.getARGB(0));
+    }
+
+    @Test
+    public void bulkTransferWithOffsets() {
+        ColorBuffer buffer = new ColorBuffer(10);
+        buffer.put(3, new int[] { 9, 9, 0xA, 0xB, 0xC, 9 }, 2, 3);
+
+        assertEquals(0, buffer.getARGB(2));
+        assertEquals(0xA, buffer.getARGB(3));
+        assertEquals(0xB, buffer.getARGB(4));
+        assertEquals(0xC, buffer.getARGB(5));
+        assertEquals(0, buffer.getARGB(6));
+
+        int[] dst = new int[7];
+        buffer.get(2, dst, 1, 5);
+        assertArrayEquals(new int[] { 0, 0, 0xA, 0xB, 0xC, 0, 0 }, dst);
+
+        // okraje bufferu
+        buffer.put(0, new int[] { 1 }, 0, 1);
+        buffer.put(9, new int[] { 2 }, 0, 1);
+        buffer.get(0, dst, 0, 0);
+        buffer.get(10, dst, 0, 0);
+        assertEquals(1, buffer.getARGB(0));
+        assertEquals(2, buffer.getARGB(9));
+    }
+
+    @Test
+    public void boundsChecks() {
+        ColorBuffer buffer = new ColorBuffer(4);
+        int[] array = new int[10];
+
+        assertOutOfBounds(() -> buffer.getARGB(-1));
+        assertOutOfBounds(() -> buffer.getARGB(4));
+        assertOutOfBounds(() -> buffer.setARGB(4, 0));
+        assertOutOfBounds(() -> buffer.get(-1, array, 0, 1));
+        assertOutOfBounds(() -> buffer.get(3, array, 0, 2));
+        assertOutOfBounds(() -> buffer.get(0, array, 0, -1));
+        assertOutOfBounds(() -> buffer.put(5, array, 0, 0));
+        assertOutOfBounds(() -> buffer.put(2, array, 0, 3));
+        assertOutOfBounds(() -> buffer.get(0, array, 9, 2));
+        assertOutOfBounds(() -> buffer.put(0, array, -1, 1));
+
+        try {
+            new ColorBuffer(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // očekáváno
+        }
+    }
+
+    @Test
+    public void byteOrder() {
+        ColorBuffer buffer = ColorBuffer.ofARGB(0x11223344, 0x55667788);
+
+        ByteBuffer bytes = buffer.asByteBuffer();
+        assertTrue(bytes.isDirect());
+        assertEquals(ByteOrder.nativeOrder(), bytes.order());
+        assertEquals(8, bytes.capacity());
+        assertEquals(0x11223344, bytes.getInt(0));
+        assertEquals(0x55667788, bytes.getInt(4));
+
+        // surové bajty v nativním pořadí
+        byte first = (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN)
+                ? (byte) 0x44 : (byte) 0x11;
+        assertEquals(first, bytes.get(0));
+        assertEquals(0x11223344, Integer.reverseBytes(
+                bytes.duplicate().order(opposite(bytes.order())).getInt(0)));
+    }
+
+    @Test
+    public void viewsShareData() {
+        ColorBuffer buffer = new ColorBuffer(2);
+
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.put(1, 0xCAFEBABE);
+        assertEquals(0xCAFEBABE, buffer.getARGB(1));
+
+        buffer.asByteBuffer().putInt(0, 0x01020304);
+        assertEquals(0x01020304, buffer.getARGB(0));
+
+        // pohledy mají vlastní pozici
+        ints.position(2);
+        assertEquals(0, buffer.asIntBuffer().position());
+    }
+
+    // --- pomocné metody
+
+    private static ByteOrder opposite(ByteOrder order) {
+        return (order == ByteOrder.BIG_ENDIAN)
+                ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+
+    private static void assertOutOfBounds(Runnable action) {
+        try {
+            action.run();
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // očekáváno
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package cz.hartrik.common;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorCacheTest {
+
+    private boolean enabled;
+
+    @Before
+    public void setUp() {
+        enabled = ColorCache.isEnabled();
+        ColorCache.setCapacity(ColorCache.DEFAULT_CAPACITY);
+        ColorCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        ColorCache.setEnabled(enabled);
+        ColorCache.clear();
+    }
+
+    @Test
+    public void hitsAndMisses() {
+        ColorCache.setEnabled(true);
+
+        Color first = Color.createARGB(0x80123456);
+        assertEquals(0, ColorCache.getHits());
+        assertEquals(1, ColorCache.getMisses());
+
+        assertSame(first, Color.createARGB(0x80123456));
+        assertEquals(1, ColorCache.getHits());
+        assertEquals(1, ColorCache.getMisses());
+
+        ColorCache.resetStatistics();
+        assertEquals(0, ColorCache.getHits() + ColorCache.getMisses());
+    }
+
+    @Test
+    public void constantsAreCanonical() {
+        assertSame(WebColors.CORNFLOWER_BLUE,
+                ColorCache.valueOf(WebColors.CORNFLOWER_BLUE.getARGB()));
+        assertEquals(1, ColorCache.getHits());
+    }
+
+    @Test
+    public void gray() {
+        ColorCache.setEnabled(true);
+
+        Color gray = ColorCache.gray(0x2A);
+        assertEquals(0xFF2A2A2A, gray.getARGB());
+        assertSame(gray, ColorCache.gray(0x2A));
+        assertSame(gray, Color.createGray(0x2A));
+        assertSame(gray, Color.createARGB(0xFF2A2A2A));
+        assertEquals(4, ColorCache.getHits());
+        assertEquals(0, ColorCache.getMisses());
+    }
+
+    @Test
+    public void disabled() {
+        ColorCache.setEnabled(false);
+
+        Color color = Color.createARGB(0x80123456);
+        assertNotSame(color, Color.createARGB(0x80123456));
+        assertEquals(color, Color.createARGB(0x80123456));
+        assertNotSame(Color.createGray(7), Color.createGray(7));
+        assertEquals(0, ColorCache.getHits() + ColorCache.getMisses());
+    }
+
+    @Test
+    public void invalidSizePropertyIsIgnored() {
+        String previous = System.getProperty(ColorCache.PROPERTY_SIZE);
+        try {
+            for (String value : new String[] { "0", "-5", "abc" }) {
+                System.setProperty(ColorCache.PROPERTY_SIZE, value);
+                assertEquals(ColorCache.DEFAULT_CAPACITY, ColorCache.initialCapacity());
+            }
+
+            System.setProperty(ColorCache.PROPERTY_SIZE, "2147483647");
+            assertEquals(ColorCache.MAX_CAPACITY, ColorCache.initialCapacity());
+        } finally {
+            if (previous == null)
+                System.clearProperty(ColorCache.PROPERTY_SIZE);
+            else
+                System.setProperty(ColorCache.PROPERTY_SIZE, previous);
+        }
+    }
+
+    @Test
+    public void capacity() {
+        ColorCache.setCapacity(1000);
+        assertEquals(1024, ColorCache.getCapacity());
+
+        ColorCache.setCapacity(Integer.MAX_VALUE);
+        assertEquals(ColorCache.MAX_CAPACITY, ColorCache.getCapacity());
+    }
+
+}
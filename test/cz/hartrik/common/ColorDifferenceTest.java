@@ -0,0 +1,80 @@
+package cz.hartrik.common;
+
+import org.junit.Test;
+
+import static cz.hartrik.common.ColorDifference.CIE76;
+import static cz.hartrik.common.ColorDifference.CIEDE2000;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorDifferenceTest {
+
+    // Sharma, Wu, Dalal: The CIEDE2000 Color-Difference Formula
+    private static final float[][] SHARMA = {
+        { 50.0000f,   2.6772f, -79.7751f,  50.0000f,   0.0000f, -82.7485f,  2.0425f },
+        { 50.0000f,   0.0000f,   0.0000f,  50.0000f,  -1.0000f,   2.0000f,  2.3669f },
+        { 50.0000f,   2.5000f,   0.0000f,  73.0000f,  25.0000f, -18.0000f, 27.1492f },
+        { 60.2574f, -34.0099f,  36.2677f,  60.4626f, -34.1751f,  39.4387f,  1.2644f },
+        { 22.7233f,  20.0904f, -46.6940f,  23.0331f,  14.9730f, -42.5619f,  2.0373f },
+    };
+
+    @Test
+    public void testCIEDE2000() {
+        for (float[] row : SHARMA) {
+            double difference = ColorDifference.CIEDE2000.difference(
+                    row[0], row[1], row[2], row[3], row[4], row[5]);
+            assertEquals(row[6], difference, 1e-3);
+        }
+    }
+
+    @Test
+    public void testSymmetric() {
+        Color c1 = new Color(200, 30, 40);
+        Color c2 = new Color(20, 130, 240);
+
+        for (ColorDifference metric : ColorDifference.values())
+            assertEquals(0, metric.difference(c1, c1), 1e-9);
+
+        // CIE94 symetrická není, první barva je referenční
+        for (ColorDifference metric : new ColorDifference[] { CIE76, CIEDE2000 })
+            assertEquals(metric.difference(c1, c2), metric.difference(c2, c1), 1e-4);
+    }
+
+    @Test
+    public void testBulk() {
+        // nad prahem paralelizace a přes více bloků, s posunutými indexy
+        final int length = ColorDifference.PARALLEL_THRESHOLD
+                + ColorDifference.CHUNK_SIZE + 1;
+        final int offset1 = 3, offset2 = 5, outOffset = 7;
+
+        int[] argb1 = new int[offset1 + length];
+        int[] argb2 = new int[offset2 + length];
+        for (int i = 0; i < length; i++) {
+            argb1[offset1 + i] = i * 0x010307;
+            argb2[offset2 + i] = i * 0x07f301;
+        }
+
+        for (ColorDifference metric : ColorDifference.values()) {
+            double[] serial = new double[outOffset + length];
+            double[] parallel = new double[outOffset + length];
+            metric.difference(argb1, offset1, argb2, offset2, serial, outOffset, length);
+            metric.differenceParallel(argb1, offset1, argb2, offset2, parallel, outOffset, length);
+
+            for (int i = 0; i < length; i++) {
+                double expected = metric.difference(argb1[offset1 + i], argb2[offset2 + i]);
+                assertEquals(expected, serial[outOffset + i], 0);
+                assertEquals(expected, parallel[outOffset + i], 0);
+            }
+            for (int i = 0; i < outOffset; i++)
+                assertEquals(0, parallel[i], 0);
+
+            double[] matrix = metric.matrix(
+                    new int[] { argb1[5], argb1[7] }, new int[] { argb2[1], argb2[2], argb2[3] });
+            assertEquals(metric.difference(argb1[7], argb2[3]), matrix[5], 0);
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package cz.hartrik.common;
+
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorQuantizerTest {
+
+    private static final ColorQuantizer[] QUANTIZERS = {
+        ColorQuantizer.octree(), ColorQuantizer.medianCut()
+    };
+
+    @Test
+    public void histogram() {
+        int[] colors = { 0xFF000000, 0xFF060000, 0xFF0A0000, 0x00FFFFFF };
+        ColorHistogram histogram = ColorHistogram.of(colors, 0, colors.length);
+
+        assertEquals(4, histogram.getTotal());
+        assertEquals(3, histogram.getUsedBins());
+        assertEquals(2, histogram.getCount(ColorHistogram.bin(0xFF000000)));
+        assertEquals(0xFF030000, histogram.getMean(ColorHistogram.bin(0xFF000000)));
+        assertEquals(0xFF0A0000, histogram.getMean(ColorHistogram.bin(0xFF080000)));
+        assertEquals(0xFF848484, histogram.getMean(ColorHistogram.bin(0xFF808080)));
+
+        histogram.combine(histogram);
+        assertEquals(8, histogram.getTotal());
+
+        BufferedImage image = randomImage(300, 250, 1 << 24, new Random(42));
+        ColorHistogram parallel = ColorHistogram.of(image);
+        ColorHistogram serial = ColorHistogram.of(
+                image.getRGB(0, 0, 300, 250, null, 0, 300), 0, 300 * 250);
+        for (int bin = 0; bin < ColorHistogram.BINS; bin++)
+            assertEquals(serial.getMean(bin), parallel.getMean(bin));
+    }
+
+    @Test
+    public void paletteSize() {
+        Random random = new Random(42);
+        BufferedImage image = randomImage(200, 150, 1 << 24, random);
+        ColorHistogram histogram = ColorHistogram.of(image);
+
+        for (ColorQuantizer quantizer : QUANTIZERS) {
+            for (int colors : new int[] { 1, 2, 7, 16, 100, 256 }) {
+                Color[] palette = quantizer.palette(histogram, colors);
+                assertTrue(palette.length >= 1);
+                assertTrue(palette.length <= colors);
+            }
+        }
+    }
+
+    @Test
+    public void fewColors_reproducedExactly() {
+        // barvy v různých přihrádkách histogramu
+        Random random = new Random(42);
+        int[] colors = new int[12];
+        Set<Integer> bins = new HashSet<>();
+        for (int i = 0; i < colors.length; i++) {
+            do {
+                colors[i] = 0xFF000000 | random.nextInt(1 << 24);
+            } while (!bins.add(ColorHistogram.bin(colors[i])));
+        }
+
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++)
+            for (int x = 0; x < image.getWidth(); x++)
+                image.setRGB(x, y, colors[random.nextInt(colors.length)]);
+
+        for (ColorQuantizer quantizer : QUANTIZERS) {
+            for (int n : new int[] { colors.length, 16, 256 }) {
+                QuantizedImage result = ColorTools.quantize(image, n, quantizer, false);
+                assertEquals(colors.length, result.getPalette().length);
+
+                for (int y = 0; y < image.getHeight(); y++)
+                    for (int x = 0; x < image.getWidth(); x++)
+                        assertEquals(image.getRGB(x, y), result.getColor(x, y).getARGB());
+            }
+        }
+    }
+
+    @Test
+    public void dithering_indicesInRange() {
+        BufferedImage image = randomImage(97, 61, 1 << 24, new Random(42));
+
+        for (ColorQuantizer quantizer : QUANTIZERS) {
+            for (int colors : new int[] { 2, 5, 200, 256 }) {
+                QuantizedImage result = ColorTools.quantize(image, colors, quantizer, true);
+                int size = result.getPalette().length;
+
+                for (int y = 0; y < image.getHeight(); y++) {
+                    for (int x = 0; x < image.getWidth(); x++) {
+                        int index = result.getIndex(x, y);
+                        assertTrue(index >= 0 && index < size);
+                    }
+                }
+
+                BufferedImage indexed = result.toBufferedImage();
+                assertEquals(result.getColor(5, 7).getARGB(), indexed.getRGB(5, 7));
+            }
+        }
+    }
+
+    @Test
+    public void dithering_preservesMeanColor() {
+        // plocha šedé 0x80 s paletou černá + bílá - zhruba polovina bílých
+        BufferedImage image = new BufferedImage(50, 50, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 50; y++)
+            for (int x = 0; x < 50; x++)
+                image.setRGB(x, y, 0xFF808080);
+
+        Color[] palette = { Color.BLACK, Color.WHITE };
+        QuantizedImage plain = QuantizedImage.of(image, palette, false);
+        QuantizedImage dithered = QuantizedImage.of(image, palette, true);
+
+        int white = 0;
+        for (int y = 0; y < 50; y++) {
+            for (int x = 0; x < 50; x++) {
+                assertEquals(plain.getIndex(0, 0), plain.getIndex(x, y));
+                white += dithered.getIndex(x, y);
+            }
+        }
+        assertEquals(2500 * 128 / 255.0, white, 50);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void quantize_invalidColorCount() {
+        ColorTools.quantize(new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB), 257);
+    }
+
+    private static BufferedImage randomImage(int width, int height, int bound,
+            Random random) {
+
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt(bound));
+
+        return image;
+    }
+
+}
@@ -0,0 +1,170 @@
+package cz.hartrik.common;
+
+import cz.hartrik.common.ColorRamp.Interpolation;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorRampTest {
+
+    @Test
+    public void exactValuesAtStops() {
+        Color[] colors = { Color.RED, Color.GREEN, Color.BLUE };
+
+        for (Interpolation interpolation : Interpolation.values()) {
+            // 257 barev - prostřední zarážka leží přesně na indexu 128
+            ColorRamp ramp = ColorRamp.of(colors, 257, interpolation);
+            assertEquals(257, ramp.size());
+            assertEquals(0xFFFF0000, ramp.getARGB(0));
+            assertEquals(0xFF00FF00, ramp.getARGB(128));
+            assertEquals(0xFF0000FF, ramp.getARGB(256));
+
+            assertEquals(0xFFFF0000, ramp.map(0.0));
+            assertEquals(0xFF00FF00, ramp.map(0.5));
+            assertEquals(0xFF0000FF, ramp.map(1.0));
+        }
+    }
+
+    @Test
+    public void linearInterpolation() {
+        ColorRamp ramp = ColorRamp.of(Color.BLACK, Color.WHITE);
+        assertEquals(ColorRamp.DEFAULT_SIZE, ramp.size());
+        for (int i = 0; i < 256; i++)
+            assertEquals(PackedColors.gray(i), ramp.getARGB(i));
+
+        // průhlednost se interpoluje také
+        ColorRamp alpha = ColorRamp.of(new Color[] {
+                Color.createARGB(0x00FF0000), Color.createARGB(0xFF0000FF) },
+                3, Interpolation.LINEAR);
+        assertEquals(0x80800080, alpha.getARGB(1));
+    }
+
+    @Test
+    public void gammaCorrectInterpolation() {
+        ColorRamp ramp = ColorRamp.of(new Color[] { Color.BLACK, Color.WHITE },
+                5, Interpolation.GAMMA_CORRECT);
+
+        // lineární jas 0.25, 0.5, 0.75 -> sRGB
+        int[] expected = { 0, 137, 188, 225, 255 };
+        for (int i = 0; i < 5; i++) {
+            int argb = ramp.getARGB(i);
+            assertEquals(0xFF, PackedColors.alpha(argb));
+            assertEquals(expected[i], PackedColors.red(argb), 1);
+            assertEquals(PackedColors.red(argb), PackedColors.green(argb));
+            assertEquals(PackedColors.red(argb), PackedColors.blue(argb));
+        }
+
+        // uprostřed přechodu je světlejší než lineární interpolace
+        int linear = ColorRamp.of(new Color[] { Color.BLACK, Color.WHITE },
+                5, Interpolation.LINEAR).getARGB(2);
+        assertEquals(0x80, PackedColors.red(linear));
+        assertTrue(PackedColors.red(ramp.getARGB(2)) > 0x80);
+    }
+
+    @Test
+    public void customStops() {
+        ColorRamp ramp = ColorRamp.of(new double[] { 0.25, 0.75 },
+                new Color[] { Color.BLACK, Color.WHITE }, 5, Interpolation.LINEAR);
+
+        // před první a za poslední zarážkou krajní barvy
+        assertEquals(0xFF000000, ramp.getARGB(0));
+        assertEquals(0xFF000000, ramp.getARGB(1));
+        assertEquals(0xFF808080, ramp.getARGB(2));
+        assertEquals(0xFFFFFFFF, ramp.getARGB(3));
+        assertEquals(0xFFFFFFFF, ramp.getARGB(4));
+    }
+
+    @Test
+    public void duplicateStops() {
+        // skok z černé na bílou v polovině
+        ColorRamp ramp = ColorRamp.of(new double[] { 0, 0.5, 0.5, 1 },
+                new Color[] { Color.BLACK, Color.BLACK, Color.WHITE, Color.WHITE },
+                101, Interpolation.LINEAR);
+
+        for (int i = 0; i <= 50; i++)
+            assertEquals(0xFF000000, ramp.getARGB(i));
+        for (int i = 51; i <= 100; i++)
+            assertEquals(0xFFFFFFFF, ramp.getARGB(i));
+    }
+
+    @Test
+    public void domainAndClamping() {
+        ColorRamp ramp = ColorRamp.of(Color.BLACK, Color.WHITE).domain(-10, 10);
+        assertEquals(-10, ramp.getMin(), 0);
+        assertEquals(10, ramp.getMax(), 0);
+
+        assertEquals(0xFF000000, ramp.map(-10.0));
+        assertEquals(0xFF808080, ramp.map(0.0));
+        assertEquals(0xFFFFFFFF, ramp.map(10.0));
+        assertEquals(0xFF808080, ramp.map(0));
+
+        // mimo rozsah
+        assertEquals(0xFF000000, ramp.map(-11.0));
+        assertEquals(0xFF000000, ramp.map(Double.NEGATIVE_INFINITY));
+        assertEquals(0xFFFFFFFF, ramp.map(1e300));
+        assertEquals(0xFFFFFFFF, ramp.map(Integer.MAX_VALUE));
+        assertEquals(0xFF000000, ramp.map(Double.NaN));
+        assertEquals(Color.WHITE, ramp.mapColor(100));
+    }
+
+    @Test
+    public void bulkMapping() {
+        ColorRamp ramp = ColorRamp.of(Color.BLACK, Color.WHITE).domain(0, 255);
+
+        int[] values = { 7, 0, 128, 255, 300, 7 };
+        int[] out = new int[6];
+        ramp.map(values, 1, out, 2, 4);
+        assertArrayEquals(new int[] {
+                0, 0, 0xFF000000, 0xFF808080, 0xFFFFFFFF, 0xFFFFFFFF }, out);
+
+        // výstup do vstupního pole
+        ramp.map(values, values);
+        assertEquals(0xFF070707, values[0]);
+
+        double[] doubles = { -1, 63.75 };
+        int[] colors = new int[2];
+        ramp.map(doubles, colors);
+        assertArrayEquals(new int[] { 0xFF000000, 0xFF404040 }, colors);
+    }
+
+    @Test
+    public void tableIsCopied() {
+        ColorRamp ramp = ColorRamp.of(Color.BLACK, Color.WHITE);
+        int[] table = ramp.toArray();
+        table[0] = 0x12345678;
+        assertEquals(0xFF000000, ramp.getARGB(0));
+    }
+
+    @Test
+    public void invalidInput() {
+        Color[] two = { Color.BLACK, Color.WHITE };
+
+        assertInvalid(() -> ColorRamp.of());
+        assertInvalid(() -> ColorRamp.of(Color.RED));
+        assertInvalid(() -> ColorRamp.of(two, 1, Interpolation.LINEAR));
+        assertInvalid(() -> ColorRamp.of(two, 0, Interpolation.LINEAR));
+        assertInvalid(() -> ColorRamp.of(new double[] { 0 }, two,
+                16, Interpolation.LINEAR));
+        assertInvalid(() -> ColorRamp.of(new double[] { 0.6, 0.4 }, two,
+                16, Interpolation.LINEAR));
+        assertInvalid(() -> ColorRamp.of(two).domain(1, 1));
+        assertInvalid(() -> ColorRamp.of(two).domain(2, 1));
+        assertInvalid(() -> ColorRamp.of(two).domain(Double.NaN, 1));
+    }
+
+    // --- pomocné metody
+
+    private static void assertInvalid(Runnable action) {
+        try {
+            action.run();
+            fail();
+        } catch (IllegalArgumentException e) {
+            // očekáváno
+        }
+    }
+
+}
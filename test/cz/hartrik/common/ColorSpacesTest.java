@@ -0,0 +1,128 @@
+package cz.hartrik.common;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Porovnává převody s tabulkami s přímými výpočty.
+ *
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorSpacesTest {
+
+    // --- přímé výpočty
+
+    private static double toLinearNaive(int c) {
+        double v = c / 255.0;
+        return (v <= 0.04045) ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int toSRGBNaive(double l) {
+        double v = (l <= 0.0031308) ? l * 12.92 : 1.055 * Math.pow(l, 1 / 2.4) - 0.055;
+        return (int) Math.round(Math.max(0, Math.min(1, v)) * 255);
+    }
+
+    private static double f(double t) {
+        return (t > 216.0 / 24389) ? Math.cbrt(t) : (24389.0 / 27 * t + 16) / 116;
+    }
+
+    private static void toLabNaive(int argb, double[] out) {
+        double r = toLinearNaive(PackedColors.red(argb));
+        double g = toLinearNaive(PackedColors.green(argb));
+        double b = toLinearNaive(PackedColors.blue(argb));
+
+        double fx = f((0.4124564 * r + 0.3575761 * g + 0.1804375 * b) / 0.95047);
+        double fy = f((0.2126729 * r + 0.7151522 * g + 0.0721750 * b));
+        double fz = f((0.0193339 * r + 0.1191920 * g + 0.9503041 * b) / 1.08883);
+
+        out[0] = 116 * fy - 16;
+        out[1] = 500 * (fx - fy);
+        out[2] = 200 * (fy - fz);
+    }
+
+    // --- testy
+
+    @Test
+    public void linear() {
+        for (int c = 0; c < 256; c++) {
+            assertEquals(toLinearNaive(c), ColorSpaces.toLinear(c), 1e-6);
+            assertEquals(c, ColorSpaces.toSRGB(ColorSpaces.toLinear(c)));
+        }
+
+        for (int i = 0; i <= 10_000; i++) {
+            double l = i / 10_000.0;
+            assertEquals(toSRGBNaive(l), ColorSpaces.toSRGB((float) l), 1);
+        }
+    }
+
+    @Test
+    public void lab() {
+        Random random = new Random(42);
+        double[] expected = new double[3];
+        float[] actual = new float[3];
+
+        for (int i = 0; i < 100_000; i++) {
+            int argb = random.nextInt() | 0xFF000000;
+            toLabNaive(argb, expected);
+            ColorSpaces.toLab(argb, actual);
+
+            for (int j = 0; j < 3; j++)
+                assertEquals(expected[j], actual[j], 1e-2);
+
+            int back = ColorSpaces.fromLab(actual[0], actual[1], actual[2], 0xFF);
+            assertEquals(PackedColors.red(argb),   PackedColors.red(back),   1);
+            assertEquals(PackedColors.green(argb), PackedColors.green(back), 1);
+            assertEquals(PackedColors.blue(argb),  PackedColors.blue(back),  1);
+        }
+    }
+
+    @Test
+    public void hsvAndHsl() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            Color color = Color.createARGB(random.nextInt() | 0xFF000000);
+
+            float[] hsv = color.toHSV();
+            float[] hsl = color.toHSL();
+            float[] awt = java.awt.Color.RGBtoHSB(
+                    color.getRed(), color.getGreen(), color.getBlue(), null);
+
+            assertEquals(awt[0] * 360, hsv[0], 1e-2);
+            assertEquals(awt[1], hsv[1], 1e-5);
+            assertEquals(awt[2], hsv[2], 1e-5);
+
+            assertEquals(color, Color.fromHSV(hsv[0], hsv[1], hsv[2]));
+            assertEquals(color, Color.fromHSL(hsl[0], hsl[1], hsl[2]));
+        }
+    }
+
+    @Test
+    public void labBulk() {
+        final int[] data = new Random(42).ints(10_000).toArray();
+        final int offset = 7;
+        final int length = data.length - 2 * offset;
+        final float[] lab = new float[3 * length + 5];
+        final double[] expected = new double[3];
+        final float[] single = new float[3];
+
+        ColorSpaces.toLab(data, offset, lab, 5, length);
+
+        for (int i = 0; i < length; i++) {
+            int argb = data[offset + i];
+            toLabNaive(argb, expected);
+            ColorSpaces.toLab(argb, single);
+
+            for (int j = 0; j < 3; j++) {
+                float actual = lab[5 + 3 * i + j];
+                assertEquals(expected[j], actual, 1e-2);
+                assertEquals(single[j], actual, 0);
+            }
+        }
+        for (int j = 0; j < 5; j++)
+            assertEquals(0, lab[j], 0);
+    }
+
+}
@@ -0,0 +1,180 @@
+package cz.hartrik.common;
+
+import cz.hartrik.common.ColorStatistics.Channel;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorStatisticsTest {
+
+    // alfa 255, 255, 0, 0; červená 10 - 40; zelená 7; modrá 0, 0, 0, 100
+    private static final int[] COLORS = {
+        0xFF0A0700, 0xFF140700, 0x001E0700, 0x00280764
+    };
+
+    @Test
+    public void meanAndVariance() {
+        ColorStatistics stats = ColorStatistics.of(COLORS, 0, COLORS.length);
+        assertEquals(4, stats.getCount());
+
+        assertEquals(127.5, stats.getMean(Channel.ALPHA), 1e-9);
+        assertEquals(25, stats.getMean(Channel.RED), 1e-9);
+        assertEquals(7, stats.getMean(Channel.GREEN), 1e-9);
+        assertEquals(25, stats.getMean(Channel.BLUE), 1e-9);
+
+        assertEquals(127.5 * 127.5, stats.getVariance(Channel.ALPHA), 1e-9);
+        assertEquals(125, stats.getVariance(Channel.RED), 1e-9);
+        assertEquals(0, stats.getVariance(Channel.GREEN), 1e-9);
+        assertEquals(1875, stats.getVariance(Channel.BLUE), 1e-9);
+
+        assertEquals(127.5, stats.getStandardDeviation(Channel.ALPHA), 1e-9);
+        assertEquals(Math.sqrt(125), stats.getStandardDeviation(Channel.RED), 1e-9);
+        assertEquals(0, stats.getStandardDeviation(Channel.GREEN), 1e-9);
+
+        // alfa (510 + 2) / 4 = 128 po zaokrouhlení
+        assertEquals(0x80190719, stats.getMeanARGB());
+        assertEquals(0x80190719, stats.getMean().getARGB());
+    }
+
+    @Test
+    public void minMaxAndHistogram() {
+        ColorStatistics stats = ColorStatistics.of(COLORS, 0, COLORS.length);
+
+        assertEquals(0, stats.getMin(Channel.ALPHA));
+        assertEquals(255, stats.getMax(Channel.ALPHA));
+        assertEquals(10, stats.getMin(Channel.RED));
+        assertEquals(40, stats.getMax(Channel.RED));
+        assertEquals(7, stats.getMin(Channel.GREEN));
+        assertEquals(7, stats.getMax(Channel.GREEN));
+        assertEquals(0, stats.getMin(Channel.BLUE));
+        assertEquals(100, stats.getMax(Channel.BLUE));
+
+        long[] alpha = stats.getHistogram(Channel.ALPHA);
+        assertEquals(256, alpha.length);
+        assertEquals(2, alpha[0]);
+        assertEquals(2, alpha[255]);
+        assertEquals(4, Arrays.stream(alpha).sum());
+
+        long[] green = stats.getHistogram(Channel.GREEN);
+        assertEquals(4, green[7]);
+
+        // vrací se kopie
+        green[7] = 0;
+        assertEquals(4, stats.getHistogram(Channel.GREEN)[7]);
+    }
+
+    @Test
+    public void offsetAndColors() {
+        int[] data = { 0x12345678, COLORS[0], COLORS[1], COLORS[2], COLORS[3], 0 };
+        ColorStatistics fromArray = ColorStatistics.of(data, 1, 4);
+        ColorStatistics fromColors = ColorStatistics.of(
+                Arrays.stream(COLORS).mapToObj(Color::createARGB)
+                        .toArray(Color[]::new));
+
+        assertEquals(4, fromArray.getCount());
+        assertStatisticsEqual(fromArray, fromColors, 0);
+    }
+
+    @Test
+    public void combine() {
+        int[] data = new Random(42).ints(1000).toArray();
+        ColorStatistics all = ColorStatistics.of(data, 0, data.length);
+
+        ColorStatistics first = ColorStatistics.of(data, 0, 300);
+        ColorStatistics second = ColorStatistics.of(data, 300, 700);
+        assertSame(first, first.combine(second));
+        assertStatisticsEqual(all, first, 1e-9);
+
+        // spojení s prázdnou instancí nic nezmění
+        assertStatisticsEqual(all, new ColorStatistics().combine(all), 1e-9);
+        assertStatisticsEqual(all, all.combine(new ColorStatistics()), 1e-9);
+    }
+
+    @Test
+    public void collectorOnParallelStream() {
+        int[] data = new Random(42).ints(100_000).toArray();
+        ColorStatistics expected = ColorStatistics.of(data, 0, data.length);
+
+        List<Color> colors = IntStream.of(data).mapToObj(Color::createARGB)
+                .collect(Collectors.toList());
+        ColorStatistics collected = colors.parallelStream()
+                .collect(ColorStatistics.collector());
+        assertStatisticsEqual(expected, collected, 1e-6);
+
+        ColorStatistics fromInts = IntStream.of(data).parallel().collect(
+                ColorStatistics::new,
+                ColorStatistics::accept,
+                ColorStatistics::combine);
+        assertStatisticsEqual(expected, fromInts, 1e-6);
+    }
+
+    @Test
+    public void image_matchesArray() {
+        // více než jeden pás (BAND_SIZE = 2^18 pixelů)
+        int width = 601;
+        int height = 500;
+        int[] data = new Random(42).ints(width * height).toArray();
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, data, 0, width);
+
+        assertStatisticsEqual(ColorStatistics.of(data, 0, data.length),
+                ColorStatistics.of(image), 1e-6);
+    }
+
+    @Test
+    public void empty() {
+        ColorStatistics stats = ColorStatistics.of(new int[0], 0, 0);
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getHistogram(Channel.RED)[0]);
+
+        assertEmpty(stats::getMean);
+        assertEmpty(stats::getMeanARGB);
+        assertEmpty(() -> stats.getMean(Channel.RED));
+        assertEmpty(() -> stats.getVariance(Channel.RED));
+        assertEmpty(() -> stats.getStandardDeviation(Channel.RED));
+        assertEmpty(() -> stats.getMin(Channel.RED));
+        assertEmpty(() -> stats.getMax(Channel.RED));
+
+        BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        assertEquals(1, ColorStatistics.of(image).getCount());
+    }
+
+    // --- pomocné metody
+
+    private static void assertStatisticsEqual(ColorStatistics expected,
+            ColorStatistics actual, double delta) {
+
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getMeanARGB(), actual.getMeanARGB());
+        for (Channel channel : Channel.values()) {
+            assertEquals(expected.getMean(channel), actual.getMean(channel), delta);
+            assertEquals(expected.getVariance(channel),
+                    actual.getVariance(channel), delta);
+            assertEquals(expected.getMin(channel), actual.getMin(channel));
+            assertEquals(expected.getMax(channel), actual.getMax(channel));
+            assertArrayEquals(expected.getHistogram(channel),
+                    actual.getHistogram(channel));
+        }
+    }
+
+    private static void assertEmpty(Runnable action) {
+        try {
+            action.run();
+            fail();
+        } catch (IllegalStateException e) {
+            // očekáváno
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package cz.hartrik.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ColorToolsTest {
+
+    @Test
+    public void average_componentsAbove127() {
+        // dříve se složky sčítaly jako bajty se znaménkem
+        Color average = ColorTools.average(
+                new Color(200, 250, 130), new Color(250, 200, 140));
+
+        assertEquals(new Color(225, 225, 135), average);
+    }
+
+    @Test
+    public void average_includesAlpha() {
+        Color average = ColorTools.average(
+                new Color(10, 20, 30, 0), new Color(10, 20, 30, 255));
+
+        assertEquals(128, average.getAlpha());
+        assertEquals(new Color(10, 20, 30, 128), average);
+    }
+
+    @Test
+    public void average_rounds() {
+        assertEquals(new Color(128, 2, 1), ColorTools.average(
+                new Color(255, 1, 1), new Color(0, 2, 1)));
+
+        assertEquals(new Color(1, 2, 0), ColorTools.average(
+                new Color(1, 1, 0), new Color(1, 2, 0), new Color(2, 2, 1)));
+    }
+
+    @Test
+    public void average_singleColor() {
+        Color color = new Color(12, 34, 56, 78);
+        assertEquals(color, ColorTools.average(color));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void average_empty() {
+        ColorTools.average();
+    }
+
+}
@@ -0,0 +1,81 @@
+package cz.hartrik.common;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class CompositorTest {
+
+    @Test
+    public void blend_matchesColorBlend() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int background = random.nextInt();
+            int foreground = random.nextInt();
+
+            int expected = PackedColors.blend(background, foreground);
+            int actual = Compositor.blend(background, foreground);
+
+            assertEquals(0xFF, PackedColors.alpha(actual));
+            assertTrue(Math.abs(PackedColors.red(expected)
+                    - PackedColors.red(actual)) <= 1);
+            assertTrue(Math.abs(PackedColors.green(expected)
+                    - PackedColors.green(actual)) <= 1);
+            assertTrue(Math.abs(PackedColors.blue(expected)
+                    - PackedColors.blue(actual)) <= 1);
+        }
+    }
+
+    @Test
+    public void blendParallel_matchesSerial() {
+        final int width = 700, height = 300, scan = 720;
+
+        Random random = new Random(42);
+        int[] background = random.ints(scan * height).toArray();
+        int[] foreground = random.ints(width * height).toArray();
+        int[] expected = background.clone();
+
+        Compositor.blend(expected, 10, scan, foreground, 0, width,
+                width, height);
+        Compositor.blendParallel(background, 10, scan, foreground, 0, width,
+                width, height);
+
+        assertArrayEquals(expected, background);
+    }
+
+    @Test
+    public void blendOverColor_matchesArrayBlend() {
+        final int width = 700, height = 300, scan = 720;
+        final int background = 0xFF336699;
+
+        Random random = new Random(42);
+        int[] foreground = random.ints(width * height).toArray();
+        foreground[0] = 0x00FFFFFF;
+        foreground[1] = 0xFF123456;
+
+        int[] expected = new int[scan * height];
+        for (int y = 0; y < height; y++)
+            Arrays.fill(expected, y * scan, y * scan + width, background);
+        Compositor.blend(expected, 0, scan, foreground, 0, width, width, height);
+
+        int[] actual = new int[scan * height];
+        Compositor.blendParallel(background, foreground, 0, width,
+                actual, 0, scan, width, height);
+
+        assertArrayEquals(expected, actual);
+
+        // výsledek může přepsat popředí
+        Compositor.blendParallel(background, foreground, 0, width,
+                foreground, 0, width, width, height);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                assertEquals(expected[y * scan + x], foreground[y * width + x]);
+    }
+
+}
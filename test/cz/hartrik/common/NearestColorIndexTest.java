@@ -0,0 +1,117 @@
+package cz.hartrik.common;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class NearestColorIndexTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void rgb_matchesBruteForce() {
+        Random random = new Random(42);
+        for (Color[] palette : palettes(random)) {
+            NearestColorIndex index = new NearestColorIndex(palette, false);
+
+            for (int i = 0; i < SAMPLES; i++) {
+                int argb = random.nextInt();
+                int found = index.nearest(argb);
+                int best = bruteForce(palette, argb, false);
+
+                assertEquals(rgbDistance(palette[best].getARGB(), argb),
+                        rgbDistance(palette[found].getARGB(), argb));
+            }
+        }
+    }
+
+    @Test
+    public void lab_closeToBruteForce() {
+        Random random = new Random(42);
+        for (Color[] palette : palettes(random)) {
+            NearestColorIndex index = new NearestColorIndex(palette, true);
+
+            int misses = 0;
+            double maxError = 0;
+            for (int i = 0; i < SAMPLES; i++) {
+                int argb = random.nextInt();
+                int found = index.nearest(argb);
+                int best = bruteForce(palette, argb, true);
+
+                double error = labDistance(palette[found].getARGB(), argb)
+                        - labDistance(palette[best].getARGB(), argb);
+                if (error > 0) {
+                    misses++;
+                    maxError = Math.max(maxError, error);
+                }
+            }
+            // hledání v L*a*b* je jen téměř přesné (rezerva poloměru buňky)
+            assertTrue("misses: " + misses, misses <= SAMPLES / 1000);
+            assertTrue("max error: " + maxError, maxError < 1);
+        }
+    }
+
+    @Test
+    public void singleColorPalette() {
+        NearestColorIndex index = new NearestColorIndex(
+                new Color[] { Color.createRGB(0x123456) }, true);
+        assertEquals(0, index.nearest(0xFFFFFFFF));
+        assertEquals(0, index.nearest(0x00000000));
+    }
+
+    // --- pomocné metody
+
+    private static Color[][] palettes(Random random) {
+        Color[] randomColors = new Color[64];
+        for (int i = 0; i < randomColors.length; i++)
+            randomColors[i] = Color.createRGB(random.nextInt(0x1000000));
+
+        // blízké barvy - hodně kandidátů v jedné buňce
+        Color[] clustered = new Color[32];
+        for (int i = 0; i < clustered.length; i++)
+            clustered[i] = Color.createRGB(0x808080 + random.nextInt(0x0C0C0C));
+
+        return new Color[][] { randomColors, clustered };
+    }
+
+    private static int bruteForce(Color[] palette, int argb, boolean lab) {
+        int best = 0;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < palette.length; i++) {
+            double distance = lab
+                    ? labDistance(palette[i].getARGB(), argb)
+                    : rgbDistance(palette[i].getARGB(), argb);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static int rgbDistance(int c1, int c2) {
+        int dr = PackedColors.red(c1) - PackedColors.red(c2);
+        int dg = PackedColors.green(c1) - PackedColors.green(c2);
+        int db = PackedColors.blue(c1) - PackedColors.blue(c2);
+        return dr * dr + dg * dg + db * db;
+    }
+
+    /** Eukleidovská vzdálenost v prostoru L*a*b* (CIE76). */
+    private static double labDistance(int c1, int c2) {
+        float[] lab1 = new float[3];
+        float[] lab2 = new float[3];
+        ColorSpaces.toLab(c1, lab1);
+        ColorSpaces.toLab(c2, lab2);
+
+        double dl = lab1[0] - lab2[0];
+        double da = lab1[1] - lab2[1];
+        double db = lab1[2] - lab2[2];
+        return Math.sqrt(dl * dl + da * da + db * db);
+    }
+
+}
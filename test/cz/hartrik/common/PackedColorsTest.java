@@ -0,0 +1,111 @@
+package cz.hartrik.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class PackedColorsTest {
+
+    @Test
+    public void components() {
+        int argb = 0x80FF7F01;
+
+        assertEquals(0x80, PackedColors.alpha(argb));
+        assertEquals(0xFF, PackedColors.red(argb));
+        assertEquals(0x7F, PackedColors.green(argb));
+        assertEquals(0x01, PackedColors.blue(argb));
+        assertEquals(0xFF7F0180, PackedColors.toRGBA(argb));
+        assertEquals(argb, PackedColors.argb(0xFF, 0x7F, 0x01, 0x80));
+        assertEquals(0xFF000102, PackedColors.rgb(0, 1, 2));
+        assertEquals(0xFF2A2A2A, PackedColors.gray(0x2A));
+    }
+
+    @Test
+    public void changeAlpha() {
+        assertEquals(0x40345678, PackedColors.changeAlpha(0x12345678, 0x40));
+        assertEquals(0x00345678, PackedColors.changeAlpha(0x12345678, 0x100));
+        assertEquals(0x80345678, PackedColors.changeAlpha(0x12345678, 0.5));
+        assertEquals(0xFF345678, PackedColors.changeAlpha(0x12345678, 1.0));
+        assertEquals(0x00345678, PackedColors.changeAlpha(0x12345678, 0.0));
+    }
+
+    @Test
+    public void blend() {
+        int background = 0x80102030;
+
+        assertEquals(0xFF102030, PackedColors.blend(background, 0x00FFFFFF));
+        assertEquals(0xFFAABBCC, PackedColors.blend(background, 0xFFAABBCC));
+        assertEquals(0xFF7F7F7F, PackedColors.blend(0xFF000000, 0x80FEFEFE));
+        assertEquals(0xFF19334C, PackedColors.blend(0xFF000000, 0x80336699));
+    }
+
+    @Test
+    public void grayscale() {
+        assertEquals(0x80000000, PackedColors.grayscale(0x80000000));
+        assertEquals(0x40FCFCFC, PackedColors.grayscale(0x40FFFFFF));
+        assertEquals(0xFF363636, PackedColors.grayscale(0xFFFF0000));
+        assertEquals(0xFFB5B5B5, PackedColors.grayscale(0xFF00FF00));
+        assertEquals(0x7F121212, PackedColors.grayscale(0x7F0000FF));
+        assertEquals(0xFF7F7F7F, PackedColors.grayscale(0xFF808080));
+    }
+
+    @Test
+    public void premultiply() {
+        assertEquals(0x80804000, PackedColors.premultiply(0x80FF8000));
+        assertEquals(0xFF123456, PackedColors.premultiply(0xFF123456));
+        assertEquals(0, PackedColors.premultiply(0x00FFFFFF));
+
+        for (int a = 0; a < 256; a++) {
+            for (int c = 0; c < 256; c++) {
+                int expected = (int) Math.round(c * a / 255.0);
+                int premultiplied = PackedColors.premultiply((a << 24) | (c << 8));
+                assertEquals(a == 0 ? 0 : (a << 24) | (expected << 8), premultiplied);
+            }
+        }
+    }
+
+    @Test
+    public void unpremultiply() {
+        assertEquals(0x80FF8000, PackedColors.unpremultiply(0x80804000));
+        assertEquals(0, PackedColors.unpremultiply(0x00123456));
+
+        for (int a = 1; a < 256; a++) {
+            for (int c = 0; c <= a; c++) {
+                int expected = (int) Math.round(c * 255.0 / a);
+                assertEquals((a << 24) | expected,
+                        PackedColors.unpremultiply((a << 24) | c));
+            }
+        }
+    }
+
+    @Test
+    public void premultiply_roundTrip() {
+        int[] data = { 0xFF123456, 0x80FF8000, 0x00ABCDEF, 0x01FFFFFF };
+        PackedColors.premultiply(data, 1, 3);
+        assertArrayEquals(new int[] {
+                0xFF123456, 0x80804000, 0x00000000, 0x01010101 }, data);
+
+        PackedColors.unpremultiply(data, 0, 4);
+        assertArrayEquals(new int[] {
+                0xFF123456, 0x80FF8000, 0x00000000, 0x01FFFFFF }, data);
+    }
+
+    @Test
+    public void colorBuffer() {
+        ColorBuffer buffer = ColorBuffer.ofARGB(
+                0xFF000000, 0xFFFFFFFF, 0x00123456, 0xFF102030);
+        buffer.blend(0x80336699);
+        buffer.grayscale();
+        buffer.changeAlpha(0x20);
+
+        int[] result = new int[4];
+        buffer.get(0, result, 0, 4);
+        assertArrayEquals(new int[] {
+                0x202F2F2F, 0x20ADADAD, 0x20464646, 0x203E3E3E }, result);
+    }
+
+}
@@ -0,0 +1,102 @@
+package cz.hartrik.common;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class WebColorsTest {
+
+    @Test
+    public void namesCoverAllConstants() throws IllegalAccessException {
+        Set<String> names = new HashSet<>(Arrays.asList(NamedColors.NAMES));
+        assertEquals(NamedColors.NAMES.length, names.size());
+
+        int count = 0;
+        for (Field field : WebColors.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())
+                    && field.getType() == Color.class) {
+
+                assertTrue(field.getName(), names.contains(field.getName()));
+                count++;
+            }
+        }
+        assertEquals(count, NamedColors.NAMES.length);
+    }
+
+    @Test
+    public void names() {
+        assertEquals(WebColors.CORNFLOWER_BLUE, WebColors.byName("CornflowerBlue").get());
+        assertEquals(WebColors.CORNFLOWER_BLUE, WebColors.byName("cornflower-blue").get());
+        assertEquals(WebColors.CORNFLOWER_BLUE, WebColors.byName("CORNFLOWER_BLUE").get());
+        assertFalse(WebColors.byName("cornflower").isPresent());
+
+        // AQUA a CYAN mají stejnou hodnotu, AQUA je deklarována dříve
+        assertEquals("AQUA", WebColors.nameOf(WebColors.CYAN).get());
+        assertEquals("FUCHSIA", WebColors.nameOf(WebColors.MAGENTA).get());
+        assertEquals("BLACK", WebColors.nameOf(0xFF000000).get());
+        assertFalse(WebColors.nameOf(0xFF000001).isPresent());
+    }
+
+    @Test
+    public void parseHex() {
+        assertEquals(0xFF112233, WebColors.parseARGB("#123"));
+        assertEquals(0x44112233, WebColors.parseARGB("#1234"));
+        assertEquals(0xFFABCDEF, WebColors.parseARGB("#abcdef"));
+        assertEquals(0xFFABCDEF, WebColors.parseARGB("#ABCDEF"));
+        assertEquals(0x80123456, WebColors.parseARGB("#12345680"));
+        assertEquals(0xFF123456, WebColors.parseARGB("  #123456\t"));
+    }
+
+    @Test
+    public void parseFunctions() {
+        assertEquals(0xFF0A141E, WebColors.parseARGB("rgb(10, 20, 30)"));
+        assertEquals(0xFF0A141E, WebColors.parseARGB("RGB(10,20,30)"));
+        assertEquals(0x110A141E, WebColors.parseARGB("rgba(10, 20, 30, 17)"));
+        assertEquals(0x800A141E, WebColors.parseARGB("rgba(10, 20, 30, 0.5)"));
+        assertEquals(0xFF0A141E, WebColors.parseARGB("rgba(10, 20, 30, 1.0)"));
+        assertEquals(0x400A141E, WebColors.parseARGB("rgba(10, 20, 30, 25%)"));
+        assertEquals(0xFFFF8000, WebColors.parseARGB("rgb(100%, 50%, 0%)"));
+
+        Color color = Color.createARGB(0x11223344);
+        assertEquals(color.getARGB(), WebColors.parseARGB(color.toString()));
+    }
+
+    @Test
+    public void parseNames() {
+        assertEquals(WebColors.CORNFLOWER_BLUE.getARGB(),
+                WebColors.parseARGB("cornflowerblue"));
+        assertEquals(0, WebColors.parseARGB("transparent"));
+        assertEquals(0, WebColors.parseARGB(" Transparent "));
+        assertEquals(WebColors.RED, WebColors.parse("red"));
+    }
+
+    @Test
+    public void parseErrors() {
+        String[] invalid = {
+            "", "   ", "#", "#12", "#12345", "#123456789", "#ggg",
+            "#１２３",  // číslice v plné šířce
+            "rgb(1, 2)", "rgb(1, 2, 3", "rgb(256, 0, 0)", "rgb(1,, 2, 3)",
+            "rgba(1, 2, 3, 4, 5)", "rgb(a, b, c)", "rgb()",
+            "cornflower", "transparentx", "Keppel",
+        };
+
+        for (String text : invalid) {
+            try {
+                WebColors.parseARGB(text);
+                fail("Accepted: " + text);
+            } catch (IllegalArgumentException e) {
+                // očekáváno
+            }
+        }
+    }
+
+}
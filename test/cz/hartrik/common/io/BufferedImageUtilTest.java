@@ -0,0 +1,269 @@
+package cz.hartrik.common.io;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class BufferedImageUtilTest {
+
+    private static final int W = 37;
+    private static final int H = 23;
+
+    @Test
+    public void fillTransparentPixels_literals() {
+        BufferedImage image = new BufferedImage(3, 1, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFFFF0000);
+        image.setRGB(1, 0, 0x80FF0000);
+        image.setRGB(2, 0, 0x00FF0000);
+
+        BufferedImage result = BufferedImageUtil.fillTransparentPixels(
+                image, Color.BLUE, image);
+        assertEquals(0xFFFF0000, result.getRGB(0, 0));
+        assertEquals(0xFF80007F, result.getRGB(1, 0));
+        assertEquals(0xFF0000FF, result.getRGB(2, 0));
+    }
+
+    @Test
+    public void fillTransparentPixels_inPlace() {
+        int[] types = {
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_INT_ARGB_PRE,
+        };
+
+        for (int type : types) {
+            BufferedImage image = noise(W, H, type);
+            BufferedImage expected = BufferedImageUtil.fillTransparentPixels(
+                    image, Color.BLUE, new BufferedImage(W, H, type));
+
+            BufferedImage result = BufferedImageUtil.fillTransparentPixels(
+                    image, Color.BLUE, image);
+            assertSame(image, result);
+            assertPixelsEqual("type " + type, expected, result);
+        }
+    }
+
+    @Test
+    public void fillTransparentPixels_sharedData() {
+        // dva posunuté výřezy stejného obrázku
+        for (int type : new int[] {
+                BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_4BYTE_ABGR }) {
+
+            BufferedImage parent = noise(W + 5, H + 3, type);
+            BufferedImage source = parent.getSubimage(0, 0, W, H);
+            BufferedImage destination = parent.getSubimage(5, 3, W, H);
+
+            BufferedImage expected = BufferedImageUtil.fillTransparentPixels(
+                    source, Color.BLUE, new BufferedImage(W, H, type));
+            BufferedImageUtil.fillTransparentPixels(source, Color.BLUE, destination);
+            assertPixelsEqual("type " + type, expected, destination);
+        }
+    }
+
+    @Test
+    public void createTiledImage_matchesNaive() {
+        BufferedImage tile = noise(W, H, BufferedImage.TYPE_INT_ARGB);
+
+        // rozměry nejsou násobky dlaždice
+        checkTiled("argb", tile, new BufferedImage(
+                4 * W + 5, 3 * H + 7, BufferedImage.TYPE_INT_ARGB));
+        checkTiled("exact", tile, new BufferedImage(
+                2 * W, 2 * H, BufferedImage.TYPE_INT_ARGB));
+
+        // dlaždice větší než cíl
+        checkTiled("small", tile, new BufferedImage(
+                W - 10, H - 5, BufferedImage.TYPE_INT_ARGB));
+        checkTiled("narrow", tile, new BufferedImage(
+                W - 10, 3 * H + 1, BufferedImage.TYPE_INT_ARGB));
+
+        // převody mezi INT_RGB a INT_ARGB
+        checkTiled("argb -> rgb", tile, new BufferedImage(
+                3 * W + 1, 2 * H + 1, BufferedImage.TYPE_INT_RGB));
+        checkTiled("rgb -> argb", noise(W, H, BufferedImage.TYPE_INT_RGB),
+                new BufferedImage(3 * W + 1, 2 * H + 1, BufferedImage.TYPE_INT_ARGB));
+
+        // výřezy zdroje i cíle
+        checkTiled("subimages",
+                noise(W + 4, H + 4, BufferedImage.TYPE_INT_ARGB).getSubimage(2, 3, W, H),
+                new BufferedImage(4 * W, 4 * H, BufferedImage.TYPE_INT_ARGB)
+                        .getSubimage(5, 7, 3 * W + 2, 2 * H + 3));
+    }
+
+    @Test
+    public void createTiledImage_otherDestination() {
+        // cíl není typu INT_* - kreslí se přes Graphics2D
+        checkTiled("4byte", noise(W, H, BufferedImage.TYPE_INT_ARGB),
+                new BufferedImage(3 * W + 1, 2 * H + 1, BufferedImage.TYPE_4BYTE_ABGR));
+        checkTiled("3byte", noise(W, H, BufferedImage.TYPE_INT_RGB),
+                new BufferedImage(3 * W + 1, 2 * H + 1, BufferedImage.TYPE_3BYTE_BGR));
+        checkTiled("3byte, small", noise(W, H, BufferedImage.TYPE_INT_RGB),
+                new BufferedImage(W - 1, H - 1, BufferedImage.TYPE_3BYTE_BGR));
+    }
+
+    @Test
+    public void flipAndRotate_matchReference() {
+        int[] types = {
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_BYTE_GRAY,
+        };
+
+        for (int type : types) {
+            // celý obrázek i výřez s posunutým počátkem dat
+            BufferedImage image = noise(W, H, type);
+            checkTransforms("type " + type, image, image, type);
+            BufferedImage subimage = noise(W + 6, H + 4, type)
+                    .getSubimage(3, 2, W, H);
+            checkTransforms("subimage, type " + type, subimage, subimage, type);
+        }
+    }
+
+    @Test
+    public void flipAndRotate_otherTypes() {
+        // data nejsou v jednom poli - obrázek se nejprve převede
+        BufferedImage image = noise(W, H, BufferedImage.TYPE_USHORT_565_RGB);
+        checkTransforms("565", image, BufferedImageUtil.copy(image),
+                BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Test
+    public void flipAndRotate_largeImage() {
+        // více čtverců i pásů, zpracování ve více vláknech
+        BufferedImage image = noise(301, 257, BufferedImage.TYPE_INT_ARGB);
+        checkTransforms("large", image, image, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Test
+    public void rotate_exactAngles() {
+        BufferedImage image = noise(W, H, BufferedImage.TYPE_3BYTE_BGR);
+
+        // přes Graphics2D by výsledek byl typu INT_ARGB
+        assertRotated(BufferedImageUtil.rotate90(image), image, 90);
+        assertRotated(BufferedImageUtil.rotate90(image), image, 450);
+        assertRotated(BufferedImageUtil.rotate90(image), image, -270);
+        assertRotated(BufferedImageUtil.rotate180(image), image, 180);
+        assertRotated(BufferedImageUtil.rotate180(image), image, -180);
+        assertRotated(BufferedImageUtil.rotate270(image), image, 270);
+        assertRotated(BufferedImageUtil.rotate270(image), image, -90);
+        assertRotated(image, image, 0);
+        assertRotated(image, image, 720);
+
+        assertNotSame(image, BufferedImageUtil.rotate(image, 0));
+    }
+
+    // --- pomocné metody
+
+    /** Porovná poskládaný obrázek s obrázkem skládaným po pixelech. */
+    private static void checkTiled(String message,
+            BufferedImage tile, BufferedImage destination) {
+
+        int width = destination.getWidth();
+        int height = destination.getHeight();
+        int tw = tile.getWidth();
+        int th = tile.getHeight();
+
+        BufferedImage expected = new BufferedImage(width, height,
+                destination.getType());
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                expected.setRGB(x, y, tile.getRGB(x % tw, y % th));
+
+        assertSame(destination,
+                BufferedImageUtil.createTiledImage(tile, destination));
+        assertArrayEquals(message,
+                expected.getRGB(0, 0, width, height, null, 0, width),
+                destination.getRGB(0, 0, width, height, null, 0, width));
+    }
+
+    /** Zdrojový pixel pro pixel [x, y] výsledku. */
+    private interface SourcePixel {
+        int get(BufferedImage source, int x, int y);
+    }
+
+    /**
+     * Porovná převrácení a otočení s referencí.
+     *
+     * @param image transformovaný obrázek
+     * @param reference obrázek s očekávanými barvami pixelů
+     * @param resultType očekávaný typ výsledku
+     */
+    private static void checkTransforms(String message, BufferedImage image,
+            BufferedImage reference, int resultType) {
+
+        int w = image.getWidth();
+        int h = image.getHeight();
+
+        assertTransformed(message + ", flipHorizontally", reference,
+                BufferedImageUtil.flipHorizontally(image), resultType, false,
+                (s, x, y) -> s.getRGB(w - 1 - x, y));
+        assertTransformed(message + ", flipVertically", reference,
+                BufferedImageUtil.flipVertically(image), resultType, false,
+                (s, x, y) -> s.getRGB(x, h - 1 - y));
+        assertTransformed(message + ", rotate90", reference,
+                BufferedImageUtil.rotate90(image), resultType, true,
+                (s, x, y) -> s.getRGB(y, h - 1 - x));
+        assertTransformed(message + ", rotate180", reference,
+                BufferedImageUtil.rotate180(image), resultType, false,
+                (s, x, y) -> s.getRGB(w - 1 - x, h - 1 - y));
+        assertTransformed(message + ", rotate270", reference,
+                BufferedImageUtil.rotate270(image), resultType, true,
+                (s, x, y) -> s.getRGB(w - 1 - y, x));
+    }
+
+    private static void assertTransformed(String message, BufferedImage source,
+            BufferedImage result, int resultType, boolean transposed,
+            SourcePixel reference) {
+
+        assertEquals(message, resultType, result.getType());
+        assertEquals(message, transposed ? source.getHeight() : source.getWidth(),
+                result.getWidth());
+        assertEquals(message, transposed ? source.getWidth() : source.getHeight(),
+                result.getHeight());
+
+        for (int y = 0; y < result.getHeight(); y++)
+            for (int x = 0; x < result.getWidth(); x++)
+                if (reference.get(source, x, y) != result.getRGB(x, y))
+                    fail(message + " [" + x + ", " + y + "]");
+    }
+
+    private static void assertRotated(BufferedImage expected,
+            BufferedImage image, double angle) {
+
+        BufferedImage result = BufferedImageUtil.rotate(image, angle);
+        assertEquals("angle " + angle, expected.getType(), result.getType());
+        assertEquals("angle " + angle, expected.getWidth(), result.getWidth());
+        assertArrayEquals("angle " + angle,
+                expected.getRGB(0, 0, expected.getWidth(), expected.getHeight(),
+                        null, 0, expected.getWidth()),
+                result.getRGB(0, 0, result.getWidth(), result.getHeight(),
+                        null, 0, result.getWidth()));
+    }
+
+    private static void assertPixelsEqual(String message,
+            BufferedImage expected, BufferedImage actual) {
+
+        assertArrayEquals(message,
+                expected.getRGB(0, 0, W, H, null, 0, W),
+                actual.getRGB(0, 0, W, H, null, 0, W));
+    }
+
+    private static BufferedImage noise(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt());
+
+        return image;
+    }
+
+}
@@ -0,0 +1,180 @@
+package cz.hartrik.common.io;
+
+import cz.hartrik.common.Color;
+import cz.hartrik.common.IntPair;
+import cz.hartrik.common.Pair;
+import cz.hartrik.common.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class CodecsTest {
+
+    private static <T> T roundTrip(BinaryCodec<T> codec, T value) throws IOException {
+        // proudy
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(new DataOutputStream(bytes), value);
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        T fromStream = codec.read(in);
+        assertEquals(-1, in.read());
+
+        // buffer s opačným pořadím bajtů musí dát stejná data
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        codec.write(buffer, value);
+        assertEquals(0, buffer.remaining());
+        assertArrayEquals(bytes.toByteArray(), buffer.array());
+
+        buffer.flip();
+        T fromBuffer = codec.read(buffer);
+        assertEquals(0, buffer.remaining());
+
+        if (value instanceof Object[]) {
+            assertArrayEquals((Object[]) value, (Object[]) fromStream);
+            assertArrayEquals((Object[]) value, (Object[]) fromBuffer);
+        } else {
+            assertEquals(value, fromStream);
+            assertEquals(value, fromBuffer);
+        }
+        return fromStream;
+    }
+
+    @Test
+    public void testColor() throws IOException {
+        for (Color color : new Color[] {
+                Color.BLACK, Color.WHITE, new Color(1, 2, 3, 4), new Color(200, 0, 255, 128) }) {
+            roundTrip(Codecs.COLOR, color);
+            assertEquals(4, Codecs.encode(Codecs.COLOR, color).length);
+        }
+    }
+
+    @Test
+    public void testPoint() throws IOException {
+        int[] values = { 0, 1, -1, 63, -64, 64, 1000, -1000,
+                Integer.MAX_VALUE, Integer.MIN_VALUE };
+
+        for (int x : values)
+            for (int y : values)
+                roundTrip(Codecs.POINT, Point.of(x, y));
+
+        assertEquals(2, Codecs.encode(Codecs.POINT, Point.of(-5, 60)).length);
+        assertEquals(10, Codecs.encode(Codecs.POINT,
+                Point.of(Integer.MIN_VALUE, Integer.MAX_VALUE)).length);
+    }
+
+    @Test
+    public void testPairs() throws IOException {
+        roundTrip(Codecs.intPair(Codecs.STRING), IntPair.of(-42, "ěščřžýáíé"));
+        roundTrip(Codecs.intPair(Codecs.nullable(Codecs.COLOR)), IntPair.of(7, null));
+        roundTrip(Codecs.pair(Codecs.POINT, Codecs.DOUBLE), Pair.of(Point.of(3, -4), 2.5));
+        roundTrip(Codecs.pair(Codecs.LONG, Codecs.VAR_INT), Pair.of(Long.MIN_VALUE, -1));
+    }
+
+    @Test
+    public void testArrays() throws IOException {
+        Color[] colors = new Color[300];
+        for (int i = 0; i < colors.length; i++)
+            colors[i] = Color.createARGB(i * 0x01020304);
+
+        roundTrip(Codecs.array(Codecs.COLOR, Color[]::new), colors);
+        roundTrip(Codecs.array(Codecs.POINT, Point[]::new), new Point[0]);
+
+        List<Point> points = Arrays.asList(Point.of(1, 2), Point.of(-3, 4));
+        roundTrip(Codecs.list(Codecs.POINT), points);
+    }
+
+    @Test
+    public void testBulkARGB() throws IOException {
+        int[] argb = new int[3000];
+        for (int i = 0; i < argb.length; i++)
+            argb[i] = i * 0x9E3779B9;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Codecs.writeARGB(new DataOutputStream(bytes), argb, 0, argb.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 * argb.length);
+        Codecs.writeARGB(buffer, argb, 0, argb.length);
+        assertArrayEquals(bytes.toByteArray(), buffer.array());
+
+        int[] fromStream = new int[argb.length];
+        Codecs.readARGB(new DataInputStream(new ByteArrayInputStream(
+                bytes.toByteArray())), fromStream, 0, argb.length);
+        assertArrayEquals(argb, fromStream);
+
+        int[] fromBuffer = new int[argb.length];
+        buffer.flip();
+        Codecs.readARGB(Codecs.input(buffer), fromBuffer, 0, argb.length);
+        assertArrayEquals(argb, fromBuffer);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testTruncated() {
+        byte[] bytes = Codecs.encode(Codecs.intPair(Codecs.STRING), IntPair.of(1, "abc"));
+        Codecs.decode(Codecs.intPair(Codecs.STRING), Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test
+    public void testVarInt() throws IOException {
+        for (int value : new int[] { 0, 1, 127, 128, 300, Integer.MAX_VALUE, -1, Integer.MIN_VALUE }) {
+            ByteBuffer buffer = ByteBuffer.allocate(5);
+            Codecs.writeVarInt(Codecs.output(buffer), value);
+            buffer.flip();
+            assertEquals(value, Codecs.readVarInt(Codecs.input(buffer)));
+        }
+    }
+
+    @Test
+    public void testVarInt_overflowingFifthByte() {
+        for (int last : new int[] { 0x10, 0x7F, 0x8F }) {
+            byte[] bytes = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) last };
+            try {
+                Codecs.readVarInt(Codecs.input(ByteBuffer.wrap(bytes)));
+                fail("Accepted fifth byte " + Integer.toHexString(last));
+            } catch (IOException e) {
+                // očekáváno
+            }
+        }
+    }
+
+    @Test
+    public void testHugeLength() {
+        // délka Integer.MAX_VALUE, ale žádné prvky
+        byte[] bytes = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+        BinaryCodec<List<Color>> list = Codecs.list(Codecs.COLOR);
+        BinaryCodec<Color[]> array = Codecs.array(Codecs.COLOR, Color[]::new);
+
+        for (BinaryCodec<?> codec : Arrays.asList(list, array)) {
+            try {
+                codec.read(Codecs.input(ByteBuffer.wrap(bytes)));
+                fail("Accepted from buffer");
+            } catch (IOException e) {
+                // očekáváno
+            }
+
+            try {
+                codec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+                fail("Accepted from stream");
+            } catch (IOException e) {
+                // očekáváno - konec dat, bez alokace celého pole
+            }
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package cz.hartrik.common.io;
+
+import cz.hartrik.common.PackedColors;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class FiltersTest {
+
+    private static final int W = 37;
+    private static final int H = 23;
+
+    @Test
+    public void boxBlur_matchesNaive() {
+        int[] src = opaqueNoise(W * H);
+
+        for (Filters.Edge edge : Filters.Edge.values()) {
+            for (int radius : new int[] { 1, 4, 30 }) {
+                int[] dst = new int[W * H];
+                Filters.boxBlur(src, dst, W, H, radius, edge);
+
+                int[] tmp = new int[W * H];
+                int[] expected = new int[W * H];
+                naiveBox(src, tmp, 1, W, W, H, radius, edge);
+                naiveBox(tmp, expected, W, 1, H, W, radius, edge);
+                assertArrayEquals(edge + " r" + radius, expected, dst);
+            }
+        }
+    }
+
+    @Test
+    public void gaussianBlur_matchesKernelAtBorder() {
+        int[] src = new int[W * H];
+        for (int i = 0; i < src.length; i++)
+            src[i] = (i < W * (H - 3)) ? 0xFF000000 : 0xFFFFFFFF;
+
+        float[] kernel = Filters.gaussianKernel(3);
+        int[] expected = new int[W * H];
+        Filters.convolve(src, expected, W, H, kernel, kernel, Filters.Edge.CLAMP);
+
+        int[] dst = new int[W * H];
+        Filters.gaussianBlur(src, dst, W, H, 3, Filters.Edge.CLAMP);
+
+        for (int i = 0; i < dst.length; i++)
+            assertEquals(expected[i] & 0xFF, dst[i] & 0xFF, 3);
+    }
+
+    @Test
+    public void transparentPixelsDoNotBleed() {
+        int[] src = new int[W * H];
+        src[W * (H / 2) + W / 2] = 0xFFFF0000;
+
+        int[] dst = new int[W * H];
+        Filters.gaussianBlur(src, dst, W, H, 2, Filters.Edge.CLAMP);
+
+        for (int c : dst)
+            if (c != 0) assertEquals(0xFF0000, c & 0xFFFFFF);
+    }
+
+    @Test
+    public void noBlur_keepsPixels() {
+        // poloprůhledné pixely by převod na přednásobené barvy změnil
+        int[] src = noise(W * H);
+
+        int[] dst = new int[W * H];
+        Filters.boxBlur(src, dst, W, H, 0, Filters.Edge.CLAMP);
+        assertArrayEquals(src, dst);
+
+        assertArrayEquals(new int[] { 0, 0, 0 }, Filters.boxRadii(0.1));
+        dst = new int[W * H];
+        Filters.gaussianBlur(src, dst, W, H, 0.1, Filters.Edge.CLAMP);
+        assertArrayEquals(src, dst);
+
+        dst = new int[W * H];
+        Filters.sharpen(src, dst, W, H, 0.1, 1, Filters.Edge.CLAMP);
+        assertArrayEquals(src, dst);
+
+        dst = new int[W * H];
+        Filters.sharpen(src, dst, W, H, 2, 0, Filters.Edge.CLAMP);
+        assertArrayEquals(src, dst);
+    }
+
+    @Test
+    public void largeImage_matchesNaive() {
+        // nad PARALLEL_THRESHOLD, několik pásů řádků i sloupců
+        int w = 611;
+        int h = 157;
+        assertTrue(w * h >= Filters.PARALLEL_THRESHOLD);
+        int[] src = opaqueNoise(w * h);
+
+        for (Filters.Edge edge : Filters.Edge.values()) {
+            for (int radius : new int[] { 1, 7, 40 }) {
+                int[] dst = new int[w * h];
+                Filters.boxBlur(src, dst, w, h, radius, edge);
+                assertArrayEquals(edge + " r" + radius,
+                        naiveBoxPasses(src, w, h, new int[] { radius }, edge), dst);
+            }
+        }
+
+        // u WRAP se průchody gaussianBlur skládají přímo za sebou
+        int[] dst = new int[w * h];
+        Filters.gaussianBlur(src, dst, w, h, 4, Filters.Edge.WRAP);
+        assertArrayEquals(naiveBoxPasses(src, w, h, Filters.boxRadii(4),
+                Filters.Edge.WRAP), dst);
+
+        dst = new int[w * h];
+        Filters.edges(src, dst, w, h, Filters.Edge.CLAMP);
+        assertArrayEquals(naiveEdges(src, w, h, Filters.Edge.CLAMP), dst);
+    }
+
+    @Test
+    public void sharpen_matchesUnsharpMask() {
+        int[] src = opaqueNoise(W * H);
+
+        for (double amount : new double[] { 0.5, 1.5 }) {
+            int[] blurred = new int[W * H];
+            Filters.gaussianBlur(src, blurred, W, H, 2, Filters.Edge.CLAMP);
+
+            int[] dst = new int[W * H];
+            Filters.sharpen(src, dst, W, H, 2, amount, Filters.Edge.CLAMP);
+
+            for (int i = 0; i < dst.length; i++) {
+                assertEquals(0xFF, dst[i] >>> 24);
+                for (int shift = 0; shift < 24; shift += 8) {
+                    int c = (src[i] >> shift) & 0xFF;
+                    int b = (blurred[i] >> shift) & 0xFF;
+                    float value = c + (float) amount * (c - b);
+                    int expected = (value <= 0) ? 0
+                            : (value >= 255) ? 255 : (int) (value + 0.5f);
+                    assertEquals(expected, (dst[i] >> shift) & 0xFF);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sharpen_solidColorStaysSolid() {
+        int[] src = new int[W * H];
+        Arrays.fill(src, 0xFF336699);
+
+        int[] dst = new int[W * H];
+        Filters.sharpen(src, dst, W, H, 3, 2, Filters.Edge.CLAMP);
+        assertArrayEquals(src, dst);
+    }
+
+    @Test
+    public void edges_matchesNaiveSobel() {
+        int[] src = opaqueNoise(W * H);
+        src[0] = 0x80FFFFFF;
+        src[1] = 0;
+
+        for (Filters.Edge edge : Filters.Edge.values()) {
+            int[] dst = new int[W * H];
+            Filters.edges(src, dst, W, H, edge);
+            assertArrayEquals(edge.toString(), naiveEdges(src, W, H, edge), dst);
+        }
+
+        // plocha bez hran
+        int[] solid = new int[W * H];
+        Arrays.fill(solid, 0xFF336699);
+        int[] dst = new int[W * H];
+        Filters.edges(solid, dst, W, H, Filters.Edge.CLAMP);
+        for (int c : dst)
+            assertEquals(0xFF000000, c);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void edges_inPlace() {
+        int[] pixels = new int[W * H];
+        Filters.edges(pixels, pixels, W, H, Filters.Edge.CLAMP);
+    }
+
+    // --- pomocné metody
+
+    private static int[] noise(int length) {
+        Random random = new Random(42);
+        int[] pixels = new int[length];
+        for (int i = 0; i < length; i++)
+            pixels[i] = random.nextInt();
+
+        return pixels;
+    }
+
+    /** Postupně použije naivní box filtry (neprůhledné pixely). */
+    private static int[] naiveBoxPasses(int[] src, int width, int height,
+            int[] radii, Filters.Edge edge) {
+
+        int[] pixels = src.clone();
+        int[] tmp = new int[pixels.length];
+        for (int radius : radii) {
+            if (radius <= 0) continue;
+            naiveBox(pixels, tmp, 1, width, width, height, radius, edge);
+            naiveBox(tmp, pixels, width, 1, height, width, radius, edge);
+        }
+        return pixels;
+    }
+
+    /** Sobelův operátor nad jasem s přednásobenou průhledností. */
+    private static int[] naiveEdges(int[] src, int width, int height,
+            Filters.Edge edge) {
+
+        int[] dst = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gx = 0, gy = 0;
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        int c = src[edge.index(y + dy, height) * width
+                                + edge.index(x + dx, width)];
+                        int luma = (PackedColors.grayscale(c) >> 16 & 0xFF)
+                                * (c >>> 24) / 255;
+                        gx += dx * (2 - Math.abs(dy)) * luma;
+                        gy += dy * (2 - Math.abs(dx)) * luma;
+                    }
+                }
+                int m = (int) Math.min(255, Math.sqrt(gx * gx + gy * gy));
+                int i = y * width + x;
+                dst[i] = (src[i] & 0xFF000000) | (m << 16) | (m << 8) | m;
+            }
+        }
+        return dst;
+    }
+
+    private static int[] opaqueNoise(int length) {
+        Random random = new Random(42);
+        int[] pixels = new int[length];
+        for (int i = 0; i < length; i++)
+            pixels[i] = 0xFF000000 | random.nextInt(0x1000000);
+
+        return pixels;
+    }
+
+    /** Rozmaže úsečky délky <code>length</code> s krokem <code>step</code>. */
+    private static void naiveBox(int[] src, int[] dst, int step, int lineStep,
+            int length, int lines, int radius, Filters.Edge edge) {
+
+        int size = 2 * radius + 1;
+        for (int line = 0; line < lines; line++) {
+            for (int i = 0; i < length; i++) {
+                int[] sums = new int[4];
+                for (int j = i - radius; j <= i + radius; j++) {
+                    int c = src[line * lineStep + edge.index(j, length) * step];
+                    for (int k = 0; k < 4; k++)
+                        sums[k] += (c >>> (24 - 8 * k)) & 0xFF;
+                }
+
+                int result = 0;
+                for (int k = 0; k < 4; k++)
+                    result |= (sums[k] + size / 2) / size << (24 - 8 * k);
+                dst[line * lineStep + i * step] = result;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImageCacheTest {
+
+    // 10 x 10 x 4 bajty
+    private static final long IMAGE_BYTES = 400;
+
+    @Test
+    public void lruEvictionByBytes() throws IOException {
+        ImageCache cache = new ImageCache(3 * IMAGE_BYTES);
+        BufferedImage a = get(cache, "a");
+        get(cache, "b");
+        get(cache, "c");
+        assertEquals(3 * IMAGE_BYTES, cache.getBytes());
+
+        // "a" je použit naposledy, vyřazen bude "b"
+        assertSame(a, get(cache, "a"));
+        get(cache, "d");
+
+        assertEquals(3, cache.size());
+        assertEquals(3 * IMAGE_BYTES, cache.getBytes());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(4, cache.getLoadCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void softTierPromotion() throws IOException {
+        ImageCache cache = new ImageCache(2 * IMAGE_BYTES);
+        BufferedImage a = get(cache, "a");
+        get(cache, "b");
+        get(cache, "c");
+        assertEquals(1, cache.getEvictionCount());
+
+        // "a" je ve vedlejší části, vrátí se bez načítání a vytlačí "b"
+        assertSame(a, get(cache, "a"));
+        assertEquals(1, cache.getSoftHitCount());
+        assertEquals(3, cache.getLoadCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        // teď už je v hlavní části
+        assertSame(a, get(cache, "a"));
+        assertEquals(1, cache.getSoftHitCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void lastModifiedInvalidation() throws IOException {
+        File file = Files.createTempFile("cache", ".png").toFile();
+        try {
+            ImageIO.write(image(), "png", file);
+            file.setLastModified(1_000_000_000_000L);
+
+            ImageCache cache = new ImageCache(1 << 20);
+            BufferedImage first = cache.get(file);
+            assertSame(first, cache.get(file));
+            assertEquals(1, cache.getLoadCount());
+
+            file.setLastModified(1_000_000_060_000L);
+            BufferedImage second = cache.get(file);
+            assertNotSame(first, second);
+            assertEquals(2, cache.getLoadCount());
+            assertEquals(1, cache.size());
+            assertEquals(IMAGE_BYTES, cache.getBytes());
+
+            cache.invalidate(file);
+            assertEquals(0, cache.size());
+            assertNotSame(second, cache.get(file));
+            assertEquals(3, cache.getLoadCount());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void concurrentLoadsAreDeduplicated() throws Exception {
+        ImageCache cache = new ImageCache(1 << 20);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<BufferedImage>> results = submit(8, () ->
+                cache.get("key", 0, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return image();
+                }), started, release);
+
+        BufferedImage image = results.get(0).get();
+        for (Future<BufferedImage> result : results)
+            assertSame(image, result.get());
+
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getLoadCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(7, cache.getHitCount());
+    }
+
+    @Test
+    public void concurrentLoadOfOtherVersion() throws Exception {
+        ImageCache cache = new ImageCache(1 << 20);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BufferedImage older = image();
+        BufferedImage newer = image();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BufferedImage> first = executor.submit(() ->
+                    cache.get("key", 1, () -> {
+                        started.countDown();
+                        await(release);
+                        return older;
+                    }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // novější verze nesmí čekat na načtení starší
+            Future<BufferedImage> second = executor.submit(() ->
+                    cache.get("key", 2, () -> newer));
+            assertSame(newer, second.get(10, TimeUnit.SECONDS));
+
+            release.countDown();
+            assertSame(older, first.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, cache.getLoadCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void failedLoadIsNotCountedAsHit() throws Exception {
+        ImageCache cache = new ImageCache(1 << 20);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<BufferedImage>> results = submit(4, () ->
+                cache.get("key", 0, () -> {
+                    started.countDown();
+                    await(release);
+                    throw new IOException("broken");
+                }), started, release);
+
+        for (Future<BufferedImage> result : results) {
+            try {
+                result.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getLoadCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void unsupportedImageIsNotCountedAsLoad() {
+        ImageCache cache = new ImageCache(1 << 20);
+        try {
+            cache.get("key", 0, () -> null);
+            fail();
+        } catch (IOException e) {
+            // očekáváno
+        }
+        assertEquals(0, cache.getLoadCount());
+        assertEquals(0, cache.getTotalLoadTime());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    // --- pomocné metody
+
+    private interface Task {
+        BufferedImage call() throws IOException;
+    }
+
+    /**
+     * Spustí první úlohu, počká na začátek načítání, spustí ostatní
+     * a po chvíli načítání uvolní.
+     */
+    private static List<Future<BufferedImage>> submit(int count, Task task,
+            CountDownLatch started, CountDownLatch release) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<BufferedImage>> results = new ArrayList<>();
+            results.add(executor.submit(task::call));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            for (int i = 1; i < count; i++)
+                results.add(executor.submit(task::call));
+
+            Thread.sleep(100);
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BufferedImage get(ImageCache cache, String key)
+            throws IOException {
+
+        return cache.get(key, 0, ImageCacheTest::image);
+    }
+
+    private static BufferedImage image() {
+        return new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+    }
+
+}
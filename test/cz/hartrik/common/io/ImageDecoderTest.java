@@ -0,0 +1,145 @@
+package cz.hartrik.common.io;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImageDecoderTest {
+
+    private static final int W = 401;
+    private static final int H = 203;
+
+    private static BufferedImage image;
+    private static File file;
+
+    @BeforeClass
+    public static void writeImage() throws IOException {
+        image = new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(7);
+        for (int y = 0; y < H; y++)
+            for (int x = 0; x < W; x++)
+                image.setRGB(x, y, random.nextInt());
+
+        file = Files.createTempFile("decoder", ".png").toFile();
+        assertTrue(ImageIO.write(image, "png", file));
+    }
+
+    @AfterClass
+    public static void deleteImage() {
+        file.delete();
+    }
+
+    @Test
+    public void thumbnail_keepsAspectRatio() throws IOException {
+        assertSize(100, 51, ImageUtil.getThumbnail(file, 100, 100));
+        assertSize(200, 101, ImageUtil.getThumbnail(file, 200, 101));
+        assertSize(99, 50, ImageUtil.getThumbnail(file, 1000, 50));
+        assertSize(2, 1, ImageUtil.getThumbnail(file, 2, 2));
+        assertSize(100, 51, ImageUtil.getThumbnail(file.toURI().toURL(), 100, 100));
+    }
+
+    @Test
+    public void thumbnail_neverUpscales() throws IOException {
+        for (int[] box : new int[][] { { W, H }, { 1000, 1000 }, { W, 5000 } }) {
+            BufferedImage thumbnail = ImageUtil.getThumbnail(file, box[0], box[1]);
+            assertPixelsEqual(image, thumbnail);
+        }
+    }
+
+    @Test
+    public void region_returnsExactPixels() throws IOException {
+        Rectangle region = new Rectangle(13, 27, 150, 100);
+        assertPixelsEqual(image.getSubimage(13, 27, 150, 100),
+                ImageUtil.getBufferedImage(file, region));
+    }
+
+    @Test
+    public void region_isClipped() throws IOException {
+        // přesahuje vpravo dole i vlevo nahoře
+        assertPixelsEqual(image.getSubimage(350, 150, W - 350, H - 150),
+                ImageUtil.getBufferedImage(file, new Rectangle(350, 150, 100, 100)));
+        assertPixelsEqual(image.getSubimage(0, 0, 30, 20),
+                ImageUtil.getBufferedImage(file, new Rectangle(-10, -5, 40, 25)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void region_outsideOfImage() throws IOException {
+        ImageUtil.getBufferedImage(file, new Rectangle(W, 0, 10, 10));
+    }
+
+    @Test
+    public void exactSize() throws IOException {
+        assertSize(50, 80, ImageUtil.getBufferedImage(file, 50, 80));
+        assertSize(30, 20, ImageUtil.getBufferedImage(
+                file, new Rectangle(100, 100, 60, 40), 30, 20));
+
+        // bez zmenšení se pixely nemění
+        assertPixelsEqual(image, ImageUtil.getBufferedImage(file, W, H));
+    }
+
+    @Test
+    public void subsampledMatchesFullDecode() throws IOException {
+        BufferedImage solid = new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < H; y++)
+            for (int x = 0; x < W; x++)
+                solid.setRGB(x, y, 0x336699);
+
+        File solidFile = Files.createTempFile("decoder", ".png").toFile();
+        try {
+            assertTrue(ImageIO.write(solid, "png", solidFile));
+            BufferedImage small = ImageUtil.getBufferedImage(solidFile, 37, 19);
+            assertSize(37, 19, small);
+            for (int y = 0; y < 19; y++)
+                for (int x = 0; x < 37; x++)
+                    assertEquals(0xFF336699, small.getRGB(x, y));
+        } finally {
+            solidFile.delete();
+        }
+    }
+
+    @Test
+    public void subsamplingStep() {
+        assertEquals(1, ImageDecoder.subsampling(100, 100));
+        assertEquals(1, ImageDecoder.subsampling(399, 100));
+        assertEquals(2, ImageDecoder.subsampling(400, 100));
+        assertEquals(5, ImageDecoder.subsampling(1000, 100));
+        assertEquals(1, ImageDecoder.subsampling(10, 100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSize() throws IOException {
+        ImageUtil.getThumbnail(file, 0, 10);
+    }
+
+    // --- pomocné metody
+
+    private static void assertSize(int width, int height, BufferedImage image) {
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+    }
+
+    private static void assertPixelsEqual(BufferedImage expected,
+            BufferedImage actual) {
+
+        int w = expected.getWidth();
+        int h = expected.getHeight();
+        assertSize(w, h, actual);
+        assertArrayEquals(
+                expected.getRGB(0, 0, w, h, null, 0, w),
+                actual.getRGB(0, 0, w, h, null, 0, w));
+    }
+
+}
@@ -0,0 +1,152 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImagePipelineTest {
+
+    private static final int FILES = 40;
+    private static final int CAPACITY = 3;
+
+    @Test
+    public void decodeFailure_isIsolated() throws InterruptedException {
+        Path bad = file(17);
+        checkFailure(bad, ImagePipeline.Stage.DECODE, new ImagePipeline(
+                image -> image, (source, image) -> output(source)));
+    }
+
+    @Test
+    public void transformFailure_isIsolated() throws InterruptedException {
+        Path bad = file(5);
+        checkFailure(bad, ImagePipeline.Stage.TRANSFORM, new ImagePipeline(
+                image -> {
+                    if (image.getWidth() == 5)
+                        throw new IllegalStateException("broken");
+                    return image;
+                },
+                (source, image) -> output(source)));
+    }
+
+    @Test
+    public void encodeFailure_isIsolated() throws InterruptedException {
+        Path bad = file(31);
+        checkFailure(bad, ImagePipeline.Stage.ENCODE, new ImagePipeline(
+                image -> image,
+                (source, image) -> {
+                    if (source.equals(bad))
+                        throw new IOException("broken");
+                    return output(source);
+                }));
+    }
+
+    @Test
+    public void inFlightImagesAreBounded() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        ImagePipeline pipeline = new ImagePipeline(image -> image,
+                (source, image) -> {
+                    sleep(2);  // ukládání nestíhá
+                    inFlight.decrementAndGet();
+                    return output(source);
+                });
+        pipeline.setDecoder(path -> {
+            max.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return image(path);
+        });
+        pipeline.setThreads(ImagePipeline.Stage.DECODE, 4)
+                .setThreads(ImagePipeline.Stage.ENCODE, 1)
+                .setCapacity(CAPACITY);
+
+        ImagePipeline.Report report = pipeline.run(files());
+        assertEquals(FILES, report.getOutputs().size());
+        assertTrue(report.getFailures().isEmpty());
+        assertTrue("max " + max.get(), max.get() <= CAPACITY);
+        assertEquals(0, inFlight.get());
+    }
+
+    // --- pomocné metody
+
+    /**
+     * Zpracuje soubory s tím, že jeden selže. Kromě něj musí mít všechny
+     * soubory výstup.
+     */
+    private static void checkFailure(Path bad, ImagePipeline.Stage stage,
+            ImagePipeline pipeline) throws InterruptedException {
+
+        pipeline.setDecoder(path -> {
+            if (stage == ImagePipeline.Stage.DECODE && path.equals(bad))
+                throw new IOException("broken");
+            return image(path);
+        });
+        pipeline.setThreads(ImagePipeline.Stage.DECODE, 2)
+                .setThreads(ImagePipeline.Stage.TRANSFORM, 2)
+                .setThreads(ImagePipeline.Stage.ENCODE, 2)
+                .setCapacity(CAPACITY);
+
+        ImagePipeline.Report report = pipeline.run(files());
+
+        List<ImagePipeline.Failure> failures = report.getFailures();
+        assertEquals(1, failures.size());
+        assertEquals(bad, failures.get(0).getPath());
+        assertEquals(stage, failures.get(0).getStage());
+
+        Set<Path> expected = new HashSet<>();
+        for (Path file : files())
+            if (!file.equals(bad))
+                expected.add(output(file));
+
+        assertEquals(FILES - 1, report.getOutputs().size());
+        assertEquals(expected, new HashSet<>(report.getOutputs()));
+
+        for (ImagePipeline.Stage s : ImagePipeline.Stage.values())
+            assertEquals(s == stage ? 1 : 0,
+                    report.getStatistics(s).getFailureCount());
+    }
+
+    private static List<Path> files() {
+        List<Path> files = new ArrayList<>();
+        for (int i = 1; i <= FILES; i++)
+            files.add(file(i));
+
+        return files;
+    }
+
+    private static Path file(int i) {
+        return Paths.get("image" + i + ".png");
+    }
+
+    private static Path output(Path source) {
+        return Paths.get("out", source.toString());
+    }
+
+    /** Obrázek, jehož šířka odpovídá číslu souboru. */
+    private static BufferedImage image(Path path) {
+        String name = path.getFileName().toString();
+        int i = Integer.parseInt(name.substring(5, name.indexOf('.')));
+        return new BufferedImage(i, 1, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
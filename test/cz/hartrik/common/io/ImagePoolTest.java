@@ -0,0 +1,232 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImagePoolTest {
+
+    private static final int TYPE = BufferedImage.TYPE_INT_ARGB;
+
+    @Test
+    public void releasedImageIsReused() {
+        ImagePool pool = new ImagePool(1 << 20);
+        BufferedImage image = pool.acquire(10, 20, TYPE);
+        assertEquals(1, pool.getMissCount());
+
+        assertTrue(pool.release(image));
+        assertNotSame(image, pool.acquire(20, 10, TYPE));
+        assertSame(image, pool.acquire(10, 20, TYPE));
+        assertEquals(1, pool.getHitCount());
+    }
+
+    @Test
+    public void acquireEmpty_clearsReusedImage() {
+        ImagePool pool = new ImagePool(1 << 20);
+        BufferedImage image = pool.acquire(4, 4, TYPE);
+        image.setRGB(1, 1, 0xFF123456);
+        pool.release(image);
+
+        BufferedImage empty = pool.acquireEmpty(4, 4, TYPE);
+        assertSame(image, empty);
+        assertEquals(0, empty.getRGB(1, 1));
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        final long size = 100 * 100 * 4;
+        ImagePool pool = new ImagePool(3 * size);
+
+        // do omezení se počítá i mezipaměť vlákna
+        for (int i = 0; i < 3; i++)
+            assertTrue(pool.release(new BufferedImage(100, 100, TYPE)));
+        for (int i = 0; i < 7; i++)
+            assertFalse(pool.release(new BufferedImage(100, 100, TYPE)));
+
+        assertEquals(3 * size, pool.getBytes());
+        assertEquals(7, pool.getRejectedCount());
+        assertFalse(pool.release(new BufferedImage(1000, 1000, TYPE)));
+
+        // vypůjčením z mezipaměti vlákna se místo uvolní
+        pool.acquire(100, 100, TYPE);
+        assertEquals(2 * size, pool.getBytes());
+        assertTrue(pool.release(new BufferedImage(100, 100, TYPE)));
+
+        pool.clear();
+        assertEquals(0, pool.getBytes());
+        pool.acquire(100, 100, TYPE);
+        assertEquals(1, pool.getHitCount());
+    }
+
+    @Test
+    public void clearReleasesOtherThreads() throws Exception {
+        final long size = 10 * 10 * 4;
+        ImagePool pool = new ImagePool(size);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BufferedImage image = new BufferedImage(10, 10, TYPE);
+            assertTrue(executor.submit(() -> pool.release(image)).get());
+            assertEquals(size, pool.getBytes());
+
+            // obrázek v mezipaměti jiného vlákna zabírá celé místo
+            assertFalse(pool.release(new BufferedImage(10, 10, TYPE)));
+
+            pool.clear();
+            assertEquals(0, pool.getBytes());
+            assertNotSame(image, executor.submit(
+                    () -> pool.acquire(10, 10, TYPE)).get());
+            assertEquals(0, pool.getHitCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyQueuesAreRemoved() {
+        ImagePool pool = new ImagePool(1 << 24);
+
+        // obrázky mnoha různých velikostí projdou společnou částí
+        for (int i = 1; i <= 50; i++) {
+            for (int j = 0; j < 3; j++)
+                pool.release(new BufferedImage(i, 7, TYPE));
+        }
+        assertEquals(50, pool.getKeyCount());
+
+        for (int i = 1; i <= 50; i++) {
+            for (int j = 0; j < 3; j++)
+                pool.acquire(i, 7, TYPE);
+        }
+        assertEquals(0, pool.getKeyCount());
+        assertEquals(0, pool.getBytes());
+        assertEquals(150, pool.getHitCount());
+    }
+
+    @Test
+    public void unsuitableImagesAreRejected() {
+        ImagePool pool = new ImagePool(1 << 20);
+        assertFalse(pool.release(null));
+        assertFalse(pool.release(new BufferedImage(10, 10,
+                BufferedImage.TYPE_BYTE_INDEXED)));
+        assertFalse(pool.release(new BufferedImage(10, 10, TYPE)
+                .getSubimage(2, 2, 5, 5)));
+    }
+
+    // --- BufferedImageUtil
+
+    @Test
+    public void bufferedImageUtil_borrowsResult() {
+        BufferedImage image = noise(37, 23, TYPE);
+
+        checkBorrowed("copy", image, BufferedImageUtil::copy);
+        checkBorrowed("flipHorizontally", image, BufferedImageUtil::flipHorizontally);
+        checkBorrowed("flipVertically", image, BufferedImageUtil::flipVertically);
+        checkBorrowed("rotate90", image, BufferedImageUtil::rotate90);
+        checkBorrowed("rotate180", image, BufferedImageUtil::rotate180);
+        checkBorrowed("rotate270", image, BufferedImageUtil::rotate270);
+        checkBorrowed("rotate 0", image, (i, p) -> BufferedImageUtil.rotate(i, 0, p));
+        checkBorrowed("rotate 90", image, (i, p) -> BufferedImageUtil.rotate(i, 90, p));
+        checkBorrowed("rotate -90", image, (i, p) -> BufferedImageUtil.rotate(i, -90, p));
+        checkBorrowed("rotate 30", image, (i, p) -> BufferedImageUtil.rotate(i, 30, p));
+        checkBorrowed("resize", image, (i, p) -> BufferedImageUtil.resize(
+                i, 50, 11, Resampler.Filter.BICUBIC, p));
+        checkBorrowed("tiled", image, (i, p) -> BufferedImageUtil.createTiledImage(
+                i, 100, 60, p));
+
+        // ostatní typy se otáčí přímo nad daty
+        checkBorrowed("rotate90, 3byte", noise(37, 23, BufferedImage.TYPE_3BYTE_BGR),
+                BufferedImageUtil::rotate90);
+    }
+
+    @Test
+    public void bufferedImageUtil_returnsTemporaryCopy() {
+        // obrázek se nejprve převede na INT_ARGB, kopie se vrátí do zásobníku
+        BufferedImage image = noise(37, 23, BufferedImage.TYPE_USHORT_565_RGB);
+        ImagePool pool = new ImagePool(1 << 20);
+
+        BufferedImage expected = BufferedImageUtil.rotate90(image);
+        BufferedImage result = BufferedImageUtil.rotate90(image, pool);
+        assertPixelsEqual("565", expected, result);
+        assertEquals(2, pool.getMissCount());
+        assertEquals(37 * 23 * 4, pool.getBytes());
+
+        pool.release(result);
+        BufferedImageUtil.rotate90(image, pool);
+        assertEquals(2, pool.getHitCount());
+        assertEquals(37 * 23 * 4, pool.getBytes());
+    }
+
+    @Test
+    public void bufferedImageUtil_unpoolableTypes() {
+        // obrázky s paletou se ze zásobníku nepůjčují
+        BufferedImage image = new BufferedImage(37, 23, BufferedImage.TYPE_BYTE_INDEXED);
+        ImagePool pool = new ImagePool(1 << 20);
+
+        BufferedImage result = BufferedImageUtil.flipHorizontally(image, pool);
+        assertEquals(BufferedImage.TYPE_BYTE_INDEXED, result.getType());
+        assertSame(image.getColorModel(), result.getColorModel());
+        assertEquals(0, pool.getMissCount());
+        assertFalse(pool.release(result));
+    }
+
+    // --- pomocné metody
+
+    private interface Operation {
+        BufferedImage apply(BufferedImage image, ImagePool pool);
+    }
+
+    /**
+     * Ověří, že operace vypůjčí výsledek ze zásobníku (i když obsahuje
+     * jiná data), nic dalšího v něm nenechá a výsledek je stejný jako bez
+     * zásobníku.
+     */
+    private static void checkBorrowed(String message,
+            BufferedImage image, Operation operation) {
+
+        BufferedImage expected = operation.apply(image, null);
+
+        ImagePool pool = new ImagePool(1 << 20);
+        BufferedImage target = noise(expected.getWidth(), expected.getHeight(),
+                expected.getType());
+        assertTrue(message, pool.release(target));
+
+        BufferedImage result = operation.apply(image, pool);
+        assertSame(message, target, result);
+        assertEquals(message, 1, pool.getHitCount());
+        assertEquals(message, 0, pool.getMissCount());
+        assertEquals(message, 0, pool.getBytes());
+        assertPixelsEqual(message, expected, result);
+
+        assertTrue(message, pool.release(result));
+    }
+
+    private static void assertPixelsEqual(String message,
+            BufferedImage expected, BufferedImage actual) {
+
+        int w = expected.getWidth();
+        int h = expected.getHeight();
+        assertEquals(message, w, actual.getWidth());
+        assertEquals(message, h, actual.getHeight());
+        assertArrayEquals(message,
+                expected.getRGB(0, 0, w, h, null, 0, w),
+                actual.getRGB(0, 0, w, h, null, 0, w));
+    }
+
+    private static BufferedImage noise(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt());
+
+        return image;
+    }
+
+}
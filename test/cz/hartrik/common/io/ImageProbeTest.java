@@ -0,0 +1,263 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImageProbeTest {
+
+    private static final int W = 37;
+    private static final int H = 23;
+
+    @Test
+    public void pngRGBA() throws IOException {
+        ImageInfo info = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB), "png"));
+
+        assertEquals("png", info.getFormat());
+        assertEquals(4, info.getComponents());
+        assertEquals(8, info.getBitDepth());
+        assertTrue(info.hasAlpha());
+    }
+
+    @Test
+    public void pngRGB() throws IOException {
+        ImageInfo info = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB), "png"));
+
+        assertEquals("png", info.getFormat());
+        assertEquals(3, info.getComponents());
+        assertEquals(8, info.getBitDepth());
+        assertFalse(info.hasAlpha());
+    }
+
+    @Test
+    public void pngGray() throws IOException {
+        ImageInfo info = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_BYTE_GRAY), "png"));
+
+        assertEquals(1, info.getComponents());
+        assertEquals(8, info.getBitDepth());
+        assertFalse(info.hasAlpha());
+    }
+
+    @Test
+    public void pngPaletteWithTransparency() throws IOException {
+        byte[] r = { 0, (byte) 255, 0, 0 };
+        byte[] g = { 0, 0, (byte) 255, 0 };
+        byte[] b = { 0, 0, 0, (byte) 255 };
+        byte[] a = { 0, (byte) 255, (byte) 128, (byte) 255 };
+        IndexColorModel model = new IndexColorModel(2, 4, r, g, b, a);
+        BufferedImage image = new BufferedImage(W, H,
+                BufferedImage.TYPE_BYTE_BINARY, model);
+
+        ImageInfo info = probeAndCompare(encode(image, "png"));
+        assertEquals("png", info.getFormat());
+        assertEquals(1, info.getComponents());
+        assertEquals(2, info.getBitDepth());
+        assertTrue(info.hasAlpha());
+    }
+
+    @Test
+    public void pngPaletteWithoutTransparency() throws IOException {
+        byte[] c = { 0, (byte) 255 };
+        IndexColorModel model = new IndexColorModel(1, 2, c, c, c);
+        BufferedImage image = new BufferedImage(W, H,
+                BufferedImage.TYPE_BYTE_BINARY, model);
+
+        ImageInfo info = probeAndCompare(encode(image, "png"));
+        assertEquals(1, info.getBitDepth());
+        assertFalse(info.hasAlpha());
+    }
+
+    @Test
+    public void jpeg() throws IOException {
+        ImageInfo info = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB), "jpeg"));
+
+        assertEquals("jpeg", info.getFormat());
+        assertEquals(3, info.getComponents());
+        assertEquals(8, info.getBitDepth());
+        assertFalse(info.hasAlpha());
+
+        ImageInfo gray = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_BYTE_GRAY), "jpeg"));
+        assertEquals(1, gray.getComponents());
+    }
+
+    @Test
+    public void fallbackFormats() throws IOException {
+        ImageInfo bmp = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_3BYTE_BGR), "bmp"));
+        assertEquals("bmp", bmp.getFormat());
+        assertFalse(bmp.hasAlpha());
+
+        ImageInfo gif = probeAndCompare(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_BYTE_INDEXED), "gif"));
+        assertEquals("gif", gif.getFormat());
+        assertEquals(1, gif.getComponents());
+    }
+
+    @Test
+    public void streamWithoutMarkSupport() throws IOException {
+        byte[] data = encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB), "bmp");
+        InputStream input = new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+
+        ImageInfo info = ImageUtil.probe(input);
+        assertEquals(W, info.getWidth());
+        assertEquals(H, info.getHeight());
+    }
+
+    @Test
+    public void path() throws IOException {
+        Path file = Files.createTempFile("probe", ".png");
+        try {
+            Files.write(file, encode(
+                    new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB), "png"));
+
+            ImageInfo info = ImageUtil.probe(file);
+            assertEquals(W, info.getWidth());
+            assertEquals(H, info.getHeight());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void jpegWithLargeMetadata() throws IOException {
+        byte[] jpeg = withSegments(
+                encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB), "jpeg"),
+                3, 60_000);
+
+        int[] markLimit = { -1 };
+        InputStream input = new BufferedInputStream(new ByteArrayInputStream(jpeg)) {
+            @Override
+            public synchronized void mark(int readlimit) {
+                markLimit[0] = readlimit;
+                super.mark(readlimit);
+            }
+        };
+
+        ImageInfo info = probeAndCompare(jpeg);
+        assertEquals(info.getWidth(), ImageUtil.probe(input).getWidth());
+        assertEquals(ImageProbe.MARK_LIMIT, markLimit[0]);
+    }
+
+    @Test
+    public void fallbackAfterMarkLimit() throws IOException {
+        // za metadaty neplatná značka - rychlý parser selže až za limitem
+        byte[] corrupt = withSegments(new byte[] {
+                (byte) 0xFF, (byte) 0xD8, 0x00, 0x00 }, 2, 60_000);
+        byte[] bmp = encode(new BufferedImage(W, H, BufferedImage.TYPE_3BYTE_BGR), "bmp");
+
+        // čte se ze znovu otevřeného zdroje
+        int[] opened = { 0 };
+        ImageInfo info = ImageProbe.probe(
+                new BufferedInputStream(new ByteArrayInputStream(corrupt)),
+                () -> {
+                    opened[0]++;
+                    return new ByteArrayInputStream(bmp);
+                });
+        assertEquals(1, opened[0]);
+        assertEquals("bmp", info.getFormat());
+
+        // bez zdroje se nelze vrátit na začátek
+        try {
+            ImageUtil.probe(new BufferedInputStream(new ByteArrayInputStream(corrupt)));
+            fail();
+        } catch (IOException e) {
+            // očekáváno
+        }
+    }
+
+    @Test
+    public void garbage() {
+        byte[] png = encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB), "png");
+        byte[] jpeg = encode(new BufferedImage(W, H, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        Random random = new Random(7);
+        byte[] noise = new byte[1000];
+        random.nextBytes(noise);
+        byte[] fakeJpeg = noise.clone();
+        fakeJpeg[0] = (byte) 0xFF;
+        fakeJpeg[1] = (byte) 0xD8;
+        byte[] fakePng = Arrays.copyOf(png, 1000);
+        System.arraycopy(noise, 0, fakePng, 8, 992);
+
+        byte[][] inputs = {
+            {}, { (byte) 0x89 }, noise, fakeJpeg, fakePng,
+            Arrays.copyOf(png, 8), Arrays.copyOf(png, 20),
+            Arrays.copyOf(jpeg, 4), Arrays.copyOf(jpeg, 30),
+        };
+
+        for (byte[] input : inputs) {
+            try {
+                ImageInfo info = ImageUtil.probe(new ByteArrayInputStream(input));
+                fail(input.length + " bytes: " + info);
+            } catch (IOException e) {
+                // očekáváno
+            }
+        }
+    }
+
+    // --- pomocné metody
+
+    /** Porovná rozměry a průhlednost s obrázkem načteným přes ImageIO. */
+    private static ImageInfo probeAndCompare(byte[] data) throws IOException {
+        ImageInfo info = ImageUtil.probe(new ByteArrayInputStream(data));
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data));
+
+        assertEquals(decoded.getWidth(), info.getWidth());
+        assertEquals(decoded.getHeight(), info.getHeight());
+        assertEquals(decoded.getColorModel().hasAlpha(), info.hasAlpha());
+        return info;
+    }
+
+    /** Vloží za značku SOI segmenty APP1 dané velikosti. */
+    private static byte[] withSegments(byte[] jpeg, int count, int size) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(jpeg, 0, 2);
+        for (int i = 0; i < count; i++) {
+            output.write(0xFF);
+            output.write(0xE1);
+            output.write(size >> 8);
+            output.write(size);
+            output.write(new byte[size - 2], 0, size - 2);
+        }
+        output.write(jpeg, 2, jpeg.length - 2);
+        return output.toByteArray();
+    }
+
+    private static byte[] encode(BufferedImage image, String format) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            assertTrue(format, ImageIO.write(image, format, output));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return output.toByteArray();
+    }
+
+}
@@ -0,0 +1,71 @@
+package cz.hartrik.common.io;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ImagePyramidTest {
+
+    @Test
+    public void levelsAreHalvedUntilOneTile() throws IOException {
+        try (ImagePyramid pyramid = ImagePyramid.build(noise(100, 37), 16)) {
+            assertEquals(4, pyramid.getLevelCount());
+            assertEquals(12, pyramid.getWidth(3));
+            assertEquals(4, pyramid.getHeight(3));
+            assertEquals(1, pyramid.getTilesX(3));
+            assertEquals(7, pyramid.getTilesX(0));
+        }
+    }
+
+    @Test
+    public void tilesMatchHalvedImage() throws IOException {
+        BufferedImage image = noise(100, 37);
+        BufferedImage half = Resampler.halve(image);
+
+        try (ImagePyramid pyramid = ImagePyramid.build(image, 16)) {
+            for (int ty = 0; ty < pyramid.getTilesY(1); ty++) {
+                for (int tx = 0; tx < pyramid.getTilesX(1); tx++) {
+                    Rectangle bounds = pyramid.getTileBounds(1, tx, ty);
+                    BufferedImage tile = pyramid.getTile(1, tx, ty);
+                    assertEquals(bounds.width, tile.getWidth());
+                    assertEquals(bounds.height, tile.getHeight());
+
+                    for (int y = 0; y < bounds.height; y++)
+                        for (int x = 0; x < bounds.width; x++)
+                            assertEquals(half.getRGB(bounds.x + x, bounds.y + y),
+                                    tile.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void levelForScale() throws IOException {
+        try (ImagePyramid pyramid = ImagePyramid.build(noise(100, 37), 16)) {
+            assertEquals(0, pyramid.getLevel(2));
+            assertEquals(0, pyramid.getLevel(0.6));
+            assertEquals(1, pyramid.getLevel(0.3));
+            assertEquals(3, pyramid.getLevel(0.01));
+        }
+    }
+
+    private static BufferedImage noise(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt());
+
+        return image;
+    }
+
+}
@@ -0,0 +1,204 @@
+package cz.hartrik.common.io;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class ResamplerTest {
+
+    private static final int[][] SIZES = {
+        // zdroj -> výsledek
+        { 37, 23, 37, 23 },
+        { 37, 23, 10, 7 },
+        { 37, 23, 36, 22 },
+        { 37, 23, 80, 51 },
+        { 37, 23, 9, 40 },
+        { 1, 40, 1, 13 },
+        { 40, 1, 7, 1 },
+        { 1, 1, 5, 5 },
+        { 1, 7, 3, 20 },
+    };
+
+    @Test
+    public void identity_returnsSamePixels() {
+        BufferedImage image = noise(37, 23);
+        int[] expected = Resampler.pixels(image).clone();
+
+        for (Resampler.Filter filter : Resampler.Filter.values()) {
+            BufferedImage result = Resampler.resize(image, 37, 23, filter);
+            assertNotSame(image, result);
+            assertArrayEquals(filter.name(), expected, Resampler.pixels(result));
+        }
+    }
+
+    @Test
+    public void solidColor_staysSolid() {
+        for (int color : new int[] { 0xFF336699, 0x80336699, 0x01FFFFFF }) {
+            for (int[] size : SIZES) {
+                BufferedImage image = solid(size[0], size[1], color);
+                for (Resampler.Filter filter : Resampler.Filter.values()) {
+                    BufferedImage result = Resampler.resize(
+                            image, size[2], size[3], filter);
+
+                    assertEquals(size[2], result.getWidth());
+                    assertEquals(size[3], result.getHeight());
+                    for (int pixel : Resampler.pixels(result))
+                        assertEquals(message(filter, size),
+                                Integer.toHexString(color),
+                                Integer.toHexString(pixel));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void transparentPixels_doNotBleed() {
+        // průhledná zelená vedle neprůhledné červené
+        for (int[] size : SIZES) {
+            BufferedImage image = solid(size[0], size[1], 0x0000FF00);
+            for (int y = 0; y < size[1]; y++)
+                for (int x = 0; x < size[0]; x++)
+                    if ((x + y) % 2 == 0)
+                        image.setRGB(x, y, 0xFFFF0000);
+
+            for (Resampler.Filter filter : Resampler.Filter.values()) {
+                BufferedImage result = Resampler.resize(
+                        image, size[2], size[3], filter);
+
+                for (int pixel : Resampler.pixels(result)) {
+                    if (pixel >>> 24 != 0)
+                        assertEquals(message(filter, size),
+                                0xFF0000, pixel & 0xFFFFFF);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nearest_upscaleReplicatesPixels() {
+        BufferedImage image = noise(13, 7);
+        int[] src = Resampler.pixels(image);
+        int[] result = Resampler.pixels(
+                Resampler.resize(image, 39, 21, Resampler.Filter.NEAREST));
+
+        for (int y = 0; y < 21; y++) {
+            for (int x = 0; x < 39; x++) {
+                int expected = src[(y / 3) * 13 + x / 3];
+                if (expected >>> 24 == 0) expected = 0;
+                assertEquals(expected, result[y * 39 + x]);
+            }
+        }
+    }
+
+    @Test
+    public void halve_matchesNaiveAverage() {
+        for (int[] size : new int[][] { { 38, 24 }, { 37, 23 }, { 1, 9 }, { 9, 1 }, { 1, 1 } }) {
+            int width = size[0];
+            int height = size[1];
+            BufferedImage image = noise(width, height);
+            int[] src = Resampler.pixels(image);
+            BufferedImage half = Resampler.halve(image);
+
+            int dw = Math.max(1, width / 2);
+            int dh = Math.max(1, height / 2);
+            assertEquals(dw, half.getWidth());
+            assertEquals(dh, half.getHeight());
+
+            for (int y = 0; y < dh; y++) {
+                for (int x = 0; x < dw; x++) {
+                    int x1 = Math.min(2 * x + 1, width - 1);
+                    int y1 = Math.min(2 * y + 1, height - 1);
+                    int expected = naiveAverage(
+                            src[2 * y * width + 2 * x], src[2 * y * width + x1],
+                            src[y1 * width + 2 * x], src[y1 * width + x1]);
+
+                    assertColorEquals(width + "x" + height + " [" + x + ", " + y + "]",
+                            expected, half.getRGB(x, y), 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void downscale_matchesHalveForExactHalf() {
+        BufferedImage image = noise(38, 24);
+        BufferedImage half = Resampler.halve(image);
+
+        for (Resampler.Filter filter : new Resampler.Filter[] {
+                Resampler.Filter.BILINEAR, Resampler.Filter.LANCZOS }) {
+
+            BufferedImage result = Resampler.resize(image, 19, 12, filter);
+            assertArrayEquals(Resampler.pixels(half), Resampler.pixels(result));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSize() {
+        Resampler.resize(noise(4, 4), 0, 4, Resampler.Filter.BILINEAR);
+    }
+
+    // --- pomocné metody
+
+    /** Průměr čtyř barev vážený průhledností, počítaný v plovoucí čárce. */
+    private static int naiveAverage(int... colors) {
+        double a = 0, r = 0, g = 0, b = 0;
+        for (int c : colors) {
+            int alpha = c >>> 24;
+            a += alpha;
+            r += alpha * ((c >> 16) & 0xFF);
+            g += alpha * ((c >> 8) & 0xFF);
+            b += alpha * (c & 0xFF);
+        }
+        if (a == 0) return 0;
+
+        return ((int) Math.round(a / 4) << 24)
+                | ((int) Math.round(r / a) << 16)
+                | ((int) Math.round(g / a) << 8)
+                | (int) Math.round(b / a);
+    }
+
+    private static void assertColorEquals(String message, int expected,
+            int actual, int tolerance) {
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            int e = (expected >>> shift) & 0xFF;
+            int a = (actual >>> shift) & 0xFF;
+            if (Math.abs(e - a) > tolerance)
+                fail(message + ": expected " + Integer.toHexString(expected)
+                        + " but was " + Integer.toHexString(actual));
+        }
+    }
+
+    private static String message(Resampler.Filter filter, int[] size) {
+        return filter + " " + size[0] + "x" + size[1]
+                + " -> " + size[2] + "x" + size[3];
+    }
+
+    private static BufferedImage solid(int width, int height, int color) {
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, color);
+
+        return image;
+    }
+
+    private static BufferedImage noise(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt());
+
+        return image;
+    }
+
+}
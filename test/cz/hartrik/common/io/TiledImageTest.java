@@ -0,0 +1,124 @@
+package cz.hartrik.common.io;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @version 2026-10-17
+ * @author Patrik Harag
+ */
+public class TiledImageTest {
+
+    // rozměry nejsou násobkem velikosti dlaždice
+    private static final int W = 1237;
+    private static final int H = 911;
+    private static final int TILE = 128;
+
+    @Test
+    public void regionRoundTrip() throws IOException {
+        BufferedImage image = noise(W, H);
+
+        try (TiledImage tiled = tiled(image)) {
+            assertEquals(W, tiled.getWidth());
+            assertEquals(H, tiled.getHeight());
+            assertPixelsEqual(image, tiled.getRegion(new Rectangle(W, H)));
+
+            Rectangle region = new Rectangle(100, 200, 300, 150);
+            assertPixelsEqual(
+                    image.getSubimage(100, 200, 300, 150),
+                    tiled.getRegion(region));
+        }
+    }
+
+    @Test
+    public void resize_matchesInMemory() throws IOException {
+        BufferedImage image = noise(W, H);
+        int[][] sizes = { { 300, 200 }, { 1000, 700 }, { 1400, 1000 }, { 97, 13 } };
+
+        try (TiledImage tiled = tiled(image)) {
+            for (Resampler.Filter filter : Resampler.Filter.values()) {
+                for (int[] size : sizes) {
+                    BufferedImage expected = Resampler.resize(
+                            image, size[0], size[1], filter);
+
+                    try (TiledImage result = tiled.resize(size[0], size[1], filter)) {
+                        assertEquals(TILE, result.getTileSize());
+                        assertPixelsEqual(expected, result.getRegion(
+                                new Rectangle(size[0], size[1])));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void flipHorizontally_matchesInMemory() throws IOException {
+        BufferedImage image = noise(W, H);
+        BufferedImage expected = BufferedImageUtil.flipHorizontally(image);
+
+        try (TiledImage tiled = tiled(image);
+             TiledImage flipped = tiled.apply(TileOperation.flipHorizontally())) {
+
+            assertPixelsEqual(expected, flipped.getRegion(new Rectangle(W, H)));
+        }
+    }
+
+    @Test
+    public void write_matchesInMemory() throws IOException {
+        BufferedImage image = noise(W, H);
+        Path file = Files.createTempFile("tiled", ".png");
+
+        try (TiledImage tiled = tiled(image)) {
+            tiled.write("png", file);
+            assertPixelsEqual(image, ImageIO.read(file.toFile()));
+
+            // zpětné načtení po pásech
+            try (TiledImage read = TiledImage.read(file, TILE)) {
+                assertPixelsEqual(image, read.getRegion(new Rectangle(W, H)));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // --- pomocné metody
+
+    private static TiledImage tiled(BufferedImage image) throws IOException {
+        TiledImage tiled = TiledImage.create(
+                image.getWidth(), image.getHeight(), TILE);
+        tiled.setRegion(0, 0, image);
+        return tiled;
+    }
+
+    private static void assertPixelsEqual(BufferedImage expected,
+            BufferedImage actual) {
+
+        int w = expected.getWidth();
+        int h = expected.getHeight();
+        assertEquals(w, actual.getWidth());
+        assertEquals(h, actual.getHeight());
+        assertArrayEquals(
+                expected.getRGB(0, 0, w, h, null, 0, w),
+                actual.getRGB(0, 0, w, h, null, 0, w));
+    }
+
+    private static BufferedImage noise(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height,
+                BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, random.nextInt());
+
+        return image;
+    }
+
+}